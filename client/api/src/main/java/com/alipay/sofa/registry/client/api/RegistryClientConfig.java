@@ -172,4 +172,36 @@ public interface RegistryClientConfig {
    * @return the boolean
    */
   boolean isEventBusEnable();
+
+  /**
+   * Is delta push enable boolean, the server pushes the diff of the subscribed data instead of the
+   * full data when enabled.
+   *
+   * @return the boolean
+   */
+  boolean isDeltaPushEnable();
+
+  /**
+   * Gets register batch size, the max num of registers packed in a request to the server, the
+   * registers are sent one by one when less than 2.
+   *
+   * @return the register batch size
+   */
+  int getRegisterBatchSize();
+
+  /**
+   * Gets failover cache dir, the last received data of the subscribers is saved in the dir and
+   * loaded as stale data when the subscribers register again, disabled when empty.
+   *
+   * @return the failover cache dir
+   */
+  String getFailoverCacheDir();
+
+  /**
+   * Gets failover cache max age in milliseconds, the cached data not refreshed by a push within the
+   * max age is not loaded and its file is deleted.
+   *
+   * @return the failover cache max age
+   */
+  long getFailoverCacheMaxAge();
 }
@@ -46,6 +46,7 @@ import com.alipay.sofa.registry.client.remoting.ClientConnectionCloseEventProces
 import com.alipay.sofa.registry.client.remoting.ClientConnectionOpenEventProcessor;
 import com.alipay.sofa.registry.client.remoting.ReceivedConfigDataProcessor;
 import com.alipay.sofa.registry.client.remoting.ReceivedDataProcessor;
+import com.alipay.sofa.registry.client.remoting.ReceivedDeltaDataProcessor;
 import com.alipay.sofa.registry.client.remoting.ServerManager;
 import com.alipay.sofa.registry.client.task.ObserverHandler;
 import com.alipay.sofa.registry.client.task.SyncConfigThread;
@@ -54,6 +55,7 @@ import com.alipay.sofa.registry.client.task.WorkerThread;
 import com.alipay.sofa.registry.client.util.StringUtils;
 import com.alipay.sofa.registry.core.model.ReceivedConfigData;
 import com.alipay.sofa.registry.core.model.ReceivedData;
+import com.alipay.sofa.registry.core.model.ReceivedDeltaData;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
@@ -103,6 +105,8 @@ public class DefaultRegistryClient implements RegistryClient {
 
   private LookoutSubscriber lookoutSubscriber;
 
+  private FailoverCache failoverCache;
+
   private AtomicBoolean init = new AtomicBoolean(false);
 
   /**
@@ -144,6 +148,9 @@ public class DefaultRegistryClient implements RegistryClient {
               .setSyncConfigRetryInterval(registryClientConfig.getSyncConfigRetryInterval())
               .setAccessKey(registryClientConfig.getAccessKey())
               .setSecretKey(registryClientConfig.getSecretKey())
+              .setDeltaPushEnable(registryClientConfig.isDeltaPushEnable())
+              .setRegisterBatchSize(registryClientConfig.getRegisterBatchSize())
+              .setFailoverCacheDir(registryClientConfig.getFailoverCacheDir())
               .build();
     }
     return cloneConfig;
@@ -182,16 +189,31 @@ public class DefaultRegistryClient implements RegistryClient {
       authManager = NoopAuthManager.INSTANCE;
     }
 
+    // init failover cache
+    if (null == failoverCache
+        && StringUtils.isNotBlank(registryClientConfig.getFailoverCacheDir())) {
+      failoverCache =
+          new FailoverCache(
+              registryClientConfig.getFailoverCacheDir(),
+              registryClientConfig.getFailoverCacheMaxAge());
+      failoverCache.cleanExpired();
+    }
+
     // init user processor
     List<UserProcessor> userProcessorList = new ArrayList<UserProcessor>();
     if (null == userProcessorMap) {
       userProcessorList.add(new ReceivedDataProcessor(registerCache, observerHandler));
+      userProcessorList.add(new ReceivedDeltaDataProcessor(registerCache, observerHandler));
       userProcessorList.add(new ReceivedConfigDataProcessor(registerCache, observerHandler));
     } else {
       UserProcessor userProcessor = userProcessorMap.get(ReceivedData.class);
       if (null == userProcessor) {
         userProcessorList.add(new ReceivedDataProcessor(registerCache, observerHandler));
       }
+      userProcessor = userProcessorMap.get(ReceivedDeltaData.class);
+      if (null == userProcessor) {
+        userProcessorList.add(new ReceivedDeltaDataProcessor(registerCache, observerHandler));
+      }
       userProcessor = userProcessorMap.get(ReceivedConfigData.class);
       if (null == userProcessor) {
         userProcessorList.add(new ReceivedConfigDataProcessor(registerCache, observerHandler));
@@ -329,6 +351,7 @@ public class DefaultRegistryClient implements RegistryClient {
 
     subscriber = new DefaultSubscriber(registration, workerThread, registryClientConfig);
     ((DefaultSubscriber) subscriber).setAuthManager(authManager);
+    ((DefaultSubscriber) subscriber).setFailoverCache(failoverCache);
 
     Subscriber oldSubscriber = registrationSubscriberMap.putIfAbsent(registration, subscriber);
     if (null != oldSubscriber) {
@@ -336,6 +359,7 @@ public class DefaultRegistryClient implements RegistryClient {
     }
 
     registerCache.addRegister(subscriber);
+    loadFailoverData((DefaultSubscriber) subscriber);
     addRegisterTask(subscriber);
 
     LOGGER.info(
@@ -467,6 +491,29 @@ public class DefaultRegistryClient implements RegistryClient {
             + ")");
   }
 
+  /**
+   * Load the failover data of the subscriber and notify the observer, the errors are logged only.
+   *
+   * @param subscriber the subscriber
+   */
+  private void loadFailoverData(DefaultSubscriber subscriber) {
+    try {
+      if (subscriber.loadFailoverData()) {
+        LOGGER.info(
+            "[api] Load subscriber failover data, dataId: {}, registerId: {}",
+            subscriber.getDataId(),
+            subscriber.getRegistId());
+        observerHandler.notify(subscriber);
+      }
+    } catch (Exception e) {
+      LOGGER.error(
+          "[api] Load subscriber failover data error, dataId: {}, registerId: {}",
+          subscriber.getDataId(),
+          subscriber.getRegistId(),
+          e);
+    }
+  }
+
   /**
    * Add register task.
    *
@@ -91,6 +91,18 @@ public class DefaultRegistryClientConfig implements RegistryClientConfig {
   /** */
   private boolean eventBusEnable;
 
+  /** */
+  private boolean deltaPushEnable;
+
+  /** */
+  private int registerBatchSize;
+
+  /** */
+  private String failoverCacheDir;
+
+  /** */
+  private long failoverCacheMaxAge;
+
   /**
    * Instantiates a new Default registry client config.
    *
@@ -115,6 +127,11 @@ public class DefaultRegistryClientConfig implements RegistryClientConfig {
    * @param secretKey the secret key
    * @param algorithm the algorithm
    * @param authCacheInterval the auth cache interval
+   * @param eventBusEnable the event bus enable
+   * @param deltaPushEnable the delta push enable
+   * @param registerBatchSize the register batch size
+   * @param failoverCacheDir the failover cache dir
+   * @param failoverCacheMaxAge the failover cache max age
    */
   public DefaultRegistryClientConfig(
       String env,
@@ -138,7 +155,11 @@ public class DefaultRegistryClientConfig implements RegistryClientConfig {
       String secretKey,
       String algorithm,
       long authCacheInterval,
-      boolean eventBusEnable) {
+      boolean eventBusEnable,
+      boolean deltaPushEnable,
+      int registerBatchSize,
+      String failoverCacheDir,
+      long failoverCacheMaxAge) {
     this.env = env;
     this.instanceId = instanceId;
     this.ip = ip;
@@ -161,6 +182,10 @@ public class DefaultRegistryClientConfig implements RegistryClientConfig {
     this.algorithm = algorithm;
     this.authCacheInterval = authCacheInterval;
     this.eventBusEnable = eventBusEnable;
+    this.deltaPushEnable = deltaPushEnable;
+    this.registerBatchSize = registerBatchSize;
+    this.failoverCacheDir = failoverCacheDir;
+    this.failoverCacheMaxAge = failoverCacheMaxAge;
   }
 
   /**
@@ -405,6 +430,82 @@ public class DefaultRegistryClientConfig implements RegistryClientConfig {
     this.eventBusEnable = eventBusEnable;
   }
 
+  /**
+   * Getter method for property <tt>deltaPushEnable</tt>.
+   *
+   * @return property value of deltaPushEnable
+   */
+  @Override
+  public boolean isDeltaPushEnable() {
+    return deltaPushEnable;
+  }
+
+  /**
+   * Setter method for property <tt>deltaPushEnable</tt>.
+   *
+   * @param deltaPushEnable value to be assigned to property deltaPushEnable
+   */
+  public void setDeltaPushEnable(boolean deltaPushEnable) {
+    this.deltaPushEnable = deltaPushEnable;
+  }
+
+  /**
+   * Getter method for property <tt>registerBatchSize</tt>.
+   *
+   * @return property value of registerBatchSize
+   */
+  @Override
+  public int getRegisterBatchSize() {
+    return registerBatchSize;
+  }
+
+  /**
+   * Setter method for property <tt>registerBatchSize</tt>.
+   *
+   * @param registerBatchSize value to be assigned to property registerBatchSize
+   */
+  public void setRegisterBatchSize(int registerBatchSize) {
+    this.registerBatchSize = registerBatchSize;
+  }
+
+  /**
+   * Getter method for property <tt>failoverCacheDir</tt>.
+   *
+   * @return property value of failoverCacheDir
+   */
+  @Override
+  public String getFailoverCacheDir() {
+    return failoverCacheDir;
+  }
+
+  /**
+   * Setter method for property <tt>failoverCacheDir</tt>.
+   *
+   * @param failoverCacheDir value to be assigned to property failoverCacheDir
+   */
+  public void setFailoverCacheDir(String failoverCacheDir) {
+    this.failoverCacheDir = failoverCacheDir;
+  }
+
+  /**
+   * Getter method for property <tt>failoverCacheMaxAge</tt>.
+   *
+   * @return property value of failoverCacheMaxAge
+   */
+  @Override
+  public long getFailoverCacheMaxAge() {
+    return failoverCacheMaxAge;
+  }
+
+  /**
+   * Setter method for property <tt>failoverCacheMaxAge</tt>.
+   *
+   * @param failoverCacheMaxAge value to be assigned to property failoverCacheMaxAge
+   */
+  public void setFailoverCacheMaxAge(long failoverCacheMaxAge) {
+    this.failoverCacheMaxAge = failoverCacheMaxAge;
+  }
+
   /**
    * Equals boolean.
    *
@@ -527,6 +628,15 @@ public class DefaultRegistryClientConfig implements RegistryClientConfig {
         + authCacheInterval
         + ", eventBusEnable="
         + eventBusEnable
+        + ", deltaPushEnable="
+        + deltaPushEnable
+        + ", registerBatchSize="
+        + registerBatchSize
+        + ", failoverCacheDir='"
+        + failoverCacheDir
+        + '\''
+        + ", failoverCacheMaxAge="
+        + failoverCacheMaxAge
         + '}';
   }
 }
@@ -48,6 +48,10 @@ public class DefaultRegistryClientConfigBuilder {
   private String algorithm = "HmacSHA256";
   private long authCacheInterval = 5 * 60 * 1000;
   private boolean eventBusEnable = true;
+  private boolean deltaPushEnable = false;
+  private int registerBatchSize = 1;
+  private String failoverCacheDir;
+  private long failoverCacheMaxAge = 7 * 24 * 60 * 60 * 1000L;
 
   /**
    * Start default registry client config builder.
@@ -292,6 +296,49 @@ public class DefaultRegistryClientConfigBuilder {
     return this;
   }
 
+  /**
+   * Setter method for property <tt>deltaPushEnable</tt>.
+   *
+   * @param deltaPushEnable value to be assigned to property deltaPushEnable
+   */
+  public DefaultRegistryClientConfigBuilder setDeltaPushEnable(boolean deltaPushEnable) {
+    this.deltaPushEnable = deltaPushEnable;
+    return this;
+  }
+
+  /**
+   * Setter method for property <tt>registerBatchSize</tt>.
+   *
+   * @param registerBatchSize value to be assigned to property registerBatchSize
+   * @return the default registry client config builder
+   */
+  public DefaultRegistryClientConfigBuilder setRegisterBatchSize(int registerBatchSize) {
+    this.registerBatchSize = registerBatchSize;
+    return this;
+  }
+
+  /**
+   * Setter method for property <tt>failoverCacheDir</tt>.
+   *
+   * @param failoverCacheDir value to be assigned to property failoverCacheDir
+   * @return the default registry client config builder
+   */
+  public DefaultRegistryClientConfigBuilder setFailoverCacheDir(String failoverCacheDir) {
+    this.failoverCacheDir = failoverCacheDir;
+    return this;
+  }
+
+  /**
+   * Setter method for property <tt>failoverCacheMaxAge</tt>.
+   *
+   * @param failoverCacheMaxAge value to be assigned to property failoverCacheMaxAge
+   * @return the default registry client config builder
+   */
+  public DefaultRegistryClientConfigBuilder setFailoverCacheMaxAge(long failoverCacheMaxAge) {
+    this.failoverCacheMaxAge = failoverCacheMaxAge;
+    return this;
+  }
+
   /**
    * Create default registry client config default registry client config.
    *
@@ -320,6 +367,10 @@ public class DefaultRegistryClientConfigBuilder {
         secretKey,
         algorithm,
         authCacheInterval,
-        eventBusEnable);
+        eventBusEnable,
+        deltaPushEnable,
+        registerBatchSize,
+        failoverCacheDir,
+        failoverCacheMaxAge);
   }
 }
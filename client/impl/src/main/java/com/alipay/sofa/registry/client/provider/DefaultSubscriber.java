@@ -25,8 +25,10 @@ import com.alipay.sofa.registry.client.model.SegmentData;
 import com.alipay.sofa.registry.client.task.TaskEvent;
 import com.alipay.sofa.registry.client.task.Worker;
 import com.alipay.sofa.registry.client.util.CommonUtils;
+import com.alipay.sofa.registry.client.util.StringUtils;
 import com.alipay.sofa.registry.core.constants.EventTypeConstants;
 import com.alipay.sofa.registry.core.model.DataBox;
+import com.alipay.sofa.registry.core.model.ReceivedDeltaData;
 import com.alipay.sofa.registry.core.model.ScopeEnum;
 import com.alipay.sofa.registry.core.model.SubscriberRegister;
 import java.util.ArrayList;
@@ -47,6 +49,8 @@ import java.util.concurrent.atomic.AtomicBoolean;
  */
 public class DefaultSubscriber extends AbstractInternalRegister implements Subscriber {
 
+  private static final String FAILOVER_KEY_SEPARATOR = "#@#";
+
   private final String REGIST_ID;
   private SubscriberDataObserver dataObserver;
   private ConcurrentHashMap<String, SegmentData> data =
@@ -57,6 +61,9 @@ public class DefaultSubscriber extends AbstractInternalRegister implements Subsc
   private Worker worker;
   private volatile String localZone;
   private List<String> availableSegments = new ArrayList<String>();
+  private FailoverCache failoverCache;
+  /** the data is loaded from the failover cache and no push has been received */
+  private volatile boolean stale;
 
   /**
    * Instantiates a new Default subscriber multi.
@@ -176,6 +183,9 @@ public class DefaultSubscriber extends AbstractInternalRegister implements Subsc
       register = new SubscriberRegister();
       register.setRegistId(REGIST_ID);
       register.setScope(registration.getScopeEnum().name());
+      if (config.isDeltaPushEnable()) {
+        register.setAcceptEncoding(ReceivedDeltaData.ACCEPT_ENCODING);
+      }
       setAttributes(register, registration, config);
       // auth signature
       setAuthSignature(register);
@@ -192,32 +202,187 @@ public class DefaultSubscriber extends AbstractInternalRegister implements Subsc
   }
 
   public void putReceivedData(SegmentData segmentData, String localZone) {
+    boolean put;
     writeLock.lock();
     try {
-      putSegmentData(segmentData);
+      if (stale) {
+        // the first push replaces all the data loaded from the failover cache
+        data.clear();
+        stale = false;
+      }
+      put = putSegmentData(segmentData);
       this.localZone = localZone;
     } finally {
       writeLock.unlock();
     }
+    if (put) {
+      saveFailoverData(segmentData, localZone);
+    }
   }
 
-  private void putSegmentData(SegmentData segmentData) {
+  /**
+   * Load the data from the failover cache, the data is stale until the first push received.
+   *
+   * @return true if any data loaded
+   */
+  public boolean loadFailoverData() {
+    if (null == failoverCache) {
+      return false;
+    }
+    List<FailoverCache.Record> records = failoverCache.load(failoverKey());
+    if (records.isEmpty()) {
+      return false;
+    }
+    writeLock.lock();
+    try {
+      if (init.get()) {
+        // the push has been received
+        return false;
+      }
+      long maxVersion = Long.MIN_VALUE;
+      for (FailoverCache.Record record : records) {
+        SegmentData segmentData = record.getSegmentData();
+        data.put(segmentData.getSegment(), segmentData);
+        if (segmentData.getVersion() > maxVersion) {
+          maxVersion = segmentData.getVersion();
+          this.localZone = record.getLocalZone();
+        }
+      }
+      stale = true;
+      init.compareAndSet(false, true);
+      return true;
+    } finally {
+      writeLock.unlock();
+    }
+  }
+
+  private void saveFailoverData(SegmentData segmentData, String localZone) {
+    if (null != failoverCache) {
+      failoverCache.save(failoverKey(), localZone, segmentData);
+    }
+  }
+
+  String failoverKey() {
+    String instanceId = registration.getInstanceId();
+    if (StringUtils.isEmpty(instanceId)) {
+      instanceId = config.getInstanceId();
+    }
+    ScopeEnum scope = registration.getScopeEnum();
+    if (null == scope) {
+      scope = ScopeEnum.zone;
+    }
+    return registration.getDataId()
+        + FAILOVER_KEY_SEPARATOR
+        + instanceId
+        + FAILOVER_KEY_SEPARATOR
+        + registration.getGroup()
+        + FAILOVER_KEY_SEPARATOR
+        + scope.name();
+  }
+
+  /**
+   * Apply the diff to the data of the segment.
+   *
+   * @param delta the diff
+   * @return false if the local version is not the base version of the diff, need a full push
+   */
+  public boolean putReceivedDeltaData(ReceivedDeltaData delta) {
+    SegmentData segmentData;
+    writeLock.lock();
+    try {
+      if (stale) {
+        // the failover data maybe outdated, need a full push
+        return false;
+      }
+      SegmentData existsData = data.get(delta.getSegment());
+      if (null == existsData || null == existsData.getVersion()) {
+        return false;
+      }
+      if (existsData.getVersion() >= delta.getVersion()) {
+        // the same or newer version has been received, ignore the diff
+        return true;
+      }
+      if (!existsData.getVersion().equals(delta.getBaseVersion())) {
+        return false;
+      }
+      segmentData = new SegmentData();
+      segmentData.setSegment(delta.getSegment());
+      segmentData.setVersion(delta.getVersion());
+      segmentData.setData(applyDelta(existsData.getData(), delta));
+      putSegmentData(segmentData);
+      this.localZone = delta.getLocalZone();
+    } finally {
+      writeLock.unlock();
+    }
+    saveFailoverData(segmentData, delta.getLocalZone());
+    return true;
+  }
+
+  private static Map<String, List<DataBox>> applyDelta(
+      Map<String, List<DataBox>> exists, ReceivedDeltaData delta) {
+    // copy on write, the exists data maybe read by the observers
+    Map<String, List<DataBox>> result = new HashMap<String, List<DataBox>>();
+    if (null != exists) {
+      for (Entry<String, List<DataBox>> entry : exists.entrySet()) {
+        result.put(entry.getKey(), new ArrayList<DataBox>(entry.getValue()));
+      }
+    }
+    if (null != delta.getRemoveData()) {
+      for (Entry<String, List<DataBox>> entry : delta.getRemoveData().entrySet()) {
+        List<DataBox> boxes = result.get(entry.getKey());
+        if (null == boxes) {
+          continue;
+        }
+        for (DataBox remove : entry.getValue()) {
+          removeFirst(boxes, remove);
+        }
+        if (boxes.isEmpty()) {
+          result.remove(entry.getKey());
+        }
+      }
+    }
+    if (null != delta.getAddData()) {
+      for (Entry<String, List<DataBox>> entry : delta.getAddData().entrySet()) {
+        List<DataBox> boxes = result.get(entry.getKey());
+        if (null == boxes) {
+          boxes = new ArrayList<DataBox>();
+          result.put(entry.getKey(), boxes);
+        }
+        boxes.addAll(entry.getValue());
+      }
+    }
+    return result;
+  }
+
+  private static void removeFirst(List<DataBox> boxes, DataBox remove) {
+    for (int i = 0; i < boxes.size(); i++) {
+      String data = boxes.get(i).getData();
+      if (data == null ? remove.getData() == null : data.equals(remove.getData())) {
+        boxes.remove(i);
+        return;
+      }
+    }
+  }
+
+  private boolean putSegmentData(SegmentData segmentData) {
     if (null != segmentData) {
 
       SegmentData existsData = data.putIfAbsent(segmentData.getSegment(), segmentData);
       if (null == existsData) {
         init.compareAndSet(false, true);
-        return;
+        return true;
       }
 
       if (existsData.getVersion() < segmentData.getVersion()) {
         boolean result = data.replace(segmentData.getSegment(), existsData, segmentData);
+        init.compareAndSet(false, true);
         if (!result) {
-          putSegmentData(segmentData);
+          return putSegmentData(segmentData);
         }
-        init.compareAndSet(false, true);
+        return true;
       }
     }
+    return false;
   }
 
   /**
@@ -286,6 +451,24 @@ public class DefaultSubscriber extends AbstractInternalRegister implements Subsc
     return init.get();
   }
 
+  /**
+   * Whether the data is loaded from the failover cache and no push has been received.
+   *
+   * @return the boolean
+   */
+  public boolean isStale() {
+    return stale;
+  }
+
+  /**
+   * Setter method for property <tt>failoverCache</tt>.
+   *
+   * @param failoverCache value to be assigned to property failoverCache
+   */
+  public void setFailoverCache(FailoverCache failoverCache) {
+    this.failoverCache = failoverCache;
+  }
+
   @Override
   public String toString() {
     return "DefaultSubscriber{" + "registration=" + registration + '}' + super.toString();
@@ -0,0 +1,406 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alipay.sofa.registry.client.provider;
+
+import com.alipay.sofa.registry.client.log.LoggerFactory;
+import com.alipay.sofa.registry.client.model.SegmentData;
+import com.alipay.sofa.registry.core.model.DataBox;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.FilenameFilter;
+import java.io.IOException;
+import java.io.UnsupportedEncodingException;
+import java.net.URLEncoder;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.concurrent.ConcurrentHashMap;
+import org.slf4j.Logger;
+
+/**
+ * The local disk cache of the last received data of the subscribers, one file per subscribed key
+ * and segment. The cached data is loaded when a subscriber registers, so the observers could be
+ * served before the first push of the session, e.g. when the session cluster is unavailable.
+ *
+ * <p>The last modified time of a file is refreshed by every push of the key, the files not
+ * refreshed within the max age are expired, e.g. the keys no longer subscribed.
+ */
+public class FailoverCache {
+  private static final Logger LOGGER = LoggerFactory.getLogger(FailoverCache.class);
+
+  private static final int MAGIC = 0x53524643;
+
+  private static final byte FORMAT_VERSION = 1;
+
+  private static final String CHARSET = "UTF-8";
+
+  private static final String SEGMENT_SEPARATOR = "@";
+
+  private static final String FILE_SUFFIX = ".dat";
+
+  private static final String TMP_FILE_SUFFIX = ".tmp";
+
+  private static final int LOCK_NUM = 64;
+
+  private final File dir;
+
+  private final long maxAgeMillis;
+
+  /** the version of the last saved segment data, key is the file name */
+  private final ConcurrentHashMap<String, Long> savedVersions =
+      new ConcurrentHashMap<String, Long>();
+
+  /** the saves of the same file are serialized, an older version never replaces a newer one */
+  private final Object[] locks = new Object[LOCK_NUM];
+
+  /**
+   * Instantiates a new Failover cache.
+   *
+   * @param dir the cache dir
+   * @param maxAgeMillis the max age of the cache files
+   */
+  public FailoverCache(String dir, long maxAgeMillis) {
+    this.dir = new File(dir);
+    this.maxAgeMillis = maxAgeMillis;
+    for (int i = 0; i < locks.length; i++) {
+      locks[i] = new Object();
+    }
+  }
+
+  /**
+   * Save the segment data of the key, ignored if the same or newer version has been saved, but the
+   * file of the same version is refreshed.
+   *
+   * @param key the subscribed key
+   * @param localZone the local zone
+   * @param segmentData the segment data
+   * @return true if saved
+   */
+  public boolean save(String key, String localZone, SegmentData segmentData) {
+    if (null == segmentData || null == segmentData.getVersion()) {
+      return false;
+    }
+    final String fileName = fileName(key, segmentData.getSegment());
+    final Object lock = lockOf(fileName);
+    synchronized (lock) {
+      if (!isNewer(fileName, segmentData.getVersion())) {
+        return false;
+      }
+    }
+    File tmp = null;
+    try {
+      if (!dir.exists() && !dir.mkdirs() && !dir.exists()) {
+        throw new IOException("failed to create dir " + dir.getAbsolutePath());
+      }
+      // write to a temp file and rename it, the cache file is always complete
+      tmp = File.createTempFile(fileName, TMP_FILE_SUFFIX, dir);
+      DataOutputStream out =
+          new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tmp)));
+      try {
+        write(out, localZone, segmentData);
+      } finally {
+        out.close();
+      }
+      synchronized (lock) {
+        // recheck, a concurrent save maybe renamed a newer version
+        if (!isNewer(fileName, segmentData.getVersion())) {
+          tmp.delete();
+          return false;
+        }
+        File file = new File(dir, fileName);
+        if (!tmp.renameTo(file)) {
+          // the rename could not replace an exist file on some platforms
+          file.delete();
+          if (!tmp.renameTo(file)) {
+            throw new IOException("failed to rename " + tmp.getName() + " to " + fileName);
+          }
+        }
+        savedVersions.put(fileName, segmentData.getVersion());
+      }
+      return true;
+    } catch (Throwable e) {
+      LOGGER.warn(
+          "[failover] save data error, key: {}, segment: {}, version: {}",
+          key,
+          segmentData.getSegment(),
+          segmentData.getVersion(),
+          e);
+      if (null != tmp) {
+        tmp.delete();
+      }
+      return false;
+    }
+  }
+
+  // must be called with the lock of the file, the file of the same version is refreshed
+  private boolean isNewer(String fileName, long version) {
+    final Long savedVersion = savedVersions.get(fileName);
+    if (null == savedVersion || savedVersion < version) {
+      return true;
+    }
+    if (savedVersion == version) {
+      new File(dir, fileName).setLastModified(System.currentTimeMillis());
+    }
+    return false;
+  }
+
+  private Object lockOf(String fileName) {
+    return locks[(fileName.hashCode() & Integer.MAX_VALUE) % locks.length];
+  }
+
+  /**
+   * Load all the cached segment data of the key, the broken and expired files are deleted.
+   *
+   * @param key the subscribed key
+   * @return the cached data, empty if not found
+   */
+  public List<Record> load(String key) {
+    List<Record> records = new ArrayList<Record>();
+    final String prefix = encode(key) + SEGMENT_SEPARATOR;
+    File[] files =
+        dir.listFiles(
+            new FilenameFilter() {
+              @Override
+              public boolean accept(File d, String name) {
+                return name.startsWith(prefix) && name.endsWith(FILE_SUFFIX);
+              }
+            });
+    if (null == files) {
+      return records;
+    }
+    final long now = System.currentTimeMillis();
+    for (File file : files) {
+      Record record = load(file, now);
+      if (null != record) {
+        records.add(record);
+      }
+    }
+    return records;
+  }
+
+  private Record load(File file, long now) {
+    // not interleaved with the rename of a save, the saved version matches the file
+    synchronized (lockOf(file.getName())) {
+      if (isExpired(file, now)) {
+        LOGGER.info("[failover] data expired, delete file: {}", file.getAbsolutePath());
+        delete(file);
+        return null;
+      }
+      try {
+        DataInputStream in =
+            new DataInputStream(new BufferedInputStream(new FileInputStream(file)));
+        try {
+          Record record = read(in);
+          savedVersions.put(file.getName(), record.getSegmentData().getVersion());
+          return record;
+        } finally {
+          in.close();
+        }
+      } catch (Throwable e) {
+        LOGGER.warn("[failover] load data error, delete file: {}", file.getAbsolutePath(), e);
+        delete(file);
+        return null;
+      }
+    }
+  }
+
+  /**
+   * Delete the expired files in the cache dir, including the temp files left by a crash.
+   *
+   * @return the num of the deleted files
+   */
+  public int cleanExpired() {
+    File[] files =
+        dir.listFiles(
+            new FilenameFilter() {
+              @Override
+              public boolean accept(File d, String name) {
+                return name.endsWith(FILE_SUFFIX) || name.endsWith(TMP_FILE_SUFFIX);
+              }
+            });
+    if (null == files) {
+      return 0;
+    }
+    final long now = System.currentTimeMillis();
+    int count = 0;
+    for (File file : files) {
+      synchronized (lockOf(file.getName())) {
+        if (isExpired(file, now) && delete(file)) {
+          count++;
+        }
+      }
+    }
+    if (count != 0) {
+      LOGGER.info("[failover] clean expired files, dir: {}, count: {}", dir, count);
+    }
+    return count;
+  }
+
+  private boolean isExpired(File file, long now) {
+    return now - file.lastModified() > maxAgeMillis;
+  }
+
+  private boolean delete(File file) {
+    synchronized (lockOf(file.getName())) {
+      savedVersions.remove(file.getName());
+      return file.delete();
+    }
+  }
+
+  static String fileName(String key, String segment) {
+    return encode(key) + SEGMENT_SEPARATOR + encode(segment) + FILE_SUFFIX;
+  }
+
+  static String encode(String s) {
+    try {
+      // '@' is encoded, the separator is unambiguous
+      return URLEncoder.encode(s == null ? "" : s, CHARSET);
+    } catch (UnsupportedEncodingException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  private static void write(DataOutputStream out, String localZone, SegmentData segmentData)
+      throws IOException {
+    out.writeInt(MAGIC);
+    out.writeByte(FORMAT_VERSION);
+    out.writeLong(segmentData.getVersion());
+    writeString(out, segmentData.getSegment());
+    writeString(out, localZone);
+    Map<String, List<DataBox>> data = segmentData.getData();
+    if (null == data) {
+      out.writeInt(0);
+      return;
+    }
+    out.writeInt(data.size());
+    for (Entry<String, List<DataBox>> entry : data.entrySet()) {
+      writeString(out, entry.getKey());
+      List<DataBox> boxes = entry.getValue();
+      if (null == boxes) {
+        out.writeInt(0);
+        continue;
+      }
+      out.writeInt(boxes.size());
+      for (DataBox box : boxes) {
+        writeString(out, box == null ? null : box.getData());
+      }
+    }
+  }
+
+  private static Record read(DataInputStream in) throws IOException {
+    if (in.readInt() != MAGIC) {
+      throw new IOException("illegal magic");
+    }
+    byte formatVersion = in.readByte();
+    if (formatVersion != FORMAT_VERSION) {
+      throw new IOException("unsupported format version " + formatVersion);
+    }
+    SegmentData segmentData = new SegmentData();
+    segmentData.setVersion(in.readLong());
+    segmentData.setSegment(readString(in));
+    String localZone = readString(in);
+    int zoneCount = in.readInt();
+    Map<String, List<DataBox>> data = new HashMap<String, List<DataBox>>(zoneCount);
+    for (int i = 0; i < zoneCount; i++) {
+      String zone = readString(in);
+      int boxCount = in.readInt();
+      List<DataBox> boxes = new ArrayList<DataBox>(boxCount);
+      for (int j = 0; j < boxCount; j++) {
+        boxes.add(new DataBox(readString(in)));
+      }
+      data.put(zone, boxes);
+    }
+    segmentData.setData(data);
+    return new Record(segmentData, localZone);
+  }
+
+  private static void writeString(DataOutputStream out, String s) throws IOException {
+    if (null == s) {
+      out.writeInt(-1);
+      return;
+    }
+    // not writeUTF, the data of a box maybe larger than 64k
+    byte[] bytes = s.getBytes(CHARSET);
+    out.writeInt(bytes.length);
+    out.write(bytes);
+  }
+
+  private static String readString(DataInputStream in) throws IOException {
+    int length = in.readInt();
+    if (length < 0) {
+      return null;
+    }
+    byte[] bytes = new byte[length];
+    in.readFully(bytes);
+    return new String(bytes, CHARSET);
+  }
+
+  /**
+   * Getter method for property <tt>dir</tt>.
+   *
+   * @return property value of dir
+   */
+  public File getDir() {
+    return dir;
+  }
+
+  /**
+   * Getter method for property <tt>maxAgeMillis</tt>.
+   *
+   * @return property value of maxAgeMillis
+   */
+  public long getMaxAgeMillis() {
+    return maxAgeMillis;
+  }
+
+  /** The cached segment data. */
+  public static final class Record {
+    private final SegmentData segmentData;
+
+    private final String localZone;
+
+    Record(SegmentData segmentData, String localZone) {
+      this.segmentData = segmentData;
+      this.localZone = localZone;
+    }
+
+    /**
+     * Getter method for property <tt>segmentData</tt>.
+     *
+     * @return property value of segmentData
+     */
+    public SegmentData getSegmentData() {
+      return segmentData;
+    }
+
+    /**
+     * Getter method for property <tt>localZone</tt>.
+     *
+     * @return property value of localZone
+     */
+    public String getLocalZone() {
+      return localZone;
+    }
+  }
+}
@@ -0,0 +1,114 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alipay.sofa.registry.client.remoting;
+
+import com.alipay.remoting.BizContext;
+import com.alipay.remoting.rpc.protocol.SyncUserProcessor;
+import com.alipay.sofa.registry.client.api.Subscriber;
+import com.alipay.sofa.registry.client.log.LoggerFactory;
+import com.alipay.sofa.registry.client.provider.DefaultSubscriber;
+import com.alipay.sofa.registry.client.provider.RegisterCache;
+import com.alipay.sofa.registry.client.task.ObserverHandler;
+import com.alipay.sofa.registry.core.model.ReceivedDeltaData;
+import com.alipay.sofa.registry.core.model.Result;
+import java.util.ArrayList;
+import java.util.List;
+import org.slf4j.Logger;
+
+/**
+ * The type Received delta data processor, applies the diff pushed to the subscribers which enable
+ * the delta push. Responds failure if any subscriber could not apply the diff, the server will push
+ * the full data instead.
+ */
+public class ReceivedDeltaDataProcessor extends SyncUserProcessor<ReceivedDeltaData> {
+  private static final Logger LOGGER = LoggerFactory.getLogger(ReceivedDeltaDataProcessor.class);
+
+  private RegisterCache registerCache;
+
+  private ObserverHandler observerHandler;
+
+  /**
+   * Instantiates a new Received delta data processor.
+   *
+   * @param registerCache the register cache
+   * @param observerHandler the observer handler
+   */
+  public ReceivedDeltaDataProcessor(RegisterCache registerCache, ObserverHandler observerHandler) {
+    this.registerCache = registerCache;
+    this.observerHandler = observerHandler;
+  }
+
+  /**
+   * Handle request object.
+   *
+   * @param bizCtx the biz ctx
+   * @param request the request
+   * @return the object
+   */
+  @Override
+  public Object handleRequest(BizContext bizCtx, ReceivedDeltaData request) {
+    Result result = new Result();
+    result.setSuccess(true);
+    if (null == request || null == request.getSubscriberRegistIds()) {
+      return result;
+    }
+    List<String> gaps = new ArrayList<String>();
+    for (String registId : request.getSubscriberRegistIds()) {
+      Subscriber subscriber = registerCache.getSubscriberByRegistId(registId);
+      if (!(subscriber instanceof DefaultSubscriber)) {
+        continue;
+      }
+      try {
+        if (!((DefaultSubscriber) subscriber).putReceivedDeltaData(request)) {
+          gaps.add(registId);
+          continue;
+        }
+        observerHandler.notify(subscriber);
+      } catch (Exception e) {
+        gaps.add(registId);
+        LOGGER.error(
+            "[received] apply delta error, dataId: {}, registId: {}",
+            subscriber.getDataId(),
+            registId,
+            e);
+      }
+    }
+    if (!gaps.isEmpty()) {
+      result.setSuccess(false);
+      result.setMessage("version gap: " + gaps);
+    }
+    LOGGER.info(
+        "[received] receive subscriber delta data, dataId: {} group: {} version: {}/{} registIds:{} gaps:{}",
+        request.getDataId(),
+        request.getGroup(),
+        request.getBaseVersion(),
+        request.getVersion(),
+        request.getSubscriberRegistIds(),
+        gaps);
+    return result;
+  }
+
+  /**
+   * Interest string.
+   *
+   * @return the string
+   */
+  @Override
+  public String interest() {
+    return ReceivedDeltaData.class.getName();
+  }
+}
@@ -16,6 +16,8 @@
  */
 package com.alipay.sofa.registry.client.task;
 
+import com.alipay.remoting.exception.CodecException;
+import com.alipay.remoting.rpc.exception.InvokeServerException;
 import com.alipay.sofa.registry.client.api.Register;
 import com.alipay.sofa.registry.client.api.RegistryClientConfig;
 import com.alipay.sofa.registry.client.log.LoggerFactory;
@@ -23,7 +25,11 @@ import com.alipay.sofa.registry.client.provider.AbstractInternalRegister;
 import com.alipay.sofa.registry.client.provider.AbstractInternalRegister.SyncTask;
 import com.alipay.sofa.registry.client.provider.RegisterCache;
 import com.alipay.sofa.registry.client.remoting.Client;
+import com.alipay.sofa.registry.core.model.BaseRegister;
+import com.alipay.sofa.registry.core.model.BatchRegisterRequest;
+import com.alipay.sofa.registry.core.model.BatchRegisterResponse;
 import com.alipay.sofa.registry.core.model.RegisterResponse;
+import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
 import java.util.concurrent.atomic.AtomicBoolean;
@@ -47,6 +53,15 @@ public class WorkerThread extends AbstractWorkerThread {
 
   private AtomicBoolean inited = new AtomicBoolean(false);
 
+  /**
+   * the batch register failed, send the registers one by one until the timestamp, reset when
+   * reconnected, maybe to an upgraded server
+   */
+  private volatile long batchRetryTimestamp = 0;
+
+  /** the backoff of the batch register after failed */
+  long batchRetryIntervalMillis = 60 * 1000L;
+
   /**
    * Instantiates a new Worker thread.
    *
@@ -95,7 +110,7 @@ public class WorkerThread extends AbstractWorkerThread {
     while (true) {
       try {
         // check connection status, try to reconnect to the server when connection lose
-        client.ensureConnected();
+        ensureConnected();
 
         if (requestQueue.isEmpty()) {
           await(config.getRecheckInterval());
@@ -103,9 +118,12 @@ public class WorkerThread extends AbstractWorkerThread {
         }
 
         Iterator<TaskEvent> lt = requestQueue.iterator();
+        final int batchSize =
+            System.currentTimeMillis() < batchRetryTimestamp ? 1 : config.getRegisterBatchSize();
+        List<TaskEvent> batch = new ArrayList<TaskEvent>();
 
         while (lt.hasNext()) {
-          client.ensureConnected();
+          ensureConnected();
           TaskEvent ev = lt.next();
           lt.remove();
           int sendCount = ev.incSendCount();
@@ -115,7 +133,18 @@ public class WorkerThread extends AbstractWorkerThread {
             continue;
           }
 
-          handleTask(ev);
+          if (batchSize <= 1) {
+            handleTask(ev);
+            continue;
+          }
+          batch.add(ev);
+          if (batch.size() >= batchSize) {
+            handleTasks(batch);
+            batch.clear();
+          }
+        }
+        if (!batch.isEmpty()) {
+          handleTasks(batch);
         }
 
         // Cleaning completed task, it will take more time when the registration number is large.
@@ -126,6 +155,15 @@ public class WorkerThread extends AbstractWorkerThread {
     }
   }
 
+  private void ensureConnected() throws InterruptedException {
+    if (client.isConnected()) {
+      return;
+    }
+    client.ensureConnected();
+    // a new connection, maybe to another server, try the batch register again
+    batchRetryTimestamp = 0;
+  }
+
   private void handleTask(TaskEvent event) {
     if (null == event) {
       return;
@@ -143,7 +181,6 @@ public class WorkerThread extends AbstractWorkerThread {
       AbstractInternalRegister abstractInternalRegister = (AbstractInternalRegister) register;
 
       SyncTask syncTask = abstractInternalRegister.assemblySyncTask();
-      String requestId = syncTask.getRequestId();
 
       if (syncTask.isDone()) {
         LOGGER.info("[register] register already sync succeeded, {}", register);
@@ -159,36 +196,121 @@ public class WorkerThread extends AbstractWorkerThread {
         return;
       }
 
-      RegisterResponse response = (RegisterResponse) result;
-      if (!response.isSuccess()) {
-        LOGGER.info("[register] register to server failed, {}, {}", request, response);
-        return;
-      }
+      handleResponse(abstractInternalRegister, syncTask, (RegisterResponse) result);
+    } catch (Exception e) {
+      LOGGER.error("[send] handle request failed, {}", event, e);
+    }
+  }
 
-      boolean syncOK =
-          abstractInternalRegister.syncOK(requestId, response.getVersion(), response.isRefused());
-      if (!syncOK) {
-        LOGGER.info(
-            "[register] requestId has expired, ignore this response, {}, {}, {}",
-            requestId,
-            request,
-            response);
-        return;
+  /**
+   * Pack the sync tasks of the events in a batch request, the responses are handled in order as the
+   * single request.
+   *
+   * @param events the events
+   */
+  private void handleTasks(List<TaskEvent> events) {
+    List<AbstractInternalRegister> registers = new ArrayList<AbstractInternalRegister>();
+    List<SyncTask> syncTasks = new ArrayList<SyncTask>();
+    List<BaseRegister> requests = new ArrayList<BaseRegister>();
+    for (TaskEvent event : events) {
+      event.setTriggerTime(System.currentTimeMillis());
+      Register register = event.getSource();
+      if (!(register instanceof AbstractInternalRegister)) {
+        LOGGER.warn("[register] register type unknown, {}", register);
+        continue;
       }
-
-      if (!register.isEnabled()) {
-        registerCache.remove(register.getRegistId());
+      AbstractInternalRegister abstractInternalRegister = (AbstractInternalRegister) register;
+      SyncTask syncTask = abstractInternalRegister.assemblySyncTask();
+      if (syncTask.isDone()) {
+        LOGGER.info("[register] register already sync succeeded, {}", register);
+        continue;
       }
-
-      if (response.isRefused()) {
-        LOGGER.info(
-            "[register] register refused by server, {}, {}, {}", requestId, request, response);
-      } else {
-        LOGGER.info(
-            "[register] register to server success, {}, {}, {}", requestId, request, response);
+      if (!(syncTask.getRequest() instanceof BaseRegister)) {
+        handleTask(event);
+        continue;
       }
+      registers.add(abstractInternalRegister);
+      syncTasks.add(syncTask);
+      requests.add((BaseRegister) syncTask.getRequest());
+    }
+    if (requests.isEmpty()) {
+      return;
+    }
+
+    BatchRegisterRequest request = new BatchRegisterRequest(requests);
+    Object result;
+    try {
+      result = client.invokeSync(request);
+    } catch (InvokeServerException e) {
+      fallback(events, e);
+      return;
+    } catch (CodecException e) {
+      fallback(events, e);
+      return;
     } catch (Exception e) {
-      LOGGER.error("[send] handle request failed, {}", event, e);
+      LOGGER.error("[send] handle batch request failed, {}", request, e);
+      return;
+    }
+
+    if (!(result instanceof BatchRegisterResponse)) {
+      LOGGER.warn("[register] batch result type is wrong, {}", result);
+      return;
+    }
+    List<RegisterResponse> responses = ((BatchRegisterResponse) result).getResponses();
+    if (responses == null || responses.size() != requests.size()) {
+      LOGGER.warn("[register] batch result size is wrong, expect {}, {}", requests.size(), result);
+      return;
+    }
+    for (int i = 0; i < requests.size(); i++) {
+      try {
+        handleResponse(registers.get(i), syncTasks.get(i), responses.get(i));
+      } catch (Exception e) {
+        LOGGER.error("[send] handle response failed, {}", requests.get(i), e);
+      }
+    }
+  }
+
+  private void fallback(List<TaskEvent> events, Exception cause) {
+    // the server without the batch handler, e.g. an old version, or a transient error
+    batchRetryTimestamp = System.currentTimeMillis() + batchRetryIntervalMillis;
+    LOGGER.warn(
+        "[register] batch register failed, send one by one in {}ms, {}",
+        batchRetryIntervalMillis,
+        cause.getMessage());
+    for (TaskEvent event : events) {
+      handleTask(event);
+    }
+  }
+
+  private void handleResponse(
+      AbstractInternalRegister register, SyncTask syncTask, RegisterResponse response) {
+    String requestId = syncTask.getRequestId();
+    Object request = syncTask.getRequest();
+    if (response == null || !response.isSuccess()) {
+      LOGGER.info("[register] register to server failed, {}, {}", request, response);
+      return;
+    }
+
+    boolean syncOK = register.syncOK(requestId, response.getVersion(), response.isRefused());
+    if (!syncOK) {
+      LOGGER.info(
+          "[register] requestId has expired, ignore this response, {}, {}, {}",
+          requestId,
+          request,
+          response);
+      return;
+    }
+
+    if (!register.isEnabled()) {
+      registerCache.remove(register.getRegistId());
+    }
+
+    if (response.isRefused()) {
+      LOGGER.info(
+          "[register] register refused by server, {}, {}, {}", requestId, request, response);
+    } else {
+      LOGGER.info(
+          "[register] register to server success, {}, {}, {}", requestId, request, response);
     }
   }
 }
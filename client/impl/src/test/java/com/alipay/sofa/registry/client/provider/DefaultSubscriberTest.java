@@ -17,18 +17,24 @@
 package com.alipay.sofa.registry.client.provider;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 
 import com.alipay.sofa.registry.client.api.model.UserData;
+import com.alipay.sofa.registry.client.api.registration.SubscriberRegistration;
 import com.alipay.sofa.registry.client.model.SegmentData;
 import com.alipay.sofa.registry.core.model.DataBox;
+import com.alipay.sofa.registry.core.model.ReceivedDeltaData;
+import com.alipay.sofa.registry.core.model.ScopeEnum;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 
 /**
  * To test DefaultSubscriber.
@@ -38,6 +44,8 @@ import org.junit.Test;
  */
 public class DefaultSubscriberTest {
 
+  @Rule public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
   public final String ZHEJIANG = "Zhejiang";
   public final String HANGZHOU = "Hangzhou";
   public final String NINGBO = "Ningbo";
@@ -233,6 +241,132 @@ public class DefaultSubscriberTest {
     assertZoneDataEquals(expectedMap8, userData10.getZoneData());
   }
 
+  @Test
+  public void testPutReceivedDeltaData() {
+    String localZone = ZHEJIANG;
+
+    DefaultRegistryClientConfig config = DefaultRegistryClientConfigBuilder.start().build();
+    DefaultSubscriber defaultSubscriber = new DefaultSubscriber(null, null, config);
+
+    // 1. no base data
+    ReceivedDeltaData delta1 = newDeltaData(segmentA, 0, 1);
+    addToDataBoxMap(delta1.getAddData(), ZHEJIANG, HANGZHOU);
+    assertFalse(defaultSubscriber.putReceivedDeltaData(delta1));
+
+    Map<String, List<DataBox>> map = new HashMap<String, List<DataBox>>();
+    addToDataBoxMap(map, ZHEJIANG, HANGZHOU, NINGBO);
+    addToDataBoxMap(map, JIANGSU, NANJING);
+    SegmentData sd = new SegmentData();
+    sd.setSegment(segmentA);
+    sd.setVersion(1L);
+    sd.setData(map);
+    defaultSubscriber.putReceivedData(sd, localZone);
+
+    // 2. apply the diff
+    ReceivedDeltaData delta2 = newDeltaData(segmentA, 1, 2);
+    addToDataBoxMap(delta2.getAddData(), ZHEJIANG, WENZHOU);
+    addToDataBoxMap(delta2.getAddData(), FUJIAN, XIAMEN);
+    addToDataBoxMap(delta2.getRemoveData(), ZHEJIANG, NINGBO);
+    addToDataBoxMap(delta2.getRemoveData(), JIANGSU, NANJING);
+    assertTrue(defaultSubscriber.putReceivedDeltaData(delta2));
+
+    Map<String, List<String>> expectedMap2 = new HashMap<String, List<String>>();
+    addToStringMap(expectedMap2, ZHEJIANG, HANGZHOU, WENZHOU);
+    addToStringMap(expectedMap2, FUJIAN, XIAMEN);
+    UserData userData2 = defaultSubscriber.peekData();
+    assertEquals(localZone, userData2.getLocalZone());
+    assertZoneDataEquals(expectedMap2, userData2.getZoneData());
+
+    // 3. duplicate delta is ignored
+    assertTrue(defaultSubscriber.putReceivedDeltaData(delta2));
+    assertZoneDataEquals(expectedMap2, defaultSubscriber.peekData().getZoneData());
+
+    // 4. version gap
+    ReceivedDeltaData delta4 = newDeltaData(segmentA, 3, 4);
+    addToDataBoxMap(delta4.getAddData(), JIANGSU, NANJING);
+    assertFalse(defaultSubscriber.putReceivedDeltaData(delta4));
+    assertZoneDataEquals(expectedMap2, defaultSubscriber.peekData().getZoneData());
+  }
+
+  @Test
+  public void testFailoverData() throws Exception {
+    DefaultRegistryClientConfig config =
+        DefaultRegistryClientConfigBuilder.start().setInstanceId("testInstance").build();
+    FailoverCache failoverCache =
+        new FailoverCache(temporaryFolder.getRoot().getAbsolutePath(), Long.MAX_VALUE);
+    SubscriberRegistration registration = new SubscriberRegistration("testDataId", null);
+    registration.setGroup("testGroup");
+
+    DefaultSubscriber subscriber1 = new DefaultSubscriber(registration, null, config);
+    // 1. nothing cached
+    assertFalse(subscriber1.loadFailoverData());
+    subscriber1.setFailoverCache(failoverCache);
+    assertFalse(subscriber1.loadFailoverData());
+    assertFalse(subscriber1.isInited());
+
+    Map<String, List<DataBox>> map = new HashMap<String, List<DataBox>>();
+    addToDataBoxMap(map, ZHEJIANG, HANGZHOU, NINGBO);
+    SegmentData sd = new SegmentData();
+    sd.setSegment(segmentA);
+    sd.setVersion(1L);
+    sd.setData(map);
+    subscriber1.putReceivedData(sd, ZHEJIANG);
+    ReceivedDeltaData delta = newDeltaData(segmentA, 1, 2);
+    addToDataBoxMap(delta.getAddData(), JIANGSU, NANJING);
+    assertTrue(subscriber1.putReceivedDeltaData(delta));
+    assertFalse(subscriber1.isStale());
+
+    // 2. the new subscriber of the same key loads the cached data as stale
+    DefaultSubscriber subscriber2 = new DefaultSubscriber(registration, null, config);
+    subscriber2.setFailoverCache(
+        new FailoverCache(temporaryFolder.getRoot().getAbsolutePath(), Long.MAX_VALUE));
+    assertTrue(subscriber2.loadFailoverData());
+    assertTrue(subscriber2.isStale());
+    assertTrue(subscriber2.isInited());
+    UserData userData = subscriber2.peekData();
+    assertEquals(ZHEJIANG, userData.getLocalZone());
+    Map<String, List<String>> expectedMap = new HashMap<String, List<String>>();
+    addToStringMap(expectedMap, ZHEJIANG, HANGZHOU, NINGBO);
+    addToStringMap(expectedMap, JIANGSU, NANJING);
+    assertZoneDataEquals(expectedMap, userData.getZoneData());
+
+    // 3. the delta could not be applied to the stale data
+    assertFalse(subscriber2.putReceivedDeltaData(newDeltaData(segmentA, 2, 3)));
+
+    // 4. the first push replaces the stale data, even with an older version
+    Map<String, List<DataBox>> map4 = new HashMap<String, List<DataBox>>();
+    addToDataBoxMap(map4, FUJIAN, XIAMEN);
+    SegmentData sd4 = new SegmentData();
+    sd4.setSegment(segmentB);
+    sd4.setVersion(1L);
+    sd4.setData(map4);
+    subscriber2.putReceivedData(sd4, FUJIAN);
+    assertFalse(subscriber2.isStale());
+    Map<String, List<String>> expectedMap4 = new HashMap<String, List<String>>();
+    addToStringMap(expectedMap4, FUJIAN, XIAMEN);
+    assertZoneDataEquals(expectedMap4, subscriber2.peekData().getZoneData());
+    assertFalse(subscriber2.loadFailoverData());
+
+    // 5. other scope is another key
+    SubscriberRegistration registration5 = new SubscriberRegistration("testDataId", null);
+    registration5.setGroup("testGroup");
+    registration5.setScopeEnum(ScopeEnum.global);
+    DefaultSubscriber subscriber5 = new DefaultSubscriber(registration5, null, config);
+    subscriber5.setFailoverCache(failoverCache);
+    assertFalse(subscriber5.loadFailoverData());
+  }
+
+  private ReceivedDeltaData newDeltaData(String segment, long baseVersion, long version) {
+    ReceivedDeltaData delta = new ReceivedDeltaData();
+    delta.setSegment(segment);
+    delta.setBaseVersion(baseVersion);
+    delta.setVersion(version);
+    delta.setLocalZone(ZHEJIANG);
+    delta.setAddData(new HashMap<String, List<DataBox>>());
+    delta.setRemoveData(new HashMap<String, List<DataBox>>());
+    return delta;
+  }
+
   private void addToDataBoxMap(Map<String, List<DataBox>> map, String key, String... values) {
     List<DataBox> list = map.get(key);
     if (list == null) {
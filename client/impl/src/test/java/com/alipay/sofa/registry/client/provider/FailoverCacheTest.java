@@ -0,0 +1,170 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alipay.sofa.registry.client.provider;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import com.alipay.sofa.registry.client.model.SegmentData;
+import com.alipay.sofa.registry.core.model.DataBox;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class FailoverCacheTest {
+
+  @Rule public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  @Test
+  public void testSaveAndLoad() throws Exception {
+    File dir = new File(temporaryFolder.getRoot(), "failover");
+    FailoverCache cache = new FailoverCache(dir.getAbsolutePath(), Long.MAX_VALUE);
+    String key = "testDataId#@#DEFAULT_INSTANCE_ID#@#DEFAULT_GROUP#@#zone";
+    assertTrue(cache.load(key).isEmpty());
+
+    SegmentData sd = newSegmentData("DefaultDataCenter", 2, "a", null);
+    assertTrue(cache.save(key, "zoneA", sd));
+    // the same or older version is ignored
+    assertFalse(cache.save(key, "zoneA", sd));
+    assertFalse(cache.save(key, "zoneA", newSegmentData("DefaultDataCenter", 1, "b")));
+    assertTrue(cache.save(key, "zoneA", newSegmentData("otherDataCenter", 1, "c")));
+    assertTrue(cache.save("otherKey", "zoneA", newSegmentData("DefaultDataCenter", 1, "d")));
+    assertFalse(cache.save(key, "zoneA", null));
+
+    List<FailoverCache.Record> records =
+        new FailoverCache(dir.getAbsolutePath(), Long.MAX_VALUE).load(key);
+    assertEquals(2, records.size());
+    Map<String, FailoverCache.Record> recordMap = new HashMap<String, FailoverCache.Record>();
+    for (FailoverCache.Record record : records) {
+      recordMap.put(record.getSegmentData().getSegment(), record);
+    }
+    FailoverCache.Record record = recordMap.get("DefaultDataCenter");
+    assertEquals("zoneA", record.getLocalZone());
+    assertEquals(Long.valueOf(2), record.getSegmentData().getVersion());
+    List<DataBox> boxes = record.getSegmentData().getData().get("zoneA");
+    assertEquals(2, boxes.size());
+    assertEquals("a", boxes.get(0).getData());
+    assertNull(boxes.get(1).getData());
+    assertEquals(
+        "c",
+        recordMap.get("otherDataCenter").getSegmentData().getData().get("zoneA").get(0).getData());
+  }
+
+  @Test
+  public void testLoadBroken() throws Exception {
+    File dir = temporaryFolder.getRoot();
+    FailoverCache cache = new FailoverCache(dir.getAbsolutePath(), Long.MAX_VALUE);
+    String key = "testKey";
+    assertTrue(cache.save(key, "zoneA", newSegmentData("DefaultDataCenter", 1, "a")));
+
+    File broken = new File(dir, FailoverCache.fileName(key, "brokenDataCenter"));
+    FileOutputStream out = new FileOutputStream(broken);
+    try {
+      out.write(new byte[] {1, 2, 3});
+    } finally {
+      out.close();
+    }
+    List<FailoverCache.Record> records = cache.load(key);
+    assertEquals(1, records.size());
+    assertEquals("DefaultDataCenter", records.get(0).getSegmentData().getSegment());
+    assertFalse(broken.exists());
+  }
+
+  @Test
+  public void testExpired() throws Exception {
+    File dir = temporaryFolder.getRoot();
+    FailoverCache cache = new FailoverCache(dir.getAbsolutePath(), 60000);
+    assertTrue(cache.save("testKey", "zoneA", newSegmentData("DefaultDataCenter", 1, "a")));
+    assertTrue(cache.save("otherKey", "zoneA", newSegmentData("DefaultDataCenter", 1, "b")));
+    File file = new File(dir, FailoverCache.fileName("testKey", "DefaultDataCenter"));
+    File other = new File(dir, FailoverCache.fileName("otherKey", "DefaultDataCenter"));
+    File tmp = File.createTempFile("testTmp", ".tmp", dir);
+    long expired = System.currentTimeMillis() - 120000;
+    assertTrue(file.setLastModified(expired));
+    assertTrue(other.setLastModified(expired));
+    assertTrue(tmp.setLastModified(expired));
+
+    // the push of the same version refreshes the file
+    assertFalse(cache.save("testKey", "zoneA", newSegmentData("DefaultDataCenter", 1, "a")));
+    assertEquals(1, cache.load("testKey").size());
+    assertTrue(cache.load("otherKey").isEmpty());
+    assertFalse(other.exists());
+    // saved again after expired
+    assertTrue(cache.save("otherKey", "zoneA", newSegmentData("DefaultDataCenter", 1, "b")));
+
+    assertTrue(file.setLastModified(expired));
+    assertEquals(2, cache.cleanExpired());
+    assertFalse(file.exists());
+    assertFalse(tmp.exists());
+    assertTrue(other.exists());
+  }
+
+  @Test
+  public void testConcurrentSave() throws Exception {
+    final File dir = temporaryFolder.getRoot();
+    final FailoverCache cache = new FailoverCache(dir.getAbsolutePath(), Long.MAX_VALUE);
+    final int threadNum = 4;
+    final int versionNum = 200;
+    Thread[] threads = new Thread[threadNum];
+    for (int i = 0; i < threadNum; i++) {
+      final int offset = i;
+      threads[i] =
+          new Thread() {
+            @Override
+            public void run() {
+              for (int v = offset + 1; v <= versionNum; v += threadNum) {
+                cache.save(
+                    "testKey", "zoneA", newSegmentData("DefaultDataCenter", v, String.valueOf(v)));
+              }
+            }
+          };
+      threads[i].start();
+    }
+    for (Thread thread : threads) {
+      thread.join();
+    }
+    // the newest version always wins, even if an older write finishes later
+    List<FailoverCache.Record> records =
+        new FailoverCache(dir.getAbsolutePath(), Long.MAX_VALUE).load("testKey");
+    assertEquals(1, records.size());
+    assertEquals(Long.valueOf(versionNum), records.get(0).getSegmentData().getVersion());
+    File[] files = dir.listFiles();
+    assertEquals(1, files.length);
+  }
+
+  private static SegmentData newSegmentData(String segment, long version, String... data) {
+    List<DataBox> boxes = new ArrayList<DataBox>();
+    for (String d : data) {
+      boxes.add(new DataBox(d));
+    }
+    Map<String, List<DataBox>> map = new HashMap<String, List<DataBox>>();
+    map.put("zoneA", boxes);
+    SegmentData segmentData = new SegmentData();
+    segmentData.setSegment(segment);
+    segmentData.setVersion(version);
+    segmentData.setData(map);
+    return segmentData;
+  }
+}
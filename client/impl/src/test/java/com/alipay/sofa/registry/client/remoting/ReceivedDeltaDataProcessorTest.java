@@ -0,0 +1,78 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alipay.sofa.registry.client.remoting;
+
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.alipay.sofa.registry.client.api.Subscriber;
+import com.alipay.sofa.registry.client.provider.DefaultSubscriber;
+import com.alipay.sofa.registry.client.provider.RegisterCache;
+import com.alipay.sofa.registry.client.task.ObserverHandler;
+import com.alipay.sofa.registry.core.model.ReceivedDeltaData;
+import com.alipay.sofa.registry.core.model.Result;
+import java.util.Arrays;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ReceivedDeltaDataProcessorTest {
+
+  @Test
+  public void handleRequest() {
+    RegisterCache registerCache = mock(RegisterCache.class);
+    ObserverHandler handler = mock(ObserverHandler.class);
+    when(registerCache.getSubscriberByRegistId("11")).thenReturn(null);
+    when(registerCache.getSubscriberByRegistId("22")).thenReturn(mock(Subscriber.class));
+    DefaultSubscriber applied = mock(DefaultSubscriber.class);
+    DefaultSubscriber gap = mock(DefaultSubscriber.class);
+    DefaultSubscriber error = mock(DefaultSubscriber.class);
+    when(registerCache.getSubscriberByRegistId("33")).thenReturn(applied);
+    when(registerCache.getSubscriberByRegistId("44")).thenReturn(gap);
+    when(registerCache.getSubscriberByRegistId("55")).thenReturn(error);
+    ReceivedDeltaDataProcessor processor = new ReceivedDeltaDataProcessor(registerCache, handler);
+
+    Result result = (Result) processor.handleRequest(null, null);
+    Assert.assertTrue(result.isSuccess());
+
+    ReceivedDeltaData request = new ReceivedDeltaData();
+    request.setBaseVersion(1L);
+    request.setVersion(2L);
+    request.setSubscriberRegistIds(Arrays.asList("11", "22", "33"));
+    when(applied.putReceivedDeltaData(request)).thenReturn(true);
+    when(gap.putReceivedDeltaData(request)).thenReturn(false);
+    doThrow(new RuntimeException()).when(error).putReceivedDeltaData(request);
+    result = (Result) processor.handleRequest(null, request);
+    Assert.assertTrue(result.isSuccess());
+    verify(handler, times(1)).notify(applied);
+
+    request.setSubscriberRegistIds(Arrays.asList("33", "44", "55"));
+    result = (Result) processor.handleRequest(null, request);
+    Assert.assertFalse(result.isSuccess());
+    Assert.assertEquals("version gap: [44, 55]", result.getMessage());
+    verify(handler, times(2)).notify(applied);
+  }
+
+  @Test
+  public void interest() {
+    ReceivedDeltaDataProcessor processor =
+        new ReceivedDeltaDataProcessor(mock(RegisterCache.class), mock(ObserverHandler.class));
+    Assert.assertEquals(ReceivedDeltaData.class.getName(), processor.interest());
+  }
+}
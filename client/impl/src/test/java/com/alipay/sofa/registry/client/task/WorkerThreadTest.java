@@ -0,0 +1,240 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alipay.sofa.registry.client.task;
+
+import static org.mockito.Matchers.anyObject;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.atLeast;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.alipay.remoting.rpc.exception.InvokeServerException;
+import com.alipay.sofa.registry.client.api.RegistryClientConfig;
+import com.alipay.sofa.registry.client.provider.AbstractInternalRegister;
+import com.alipay.sofa.registry.client.provider.AbstractInternalRegister.SyncTask;
+import com.alipay.sofa.registry.client.provider.DefaultRegistryClientConfigBuilder;
+import com.alipay.sofa.registry.client.provider.RegisterCache;
+import com.alipay.sofa.registry.client.remoting.Client;
+import com.alipay.sofa.registry.core.model.BatchRegisterRequest;
+import com.alipay.sofa.registry.core.model.BatchRegisterResponse;
+import com.alipay.sofa.registry.core.model.PublisherRegister;
+import com.alipay.sofa.registry.core.model.RegisterResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.junit.Assert;
+import org.junit.Test;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+
+public class WorkerThreadTest {
+
+  @Test
+  public void testBatchRegister() throws Exception {
+    RegistryClientConfig config =
+        DefaultRegistryClientConfigBuilder.start().setRegisterBatchSize(10).build();
+    Client client = mock(Client.class);
+    final List<Object> requests = new ArrayList<Object>();
+    when(client.invokeSync(anyObject()))
+        .thenAnswer(
+            new Answer<Object>() {
+              @Override
+              public Object answer(InvocationOnMock invocation) {
+                Object request = invocation.getArguments()[0];
+                requests.add(request);
+                List<RegisterResponse> responses = new ArrayList<RegisterResponse>();
+                for (int i = 0; i < ((BatchRegisterRequest) request).getRequests().size(); i++) {
+                  responses.add(success());
+                }
+                return new BatchRegisterResponse(responses);
+              }
+            });
+
+    AbstractInternalRegister register1 = mockRegister("req1");
+    AbstractInternalRegister register2 = mockRegister("req2");
+    List<TaskEvent> events = new ArrayList<TaskEvent>();
+    events.add(new TaskEvent(register1));
+    events.add(new TaskEvent(register2));
+
+    WorkerThread workerThread = new WorkerThread(client, config, mock(RegisterCache.class));
+    workerThread.schedule(events);
+    Thread.sleep(1000L);
+
+    Assert.assertTrue(requests.get(0) instanceof BatchRegisterRequest);
+    Assert.assertEquals(2, ((BatchRegisterRequest) requests.get(0)).getRequests().size());
+    verify(register1, atLeast(1)).syncOK(eq("req1"), eq(100L), eq(false));
+    verify(register2, atLeast(1)).syncOK(eq("req2"), eq(100L), eq(false));
+  }
+
+  @Test
+  public void testBatchUnsupported() throws Exception {
+    RegistryClientConfig config =
+        DefaultRegistryClientConfigBuilder.start().setRegisterBatchSize(10).build();
+    Client client = mock(Client.class);
+    when(client.isConnected()).thenReturn(true);
+    final List<Object> requests = new ArrayList<Object>();
+    when(client.invokeSync(anyObject()))
+        .thenAnswer(
+            new Answer<Object>() {
+              @Override
+              public Object answer(InvocationOnMock invocation) throws Throwable {
+                Object request = invocation.getArguments()[0];
+                requests.add(request);
+                if (request instanceof BatchRegisterRequest) {
+                  throw new InvokeServerException("no processor");
+                }
+                return success();
+              }
+            });
+
+    AbstractInternalRegister register1 = mockRegister("req1");
+    AbstractInternalRegister register2 = mockRegister("req2");
+    List<TaskEvent> events = new ArrayList<TaskEvent>();
+    events.add(new TaskEvent(register1));
+    events.add(new TaskEvent(register2));
+
+    WorkerThread workerThread = new WorkerThread(client, config, mock(RegisterCache.class));
+    workerThread.schedule(events);
+    Thread.sleep(1000L);
+
+    // fallback to send one by one
+    Assert.assertTrue(requests.get(0) instanceof BatchRegisterRequest);
+    Assert.assertTrue(requests.get(1) instanceof PublisherRegister);
+    Assert.assertTrue(requests.get(2) instanceof PublisherRegister);
+    verify(register1, atLeast(1)).syncOK(eq("req1"), eq(100L), eq(false));
+    verify(register2, atLeast(1)).syncOK(eq("req2"), eq(100L), eq(false));
+    for (int i = 3; i < requests.size(); i++) {
+      Assert.assertFalse(requests.get(i) instanceof BatchRegisterRequest);
+    }
+  }
+
+  @Test
+  public void testBatchRetryAfterBackoff() throws Exception {
+    Client client = mock(Client.class);
+    when(client.isConnected()).thenReturn(true);
+    final List<Object> requests = new ArrayList<Object>();
+    when(client.invokeSync(anyObject())).thenAnswer(failFirstBatch(requests));
+
+    WorkerThread workerThread = newWorkerThread(client);
+    workerThread.batchRetryIntervalMillis = 300;
+    workerThread.schedule(newEvents("req1", "req2"));
+    Thread.sleep(1000L);
+    requests.clear();
+
+    // the backoff passed, batch again
+    workerThread.schedule(newEvents("req3", "req4"));
+    Thread.sleep(1000L);
+    Assert.assertTrue(requests.get(0) instanceof BatchRegisterRequest);
+  }
+
+  @Test
+  public void testBatchRetryAfterReconnect() throws Exception {
+    Client client = mock(Client.class);
+    final AtomicBoolean connected = new AtomicBoolean(true);
+    when(client.isConnected())
+        .thenAnswer(
+            new Answer<Object>() {
+              @Override
+              public Object answer(InvocationOnMock invocation) {
+                return connected.get();
+              }
+            });
+    doAnswer(
+            new Answer<Object>() {
+              @Override
+              public Object answer(InvocationOnMock invocation) {
+                connected.set(true);
+                return null;
+              }
+            })
+        .when(client)
+        .ensureConnected();
+    final List<Object> requests = new ArrayList<Object>();
+    when(client.invokeSync(anyObject())).thenAnswer(failFirstBatch(requests));
+
+    WorkerThread workerThread = newWorkerThread(client);
+    workerThread.schedule(newEvents("req1", "req2"));
+    Thread.sleep(1000L);
+    Assert.assertTrue(requests.get(1) instanceof PublisherRegister);
+
+    // reconnected, maybe to an upgraded server, batch again without waiting the backoff
+    connected.set(false);
+    Thread.sleep(1000L);
+    requests.clear();
+    workerThread.schedule(newEvents("req3", "req4"));
+    Thread.sleep(1000L);
+    Assert.assertTrue(requests.get(0) instanceof BatchRegisterRequest);
+  }
+
+  private static Answer<Object> failFirstBatch(final List<Object> requests) {
+    final AtomicBoolean failed = new AtomicBoolean(false);
+    return new Answer<Object>() {
+      @Override
+      public Object answer(InvocationOnMock invocation) throws Throwable {
+        Object request = invocation.getArguments()[0];
+        requests.add(request);
+        if (!(request instanceof BatchRegisterRequest)) {
+          return success();
+        }
+        if (failed.compareAndSet(false, true)) {
+          throw new InvokeServerException("no processor");
+        }
+        List<RegisterResponse> responses = new ArrayList<RegisterResponse>();
+        for (int i = 0; i < ((BatchRegisterRequest) request).getRequests().size(); i++) {
+          responses.add(success());
+        }
+        return new BatchRegisterResponse(responses);
+      }
+    };
+  }
+
+  private static WorkerThread newWorkerThread(Client client) {
+    RegistryClientConfig config =
+        DefaultRegistryClientConfigBuilder.start().setRegisterBatchSize(10).build();
+    return new WorkerThread(client, config, mock(RegisterCache.class));
+  }
+
+  private static List<TaskEvent> newEvents(String... requestIds) {
+    List<TaskEvent> events = new ArrayList<TaskEvent>();
+    for (String requestId : requestIds) {
+      events.add(new TaskEvent(mockRegister(requestId)));
+    }
+    return events;
+  }
+
+  private static AbstractInternalRegister mockRegister(String requestId) {
+    AbstractInternalRegister register = mock(AbstractInternalRegister.class);
+    SyncTask syncTask = mock(SyncTask.class);
+    when(syncTask.getRequestId()).thenReturn(requestId);
+    when(syncTask.getRequest()).thenReturn(new PublisherRegister());
+    when(register.assemblySyncTask()).thenReturn(syncTask);
+    when(register.syncOK(anyString(), eq(100L), eq(false))).thenReturn(true);
+    when(register.getRegistId()).thenReturn(requestId);
+    when(register.isEnabled()).thenReturn(true);
+    return register;
+  }
+
+  private static RegisterResponse success() {
+    RegisterResponse response = new RegisterResponse();
+    response.setSuccess(true);
+    response.setVersion(100L);
+    return response;
+  }
+}
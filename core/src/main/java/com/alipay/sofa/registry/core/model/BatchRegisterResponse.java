@@ -0,0 +1,68 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alipay.sofa.registry.core.model;
+
+import java.io.Serializable;
+import java.util.List;
+
+/** The responses of a {@link BatchRegisterRequest}, one response for each register in order. */
+public class BatchRegisterResponse implements Serializable {
+
+  private static final long serialVersionUID = -1536302542094425719L;
+
+  private List<RegisterResponse> responses;
+
+  /** Instantiates a new Batch register response. */
+  public BatchRegisterResponse() {}
+
+  /**
+   * Instantiates a new Batch register response.
+   *
+   * @param responses the responses
+   */
+  public BatchRegisterResponse(List<RegisterResponse> responses) {
+    this.responses = responses;
+  }
+
+  /**
+   * Getter method for property <tt>responses</tt>.
+   *
+   * @return property value of responses
+   */
+  public List<RegisterResponse> getResponses() {
+    return responses;
+  }
+
+  /**
+   * Setter method for property <tt>responses</tt>.
+   *
+   * @param responses value to be assigned to property responses
+   */
+  public void setResponses(List<RegisterResponse> responses) {
+    this.responses = responses;
+  }
+
+  /**
+   * To string string.
+   *
+   * @return the string
+   */
+  @Override
+  public String toString() {
+    return "BatchRegisterResponse{" + "size=" + (responses == null ? 0 : responses.size()) + '}';
+  }
+}
@@ -0,0 +1,291 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alipay.sofa.registry.core.model;
+
+import java.io.Serializable;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The diff of the subscribed data between two versions, only pushed to the subscribers which accept
+ * the {@link #ACCEPT_ENCODING} encoding. If the version of the local data is not the baseVersion,
+ * the client should respond a failed {@link Result} and the server falls back to push the full
+ * {@link ReceivedData}.
+ */
+public class ReceivedDeltaData implements Serializable {
+
+  private static final long serialVersionUID = 5236921573830287261L;
+
+  /** the accept encoding of the subscribers which support the delta push */
+  public static final String ACCEPT_ENCODING = "delta";
+
+  private String dataId;
+
+  private String group;
+
+  private String instanceId;
+
+  private String segment;
+
+  private String scope;
+
+  private List<String /*registId*/> subscriberRegistIds;
+
+  private Long version;
+
+  /** the version which the diff is based on, must equal to the version of the client */
+  private Long baseVersion;
+
+  private String localZone;
+
+  /** the boxes to append */
+  private Map<String /*zone*/, List<DataBox>> addData;
+
+  /** the boxes to remove, one equal box is removed for each */
+  private Map<String /*zone*/, List<DataBox>> removeData;
+
+  /** Instantiates a new Received delta data. */
+  public ReceivedDeltaData() {}
+
+  /**
+   * Getter method for property <tt>dataId</tt>.
+   *
+   * @return property value of dataId
+   */
+  public String getDataId() {
+    return dataId;
+  }
+
+  /**
+   * Setter method for property <tt>dataId</tt>.
+   *
+   * @param dataId value to be assigned to property dataId
+   */
+  public void setDataId(String dataId) {
+    this.dataId = dataId;
+  }
+
+  /**
+   * Getter method for property <tt>group</tt>.
+   *
+   * @return property value of group
+   */
+  public String getGroup() {
+    return group;
+  }
+
+  /**
+   * Setter method for property <tt>group</tt>.
+   *
+   * @param group value to be assigned to property group
+   */
+  public void setGroup(String group) {
+    this.group = group;
+  }
+
+  /**
+   * Getter method for property <tt>instanceId</tt>.
+   *
+   * @return property value of instanceId
+   */
+  public String getInstanceId() {
+    return instanceId;
+  }
+
+  /**
+   * Setter method for property <tt>instanceId</tt>.
+   *
+   * @param instanceId value to be assigned to property instanceId
+   */
+  public void setInstanceId(String instanceId) {
+    this.instanceId = instanceId;
+  }
+
+  /**
+   * Getter method for property <tt>segment</tt>.
+   *
+   * @return property value of segment
+   */
+  public String getSegment() {
+    return segment;
+  }
+
+  /**
+   * Setter method for property <tt>segment</tt>.
+   *
+   * @param segment value to be assigned to property segment
+   */
+  public void setSegment(String segment) {
+    this.segment = segment;
+  }
+
+  /**
+   * Getter method for property <tt>scope</tt>.
+   *
+   * @return property value of scope
+   */
+  public String getScope() {
+    return scope;
+  }
+
+  /**
+   * Setter method for property <tt>scope</tt>.
+   *
+   * @param scope value to be assigned to property scope
+   */
+  public void setScope(String scope) {
+    this.scope = scope;
+  }
+
+  /**
+   * Getter method for property <tt>subscriberRegistIds</tt>.
+   *
+   * @return property value of subscriberRegistIds
+   */
+  public List<String> getSubscriberRegistIds() {
+    return subscriberRegistIds;
+  }
+
+  /**
+   * Setter method for property <tt>subscriberRegistIds</tt>.
+   *
+   * @param subscriberRegistIds value to be assigned to property subscriberRegistIds
+   */
+  public void setSubscriberRegistIds(List<String> subscriberRegistIds) {
+    this.subscriberRegistIds = subscriberRegistIds;
+  }
+
+  /**
+   * Getter method for property <tt>version</tt>.
+   *
+   * @return property value of version
+   */
+  public Long getVersion() {
+    return version;
+  }
+
+  /**
+   * Setter method for property <tt>version</tt>.
+   *
+   * @param version value to be assigned to property version
+   */
+  public void setVersion(Long version) {
+    this.version = version;
+  }
+
+  /**
+   * Getter method for property <tt>baseVersion</tt>.
+   *
+   * @return property value of baseVersion
+   */
+  public Long getBaseVersion() {
+    return baseVersion;
+  }
+
+  /**
+   * Setter method for property <tt>baseVersion</tt>.
+   *
+   * @param baseVersion value to be assigned to property baseVersion
+   */
+  public void setBaseVersion(Long baseVersion) {
+    this.baseVersion = baseVersion;
+  }
+
+  /**
+   * Getter method for property <tt>localZone</tt>.
+   *
+   * @return property value of localZone
+   */
+  public String getLocalZone() {
+    return localZone;
+  }
+
+  /**
+   * Setter method for property <tt>localZone</tt>.
+   *
+   * @param localZone value to be assigned to property localZone
+   */
+  public void setLocalZone(String localZone) {
+    this.localZone = localZone;
+  }
+
+  /**
+   * Getter method for property <tt>addData</tt>.
+   *
+   * @return property value of addData
+   */
+  public Map<String, List<DataBox>> getAddData() {
+    return addData;
+  }
+
+  /**
+   * Setter method for property <tt>addData</tt>.
+   *
+   * @param addData value to be assigned to property addData
+   */
+  public void setAddData(Map<String, List<DataBox>> addData) {
+    this.addData = addData;
+  }
+
+  /**
+   * Getter method for property <tt>removeData</tt>.
+   *
+   * @return property value of removeData
+   */
+  public Map<String, List<DataBox>> getRemoveData() {
+    return removeData;
+  }
+
+  /**
+   * Setter method for property <tt>removeData</tt>.
+   *
+   * @param removeData value to be assigned to property removeData
+   */
+  public void setRemoveData(Map<String, List<DataBox>> removeData) {
+    this.removeData = removeData;
+  }
+
+  @Override
+  public String toString() {
+    return "ReceivedDeltaData{"
+        + "dataId='"
+        + dataId
+        + '\''
+        + ", group='"
+        + group
+        + '\''
+        + ", instanceId='"
+        + instanceId
+        + '\''
+        + ", segment='"
+        + segment
+        + '\''
+        + ", scope='"
+        + scope
+        + '\''
+        + ", subscriberRegistIds="
+        + subscriberRegistIds
+        + ", version="
+        + version
+        + ", baseVersion="
+        + baseVersion
+        + ", localZone='"
+        + localZone
+        + '\''
+        + '}';
+  }
+}
@@ -16,6 +16,7 @@
  */
 package com.alipay.sofa.registry.common.model;
 
+import com.alipay.sofa.registry.common.model.dataserver.CommutativeDatumDigest;
 import com.alipay.sofa.registry.common.model.dataserver.DatumDigest;
 import com.alipay.sofa.registry.common.model.dataserver.DatumSummary;
 import com.google.common.collect.Maps;
@@ -42,6 +43,39 @@ public final class PublisherDigestUtil {
     return ret;
   }
 
+  public static Map<String, DatumDigest> digest(
+      Map<String, DatumSummary> summaryMap, boolean commutative) {
+    if (!commutative) {
+      return digest(summaryMap);
+    }
+    if (summaryMap.isEmpty()) {
+      return Collections.emptyMap();
+    }
+    final Map<String, DatumDigest> ret = Maps.newHashMapWithExpectedSize(summaryMap.size());
+    for (Map.Entry<String, DatumSummary> e : summaryMap.entrySet()) {
+      ret.put(e.getKey(), commutativeDigest(e.getValue()));
+    }
+    return ret;
+  }
+
+  /**
+   * use the digest maintained by the storage if exists, otherwise calc it
+   *
+   * @param summary
+   * @return
+   */
+  public static DatumDigest commutativeDigest(DatumSummary summary) {
+    final DatumDigest cached = summary.getCommutativeDigest();
+    if (cached != null) {
+      return cached;
+    }
+    CommutativeDatumDigest digest = new CommutativeDatumDigest();
+    for (Map.Entry<String, RegisterVersion> pub : summary.getPublisherVersions().entrySet()) {
+      digest.add(pub.getKey(), pub.getValue());
+    }
+    return digest.toDigest();
+  }
+
   public static DatumDigest digest(DatumSummary summary) {
     int publisherNum = summary.size();
     long publisherIdSign = 0;
@@ -0,0 +1,1819 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alipay.sofa.registry.common.model.client.pb;
+
+/**
+ *
+ *
+ * <pre>
+ * the diff between the pushed version and the current version, only pushed to the subscribers
+ * which accept the "delta" encoding. the client removes one equal box for each of removeData and
+ * appends addData, if the local version != baseVersion, responds failure to require a full push
+ * </pre>
+ *
+ * Protobuf type {@code ReceivedDeltaDataPb}
+ */
+public final class ReceivedDeltaDataPb extends com.google.protobuf.GeneratedMessageV3
+    implements
+    // @@protoc_insertion_point(message_implements:ReceivedDeltaDataPb)
+    ReceivedDeltaDataPbOrBuilder {
+  private static final long serialVersionUID = 0L;
+  // Use ReceivedDeltaDataPb.newBuilder() to construct.
+  private ReceivedDeltaDataPb(com.google.protobuf.GeneratedMessageV3.Builder<?> builder) {
+    super(builder);
+  }
+
+  private ReceivedDeltaDataPb() {
+    dataId_ = "";
+    group_ = "";
+    instanceId_ = "";
+    segment_ = "";
+    scope_ = "";
+    subscriberRegistIds_ = com.google.protobuf.LazyStringArrayList.EMPTY;
+    version_ = 0L;
+    baseVersion_ = 0L;
+    localZone_ = "";
+  }
+
+  @java.lang.Override
+  public final com.google.protobuf.UnknownFieldSet getUnknownFields() {
+    return this.unknownFields;
+  }
+
+  private ReceivedDeltaDataPb(
+      com.google.protobuf.CodedInputStream input,
+      com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+      throws com.google.protobuf.InvalidProtocolBufferException {
+    this();
+    if (extensionRegistry == null) {
+      throw new java.lang.NullPointerException();
+    }
+    int mutable_bitField0_ = 0;
+    com.google.protobuf.UnknownFieldSet.Builder unknownFields =
+        com.google.protobuf.UnknownFieldSet.newBuilder();
+    try {
+      boolean done = false;
+      while (!done) {
+        int tag = input.readTag();
+        switch (tag) {
+          case 0:
+            done = true;
+            break;
+          default:
+            {
+              if (!parseUnknownFieldProto3(input, unknownFields, extensionRegistry, tag)) {
+                done = true;
+              }
+              break;
+            }
+          case 10:
+            {
+              java.lang.String s = input.readStringRequireUtf8();
+
+              dataId_ = s;
+              break;
+            }
+          case 18:
+            {
+              java.lang.String s = input.readStringRequireUtf8();
+
+              group_ = s;
+              break;
+            }
+          case 26:
+            {
+              java.lang.String s = input.readStringRequireUtf8();
+
+              instanceId_ = s;
+              break;
+            }
+          case 34:
+            {
+              java.lang.String s = input.readStringRequireUtf8();
+
+              segment_ = s;
+              break;
+            }
+          case 42:
+            {
+              java.lang.String s = input.readStringRequireUtf8();
+
+              scope_ = s;
+              break;
+            }
+          case 50:
+            {
+              java.lang.String s = input.readStringRequireUtf8();
+              if (!((mutable_bitField0_ & 0x00000020) == 0x00000020)) {
+                subscriberRegistIds_ = new com.google.protobuf.LazyStringArrayList();
+                mutable_bitField0_ |= 0x00000020;
+              }
+              subscriberRegistIds_.add(s);
+              break;
+            }
+          case 56:
+            {
+              version_ = input.readInt64();
+              break;
+            }
+          case 64:
+            {
+              baseVersion_ = input.readInt64();
+              break;
+            }
+          case 74:
+            {
+              java.lang.String s = input.readStringRequireUtf8();
+
+              localZone_ = s;
+              break;
+            }
+          case 82:
+            {
+              if (!((mutable_bitField0_ & 0x00000200) == 0x00000200)) {
+                addData_ =
+                    com.google.protobuf.MapField.newMapField(
+                        AddDataDefaultEntryHolder.defaultEntry);
+                mutable_bitField0_ |= 0x00000200;
+              }
+              com.google.protobuf.MapEntry<
+                      java.lang.String, com.alipay.sofa.registry.common.model.client.pb.DataBoxesPb>
+                  addData__ =
+                      input.readMessage(
+                          AddDataDefaultEntryHolder.defaultEntry.getParserForType(),
+                          extensionRegistry);
+              addData_.getMutableMap().put(addData__.getKey(), addData__.getValue());
+              break;
+            }
+          case 90:
+            {
+              if (!((mutable_bitField0_ & 0x00000400) == 0x00000400)) {
+                removeData_ =
+                    com.google.protobuf.MapField.newMapField(
+                        RemoveDataDefaultEntryHolder.defaultEntry);
+                mutable_bitField0_ |= 0x00000400;
+              }
+              com.google.protobuf.MapEntry<
+                      java.lang.String, com.alipay.sofa.registry.common.model.client.pb.DataBoxesPb>
+                  removeData__ =
+                      input.readMessage(
+                          RemoveDataDefaultEntryHolder.defaultEntry.getParserForType(),
+                          extensionRegistry);
+              removeData_.getMutableMap().put(removeData__.getKey(), removeData__.getValue());
+              break;
+            }
+        }
+      }
+    } catch (com.google.protobuf.InvalidProtocolBufferException e) {
+      throw e.setUnfinishedMessage(this);
+    } catch (java.io.IOException e) {
+      throw new com.google.protobuf.InvalidProtocolBufferException(e).setUnfinishedMessage(this);
+    } finally {
+      if (((mutable_bitField0_ & 0x00000020) == 0x00000020)) {
+        subscriberRegistIds_ = subscriberRegistIds_.getUnmodifiableView();
+      }
+      this.unknownFields = unknownFields.build();
+      makeExtensionsImmutable();
+    }
+  }
+
+  public static final com.google.protobuf.Descriptors.Descriptor getDescriptor() {
+    return com.alipay.sofa.registry.common.model.client.pb.ReceivedDeltaDataPbOuterClass
+        .internal_static_ReceivedDeltaDataPb_descriptor;
+  }
+
+  @SuppressWarnings({"rawtypes"})
+  protected com.google.protobuf.MapField internalGetMapField(int number) {
+    switch (number) {
+      case 10:
+        return internalGetAddData();
+      case 11:
+        return internalGetRemoveData();
+      default:
+        throw new RuntimeException("Invalid map field number: " + number);
+    }
+  }
+
+  protected com.google.protobuf.GeneratedMessageV3.FieldAccessorTable
+      internalGetFieldAccessorTable() {
+    return com.alipay.sofa.registry.common.model.client.pb.ReceivedDeltaDataPbOuterClass
+        .internal_static_ReceivedDeltaDataPb_fieldAccessorTable
+        .ensureFieldAccessorsInitialized(
+            com.alipay.sofa.registry.common.model.client.pb.ReceivedDeltaDataPb.class,
+            com.alipay.sofa.registry.common.model.client.pb.ReceivedDeltaDataPb.Builder.class);
+  }
+
+  private int bitField0_;
+  public static final int DATAID_FIELD_NUMBER = 1;
+  private volatile java.lang.Object dataId_;
+  /** <code>string dataId = 1;</code> */
+  public java.lang.String getDataId() {
+    java.lang.Object ref = dataId_;
+    if (ref instanceof java.lang.String) {
+      return (java.lang.String) ref;
+    } else {
+      com.google.protobuf.ByteString bs = (com.google.protobuf.ByteString) ref;
+      java.lang.String s = bs.toStringUtf8();
+      dataId_ = s;
+      return s;
+    }
+  }
+  /** <code>string dataId = 1;</code> */
+  public com.google.protobuf.ByteString getDataIdBytes() {
+    java.lang.Object ref = dataId_;
+    if (ref instanceof java.lang.String) {
+      com.google.protobuf.ByteString b =
+          com.google.protobuf.ByteString.copyFromUtf8((java.lang.String) ref);
+      dataId_ = b;
+      return b;
+    } else {
+      return (com.google.protobuf.ByteString) ref;
+    }
+  }
+
+  public static final int GROUP_FIELD_NUMBER = 2;
+  private volatile java.lang.Object group_;
+  /** <code>string group = 2;</code> */
+  public java.lang.String getGroup() {
+    java.lang.Object ref = group_;
+    if (ref instanceof java.lang.String) {
+      return (java.lang.String) ref;
+    } else {
+      com.google.protobuf.ByteString bs = (com.google.protobuf.ByteString) ref;
+      java.lang.String s = bs.toStringUtf8();
+      group_ = s;
+      return s;
+    }
+  }
+  /** <code>string group = 2;</code> */
+  public com.google.protobuf.ByteString getGroupBytes() {
+    java.lang.Object ref = group_;
+    if (ref instanceof java.lang.String) {
+      com.google.protobuf.ByteString b =
+          com.google.protobuf.ByteString.copyFromUtf8((java.lang.String) ref);
+      group_ = b;
+      return b;
+    } else {
+      return (com.google.protobuf.ByteString) ref;
+    }
+  }
+
+  public static final int INSTANCEID_FIELD_NUMBER = 3;
+  private volatile java.lang.Object instanceId_;
+  /** <code>string instanceId = 3;</code> */
+  public java.lang.String getInstanceId() {
+    java.lang.Object ref = instanceId_;
+    if (ref instanceof java.lang.String) {
+      return (java.lang.String) ref;
+    } else {
+      com.google.protobuf.ByteString bs = (com.google.protobuf.ByteString) ref;
+      java.lang.String s = bs.toStringUtf8();
+      instanceId_ = s;
+      return s;
+    }
+  }
+  /** <code>string instanceId = 3;</code> */
+  public com.google.protobuf.ByteString getInstanceIdBytes() {
+    java.lang.Object ref = instanceId_;
+    if (ref instanceof java.lang.String) {
+      com.google.protobuf.ByteString b =
+          com.google.protobuf.ByteString.copyFromUtf8((java.lang.String) ref);
+      instanceId_ = b;
+      return b;
+    } else {
+      return (com.google.protobuf.ByteString) ref;
+    }
+  }
+
+  public static final int SEGMENT_FIELD_NUMBER = 4;
+  private volatile java.lang.Object segment_;
+  /** <code>string segment = 4;</code> */
+  public java.lang.String getSegment() {
+    java.lang.Object ref = segment_;
+    if (ref instanceof java.lang.String) {
+      return (java.lang.String) ref;
+    } else {
+      com.google.protobuf.ByteString bs = (com.google.protobuf.ByteString) ref;
+      java.lang.String s = bs.toStringUtf8();
+      segment_ = s;
+      return s;
+    }
+  }
+  /** <code>string segment = 4;</code> */
+  public com.google.protobuf.ByteString getSegmentBytes() {
+    java.lang.Object ref = segment_;
+    if (ref instanceof java.lang.String) {
+      com.google.protobuf.ByteString b =
+          com.google.protobuf.ByteString.copyFromUtf8((java.lang.String) ref);
+      segment_ = b;
+      return b;
+    } else {
+      return (com.google.protobuf.ByteString) ref;
+    }
+  }
+
+  public static final int SCOPE_FIELD_NUMBER = 5;
+  private volatile java.lang.Object scope_;
+  /** <code>string scope = 5;</code> */
+  public java.lang.String getScope() {
+    java.lang.Object ref = scope_;
+    if (ref instanceof java.lang.String) {
+      return (java.lang.String) ref;
+    } else {
+      com.google.protobuf.ByteString bs = (com.google.protobuf.ByteString) ref;
+      java.lang.String s = bs.toStringUtf8();
+      scope_ = s;
+      return s;
+    }
+  }
+  /** <code>string scope = 5;</code> */
+  public com.google.protobuf.ByteString getScopeBytes() {
+    java.lang.Object ref = scope_;
+    if (ref instanceof java.lang.String) {
+      com.google.protobuf.ByteString b =
+          com.google.protobuf.ByteString.copyFromUtf8((java.lang.String) ref);
+      scope_ = b;
+      return b;
+    } else {
+      return (com.google.protobuf.ByteString) ref;
+    }
+  }
+
+  public static final int SUBSCRIBERREGISTIDS_FIELD_NUMBER = 6;
+  private com.google.protobuf.LazyStringList subscriberRegistIds_;
+  /** <code>repeated string subscriberRegistIds = 6;</code> */
+  public com.google.protobuf.ProtocolStringList getSubscriberRegistIdsList() {
+    return subscriberRegistIds_;
+  }
+  /** <code>repeated string subscriberRegistIds = 6;</code> */
+  public int getSubscriberRegistIdsCount() {
+    return subscriberRegistIds_.size();
+  }
+  /** <code>repeated string subscriberRegistIds = 6;</code> */
+  public java.lang.String getSubscriberRegistIds(int index) {
+    return subscriberRegistIds_.get(index);
+  }
+  /** <code>repeated string subscriberRegistIds = 6;</code> */
+  public com.google.protobuf.ByteString getSubscriberRegistIdsBytes(int index) {
+    return subscriberRegistIds_.getByteString(index);
+  }
+
+  public static final int VERSION_FIELD_NUMBER = 7;
+  private long version_;
+  /** <code>int64 version = 7;</code> */
+  public long getVersion() {
+    return version_;
+  }
+
+  public static final int BASEVERSION_FIELD_NUMBER = 8;
+  private long baseVersion_;
+  /** <code>int64 baseVersion = 8;</code> */
+  public long getBaseVersion() {
+    return baseVersion_;
+  }
+
+  public static final int LOCALZONE_FIELD_NUMBER = 9;
+  private volatile java.lang.Object localZone_;
+  /** <code>string localZone = 9;</code> */
+  public java.lang.String getLocalZone() {
+    java.lang.Object ref = localZone_;
+    if (ref instanceof java.lang.String) {
+      return (java.lang.String) ref;
+    } else {
+      com.google.protobuf.ByteString bs = (com.google.protobuf.ByteString) ref;
+      java.lang.String s = bs.toStringUtf8();
+      localZone_ = s;
+      return s;
+    }
+  }
+  /** <code>string localZone = 9;</code> */
+  public com.google.protobuf.ByteString getLocalZoneBytes() {
+    java.lang.Object ref = localZone_;
+    if (ref instanceof java.lang.String) {
+      com.google.protobuf.ByteString b =
+          com.google.protobuf.ByteString.copyFromUtf8((java.lang.String) ref);
+      localZone_ = b;
+      return b;
+    } else {
+      return (com.google.protobuf.ByteString) ref;
+    }
+  }
+
+  public static final int ADDDATA_FIELD_NUMBER = 10;
+
+  private static final class AddDataDefaultEntryHolder {
+    static final com.google.protobuf.MapEntry<
+            java.lang.String, com.alipay.sofa.registry.common.model.client.pb.DataBoxesPb>
+        defaultEntry =
+            com.google.protobuf.MapEntry
+                .<java.lang.String, com.alipay.sofa.registry.common.model.client.pb.DataBoxesPb>
+                    newDefaultInstance(
+                        com.alipay.sofa.registry.common.model.client.pb
+                            .ReceivedDeltaDataPbOuterClass
+                            .internal_static_ReceivedDeltaDataPb_AddDataEntry_descriptor,
+                        com.google.protobuf.WireFormat.FieldType.STRING,
+                        "",
+                        com.google.protobuf.WireFormat.FieldType.MESSAGE,
+                        com.alipay.sofa.registry.common.model.client.pb.DataBoxesPb
+                            .getDefaultInstance());
+  }
+
+  private com.google.protobuf.MapField<
+          java.lang.String, com.alipay.sofa.registry.common.model.client.pb.DataBoxesPb>
+      addData_;
+
+  private com.google.protobuf.MapField<
+          java.lang.String, com.alipay.sofa.registry.common.model.client.pb.DataBoxesPb>
+      internalGetAddData() {
+    if (addData_ == null) {
+      return com.google.protobuf.MapField.emptyMapField(AddDataDefaultEntryHolder.defaultEntry);
+    }
+    return addData_;
+  }
+
+  public int getAddDataCount() {
+    return internalGetAddData().getMap().size();
+  }
+  /** <code>map&lt;string, .DataBoxesPb&gt; addData = 10;</code> */
+  public boolean containsAddData(java.lang.String key) {
+    if (key == null) {
+      throw new java.lang.NullPointerException();
+    }
+    return internalGetAddData().getMap().containsKey(key);
+  }
+  /** Use {@link #getAddDataMap()} instead. */
+  @java.lang.Deprecated
+  public java.util.Map<
+          java.lang.String, com.alipay.sofa.registry.common.model.client.pb.DataBoxesPb>
+      getAddData() {
+    return getAddDataMap();
+  }
+  /** <code>map&lt;string, .DataBoxesPb&gt; addData = 10;</code> */
+  public java.util.Map<
+          java.lang.String, com.alipay.sofa.registry.common.model.client.pb.DataBoxesPb>
+      getAddDataMap() {
+    return internalGetAddData().getMap();
+  }
+  /** <code>map&lt;string, .DataBoxesPb&gt; addData = 10;</code> */
+  public com.alipay.sofa.registry.common.model.client.pb.DataBoxesPb getAddDataOrDefault(
+      java.lang.String key,
+      com.alipay.sofa.registry.common.model.client.pb.DataBoxesPb defaultValue) {
+    if (key == null) {
+      throw new java.lang.NullPointerException();
+    }
+    java.util.Map<java.lang.String, com.alipay.sofa.registry.common.model.client.pb.DataBoxesPb>
+        map = internalGetAddData().getMap();
+    return map.containsKey(key) ? map.get(key) : defaultValue;
+  }
+  /** <code>map&lt;string, .DataBoxesPb&gt; addData = 10;</code> */
+  public com.alipay.sofa.registry.common.model.client.pb.DataBoxesPb getAddDataOrThrow(
+      java.lang.String key) {
+    if (key == null) {
+      throw new java.lang.NullPointerException();
+    }
+    java.util.Map<java.lang.String, com.alipay.sofa.registry.common.model.client.pb.DataBoxesPb>
+        map = internalGetAddData().getMap();
+    if (!map.containsKey(key)) {
+      throw new java.lang.IllegalArgumentException();
+    }
+    return map.get(key);
+  }
+
+  public static final int REMOVEDATA_FIELD_NUMBER = 11;
+
+  private static final class RemoveDataDefaultEntryHolder {
+    static final com.google.protobuf.MapEntry<
+            java.lang.String, com.alipay.sofa.registry.common.model.client.pb.DataBoxesPb>
+        defaultEntry =
+            com.google.protobuf.MapEntry
+                .<java.lang.String, com.alipay.sofa.registry.common.model.client.pb.DataBoxesPb>
+                    newDefaultInstance(
+                        com.alipay.sofa.registry.common.model.client.pb
+                            .ReceivedDeltaDataPbOuterClass
+                            .internal_static_ReceivedDeltaDataPb_RemoveDataEntry_descriptor,
+                        com.google.protobuf.WireFormat.FieldType.STRING,
+                        "",
+                        com.google.protobuf.WireFormat.FieldType.MESSAGE,
+                        com.alipay.sofa.registry.common.model.client.pb.DataBoxesPb
+                            .getDefaultInstance());
+  }
+
+  private com.google.protobuf.MapField<
+          java.lang.String, com.alipay.sofa.registry.common.model.client.pb.DataBoxesPb>
+      removeData_;
+
+  private com.google.protobuf.MapField<
+          java.lang.String, com.alipay.sofa.registry.common.model.client.pb.DataBoxesPb>
+      internalGetRemoveData() {
+    if (removeData_ == null) {
+      return com.google.protobuf.MapField.emptyMapField(RemoveDataDefaultEntryHolder.defaultEntry);
+    }
+    return removeData_;
+  }
+
+  public int getRemoveDataCount() {
+    return internalGetRemoveData().getMap().size();
+  }
+  /** <code>map&lt;string, .DataBoxesPb&gt; removeData = 11;</code> */
+  public boolean containsRemoveData(java.lang.String key) {
+    if (key == null) {
+      throw new java.lang.NullPointerException();
+    }
+    return internalGetRemoveData().getMap().containsKey(key);
+  }
+  /** Use {@link #getRemoveDataMap()} instead. */
+  @java.lang.Deprecated
+  public java.util.Map<
+          java.lang.String, com.alipay.sofa.registry.common.model.client.pb.DataBoxesPb>
+      getRemoveData() {
+    return getRemoveDataMap();
+  }
+  /** <code>map&lt;string, .DataBoxesPb&gt; removeData = 11;</code> */
+  public java.util.Map<
+          java.lang.String, com.alipay.sofa.registry.common.model.client.pb.DataBoxesPb>
+      getRemoveDataMap() {
+    return internalGetRemoveData().getMap();
+  }
+  /** <code>map&lt;string, .DataBoxesPb&gt; removeData = 11;</code> */
+  public com.alipay.sofa.registry.common.model.client.pb.DataBoxesPb getRemoveDataOrDefault(
+      java.lang.String key,
+      com.alipay.sofa.registry.common.model.client.pb.DataBoxesPb defaultValue) {
+    if (key == null) {
+      throw new java.lang.NullPointerException();
+    }
+    java.util.Map<java.lang.String, com.alipay.sofa.registry.common.model.client.pb.DataBoxesPb>
+        map = internalGetRemoveData().getMap();
+    return map.containsKey(key) ? map.get(key) : defaultValue;
+  }
+  /** <code>map&lt;string, .DataBoxesPb&gt; removeData = 11;</code> */
+  public com.alipay.sofa.registry.common.model.client.pb.DataBoxesPb getRemoveDataOrThrow(
+      java.lang.String key) {
+    if (key == null) {
+      throw new java.lang.NullPointerException();
+    }
+    java.util.Map<java.lang.String, com.alipay.sofa.registry.common.model.client.pb.DataBoxesPb>
+        map = internalGetRemoveData().getMap();
+    if (!map.containsKey(key)) {
+      throw new java.lang.IllegalArgumentException();
+    }
+    return map.get(key);
+  }
+
+  private byte memoizedIsInitialized = -1;
+
+  public final boolean isInitialized() {
+    byte isInitialized = memoizedIsInitialized;
+    if (isInitialized == 1) return true;
+    if (isInitialized == 0) return false;
+
+    memoizedIsInitialized = 1;
+    return true;
+  }
+
+  public void writeTo(com.google.protobuf.CodedOutputStream output) throws java.io.IOException {
+    if (!getDataIdBytes().isEmpty()) {
+      com.google.protobuf.GeneratedMessageV3.writeString(output, 1, dataId_);
+    }
+    if (!getGroupBytes().isEmpty()) {
+      com.google.protobuf.GeneratedMessageV3.writeString(output, 2, group_);
+    }
+    if (!getInstanceIdBytes().isEmpty()) {
+      com.google.protobuf.GeneratedMessageV3.writeString(output, 3, instanceId_);
+    }
+    if (!getSegmentBytes().isEmpty()) {
+      com.google.protobuf.GeneratedMessageV3.writeString(output, 4, segment_);
+    }
+    if (!getScopeBytes().isEmpty()) {
+      com.google.protobuf.GeneratedMessageV3.writeString(output, 5, scope_);
+    }
+    for (int i = 0; i < subscriberRegistIds_.size(); i++) {
+      com.google.protobuf.GeneratedMessageV3.writeString(output, 6, subscriberRegistIds_.getRaw(i));
+    }
+    if (version_ != 0L) {
+      output.writeInt64(7, version_);
+    }
+    if (baseVersion_ != 0L) {
+      output.writeInt64(8, baseVersion_);
+    }
+    if (!getLocalZoneBytes().isEmpty()) {
+      com.google.protobuf.GeneratedMessageV3.writeString(output, 9, localZone_);
+    }
+    com.google.protobuf.GeneratedMessageV3.serializeStringMapTo(
+        output, internalGetAddData(), AddDataDefaultEntryHolder.defaultEntry, 10);
+    com.google.protobuf.GeneratedMessageV3.serializeStringMapTo(
+        output, internalGetRemoveData(), RemoveDataDefaultEntryHolder.defaultEntry, 11);
+    unknownFields.writeTo(output);
+  }
+
+  public int getSerializedSize() {
+    int size = memoizedSize;
+    if (size != -1) return size;
+
+    size = 0;
+    if (!getDataIdBytes().isEmpty()) {
+      size += com.google.protobuf.GeneratedMessageV3.computeStringSize(1, dataId_);
+    }
+    if (!getGroupBytes().isEmpty()) {
+      size += com.google.protobuf.GeneratedMessageV3.computeStringSize(2, group_);
+    }
+    if (!getInstanceIdBytes().isEmpty()) {
+      size += com.google.protobuf.GeneratedMessageV3.computeStringSize(3, instanceId_);
+    }
+    if (!getSegmentBytes().isEmpty()) {
+      size += com.google.protobuf.GeneratedMessageV3.computeStringSize(4, segment_);
+    }
+    if (!getScopeBytes().isEmpty()) {
+      size += com.google.protobuf.GeneratedMessageV3.computeStringSize(5, scope_);
+    }
+    {
+      int dataSize = 0;
+      for (int i = 0; i < subscriberRegistIds_.size(); i++) {
+        dataSize += computeStringSizeNoTag(subscriberRegistIds_.getRaw(i));
+      }
+      size += dataSize;
+      size += 1 * getSubscriberRegistIdsList().size();
+    }
+    if (version_ != 0L) {
+      size += com.google.protobuf.CodedOutputStream.computeInt64Size(7, version_);
+    }
+    if (baseVersion_ != 0L) {
+      size += com.google.protobuf.CodedOutputStream.computeInt64Size(8, baseVersion_);
+    }
+    if (!getLocalZoneBytes().isEmpty()) {
+      size += com.google.protobuf.GeneratedMessageV3.computeStringSize(9, localZone_);
+    }
+    for (java.util.Map.Entry<
+            java.lang.String, com.alipay.sofa.registry.common.model.client.pb.DataBoxesPb>
+        entry : internalGetAddData().getMap().entrySet()) {
+      com.google.protobuf.MapEntry<
+              java.lang.String, com.alipay.sofa.registry.common.model.client.pb.DataBoxesPb>
+          addData__ =
+              AddDataDefaultEntryHolder.defaultEntry
+                  .newBuilderForType()
+                  .setKey(entry.getKey())
+                  .setValue(entry.getValue())
+                  .build();
+      size += com.google.protobuf.CodedOutputStream.computeMessageSize(10, addData__);
+    }
+    for (java.util.Map.Entry<
+            java.lang.String, com.alipay.sofa.registry.common.model.client.pb.DataBoxesPb>
+        entry : internalGetRemoveData().getMap().entrySet()) {
+      com.google.protobuf.MapEntry<
+              java.lang.String, com.alipay.sofa.registry.common.model.client.pb.DataBoxesPb>
+          removeData__ =
+              RemoveDataDefaultEntryHolder.defaultEntry
+                  .newBuilderForType()
+                  .setKey(entry.getKey())
+                  .setValue(entry.getValue())
+                  .build();
+      size += com.google.protobuf.CodedOutputStream.computeMessageSize(11, removeData__);
+    }
+    size += unknownFields.getSerializedSize();
+    memoizedSize = size;
+    return size;
+  }
+
+  @java.lang.Override
+  public boolean equals(final java.lang.Object obj) {
+    if (obj == this) {
+      return true;
+    }
+    if (!(obj instanceof com.alipay.sofa.registry.common.model.client.pb.ReceivedDeltaDataPb)) {
+      return super.equals(obj);
+    }
+    com.alipay.sofa.registry.common.model.client.pb.ReceivedDeltaDataPb other =
+        (com.alipay.sofa.registry.common.model.client.pb.ReceivedDeltaDataPb) obj;
+
+    boolean result = true;
+    result = result && getDataId().equals(other.getDataId());
+    result = result && getGroup().equals(other.getGroup());
+    result = result && getInstanceId().equals(other.getInstanceId());
+    result = result && getSegment().equals(other.getSegment());
+    result = result && getScope().equals(other.getScope());
+    result = result && getSubscriberRegistIdsList().equals(other.getSubscriberRegistIdsList());
+    result = result && (getVersion() == other.getVersion());
+    result = result && (getBaseVersion() == other.getBaseVersion());
+    result = result && getLocalZone().equals(other.getLocalZone());
+    result = result && internalGetAddData().equals(other.internalGetAddData());
+    result = result && internalGetRemoveData().equals(other.internalGetRemoveData());
+    result = result && unknownFields.equals(other.unknownFields);
+    return result;
+  }
+
+  @java.lang.Override
+  public int hashCode() {
+    if (memoizedHashCode != 0) {
+      return memoizedHashCode;
+    }
+    int hash = 41;
+    hash = (19 * hash) + getDescriptor().hashCode();
+    hash = (37 * hash) + DATAID_FIELD_NUMBER;
+    hash = (53 * hash) + getDataId().hashCode();
+    hash = (37 * hash) + GROUP_FIELD_NUMBER;
+    hash = (53 * hash) + getGroup().hashCode();
+    hash = (37 * hash) + INSTANCEID_FIELD_NUMBER;
+    hash = (53 * hash) + getInstanceId().hashCode();
+    hash = (37 * hash) + SEGMENT_FIELD_NUMBER;
+    hash = (53 * hash) + getSegment().hashCode();
+    hash = (37 * hash) + SCOPE_FIELD_NUMBER;
+    hash = (53 * hash) + getScope().hashCode();
+    if (getSubscriberRegistIdsCount() > 0) {
+      hash = (37 * hash) + SUBSCRIBERREGISTIDS_FIELD_NUMBER;
+      hash = (53 * hash) + getSubscriberRegistIdsList().hashCode();
+    }
+    hash = (37 * hash) + VERSION_FIELD_NUMBER;
+    hash = (53 * hash) + com.google.protobuf.Internal.hashLong(getVersion());
+    hash = (37 * hash) + BASEVERSION_FIELD_NUMBER;
+    hash = (53 * hash) + com.google.protobuf.Internal.hashLong(getBaseVersion());
+    hash = (37 * hash) + LOCALZONE_FIELD_NUMBER;
+    hash = (53 * hash) + getLocalZone().hashCode();
+    if (!internalGetAddData().getMap().isEmpty()) {
+      hash = (37 * hash) + ADDDATA_FIELD_NUMBER;
+      hash = (53 * hash) + internalGetAddData().hashCode();
+    }
+    if (!internalGetRemoveData().getMap().isEmpty()) {
+      hash = (37 * hash) + REMOVEDATA_FIELD_NUMBER;
+      hash = (53 * hash) + internalGetRemoveData().hashCode();
+    }
+    hash = (29 * hash) + unknownFields.hashCode();
+    memoizedHashCode = hash;
+    return hash;
+  }
+
+  public static com.alipay.sofa.registry.common.model.client.pb.ReceivedDeltaDataPb parseFrom(
+      java.nio.ByteBuffer data) throws com.google.protobuf.InvalidProtocolBufferException {
+    return PARSER.parseFrom(data);
+  }
+
+  public static com.alipay.sofa.registry.common.model.client.pb.ReceivedDeltaDataPb parseFrom(
+      java.nio.ByteBuffer data, com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+      throws com.google.protobuf.InvalidProtocolBufferException {
+    return PARSER.parseFrom(data, extensionRegistry);
+  }
+
+  public static com.alipay.sofa.registry.common.model.client.pb.ReceivedDeltaDataPb parseFrom(
+      com.google.protobuf.ByteString data)
+      throws com.google.protobuf.InvalidProtocolBufferException {
+    return PARSER.parseFrom(data);
+  }
+
+  public static com.alipay.sofa.registry.common.model.client.pb.ReceivedDeltaDataPb parseFrom(
+      com.google.protobuf.ByteString data,
+      com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+      throws com.google.protobuf.InvalidProtocolBufferException {
+    return PARSER.parseFrom(data, extensionRegistry);
+  }
+
+  public static com.alipay.sofa.registry.common.model.client.pb.ReceivedDeltaDataPb parseFrom(
+      byte[] data) throws com.google.protobuf.InvalidProtocolBufferException {
+    return PARSER.parseFrom(data);
+  }
+
+  public static com.alipay.sofa.registry.common.model.client.pb.ReceivedDeltaDataPb parseFrom(
+      byte[] data, com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+      throws com.google.protobuf.InvalidProtocolBufferException {
+    return PARSER.parseFrom(data, extensionRegistry);
+  }
+
+  public static com.alipay.sofa.registry.common.model.client.pb.ReceivedDeltaDataPb parseFrom(
+      java.io.InputStream input) throws java.io.IOException {
+    return com.google.protobuf.GeneratedMessageV3.parseWithIOException(PARSER, input);
+  }
+
+  public static com.alipay.sofa.registry.common.model.client.pb.ReceivedDeltaDataPb parseFrom(
+      java.io.InputStream input, com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+      throws java.io.IOException {
+    return com.google.protobuf.GeneratedMessageV3.parseWithIOException(
+        PARSER, input, extensionRegistry);
+  }
+
+  public static com.alipay.sofa.registry.common.model.client.pb.ReceivedDeltaDataPb
+      parseDelimitedFrom(java.io.InputStream input) throws java.io.IOException {
+    return com.google.protobuf.GeneratedMessageV3.parseDelimitedWithIOException(PARSER, input);
+  }
+
+  public static com.alipay.sofa.registry.common.model.client.pb.ReceivedDeltaDataPb
+      parseDelimitedFrom(
+          java.io.InputStream input, com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+          throws java.io.IOException {
+    return com.google.protobuf.GeneratedMessageV3.parseDelimitedWithIOException(
+        PARSER, input, extensionRegistry);
+  }
+
+  public static com.alipay.sofa.registry.common.model.client.pb.ReceivedDeltaDataPb parseFrom(
+      com.google.protobuf.CodedInputStream input) throws java.io.IOException {
+    return com.google.protobuf.GeneratedMessageV3.parseWithIOException(PARSER, input);
+  }
+
+  public static com.alipay.sofa.registry.common.model.client.pb.ReceivedDeltaDataPb parseFrom(
+      com.google.protobuf.CodedInputStream input,
+      com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+      throws java.io.IOException {
+    return com.google.protobuf.GeneratedMessageV3.parseWithIOException(
+        PARSER, input, extensionRegistry);
+  }
+
+  public Builder newBuilderForType() {
+    return newBuilder();
+  }
+
+  public static Builder newBuilder() {
+    return DEFAULT_INSTANCE.toBuilder();
+  }
+
+  public static Builder newBuilder(
+      com.alipay.sofa.registry.common.model.client.pb.ReceivedDeltaDataPb prototype) {
+    return DEFAULT_INSTANCE.toBuilder().mergeFrom(prototype);
+  }
+
+  public Builder toBuilder() {
+    return this == DEFAULT_INSTANCE ? new Builder() : new Builder().mergeFrom(this);
+  }
+
+  @java.lang.Override
+  protected Builder newBuilderForType(com.google.protobuf.GeneratedMessageV3.BuilderParent parent) {
+    Builder builder = new Builder(parent);
+    return builder;
+  }
+  /**
+   *
+   *
+   * <pre>
+   * the diff between the pushed version and the current version, only pushed to the subscribers
+   * which accept the "delta" encoding. the client removes one equal box for each of removeData and
+   * appends addData, if the local version != baseVersion, responds failure to require a full push
+   * </pre>
+   *
+   * Protobuf type {@code ReceivedDeltaDataPb}
+   */
+  public static final class Builder extends com.google.protobuf.GeneratedMessageV3.Builder<Builder>
+      implements
+      // @@protoc_insertion_point(builder_implements:ReceivedDeltaDataPb)
+      com.alipay.sofa.registry.common.model.client.pb.ReceivedDeltaDataPbOrBuilder {
+    public static final com.google.protobuf.Descriptors.Descriptor getDescriptor() {
+      return com.alipay.sofa.registry.common.model.client.pb.ReceivedDeltaDataPbOuterClass
+          .internal_static_ReceivedDeltaDataPb_descriptor;
+    }
+
+    @SuppressWarnings({"rawtypes"})
+    protected com.google.protobuf.MapField internalGetMapField(int number) {
+      switch (number) {
+        case 10:
+          return internalGetAddData();
+        case 11:
+          return internalGetRemoveData();
+        default:
+          throw new RuntimeException("Invalid map field number: " + number);
+      }
+    }
+
+    @SuppressWarnings({"rawtypes"})
+    protected com.google.protobuf.MapField internalGetMutableMapField(int number) {
+      switch (number) {
+        case 10:
+          return internalGetMutableAddData();
+        case 11:
+          return internalGetMutableRemoveData();
+        default:
+          throw new RuntimeException("Invalid map field number: " + number);
+      }
+    }
+
+    protected com.google.protobuf.GeneratedMessageV3.FieldAccessorTable
+        internalGetFieldAccessorTable() {
+      return com.alipay.sofa.registry.common.model.client.pb.ReceivedDeltaDataPbOuterClass
+          .internal_static_ReceivedDeltaDataPb_fieldAccessorTable
+          .ensureFieldAccessorsInitialized(
+              com.alipay.sofa.registry.common.model.client.pb.ReceivedDeltaDataPb.class,
+              com.alipay.sofa.registry.common.model.client.pb.ReceivedDeltaDataPb.Builder.class);
+    }
+
+    // Construct using
+    // com.alipay.sofa.registry.common.model.client.pb.ReceivedDeltaDataPb.newBuilder()
+    private Builder() {
+      maybeForceBuilderInitialization();
+    }
+
+    private Builder(com.google.protobuf.GeneratedMessageV3.BuilderParent parent) {
+      super(parent);
+      maybeForceBuilderInitialization();
+    }
+
+    private void maybeForceBuilderInitialization() {
+      if (com.google.protobuf.GeneratedMessageV3.alwaysUseFieldBuilders) {}
+    }
+
+    public Builder clear() {
+      super.clear();
+      dataId_ = "";
+
+      group_ = "";
+
+      instanceId_ = "";
+
+      segment_ = "";
+
+      scope_ = "";
+
+      subscriberRegistIds_ = com.google.protobuf.LazyStringArrayList.EMPTY;
+      bitField0_ = (bitField0_ & ~0x00000020);
+      version_ = 0L;
+
+      baseVersion_ = 0L;
+
+      localZone_ = "";
+
+      internalGetMutableAddData().clear();
+      internalGetMutableRemoveData().clear();
+      return this;
+    }
+
+    public com.google.protobuf.Descriptors.Descriptor getDescriptorForType() {
+      return com.alipay.sofa.registry.common.model.client.pb.ReceivedDeltaDataPbOuterClass
+          .internal_static_ReceivedDeltaDataPb_descriptor;
+    }
+
+    public com.alipay.sofa.registry.common.model.client.pb.ReceivedDeltaDataPb
+        getDefaultInstanceForType() {
+      return com.alipay.sofa.registry.common.model.client.pb.ReceivedDeltaDataPb
+          .getDefaultInstance();
+    }
+
+    public com.alipay.sofa.registry.common.model.client.pb.ReceivedDeltaDataPb build() {
+      com.alipay.sofa.registry.common.model.client.pb.ReceivedDeltaDataPb result = buildPartial();
+      if (!result.isInitialized()) {
+        throw newUninitializedMessageException(result);
+      }
+      return result;
+    }
+
+    public com.alipay.sofa.registry.common.model.client.pb.ReceivedDeltaDataPb buildPartial() {
+      com.alipay.sofa.registry.common.model.client.pb.ReceivedDeltaDataPb result =
+          new com.alipay.sofa.registry.common.model.client.pb.ReceivedDeltaDataPb(this);
+      int from_bitField0_ = bitField0_;
+      int to_bitField0_ = 0;
+      result.dataId_ = dataId_;
+      result.group_ = group_;
+      result.instanceId_ = instanceId_;
+      result.segment_ = segment_;
+      result.scope_ = scope_;
+      if (((bitField0_ & 0x00000020) == 0x00000020)) {
+        subscriberRegistIds_ = subscriberRegistIds_.getUnmodifiableView();
+        bitField0_ = (bitField0_ & ~0x00000020);
+      }
+      result.subscriberRegistIds_ = subscriberRegistIds_;
+      result.version_ = version_;
+      result.baseVersion_ = baseVersion_;
+      result.localZone_ = localZone_;
+      result.addData_ = internalGetAddData();
+      result.addData_.makeImmutable();
+      result.removeData_ = internalGetRemoveData();
+      result.removeData_.makeImmutable();
+      result.bitField0_ = to_bitField0_;
+      onBuilt();
+      return result;
+    }
+
+    public Builder clone() {
+      return (Builder) super.clone();
+    }
+
+    public Builder setField(
+        com.google.protobuf.Descriptors.FieldDescriptor field, java.lang.Object value) {
+      return (Builder) super.setField(field, value);
+    }
+
+    public Builder clearField(com.google.protobuf.Descriptors.FieldDescriptor field) {
+      return (Builder) super.clearField(field);
+    }
+
+    public Builder clearOneof(com.google.protobuf.Descriptors.OneofDescriptor oneof) {
+      return (Builder) super.clearOneof(oneof);
+    }
+
+    public Builder setRepeatedField(
+        com.google.protobuf.Descriptors.FieldDescriptor field, int index, java.lang.Object value) {
+      return (Builder) super.setRepeatedField(field, index, value);
+    }
+
+    public Builder addRepeatedField(
+        com.google.protobuf.Descriptors.FieldDescriptor field, java.lang.Object value) {
+      return (Builder) super.addRepeatedField(field, value);
+    }
+
+    public Builder mergeFrom(com.google.protobuf.Message other) {
+      if (other instanceof com.alipay.sofa.registry.common.model.client.pb.ReceivedDeltaDataPb) {
+        return mergeFrom(
+            (com.alipay.sofa.registry.common.model.client.pb.ReceivedDeltaDataPb) other);
+      } else {
+        super.mergeFrom(other);
+        return this;
+      }
+    }
+
+    public Builder mergeFrom(
+        com.alipay.sofa.registry.common.model.client.pb.ReceivedDeltaDataPb other) {
+      if (other
+          == com.alipay.sofa.registry.common.model.client.pb.ReceivedDeltaDataPb
+              .getDefaultInstance()) return this;
+      if (!other.getDataId().isEmpty()) {
+        dataId_ = other.dataId_;
+        onChanged();
+      }
+      if (!other.getGroup().isEmpty()) {
+        group_ = other.group_;
+        onChanged();
+      }
+      if (!other.getInstanceId().isEmpty()) {
+        instanceId_ = other.instanceId_;
+        onChanged();
+      }
+      if (!other.getSegment().isEmpty()) {
+        segment_ = other.segment_;
+        onChanged();
+      }
+      if (!other.getScope().isEmpty()) {
+        scope_ = other.scope_;
+        onChanged();
+      }
+      if (!other.subscriberRegistIds_.isEmpty()) {
+        if (subscriberRegistIds_.isEmpty()) {
+          subscriberRegistIds_ = other.subscriberRegistIds_;
+          bitField0_ = (bitField0_ & ~0x00000020);
+        } else {
+          ensureSubscriberRegistIdsIsMutable();
+          subscriberRegistIds_.addAll(other.subscriberRegistIds_);
+        }
+        onChanged();
+      }
+      if (other.getVersion() != 0L) {
+        setVersion(other.getVersion());
+      }
+      if (other.getBaseVersion() != 0L) {
+        setBaseVersion(other.getBaseVersion());
+      }
+      if (!other.getLocalZone().isEmpty()) {
+        localZone_ = other.localZone_;
+        onChanged();
+      }
+      internalGetMutableAddData().mergeFrom(other.internalGetAddData());
+      internalGetMutableRemoveData().mergeFrom(other.internalGetRemoveData());
+      this.mergeUnknownFields(other.unknownFields);
+      onChanged();
+      return this;
+    }
+
+    public final boolean isInitialized() {
+      return true;
+    }
+
+    public Builder mergeFrom(
+        com.google.protobuf.CodedInputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      com.alipay.sofa.registry.common.model.client.pb.ReceivedDeltaDataPb parsedMessage = null;
+      try {
+        parsedMessage = PARSER.parsePartialFrom(input, extensionRegistry);
+      } catch (com.google.protobuf.InvalidProtocolBufferException e) {
+        parsedMessage =
+            (com.alipay.sofa.registry.common.model.client.pb.ReceivedDeltaDataPb)
+                e.getUnfinishedMessage();
+        throw e.unwrapIOException();
+      } finally {
+        if (parsedMessage != null) {
+          mergeFrom(parsedMessage);
+        }
+      }
+      return this;
+    }
+
+    private int bitField0_;
+
+    private java.lang.Object dataId_ = "";
+    /** <code>string dataId = 1;</code> */
+    public java.lang.String getDataId() {
+      java.lang.Object ref = dataId_;
+      if (!(ref instanceof java.lang.String)) {
+        com.google.protobuf.ByteString bs = (com.google.protobuf.ByteString) ref;
+        java.lang.String s = bs.toStringUtf8();
+        dataId_ = s;
+        return s;
+      } else {
+        return (java.lang.String) ref;
+      }
+    }
+    /** <code>string dataId = 1;</code> */
+    public com.google.protobuf.ByteString getDataIdBytes() {
+      java.lang.Object ref = dataId_;
+      if (ref instanceof String) {
+        com.google.protobuf.ByteString b =
+            com.google.protobuf.ByteString.copyFromUtf8((java.lang.String) ref);
+        dataId_ = b;
+        return b;
+      } else {
+        return (com.google.protobuf.ByteString) ref;
+      }
+    }
+    /** <code>string dataId = 1;</code> */
+    public Builder setDataId(java.lang.String value) {
+      if (value == null) {
+        throw new NullPointerException();
+      }
+
+      dataId_ = value;
+      onChanged();
+      return this;
+    }
+    /** <code>string dataId = 1;</code> */
+    public Builder clearDataId() {
+
+      dataId_ = getDefaultInstance().getDataId();
+      onChanged();
+      return this;
+    }
+    /** <code>string dataId = 1;</code> */
+    public Builder setDataIdBytes(com.google.protobuf.ByteString value) {
+      if (value == null) {
+        throw new NullPointerException();
+      }
+      checkByteStringIsUtf8(value);
+
+      dataId_ = value;
+      onChanged();
+      return this;
+    }
+
+    private java.lang.Object group_ = "";
+    /** <code>string group = 2;</code> */
+    public java.lang.String getGroup() {
+      java.lang.Object ref = group_;
+      if (!(ref instanceof java.lang.String)) {
+        com.google.protobuf.ByteString bs = (com.google.protobuf.ByteString) ref;
+        java.lang.String s = bs.toStringUtf8();
+        group_ = s;
+        return s;
+      } else {
+        return (java.lang.String) ref;
+      }
+    }
+    /** <code>string group = 2;</code> */
+    public com.google.protobuf.ByteString getGroupBytes() {
+      java.lang.Object ref = group_;
+      if (ref instanceof String) {
+        com.google.protobuf.ByteString b =
+            com.google.protobuf.ByteString.copyFromUtf8((java.lang.String) ref);
+        group_ = b;
+        return b;
+      } else {
+        return (com.google.protobuf.ByteString) ref;
+      }
+    }
+    /** <code>string group = 2;</code> */
+    public Builder setGroup(java.lang.String value) {
+      if (value == null) {
+        throw new NullPointerException();
+      }
+
+      group_ = value;
+      onChanged();
+      return this;
+    }
+    /** <code>string group = 2;</code> */
+    public Builder clearGroup() {
+
+      group_ = getDefaultInstance().getGroup();
+      onChanged();
+      return this;
+    }
+    /** <code>string group = 2;</code> */
+    public Builder setGroupBytes(com.google.protobuf.ByteString value) {
+      if (value == null) {
+        throw new NullPointerException();
+      }
+      checkByteStringIsUtf8(value);
+
+      group_ = value;
+      onChanged();
+      return this;
+    }
+
+    private java.lang.Object instanceId_ = "";
+    /** <code>string instanceId = 3;</code> */
+    public java.lang.String getInstanceId() {
+      java.lang.Object ref = instanceId_;
+      if (!(ref instanceof java.lang.String)) {
+        com.google.protobuf.ByteString bs = (com.google.protobuf.ByteString) ref;
+        java.lang.String s = bs.toStringUtf8();
+        instanceId_ = s;
+        return s;
+      } else {
+        return (java.lang.String) ref;
+      }
+    }
+    /** <code>string instanceId = 3;</code> */
+    public com.google.protobuf.ByteString getInstanceIdBytes() {
+      java.lang.Object ref = instanceId_;
+      if (ref instanceof String) {
+        com.google.protobuf.ByteString b =
+            com.google.protobuf.ByteString.copyFromUtf8((java.lang.String) ref);
+        instanceId_ = b;
+        return b;
+      } else {
+        return (com.google.protobuf.ByteString) ref;
+      }
+    }
+    /** <code>string instanceId = 3;</code> */
+    public Builder setInstanceId(java.lang.String value) {
+      if (value == null) {
+        throw new NullPointerException();
+      }
+
+      instanceId_ = value;
+      onChanged();
+      return this;
+    }
+    /** <code>string instanceId = 3;</code> */
+    public Builder clearInstanceId() {
+
+      instanceId_ = getDefaultInstance().getInstanceId();
+      onChanged();
+      return this;
+    }
+    /** <code>string instanceId = 3;</code> */
+    public Builder setInstanceIdBytes(com.google.protobuf.ByteString value) {
+      if (value == null) {
+        throw new NullPointerException();
+      }
+      checkByteStringIsUtf8(value);
+
+      instanceId_ = value;
+      onChanged();
+      return this;
+    }
+
+    private java.lang.Object segment_ = "";
+    /** <code>string segment = 4;</code> */
+    public java.lang.String getSegment() {
+      java.lang.Object ref = segment_;
+      if (!(ref instanceof java.lang.String)) {
+        com.google.protobuf.ByteString bs = (com.google.protobuf.ByteString) ref;
+        java.lang.String s = bs.toStringUtf8();
+        segment_ = s;
+        return s;
+      } else {
+        return (java.lang.String) ref;
+      }
+    }
+    /** <code>string segment = 4;</code> */
+    public com.google.protobuf.ByteString getSegmentBytes() {
+      java.lang.Object ref = segment_;
+      if (ref instanceof String) {
+        com.google.protobuf.ByteString b =
+            com.google.protobuf.ByteString.copyFromUtf8((java.lang.String) ref);
+        segment_ = b;
+        return b;
+      } else {
+        return (com.google.protobuf.ByteString) ref;
+      }
+    }
+    /** <code>string segment = 4;</code> */
+    public Builder setSegment(java.lang.String value) {
+      if (value == null) {
+        throw new NullPointerException();
+      }
+
+      segment_ = value;
+      onChanged();
+      return this;
+    }
+    /** <code>string segment = 4;</code> */
+    public Builder clearSegment() {
+
+      segment_ = getDefaultInstance().getSegment();
+      onChanged();
+      return this;
+    }
+    /** <code>string segment = 4;</code> */
+    public Builder setSegmentBytes(com.google.protobuf.ByteString value) {
+      if (value == null) {
+        throw new NullPointerException();
+      }
+      checkByteStringIsUtf8(value);
+
+      segment_ = value;
+      onChanged();
+      return this;
+    }
+
+    private java.lang.Object scope_ = "";
+    /** <code>string scope = 5;</code> */
+    public java.lang.String getScope() {
+      java.lang.Object ref = scope_;
+      if (!(ref instanceof java.lang.String)) {
+        com.google.protobuf.ByteString bs = (com.google.protobuf.ByteString) ref;
+        java.lang.String s = bs.toStringUtf8();
+        scope_ = s;
+        return s;
+      } else {
+        return (java.lang.String) ref;
+      }
+    }
+    /** <code>string scope = 5;</code> */
+    public com.google.protobuf.ByteString getScopeBytes() {
+      java.lang.Object ref = scope_;
+      if (ref instanceof String) {
+        com.google.protobuf.ByteString b =
+            com.google.protobuf.ByteString.copyFromUtf8((java.lang.String) ref);
+        scope_ = b;
+        return b;
+      } else {
+        return (com.google.protobuf.ByteString) ref;
+      }
+    }
+    /** <code>string scope = 5;</code> */
+    public Builder setScope(java.lang.String value) {
+      if (value == null) {
+        throw new NullPointerException();
+      }
+
+      scope_ = value;
+      onChanged();
+      return this;
+    }
+    /** <code>string scope = 5;</code> */
+    public Builder clearScope() {
+
+      scope_ = getDefaultInstance().getScope();
+      onChanged();
+      return this;
+    }
+    /** <code>string scope = 5;</code> */
+    public Builder setScopeBytes(com.google.protobuf.ByteString value) {
+      if (value == null) {
+        throw new NullPointerException();
+      }
+      checkByteStringIsUtf8(value);
+
+      scope_ = value;
+      onChanged();
+      return this;
+    }
+
+    private com.google.protobuf.LazyStringList subscriberRegistIds_ =
+        com.google.protobuf.LazyStringArrayList.EMPTY;
+
+    private void ensureSubscriberRegistIdsIsMutable() {
+      if (!((bitField0_ & 0x00000020) == 0x00000020)) {
+        subscriberRegistIds_ = new com.google.protobuf.LazyStringArrayList(subscriberRegistIds_);
+        bitField0_ |= 0x00000020;
+      }
+    }
+    /** <code>repeated string subscriberRegistIds = 6;</code> */
+    public com.google.protobuf.ProtocolStringList getSubscriberRegistIdsList() {
+      return subscriberRegistIds_.getUnmodifiableView();
+    }
+    /** <code>repeated string subscriberRegistIds = 6;</code> */
+    public int getSubscriberRegistIdsCount() {
+      return subscriberRegistIds_.size();
+    }
+    /** <code>repeated string subscriberRegistIds = 6;</code> */
+    public java.lang.String getSubscriberRegistIds(int index) {
+      return subscriberRegistIds_.get(index);
+    }
+    /** <code>repeated string subscriberRegistIds = 6;</code> */
+    public com.google.protobuf.ByteString getSubscriberRegistIdsBytes(int index) {
+      return subscriberRegistIds_.getByteString(index);
+    }
+    /** <code>repeated string subscriberRegistIds = 6;</code> */
+    public Builder setSubscriberRegistIds(int index, java.lang.String value) {
+      if (value == null) {
+        throw new NullPointerException();
+      }
+      ensureSubscriberRegistIdsIsMutable();
+      subscriberRegistIds_.set(index, value);
+      onChanged();
+      return this;
+    }
+    /** <code>repeated string subscriberRegistIds = 6;</code> */
+    public Builder addSubscriberRegistIds(java.lang.String value) {
+      if (value == null) {
+        throw new NullPointerException();
+      }
+      ensureSubscriberRegistIdsIsMutable();
+      subscriberRegistIds_.add(value);
+      onChanged();
+      return this;
+    }
+    /** <code>repeated string subscriberRegistIds = 6;</code> */
+    public Builder addAllSubscriberRegistIds(java.lang.Iterable<java.lang.String> values) {
+      ensureSubscriberRegistIdsIsMutable();
+      com.google.protobuf.AbstractMessageLite.Builder.addAll(values, subscriberRegistIds_);
+      onChanged();
+      return this;
+    }
+    /** <code>repeated string subscriberRegistIds = 6;</code> */
+    public Builder clearSubscriberRegistIds() {
+      subscriberRegistIds_ = com.google.protobuf.LazyStringArrayList.EMPTY;
+      bitField0_ = (bitField0_ & ~0x00000020);
+      onChanged();
+      return this;
+    }
+    /** <code>repeated string subscriberRegistIds = 6;</code> */
+    public Builder addSubscriberRegistIdsBytes(com.google.protobuf.ByteString value) {
+      if (value == null) {
+        throw new NullPointerException();
+      }
+      checkByteStringIsUtf8(value);
+      ensureSubscriberRegistIdsIsMutable();
+      subscriberRegistIds_.add(value);
+      onChanged();
+      return this;
+    }
+
+    private long version_;
+    /** <code>int64 version = 7;</code> */
+    public long getVersion() {
+      return version_;
+    }
+    /** <code>int64 version = 7;</code> */
+    public Builder setVersion(long value) {
+
+      version_ = value;
+      onChanged();
+      return this;
+    }
+    /** <code>int64 version = 7;</code> */
+    public Builder clearVersion() {
+
+      version_ = 0L;
+      onChanged();
+      return this;
+    }
+
+    private long baseVersion_;
+    /** <code>int64 baseVersion = 8;</code> */
+    public long getBaseVersion() {
+      return baseVersion_;
+    }
+    /** <code>int64 baseVersion = 8;</code> */
+    public Builder setBaseVersion(long value) {
+
+      baseVersion_ = value;
+      onChanged();
+      return this;
+    }
+    /** <code>int64 baseVersion = 8;</code> */
+    public Builder clearBaseVersion() {
+
+      baseVersion_ = 0L;
+      onChanged();
+      return this;
+    }
+
+    private java.lang.Object localZone_ = "";
+    /** <code>string localZone = 9;</code> */
+    public java.lang.String getLocalZone() {
+      java.lang.Object ref = localZone_;
+      if (!(ref instanceof java.lang.String)) {
+        com.google.protobuf.ByteString bs = (com.google.protobuf.ByteString) ref;
+        java.lang.String s = bs.toStringUtf8();
+        localZone_ = s;
+        return s;
+      } else {
+        return (java.lang.String) ref;
+      }
+    }
+    /** <code>string localZone = 9;</code> */
+    public com.google.protobuf.ByteString getLocalZoneBytes() {
+      java.lang.Object ref = localZone_;
+      if (ref instanceof String) {
+        com.google.protobuf.ByteString b =
+            com.google.protobuf.ByteString.copyFromUtf8((java.lang.String) ref);
+        localZone_ = b;
+        return b;
+      } else {
+        return (com.google.protobuf.ByteString) ref;
+      }
+    }
+    /** <code>string localZone = 9;</code> */
+    public Builder setLocalZone(java.lang.String value) {
+      if (value == null) {
+        throw new NullPointerException();
+      }
+
+      localZone_ = value;
+      onChanged();
+      return this;
+    }
+    /** <code>string localZone = 9;</code> */
+    public Builder clearLocalZone() {
+
+      localZone_ = getDefaultInstance().getLocalZone();
+      onChanged();
+      return this;
+    }
+    /** <code>string localZone = 9;</code> */
+    public Builder setLocalZoneBytes(com.google.protobuf.ByteString value) {
+      if (value == null) {
+        throw new NullPointerException();
+      }
+      checkByteStringIsUtf8(value);
+
+      localZone_ = value;
+      onChanged();
+      return this;
+    }
+
+    private com.google.protobuf.MapField<
+            java.lang.String, com.alipay.sofa.registry.common.model.client.pb.DataBoxesPb>
+        addData_;
+
+    private com.google.protobuf.MapField<
+            java.lang.String, com.alipay.sofa.registry.common.model.client.pb.DataBoxesPb>
+        internalGetAddData() {
+      if (addData_ == null) {
+        return com.google.protobuf.MapField.emptyMapField(AddDataDefaultEntryHolder.defaultEntry);
+      }
+      return addData_;
+    }
+
+    private com.google.protobuf.MapField<
+            java.lang.String, com.alipay.sofa.registry.common.model.client.pb.DataBoxesPb>
+        internalGetMutableAddData() {
+      onChanged();
+      ;
+      if (addData_ == null) {
+        addData_ = com.google.protobuf.MapField.newMapField(AddDataDefaultEntryHolder.defaultEntry);
+      }
+      if (!addData_.isMutable()) {
+        addData_ = addData_.copy();
+      }
+      return addData_;
+    }
+
+    public int getAddDataCount() {
+      return internalGetAddData().getMap().size();
+    }
+    /** <code>map&lt;string, .DataBoxesPb&gt; addData = 10;</code> */
+    public boolean containsAddData(java.lang.String key) {
+      if (key == null) {
+        throw new java.lang.NullPointerException();
+      }
+      return internalGetAddData().getMap().containsKey(key);
+    }
+    /** Use {@link #getAddDataMap()} instead. */
+    @java.lang.Deprecated
+    public java.util.Map<
+            java.lang.String, com.alipay.sofa.registry.common.model.client.pb.DataBoxesPb>
+        getAddData() {
+      return getAddDataMap();
+    }
+    /** <code>map&lt;string, .DataBoxesPb&gt; addData = 10;</code> */
+    public java.util.Map<
+            java.lang.String, com.alipay.sofa.registry.common.model.client.pb.DataBoxesPb>
+        getAddDataMap() {
+      return internalGetAddData().getMap();
+    }
+    /** <code>map&lt;string, .DataBoxesPb&gt; addData = 10;</code> */
+    public com.alipay.sofa.registry.common.model.client.pb.DataBoxesPb getAddDataOrDefault(
+        java.lang.String key,
+        com.alipay.sofa.registry.common.model.client.pb.DataBoxesPb defaultValue) {
+      if (key == null) {
+        throw new java.lang.NullPointerException();
+      }
+      java.util.Map<java.lang.String, com.alipay.sofa.registry.common.model.client.pb.DataBoxesPb>
+          map = internalGetAddData().getMap();
+      return map.containsKey(key) ? map.get(key) : defaultValue;
+    }
+    /** <code>map&lt;string, .DataBoxesPb&gt; addData = 10;</code> */
+    public com.alipay.sofa.registry.common.model.client.pb.DataBoxesPb getAddDataOrThrow(
+        java.lang.String key) {
+      if (key == null) {
+        throw new java.lang.NullPointerException();
+      }
+      java.util.Map<java.lang.String, com.alipay.sofa.registry.common.model.client.pb.DataBoxesPb>
+          map = internalGetAddData().getMap();
+      if (!map.containsKey(key)) {
+        throw new java.lang.IllegalArgumentException();
+      }
+      return map.get(key);
+    }
+
+    public Builder clearAddData() {
+      internalGetMutableAddData().getMutableMap().clear();
+      return this;
+    }
+    /** <code>map&lt;string, .DataBoxesPb&gt; addData = 10;</code> */
+    public Builder removeAddData(java.lang.String key) {
+      if (key == null) {
+        throw new java.lang.NullPointerException();
+      }
+      internalGetMutableAddData().getMutableMap().remove(key);
+      return this;
+    }
+    /** Use alternate mutation accessors instead. */
+    @java.lang.Deprecated
+    public java.util.Map<
+            java.lang.String, com.alipay.sofa.registry.common.model.client.pb.DataBoxesPb>
+        getMutableAddData() {
+      return internalGetMutableAddData().getMutableMap();
+    }
+    /** <code>map&lt;string, .DataBoxesPb&gt; addData = 10;</code> */
+    public Builder putAddData(
+        java.lang.String key, com.alipay.sofa.registry.common.model.client.pb.DataBoxesPb value) {
+      if (key == null) {
+        throw new java.lang.NullPointerException();
+      }
+      if (value == null) {
+        throw new java.lang.NullPointerException();
+      }
+      internalGetMutableAddData().getMutableMap().put(key, value);
+      return this;
+    }
+    /** <code>map&lt;string, .DataBoxesPb&gt; addData = 10;</code> */
+    public Builder putAllAddData(
+        java.util.Map<java.lang.String, com.alipay.sofa.registry.common.model.client.pb.DataBoxesPb>
+            values) {
+      internalGetMutableAddData().getMutableMap().putAll(values);
+      return this;
+    }
+
+    private com.google.protobuf.MapField<
+            java.lang.String, com.alipay.sofa.registry.common.model.client.pb.DataBoxesPb>
+        removeData_;
+
+    private com.google.protobuf.MapField<
+            java.lang.String, com.alipay.sofa.registry.common.model.client.pb.DataBoxesPb>
+        internalGetRemoveData() {
+      if (removeData_ == null) {
+        return com.google.protobuf.MapField.emptyMapField(
+            RemoveDataDefaultEntryHolder.defaultEntry);
+      }
+      return removeData_;
+    }
+
+    private com.google.protobuf.MapField<
+            java.lang.String, com.alipay.sofa.registry.common.model.client.pb.DataBoxesPb>
+        internalGetMutableRemoveData() {
+      onChanged();
+      ;
+      if (removeData_ == null) {
+        removeData_ =
+            com.google.protobuf.MapField.newMapField(RemoveDataDefaultEntryHolder.defaultEntry);
+      }
+      if (!removeData_.isMutable()) {
+        removeData_ = removeData_.copy();
+      }
+      return removeData_;
+    }
+
+    public int getRemoveDataCount() {
+      return internalGetRemoveData().getMap().size();
+    }
+    /** <code>map&lt;string, .DataBoxesPb&gt; removeData = 11;</code> */
+    public boolean containsRemoveData(java.lang.String key) {
+      if (key == null) {
+        throw new java.lang.NullPointerException();
+      }
+      return internalGetRemoveData().getMap().containsKey(key);
+    }
+    /** Use {@link #getRemoveDataMap()} instead. */
+    @java.lang.Deprecated
+    public java.util.Map<
+            java.lang.String, com.alipay.sofa.registry.common.model.client.pb.DataBoxesPb>
+        getRemoveData() {
+      return getRemoveDataMap();
+    }
+    /** <code>map&lt;string, .DataBoxesPb&gt; removeData = 11;</code> */
+    public java.util.Map<
+            java.lang.String, com.alipay.sofa.registry.common.model.client.pb.DataBoxesPb>
+        getRemoveDataMap() {
+      return internalGetRemoveData().getMap();
+    }
+    /** <code>map&lt;string, .DataBoxesPb&gt; removeData = 11;</code> */
+    public com.alipay.sofa.registry.common.model.client.pb.DataBoxesPb getRemoveDataOrDefault(
+        java.lang.String key,
+        com.alipay.sofa.registry.common.model.client.pb.DataBoxesPb defaultValue) {
+      if (key == null) {
+        throw new java.lang.NullPointerException();
+      }
+      java.util.Map<java.lang.String, com.alipay.sofa.registry.common.model.client.pb.DataBoxesPb>
+          map = internalGetRemoveData().getMap();
+      return map.containsKey(key) ? map.get(key) : defaultValue;
+    }
+    /** <code>map&lt;string, .DataBoxesPb&gt; removeData = 11;</code> */
+    public com.alipay.sofa.registry.common.model.client.pb.DataBoxesPb getRemoveDataOrThrow(
+        java.lang.String key) {
+      if (key == null) {
+        throw new java.lang.NullPointerException();
+      }
+      java.util.Map<java.lang.String, com.alipay.sofa.registry.common.model.client.pb.DataBoxesPb>
+          map = internalGetRemoveData().getMap();
+      if (!map.containsKey(key)) {
+        throw new java.lang.IllegalArgumentException();
+      }
+      return map.get(key);
+    }
+
+    public Builder clearRemoveData() {
+      internalGetMutableRemoveData().getMutableMap().clear();
+      return this;
+    }
+    /** <code>map&lt;string, .DataBoxesPb&gt; removeData = 11;</code> */
+    public Builder removeRemoveData(java.lang.String key) {
+      if (key == null) {
+        throw new java.lang.NullPointerException();
+      }
+      internalGetMutableRemoveData().getMutableMap().remove(key);
+      return this;
+    }
+    /** Use alternate mutation accessors instead. */
+    @java.lang.Deprecated
+    public java.util.Map<
+            java.lang.String, com.alipay.sofa.registry.common.model.client.pb.DataBoxesPb>
+        getMutableRemoveData() {
+      return internalGetMutableRemoveData().getMutableMap();
+    }
+    /** <code>map&lt;string, .DataBoxesPb&gt; removeData = 11;</code> */
+    public Builder putRemoveData(
+        java.lang.String key, com.alipay.sofa.registry.common.model.client.pb.DataBoxesPb value) {
+      if (key == null) {
+        throw new java.lang.NullPointerException();
+      }
+      if (value == null) {
+        throw new java.lang.NullPointerException();
+      }
+      internalGetMutableRemoveData().getMutableMap().put(key, value);
+      return this;
+    }
+    /** <code>map&lt;string, .DataBoxesPb&gt; removeData = 11;</code> */
+    public Builder putAllRemoveData(
+        java.util.Map<java.lang.String, com.alipay.sofa.registry.common.model.client.pb.DataBoxesPb>
+            values) {
+      internalGetMutableRemoveData().getMutableMap().putAll(values);
+      return this;
+    }
+
+    public final Builder setUnknownFields(final com.google.protobuf.UnknownFieldSet unknownFields) {
+      return super.setUnknownFieldsProto3(unknownFields);
+    }
+
+    public final Builder mergeUnknownFields(
+        final com.google.protobuf.UnknownFieldSet unknownFields) {
+      return super.mergeUnknownFields(unknownFields);
+    }
+
+    // @@protoc_insertion_point(builder_scope:ReceivedDeltaDataPb)
+  }
+
+  // @@protoc_insertion_point(class_scope:ReceivedDeltaDataPb)
+  private static final com.alipay.sofa.registry.common.model.client.pb.ReceivedDeltaDataPb
+      DEFAULT_INSTANCE;
+
+  static {
+    DEFAULT_INSTANCE = new com.alipay.sofa.registry.common.model.client.pb.ReceivedDeltaDataPb();
+  }
+
+  public static com.alipay.sofa.registry.common.model.client.pb.ReceivedDeltaDataPb
+      getDefaultInstance() {
+    return DEFAULT_INSTANCE;
+  }
+
+  private static final com.google.protobuf.Parser<ReceivedDeltaDataPb> PARSER =
+      new com.google.protobuf.AbstractParser<ReceivedDeltaDataPb>() {
+        public ReceivedDeltaDataPb parsePartialFrom(
+            com.google.protobuf.CodedInputStream input,
+            com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+            throws com.google.protobuf.InvalidProtocolBufferException {
+          return new ReceivedDeltaDataPb(input, extensionRegistry);
+        }
+      };
+
+  public static com.google.protobuf.Parser<ReceivedDeltaDataPb> parser() {
+    return PARSER;
+  }
+
+  @java.lang.Override
+  public com.google.protobuf.Parser<ReceivedDeltaDataPb> getParserForType() {
+    return PARSER;
+  }
+
+  public com.alipay.sofa.registry.common.model.client.pb.ReceivedDeltaDataPb
+      getDefaultInstanceForType() {
+    return DEFAULT_INSTANCE;
+  }
+}
@@ -0,0 +1,110 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alipay.sofa.registry.common.model.dataserver;
+
+import com.alipay.sofa.registry.common.model.RegisterVersion;
+import com.alipay.sofa.registry.util.StringFormatter;
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hashing;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * the order-independent digest of the publishers, every publisher is mixed to a 64bits hash and
+ * summed, so add/remove could be done in O(1) without sorting all the registerIds. the registerId
+ * is hashed by murmur3, String.hashCode is too weak for a sum of many entries. not thread safe, the
+ * caller need to guard it
+ */
+public final class CommutativeDatumDigest {
+  private static final HashFunction ID_HASH = Hashing.murmur3_128();
+  private static final long VERSION_SEED = 0x9E3779B97F4A7C15L;
+  private static final long TIMESTAMP_SEED = 0xC2B2AE3D27D4EB4FL;
+
+  private int publisherNum;
+  private long publisherIdSign;
+  private long publisherVerSign;
+  private long publisherTimestampSign;
+
+  public void add(String registerId, RegisterVersion ver) {
+    final long id = idHash(registerId);
+    publisherNum++;
+    publisherIdSign += id;
+    publisherVerSign += mix(id + VERSION_SEED * ver.getVersion());
+    publisherTimestampSign += mix(id + TIMESTAMP_SEED * ver.getRegisterTimestamp());
+  }
+
+  public void remove(String registerId, RegisterVersion ver) {
+    final long id = idHash(registerId);
+    publisherNum--;
+    publisherIdSign -= id;
+    publisherVerSign -= mix(id + VERSION_SEED * ver.getVersion());
+    publisherTimestampSign -= mix(id + TIMESTAMP_SEED * ver.getRegisterTimestamp());
+  }
+
+  public void reset() {
+    publisherNum = 0;
+    publisherIdSign = 0;
+    publisherVerSign = 0;
+    publisherTimestampSign = 0;
+  }
+
+  public int getPublisherNum() {
+    return publisherNum;
+  }
+
+  // the add/remove of a registerId are applied in storage order, all signs are 0 if empty
+  public boolean isEmpty() {
+    return publisherNum == 0
+        && publisherIdSign == 0
+        && publisherVerSign == 0
+        && publisherTimestampSign == 0;
+  }
+
+  public DatumDigest toDigest() {
+    // max/min timestamp could not be maintained when remove, the timestampSign covers them
+    return new DatumDigest(
+        publisherNum,
+        publisherIdSign,
+        publisherVerSign,
+        publisherTimestampSign,
+        (short) 0,
+        (short) 0);
+  }
+
+  private static long idHash(String registerId) {
+    return ID_HASH.hashString(registerId, StandardCharsets.UTF_8).asLong();
+  }
+
+  // the finalizer of murmur3, spread the bits of the input
+  public static long mix(long h) {
+    h ^= h >>> 33;
+    h *= 0xff51afd7ed558ccdL;
+    h ^= h >>> 33;
+    h *= 0xc4ceb9fe1a85ec53L;
+    h ^= h >>> 33;
+    return h;
+  }
+
+  @Override
+  public String toString() {
+    return StringFormatter.format(
+        "CommutativeDigest{num={},idSign={},verSign={},tsSign={}}",
+        publisherNum,
+        publisherIdSign,
+        publisherVerSign,
+        publisherTimestampSign);
+  }
+}
@@ -51,6 +51,9 @@ public class Datum implements Serializable {
 
   private List<Long> recentVersions;
 
+  // the frozen datum is a shared snapshot, not allowed to modify
+  private transient volatile boolean frozen;
+
   /** constructor */
   public Datum() {}
 
@@ -100,6 +103,7 @@ public class Datum implements Serializable {
   }
 
   public void updateVersion() {
+    checkNotFrozen();
     if (DatumVersionUtil.useConfregVersionGen()) {
       this.version = DatumVersionUtil.confregNextId(0);
     } else {
@@ -122,6 +126,7 @@ public class Datum implements Serializable {
    * @param dataInfoId value to be assigned to property dataInfoId
    */
   public void setDataInfoId(String dataInfoId) {
+    checkNotFrozen();
     this.dataInfoId = WordCache.getWordCache(dataInfoId);
   }
 
@@ -140,6 +145,7 @@ public class Datum implements Serializable {
    * @param dataCenter value to be assigned to property dataCenter
    */
   public void setDataCenter(String dataCenter) {
+    checkNotFrozen();
     this.dataCenter = WordCache.getWordCache(dataCenter);
   }
 
@@ -158,6 +164,7 @@ public class Datum implements Serializable {
    * @param dataId value to be assigned to property dataId
    */
   public void setDataId(String dataId) {
+    checkNotFrozen();
     this.dataId = WordCache.getWordCache(dataId);
   }
 
@@ -176,6 +183,7 @@ public class Datum implements Serializable {
    * @param instanceId value to be assigned to property instanceId
    */
   public void setInstanceId(String instanceId) {
+    checkNotFrozen();
     this.instanceId = WordCache.getWordCache(instanceId);
   }
 
@@ -194,6 +202,7 @@ public class Datum implements Serializable {
    * @param group value to be assigned to property group
    */
   public void setGroup(String group) {
+    checkNotFrozen();
     this.group = WordCache.getWordCache(group);
   }
 
@@ -212,6 +221,7 @@ public class Datum implements Serializable {
    * @param version value to be assigned to property version
    */
   public void setVersion(long version) {
+    checkNotFrozen();
     this.version = version;
   }
 
@@ -231,6 +241,7 @@ public class Datum implements Serializable {
   }
 
   public synchronized boolean addPublisher(Publisher publisher) {
+    checkNotFrozen();
     Publisher existing = pubMap.computeIfAbsent(publisher.getRegisterId(), k -> publisher);
     if (existing == publisher) {
       return true;
@@ -253,11 +264,16 @@ public class Datum implements Serializable {
   }
 
   public synchronized Map<String, Publisher> getPubMap() {
+    if (frozen) {
+      // the pubMap could not be modified after frozen, no need to copy
+      return Collections.unmodifiableMap(pubMap);
+    }
     return Collections.unmodifiableMap(Maps.newHashMap(pubMap));
   }
 
   /** should not call that, just for json serde */
   public synchronized void setPubMap(Map<String, Publisher> pubMap) {
+    checkNotFrozen();
     this.pubMap.clear();
     if (pubMap != null) {
       this.pubMap.putAll(pubMap);
@@ -269,6 +285,23 @@ public class Datum implements Serializable {
   }
 
   public void setRecentVersions(List<Long> recentVersions) {
+    checkNotFrozen();
     this.recentVersions = recentVersions;
   }
+
+  /**
+   * freeze the datum, the frozen datum could be shared by the readers
+   *
+   * @return this
+   */
+  public synchronized Datum freeze() {
+    this.frozen = true;
+    return this;
+  }
+
+  private void checkNotFrozen() {
+    if (frozen) {
+      throw new UnsupportedOperationException("datum is frozen: " + dataInfoId);
+    }
+  }
 }
@@ -43,6 +43,60 @@ public final class DatumDigest implements Serializable {
     this.minTimestamp = minTimestamp;
   }
 
+  /**
+   * Getter method for property <tt>publisherNum</tt>.
+   *
+   * @return property value of publisherNum
+   */
+  public int getPublisherNum() {
+    return publisherNum;
+  }
+
+  /**
+   * Getter method for property <tt>publisherIdSign</tt>.
+   *
+   * @return property value of publisherIdSign
+   */
+  public long getPublisherIdSign() {
+    return publisherIdSign;
+  }
+
+  /**
+   * Getter method for property <tt>publisherVerSign</tt>.
+   *
+   * @return property value of publisherVerSign
+   */
+  public long getPublisherVerSign() {
+    return publisherVerSign;
+  }
+
+  /**
+   * Getter method for property <tt>publisherTimestampSign</tt>.
+   *
+   * @return property value of publisherTimestampSign
+   */
+  public long getPublisherTimestampSign() {
+    return publisherTimestampSign;
+  }
+
+  /**
+   * Getter method for property <tt>maxTimestamp</tt>.
+   *
+   * @return property value of maxTimestamp
+   */
+  public short getMaxTimestamp() {
+    return maxTimestamp;
+  }
+
+  /**
+   * Getter method for property <tt>minTimestamp</tt>.
+   *
+   * @return property value of minTimestamp
+   */
+  public short getMinTimestamp() {
+    return minTimestamp;
+  }
+
   @Override
   public boolean equals(Object o) {
     if (this == o) return true;
@@ -31,6 +31,8 @@ import java.util.Map;
 public class DatumSummary implements Serializable {
   private final String dataInfoId;
   private final Map<String /*registerId*/, RegisterVersion> publisherVersions;
+  // the digest maintained by the storage, not need to transfer
+  private transient DatumDigest commutativeDigest;
 
   public DatumSummary(
       String dataInfoId, Map<String /*registerId*/, RegisterVersion> publisherVersions) {
@@ -81,6 +83,24 @@ public class DatumSummary implements Serializable {
     return m;
   }
 
+  /**
+   * Getter method for property <tt>commutativeDigest</tt>.
+   *
+   * @return property value of commutativeDigest
+   */
+  public DatumDigest getCommutativeDigest() {
+    return commutativeDigest;
+  }
+
+  /**
+   * Setter method for property <tt>commutativeDigest</tt>.
+   *
+   * @param commutativeDigest value to be assigned to property commutativeDigest
+   */
+  public void setCommutativeDigest(DatumDigest commutativeDigest) {
+    this.commutativeDigest = commutativeDigest;
+  }
+
   public boolean isEmpty() {
     return publisherVersions.isEmpty();
   }
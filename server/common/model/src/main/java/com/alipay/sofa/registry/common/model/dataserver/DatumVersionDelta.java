@@ -0,0 +1,78 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alipay.sofa.registry.common.model.dataserver;
+
+import com.alipay.sofa.registry.util.StringFormatter;
+import java.io.Serializable;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * the changed versions of a slot in the version stream, if reset=true, the cursor of the request is
+ * not continuous with the stream, the requester need to fetch the full versions and continue with
+ * the new cursor
+ */
+public final class DatumVersionDelta implements Serializable {
+  private static final long serialVersionUID = 2208418392764573516L;
+
+  private final long streamId;
+
+  // the seq of the last change contains in the delta
+  private final long seq;
+
+  private final boolean reset;
+
+  private final Map<String /*dataInfoId*/, DatumVersion> versions;
+
+  private DatumVersionDelta(
+      long streamId, long seq, boolean reset, Map<String, DatumVersion> versions) {
+    this.streamId = streamId;
+    this.seq = seq;
+    this.reset = reset;
+    this.versions = versions;
+  }
+
+  public static DatumVersionDelta of(long streamId, long seq, Map<String, DatumVersion> versions) {
+    return new DatumVersionDelta(streamId, seq, false, versions);
+  }
+
+  public static DatumVersionDelta resetOf(long streamId, long seq) {
+    return new DatumVersionDelta(streamId, seq, true, new HashMap<>(0));
+  }
+
+  public long getStreamId() {
+    return streamId;
+  }
+
+  public long getSeq() {
+    return seq;
+  }
+
+  public boolean isReset() {
+    return reset;
+  }
+
+  public Map<String, DatumVersion> getVersions() {
+    return versions;
+  }
+
+  @Override
+  public String toString() {
+    return StringFormatter.format(
+        "VerDelta{stream={},seq={},reset={},num={}}", streamId, seq, reset, versions.size());
+  }
+}
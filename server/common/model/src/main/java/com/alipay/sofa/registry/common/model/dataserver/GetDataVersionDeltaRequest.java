@@ -0,0 +1,67 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alipay.sofa.registry.common.model.dataserver;
+
+import com.alipay.sofa.registry.common.model.ProcessId;
+import com.alipay.sofa.registry.util.StringFormatter;
+
+/**
+ * request to get the changed versions of the slot after the cursor of the version stream, the
+ * streamId=0 means open the stream
+ */
+public class GetDataVersionDeltaRequest extends AbstractSlotRequest {
+
+  private static final long serialVersionUID = -3587406547823154912L;
+
+  private final String dataCenter;
+
+  private final long streamId;
+
+  private final long seq;
+
+  public GetDataVersionDeltaRequest(
+      String dataCenter, ProcessId sessionProcessId, int slotId, long streamId, long seq) {
+    super(slotId, sessionProcessId);
+    this.dataCenter = dataCenter;
+    this.streamId = streamId;
+    this.seq = seq;
+  }
+
+  public String getDataCenter() {
+    return dataCenter;
+  }
+
+  public long getStreamId() {
+    return streamId;
+  }
+
+  public long getSeq() {
+    return seq;
+  }
+
+  @Override
+  public String toString() {
+    return StringFormatter.format(
+        "GetDataVerDelta:{},{},{},{},stream={},seq={}",
+        getSlotId(),
+        dataCenter,
+        getSlotLeaderEpoch(),
+        getSlotTableEpoch(),
+        streamId,
+        seq);
+  }
+}
@@ -0,0 +1,104 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alipay.sofa.registry.common.model.dataserver;
+
+import com.alipay.sofa.registry.common.model.ProcessId;
+import com.alipay.sofa.registry.util.StringFormatter;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * request to get multi data of the slots led by the same data server, the slot access is checked
+ * once per slot
+ */
+public class GetMultiDataRequest implements Serializable {
+
+  private static final long serialVersionUID = -6411503851870125347L;
+
+  private final ProcessId sessionProcessId;
+
+  private final String dataCenter;
+
+  private final long slotTableEpoch;
+
+  private final Map<Integer, Long> slotLeaderEpochs = new HashMap<>();
+
+  private final Map<Integer, List<String>> slotDataInfoIds = new HashMap<>();
+
+  private String[] acceptEncodes;
+
+  public GetMultiDataRequest(ProcessId sessionProcessId, String dataCenter, long slotTableEpoch) {
+    this.sessionProcessId = sessionProcessId;
+    this.dataCenter = dataCenter;
+    this.slotTableEpoch = slotTableEpoch;
+  }
+
+  public void add(int slotId, long slotLeaderEpoch, String dataInfoId) {
+    slotLeaderEpochs.put(slotId, slotLeaderEpoch);
+    slotDataInfoIds.computeIfAbsent(slotId, k -> new ArrayList<>()).add(dataInfoId);
+  }
+
+  public ProcessId getSessionProcessId() {
+    return sessionProcessId;
+  }
+
+  public String getDataCenter() {
+    return dataCenter;
+  }
+
+  public long getSlotTableEpoch() {
+    return slotTableEpoch;
+  }
+
+  public long getSlotLeaderEpoch(int slotId) {
+    Long epoch = slotLeaderEpochs.get(slotId);
+    return epoch == null ? -1 : epoch;
+  }
+
+  public Map<Integer, List<String>> getSlotDataInfoIds() {
+    return slotDataInfoIds;
+  }
+
+  public int dataInfoIdSize() {
+    int size = 0;
+    for (List<String> dataInfoIds : slotDataInfoIds.values()) {
+      size += dataInfoIds.size();
+    }
+    return size;
+  }
+
+  public String[] getAcceptEncodes() {
+    return acceptEncodes;
+  }
+
+  public void setAcceptEncodes(String[] encodes) {
+    acceptEncodes = encodes;
+  }
+
+  @Override
+  public String toString() {
+    return StringFormatter.format(
+        "GetMultiData:{},slots={},num={},{}",
+        dataCenter,
+        slotDataInfoIds.keySet(),
+        dataInfoIdSize(),
+        slotTableEpoch);
+  }
+}
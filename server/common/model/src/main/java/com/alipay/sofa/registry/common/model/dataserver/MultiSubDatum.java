@@ -0,0 +1,60 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alipay.sofa.registry.common.model.dataserver;
+
+import com.alipay.sofa.registry.common.model.slot.SlotAccess;
+import com.alipay.sofa.registry.common.model.store.SubDatum;
+import com.alipay.sofa.registry.util.StringFormatter;
+import java.io.Serializable;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * the response of {@link GetMultiDataRequest}, the result is partial: the dataInfoIds of the
+ * rejected slots are absent in the datums, and a dataInfoId mapping to null means the datum not
+ * exists
+ */
+public final class MultiSubDatum implements Serializable {
+
+  private static final long serialVersionUID = -2093361736312541738L;
+
+  private final Map<String /*dataInfoId*/, SubDatum> datums = new HashMap<>();
+
+  private final Map<Integer, SlotAccess> rejectedSlots = new HashMap<>();
+
+  public void putDatum(String dataInfoId, SubDatum datum) {
+    datums.put(dataInfoId, datum);
+  }
+
+  public void putRejectedSlot(int slotId, SlotAccess slotAccess) {
+    rejectedSlots.put(slotId, slotAccess);
+  }
+
+  public Map<String, SubDatum> getDatums() {
+    return datums;
+  }
+
+  public Map<Integer, SlotAccess> getRejectedSlots() {
+    return rejectedSlots;
+  }
+
+  @Override
+  public String toString() {
+    return StringFormatter.format(
+        "MultiSubDatum{num={},rejected={}}", datums.size(), rejectedSlots.values());
+  }
+}
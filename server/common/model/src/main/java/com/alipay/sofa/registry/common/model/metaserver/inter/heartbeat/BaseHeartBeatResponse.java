@@ -20,6 +20,7 @@ import com.alipay.sofa.registry.common.model.metaserver.cluster.VersionedList;
 import com.alipay.sofa.registry.common.model.metaserver.nodes.MetaNode;
 import com.alipay.sofa.registry.common.model.metaserver.nodes.SessionNode;
 import com.alipay.sofa.registry.common.model.slot.SlotTable;
+import com.alipay.sofa.registry.common.model.slot.SlotTableDelta;
 import com.google.common.collect.Sets;
 import java.io.Serializable;
 import java.util.*;
@@ -32,7 +33,10 @@ public class BaseHeartBeatResponse implements Serializable {
 
   private final boolean heartbeatOnLeader;
 
-  private final SlotTable slotTable;
+  private SlotTable slotTable;
+
+  // if not null, the slotTable is absent and need to be resolved from the delta
+  private SlotTableDelta slotTableDelta;
 
   private final VersionedList<MetaNode> metaNodes;
 
@@ -74,6 +78,34 @@ public class BaseHeartBeatResponse implements Serializable {
     return slotTable;
   }
 
+  public SlotTableDelta getSlotTableDelta() {
+    return slotTableDelta;
+  }
+
+  /**
+   * replace the slot table with the delta against the slot table held by the requester
+   *
+   * @param slotTableDelta the delta
+   * @return this
+   */
+  public BaseHeartBeatResponse setSlotTableDelta(SlotTableDelta slotTableDelta) {
+    this.slotTableDelta = slotTableDelta;
+    this.slotTable = null;
+    return this;
+  }
+
+  /**
+   * resolve the slot table from the delta
+   *
+   * @param base the slot table held by the requester
+   */
+  public void applySlotTableDelta(SlotTable base) {
+    if (slotTableDelta != null) {
+      this.slotTable = slotTableDelta.apply(base);
+      this.slotTableDelta = null;
+    }
+  }
+
   public List<MetaNode> getMetaNodes() {
     return metaNodes.getClusterMembers();
   }
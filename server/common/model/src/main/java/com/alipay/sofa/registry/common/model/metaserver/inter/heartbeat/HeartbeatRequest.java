@@ -46,6 +46,10 @@ public class HeartbeatRequest<T extends Node> implements Serializable {
 
   private SlotTable slotTable;
 
+  // the epoch of the full slot table held by the requester, the response carries the delta against
+  // it
+  private long slotTableDeltaBaseEpoch = SlotTable.INIT.getEpoch();
+
   /**
    * constructor
    *
@@ -179,6 +183,26 @@ public class HeartbeatRequest<T extends Node> implements Serializable {
     return this;
   }
 
+  /**
+   * Gets get slot table delta base epoch.
+   *
+   * @return the get slot table delta base epoch
+   */
+  public long getSlotTableDeltaBaseEpoch() {
+    return slotTableDeltaBaseEpoch;
+  }
+
+  /**
+   * Sets set slot table delta base epoch.
+   *
+   * @param slotTableDeltaBaseEpoch the slot table delta base epoch
+   * @return the set slot table delta base epoch
+   */
+  public HeartbeatRequest<T> setSlotTableDeltaBaseEpoch(long slotTableDeltaBaseEpoch) {
+    this.slotTableDeltaBaseEpoch = slotTableDeltaBaseEpoch;
+    return this;
+  }
+
   /**
    * To string string.
    *
@@ -0,0 +1,91 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alipay.sofa.registry.common.model.slot;
+
+import java.io.Serializable;
+
+/**
+ * compare the merkle digest of the slot, the root first and then the buckets, see {@link
+ * SlotDigestTree}
+ */
+public class DataSlotDiffBucketDigestRequest implements Serializable {
+  private final long slotTableEpoch;
+  private final int slotId;
+  private final long rootDigest;
+  private final long[] bucketDigests;
+
+  public DataSlotDiffBucketDigestRequest(long slotTableEpoch, int slotId, long[] bucketDigests) {
+    this.slotTableEpoch = slotTableEpoch;
+    this.slotId = slotId;
+    this.bucketDigests = bucketDigests;
+    this.rootDigest = SlotDigestTree.root(bucketDigests);
+  }
+
+  /**
+   * Getter method for property <tt>slotTableEpoch</tt>.
+   *
+   * @return property value of slotTableEpoch
+   */
+  public long getSlotTableEpoch() {
+    return slotTableEpoch;
+  }
+
+  /**
+   * Getter method for property <tt>slotId</tt>.
+   *
+   * @return property value of slotId
+   */
+  public int getSlotId() {
+    return slotId;
+  }
+
+  /**
+   * Getter method for property <tt>rootDigest</tt>.
+   *
+   * @return property value of rootDigest
+   */
+  public long getRootDigest() {
+    return rootDigest;
+  }
+
+  /**
+   * Getter method for property <tt>bucketDigests</tt>.
+   *
+   * @return property value of bucketDigests
+   */
+  public long[] getBucketDigests() {
+    return bucketDigests;
+  }
+
+  public int getBucketNum() {
+    return bucketDigests.length;
+  }
+
+  @Override
+  public String toString() {
+    return "DiffBucketDigest{"
+        + "slotId="
+        + slotId
+        + ", epoch="
+        + slotTableEpoch
+        + ", root="
+        + rootDigest
+        + ", buckets="
+        + bucketDigests.length
+        + '}';
+  }
+}
@@ -20,6 +20,7 @@ import com.alipay.sofa.registry.common.model.dataserver.DatumDigest;
 import java.io.Serializable;
 import java.util.Collections;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * @author yuzhi.lyz
@@ -30,6 +31,11 @@ public class DataSlotDiffDigestRequest implements Serializable {
   // all dataInfoIds, diff by digest
   private final Map<String, DatumDigest> datumDigest;
   private final int slotId;
+  // the old version not has the field, default is false, means the sorted digest
+  private boolean commutativeDigest;
+  // not null means only diff the dataInfoIds in the buckets of SlotDigestTree
+  private int bucketNum;
+  private Set<Integer> buckets;
 
   public DataSlotDiffDigestRequest(
       long slotTableEpoch, int slotId, Map<String, DatumDigest> datumDigest) {
@@ -60,6 +66,54 @@ public class DataSlotDiffDigestRequest implements Serializable {
     return Collections.unmodifiableMap(datumDigest);
   }
 
+  /**
+   * Getter method for property <tt>commutativeDigest</tt>.
+   *
+   * @return property value of commutativeDigest
+   */
+  public boolean isCommutativeDigest() {
+    return commutativeDigest;
+  }
+
+  /**
+   * Setter method for property <tt>commutativeDigest</tt>.
+   *
+   * @param commutativeDigest value to be assigned to property commutativeDigest
+   */
+  public void setCommutativeDigest(boolean commutativeDigest) {
+    this.commutativeDigest = commutativeDigest;
+  }
+
+  /**
+   * Getter method for property <tt>bucketNum</tt>.
+   *
+   * @return property value of bucketNum
+   */
+  public int getBucketNum() {
+    return bucketNum;
+  }
+
+  /**
+   * Getter method for property <tt>buckets</tt>.
+   *
+   * @return property value of buckets
+   */
+  public Set<Integer> getBuckets() {
+    return buckets;
+  }
+
+  public void setBuckets(int bucketNum, Set<Integer> buckets) {
+    this.bucketNum = bucketNum;
+    this.buckets = buckets;
+  }
+
+  public <T> Map<String, T> filterBuckets(Map<String, T> m) {
+    if (buckets == null) {
+      return m;
+    }
+    return SlotDigestTree.filter(m, bucketNum, buckets);
+  }
+
   @Override
   public String toString() {
     return "DiffDigest{"
@@ -69,6 +123,10 @@ public class DataSlotDiffDigestRequest implements Serializable {
         + slotTableEpoch
         + ", digests="
         + datumDigest.size()
+        + ", commutative="
+        + commutativeDigest
+        + ", buckets="
+        + (buckets == null ? "all" : buckets.size())
         + '}';
   }
 }
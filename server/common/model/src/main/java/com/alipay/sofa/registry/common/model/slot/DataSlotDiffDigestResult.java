@@ -34,6 +34,8 @@ public class DataSlotDiffDigestResult implements Serializable {
   private final List<String> removedDataInfoIds;
   // if from session, return the sessionProcessId for lease
   private ProcessId sessionProcessId;
+  // the peer supports the commutative digest, absent(false) if the peer is old version
+  private boolean commutativeDigestSupported;
 
   public DataSlotDiffDigestResult(
       List<String> updatedDataInfoIds,
@@ -97,6 +99,24 @@ public class DataSlotDiffDigestResult implements Serializable {
     this.sessionProcessId = sessionProcessId;
   }
 
+  /**
+   * Getter method for property <tt>commutativeDigestSupported</tt>.
+   *
+   * @return property value of commutativeDigestSupported
+   */
+  public boolean isCommutativeDigestSupported() {
+    return commutativeDigestSupported;
+  }
+
+  /**
+   * Setter method for property <tt>commutativeDigestSupported</tt>.
+   *
+   * @param commutativeDigestSupported value to be assigned to property commutativeDigestSupported
+   */
+  public void setCommutativeDigestSupported(boolean commutativeDigestSupported) {
+    this.commutativeDigestSupported = commutativeDigestSupported;
+  }
+
   public boolean isEmpty() {
     return CollectionUtils.isEmpty(updatedDataInfoIds)
         && CollectionUtils.isEmpty(removedDataInfoIds)
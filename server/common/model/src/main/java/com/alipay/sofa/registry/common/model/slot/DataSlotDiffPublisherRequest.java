@@ -31,6 +31,10 @@ public class DataSlotDiffPublisherRequest implements Serializable {
   // parts of the summary to diff sync
   private final List<DatumSummary> datumSummaries;
   private final int slotId;
+  // the requester could apply a datum in chunks, the large datum could be split by resume token
+  private boolean resumable;
+  private String resumeDataInfoId;
+  private String resumeRegisterId;
 
   public DataSlotDiffPublisherRequest(
       long slotTableEpoch, int slotId, Collection<DatumSummary> datumSummaries) {
@@ -64,6 +68,53 @@ public class DataSlotDiffPublisherRequest implements Serializable {
     return datumSummaries;
   }
 
+  /**
+   * Getter method for property <tt>resumable</tt>.
+   *
+   * @return property value of resumable
+   */
+  public boolean isResumable() {
+    return resumable;
+  }
+
+  /**
+   * Setter method for property <tt>resumable</tt>.
+   *
+   * @param resumable value to be assigned to property resumable
+   */
+  public void setResumable(boolean resumable) {
+    this.resumable = resumable;
+  }
+
+  /**
+   * Getter method for property <tt>resumeDataInfoId</tt>.
+   *
+   * @return property value of resumeDataInfoId
+   */
+  public String getResumeDataInfoId() {
+    return resumeDataInfoId;
+  }
+
+  /**
+   * Getter method for property <tt>resumeRegisterId</tt>.
+   *
+   * @return property value of resumeRegisterId
+   */
+  public String getResumeRegisterId() {
+    return resumeRegisterId;
+  }
+
+  /**
+   * continue the datum after the registerId, which returned by the last chunk
+   *
+   * @param dataInfoId
+   * @param registerId
+   */
+  public void setResume(String dataInfoId, String registerId) {
+    this.resumeDataInfoId = dataInfoId;
+    this.resumeRegisterId = registerId;
+  }
+
   @Override
   public String toString() {
     return "DiffPublisher{"
@@ -73,6 +124,10 @@ public class DataSlotDiffPublisherRequest implements Serializable {
         + slotTableEpoch
         + ", summaries="
         + datumSummaries.size()
+        + ", resume="
+        + resumeDataInfoId
+        + "/"
+        + resumeRegisterId
         + '}';
   }
 }
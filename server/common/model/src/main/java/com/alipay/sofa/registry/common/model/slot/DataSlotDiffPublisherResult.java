@@ -39,6 +39,9 @@ public class DataSlotDiffPublisherResult implements Serializable {
   private ProcessId sessionProcessId;
   // contains all the updated/added publishers
   private final boolean hasRemain;
+  // not null means the datum is returned partly, the requester need to continue after it
+  private String resumeDataInfoId;
+  private String resumeRegisterId;
 
   public DataSlotDiffPublisherResult(
       boolean hasRemain,
@@ -123,6 +126,29 @@ public class DataSlotDiffPublisherResult implements Serializable {
     this.sessionProcessId = sessionProcessId;
   }
 
+  /**
+   * Getter method for property <tt>resumeDataInfoId</tt>.
+   *
+   * @return property value of resumeDataInfoId
+   */
+  public String getResumeDataInfoId() {
+    return resumeDataInfoId;
+  }
+
+  /**
+   * Getter method for property <tt>resumeRegisterId</tt>.
+   *
+   * @return property value of resumeRegisterId
+   */
+  public String getResumeRegisterId() {
+    return resumeRegisterId;
+  }
+
+  public void setResume(String dataInfoId, String registerId) {
+    this.resumeDataInfoId = dataInfoId;
+    this.resumeRegisterId = registerId;
+  }
+
   public boolean isEmpty() {
     return MapUtils.isEmpty(updatedPublishers) && MapUtils.isEmpty(removedPublishers);
   }
@@ -40,11 +40,42 @@ public final class DataSlotDiffUtils {
   public static DataSlotDiffDigestResult diffDigestResult(
       Map<String, DatumDigest> targetDigestMap,
       Map<String, Map<String, Publisher>> sourcePublishers) {
+    return diffDigestResult(targetDigestMap, sourcePublishers, false);
+  }
+
+  public static DataSlotDiffDigestResult diffDigestResult(
+      Map<String, DatumDigest> targetDigestMap,
+      Map<String, Map<String, Publisher>> sourcePublishers,
+      boolean commutative) {
     Map<String, DatumSummary> sourceSummaryMap = PublisherUtils.getDatumSummary(sourcePublishers);
-    Map<String, DatumDigest> digestMap = PublisherDigestUtil.digest(sourceSummaryMap);
+    Map<String, DatumDigest> digestMap = PublisherDigestUtil.digest(sourceSummaryMap, commutative);
     return diffDigest(targetDigestMap, digestMap);
   }
 
+  public static DataSlotDiffDigestResult diffDigestResult(
+      DataSlotDiffDigestRequest request, Map<String, Map<String, Publisher>> sourcePublishers) {
+    return diffDigestResult(
+        request.getDatumDigest(),
+        request.filterBuckets(sourcePublishers),
+        request.isCommutativeDigest());
+  }
+
+  public static long[] bucketDigests(
+      Map<String, Map<String, Publisher>> sourcePublishers, int bucketNum) {
+    Map<String, DatumSummary> sourceSummaryMap = PublisherUtils.getDatumSummary(sourcePublishers);
+    return SlotDigestTree.buckets(PublisherDigestUtil.digest(sourceSummaryMap, true), bucketNum);
+  }
+
+  public static DataSlotDiffBucketDigestResult diffBucketDigest(
+      DataSlotDiffBucketDigestRequest request, long[] sourceBuckets) {
+    if (request.getRootDigest() == SlotDigestTree.root(sourceBuckets)) {
+      return new DataSlotDiffBucketDigestResult(request.getBucketNum(), Collections.emptyList());
+    }
+    return new DataSlotDiffBucketDigestResult(
+        request.getBucketNum(),
+        SlotDigestTree.diffBuckets(request.getBucketDigests(), sourceBuckets));
+  }
+
   public static DataSlotDiffDigestResult diffDigest(
       Map<String, DatumDigest> targetDigestMap, Map<String, DatumDigest> sourceDigestMap) {
     List<String> adds = Lists.newArrayList();
@@ -69,6 +100,8 @@ public final class DataSlotDiffUtils {
       }
     }
     DataSlotDiffDigestResult result = new DataSlotDiffDigestResult(updates, adds, removes);
+    // let the requester switch to the commutative digest in the next rounds
+    result.setCommutativeDigestSupported(true);
     return result;
   }
 
@@ -76,6 +109,35 @@ public final class DataSlotDiffUtils {
       Collection<DatumSummary> targetDatumSummaries,
       Map<String, Map<String, Publisher>> sourcePublishers,
       int publisherMaxNum) {
+    return diffPublishersResult(
+        targetDatumSummaries, sourcePublishers, publisherMaxNum, false, null, null);
+  }
+
+  public static DataSlotDiffPublisherResult diffPublishersResult(
+      DataSlotDiffPublisherRequest request,
+      Map<String, Map<String, Publisher>> sourcePublishers,
+      int publisherMaxNum) {
+    return diffPublishersResult(
+        request.getDatumSummaries(),
+        sourcePublishers,
+        publisherMaxNum,
+        request.isResumable(),
+        request.getResumeDataInfoId(),
+        request.getResumeRegisterId());
+  }
+
+  /**
+   * if resumable, a datum which exceeds the remaining publisherMaxNum is split into chunks by the
+   * order of registerId, the result carries the last registerId as resume token. the removed
+   * publishers of the datum are returned with the first chunk
+   */
+  public static DataSlotDiffPublisherResult diffPublishersResult(
+      Collection<DatumSummary> targetDatumSummaries,
+      Map<String, Map<String, Publisher>> sourcePublishers,
+      int publisherMaxNum,
+      boolean resumable,
+      String resumeDataInfoId,
+      String resumeRegisterId) {
     Map<String, List<Publisher>> updatePublishers =
         Maps.newHashMapWithExpectedSize(targetDatumSummaries.size());
     Map<String, List<String>> removedPublishers = new HashMap<>();
@@ -90,9 +152,12 @@ public final class DataSlotDiffUtils {
         // the dataInfoId has removed, do not handle it, diffDataInfoIds will handle it
         continue;
       }
+      final boolean resume =
+          resumable && resumeRegisterId != null && dataInfoId.equals(resumeDataInfoId);
       Set<String> registerIds = summary.getPublisherVersions().keySet();
       for (String registerId : registerIds) {
-        if (!publisherMap.containsKey(registerId)) {
+        // the removed has returned with the first chunk
+        if (!resume && !publisherMap.containsKey(registerId)) {
           List<String> list = removedPublishers.computeIfAbsent(dataInfoId, k -> new ArrayList<>());
           list.add(registerId);
         }
@@ -101,6 +166,10 @@ public final class DataSlotDiffUtils {
       Map<String, RegisterVersion> versions = summary.getPublisherVersions();
       for (Map.Entry<String, Publisher> p : publisherMap.entrySet()) {
         final String registerId = p.getKey();
+        if (resume && registerId.compareTo(resumeRegisterId) <= 0) {
+          // has synced by the previous chunks
+          continue;
+        }
         if (!versions.containsKey(registerId)) {
           publishers.add(p.getValue());
           continue;
@@ -112,6 +181,17 @@ public final class DataSlotDiffUtils {
         }
         publishers.add(p.getValue());
       }
+      final int remains = publisherMaxNum - publisherCount;
+      if (resumable && remains > 0 && publishers.size() > remains) {
+        // too many publishers in one datum, return the first chunk
+        publishers.sort(Comparator.comparing(Publisher::getRegisterId));
+        List<Publisher> chunk = Lists.newArrayList(publishers.subList(0, remains));
+        updatePublishers.put(dataInfoId, chunk);
+        DataSlotDiffPublisherResult result =
+            new DataSlotDiffPublisherResult(true, updatePublishers, removedPublishers);
+        result.setResume(dataInfoId, chunk.get(chunk.size() - 1).getRegisterId());
+        return result;
+      }
       if (!publishers.isEmpty()) {
         publisherCount += publishers.size();
         updatePublishers.put(dataInfoId, publishers);
@@ -131,9 +211,10 @@ public final class DataSlotDiffUtils {
   public static void logDiffResult(DataSlotDiffPublisherResult result, int slotId) {
     if (!result.isEmpty()) {
       SYNC_LOGGER.info(
-          "DiffPublisher, slotId={}, remain={}, update={}/{}, remove={}/{}, removes={}",
+          "DiffPublisher, slotId={}, remain={}, resume={}, update={}/{}, remove={}/{}, removes={}",
           slotId,
           result.isHasRemain(),
+          result.getResumeDataInfoId(),
           result.getUpdatedPublishers().size(),
           result.getUpdatedPublishersCount(),
           result.getRemovedPublishers().size(),
@@ -142,6 +223,16 @@ public final class DataSlotDiffUtils {
     }
   }
 
+  public static void logDiffResult(DataSlotDiffBucketDigestResult result, int slotId) {
+    if (!result.isEmpty()) {
+      SYNC_LOGGER.info(
+          "DiffBucketDigest, slotId={}, bucketNum={}, diffBuckets={}",
+          slotId,
+          result.getBucketNum(),
+          result.getDiffBuckets());
+    }
+  }
+
   public static void logDiffResult(DataSlotDiffDigestResult result, int slotId) {
     if (!result.isEmpty()) {
       SYNC_LOGGER.info(
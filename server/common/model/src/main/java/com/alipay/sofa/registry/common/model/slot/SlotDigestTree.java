@@ -0,0 +1,123 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alipay.sofa.registry.common.model.slot;
+
+import com.alipay.sofa.registry.common.model.dataserver.CommutativeDatumDigest;
+import com.alipay.sofa.registry.common.model.dataserver.DatumDigest;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * two levels merkle digest of a slot: the dataInfoIds are hashed into buckets, the hash of the
+ * bucket is the sum of the hash of the datums in it, and the root is the hash of all the buckets.
+ * the sum is commutative, so the bucket could be updated with the delta of a datum in O(1)
+ */
+public final class SlotDigestTree {
+  public static final int DEFAULT_BUCKET_NUM = 256;
+
+  private final AtomicLongArray buckets;
+
+  public SlotDigestTree(int bucketNum) {
+    this.buckets = new AtomicLongArray(bucketNum);
+  }
+
+  public int getBucketNum() {
+    return buckets.length();
+  }
+
+  public void update(String dataInfoId, long oldHash, long newHash) {
+    if (oldHash != newHash) {
+      buckets.addAndGet(bucketOf(dataInfoId, buckets.length()), newHash - oldHash);
+    }
+  }
+
+  public long[] snapshot() {
+    final long[] ret = new long[buckets.length()];
+    for (int i = 0; i < ret.length; i++) {
+      ret[i] = buckets.get(i);
+    }
+    return ret;
+  }
+
+  public static int bucketOf(String dataInfoId, int bucketNum) {
+    return (int) ((CommutativeDatumDigest.mix(dataInfoId.hashCode()) >>> 1) % bucketNum);
+  }
+
+  /**
+   * the empty datum is treated as not exist, the hash is 0
+   *
+   * @param dataInfoId
+   * @param digest
+   * @return
+   */
+  public static long hashOf(String dataInfoId, DatumDigest digest) {
+    if (digest == null || digest.getPublisherNum() == 0) {
+      return 0;
+    }
+    long h = CommutativeDatumDigest.mix(dataInfoId.hashCode());
+    h = CommutativeDatumDigest.mix(h + digest.getPublisherNum());
+    h = CommutativeDatumDigest.mix(h + digest.getPublisherIdSign());
+    h = CommutativeDatumDigest.mix(h + digest.getPublisherVerSign());
+    h = CommutativeDatumDigest.mix(h + digest.getPublisherTimestampSign());
+    h = CommutativeDatumDigest.mix(h + digest.getMaxTimestamp());
+    return CommutativeDatumDigest.mix(h + digest.getMinTimestamp());
+  }
+
+  public static long[] buckets(Map<String, DatumDigest> digests, int bucketNum) {
+    final long[] ret = new long[bucketNum];
+    for (Map.Entry<String, DatumDigest> e : digests.entrySet()) {
+      ret[bucketOf(e.getKey(), bucketNum)] += hashOf(e.getKey(), e.getValue());
+    }
+    return ret;
+  }
+
+  public static long root(long[] buckets) {
+    long h = buckets.length;
+    for (long b : buckets) {
+      h = CommutativeDatumDigest.mix(h * 31 + b);
+    }
+    return h;
+  }
+
+  public static List<Integer> diffBuckets(long[] target, long[] source) {
+    if (target.length != source.length) {
+      throw new IllegalArgumentException(
+          "bucketNum not equals, " + target.length + "!=" + source.length);
+    }
+    List<Integer> ret = Lists.newArrayList();
+    for (int i = 0; i < target.length; i++) {
+      if (target[i] != source[i]) {
+        ret.add(i);
+      }
+    }
+    return ret;
+  }
+
+  public static <T> Map<String, T> filter(Map<String, T> m, int bucketNum, Set<Integer> buckets) {
+    final Map<String, T> ret = Maps.newHashMapWithExpectedSize(m.size() / bucketNum + 16);
+    for (Map.Entry<String, T> e : m.entrySet()) {
+      if (buckets.contains(bucketOf(e.getKey(), bucketNum))) {
+        ret.put(e.getKey(), e.getValue());
+      }
+    }
+    return ret;
+  }
+}
@@ -0,0 +1,140 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alipay.sofa.registry.common.model.slot;
+
+import com.alipay.sofa.registry.exception.SofaRegistrySlotTableException;
+import com.alipay.sofa.registry.util.StringFormatter;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Sets;
+import java.io.Serializable;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * the changed slots between two slot tables, used to avoid transferring the whole slot table when
+ * only a few slots changed. a delta with the same from/to epoch means the slot table is not changed
+ */
+public final class SlotTableDelta implements Serializable {
+  private final long fromEpoch;
+  private final long toEpoch;
+  private final List<Slot> updatedSlots;
+  private final Set<Integer> removedSlotIds;
+
+  public SlotTableDelta(
+      long fromEpoch, long toEpoch, List<Slot> updatedSlots, Set<Integer> removedSlotIds) {
+    this.fromEpoch = fromEpoch;
+    this.toEpoch = toEpoch;
+    this.updatedSlots = Lists.newArrayList(updatedSlots);
+    this.removedSlotIds = Sets.newTreeSet(removedSlotIds);
+  }
+
+  public static SlotTableDelta unchanged(long epoch) {
+    return new SlotTableDelta(epoch, epoch, Collections.emptyList(), Collections.emptySet());
+  }
+
+  public static SlotTableDelta diff(SlotTable from, SlotTable to) {
+    final Map<Integer, Slot> fromSlots = from.getSlotMap();
+    final List<Slot> updated = Lists.newArrayList();
+    for (Slot slot : to.getSlots()) {
+      if (!slot.equals(fromSlots.remove(slot.getId()))) {
+        updated.add(slot);
+      }
+    }
+    return new SlotTableDelta(from.getEpoch(), to.getEpoch(), updated, fromSlots.keySet());
+  }
+
+  /**
+   * @param base the slot table with the epoch of fromEpoch
+   * @return the slot table with the epoch of toEpoch
+   */
+  public SlotTable apply(SlotTable base) {
+    if (base == null || base.getEpoch() != fromEpoch) {
+      throw new SofaRegistrySlotTableException(
+          StringFormatter.format(
+              "base slot table epoch not match, expect={}, base={}",
+              fromEpoch,
+              base == null ? null : base.getEpoch()));
+    }
+    if (isUnchanged()) {
+      return base;
+    }
+    final Map<Integer, Slot> slots = base.getSlotMap();
+    for (Integer slotId : removedSlotIds) {
+      slots.remove(slotId);
+    }
+    for (Slot slot : updatedSlots) {
+      slots.put(slot.getId(), slot);
+    }
+    return new SlotTable(toEpoch, slots.values());
+  }
+
+  public boolean isUnchanged() {
+    return fromEpoch == toEpoch && updatedSlots.isEmpty() && removedSlotIds.isEmpty();
+  }
+
+  public int size() {
+    return updatedSlots.size() + removedSlotIds.size();
+  }
+
+  /**
+   * Getter method for property <tt>fromEpoch</tt>.
+   *
+   * @return property value of fromEpoch
+   */
+  public long getFromEpoch() {
+    return fromEpoch;
+  }
+
+  /**
+   * Getter method for property <tt>toEpoch</tt>.
+   *
+   * @return property value of toEpoch
+   */
+  public long getToEpoch() {
+    return toEpoch;
+  }
+
+  /**
+   * Getter method for property <tt>updatedSlots</tt>.
+   *
+   * @return property value of updatedSlots
+   */
+  public List<Slot> getUpdatedSlots() {
+    return updatedSlots;
+  }
+
+  /**
+   * Getter method for property <tt>removedSlotIds</tt>.
+   *
+   * @return property value of removedSlotIds
+   */
+  public Set<Integer> getRemovedSlotIds() {
+    return removedSlotIds;
+  }
+
+  @Override
+  public String toString() {
+    return StringFormatter.format(
+        "SlotTableDelta{from={}, to={}, updated={}, removed={}}",
+        fromEpoch,
+        toEpoch,
+        updatedSlots.size(),
+        removedSlotIds);
+  }
+}
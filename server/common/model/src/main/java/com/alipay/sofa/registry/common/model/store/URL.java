@@ -194,6 +194,33 @@ public final class URL implements Serializable {
     this.ipAddress = WordCache.getWordCache(ipAddress);
   }
 
+  /**
+   * Setter method for property <tt>protocol</tt>.
+   *
+   * @param protocol value to be assigned to property protocol
+   */
+  public void setProtocol(ProtocolType protocol) {
+    this.protocol = protocol;
+  }
+
+  /**
+   * Setter method for property <tt>port</tt>.
+   *
+   * @param port value to be assigned to property port
+   */
+  public void setPort(int port) {
+    this.port = port;
+  }
+
+  /**
+   * Setter method for property <tt>serializerIndex</tt>.
+   *
+   * @param serializerIndex value to be assigned to property serializerIndex
+   */
+  public void setSerializerIndex(Byte serializerIndex) {
+    this.serializerIndex = serializerIndex;
+  }
+
   /**
    * TODO Other protocol
    *
@@ -16,6 +16,7 @@
  */
 package com.alipay.sofa.registry.common.model;
 
+import com.alipay.sofa.registry.common.model.dataserver.CommutativeDatumDigest;
 import com.alipay.sofa.registry.common.model.dataserver.DatumDigest;
 import com.alipay.sofa.registry.common.model.dataserver.DatumSummary;
 import com.alipay.sofa.registry.util.StringFormatter;
@@ -131,4 +132,70 @@ public class PublisherDigestUtilTest {
     }
     return count;
   }
+
+  @Test
+  public void testCommutativeDigest() {
+    for (int i = 1; i < 100; i++) {
+      int count = i * 10;
+      Map<String, RegisterVersion> m1 = Maps.newHashMapWithExpectedSize(count);
+      Map<String, RegisterVersion> m2 = Maps.newHashMapWithExpectedSize(count);
+      CommutativeDatumDigest incremental = new CommutativeDatumDigest();
+      for (int j = 0; j < count; j++) {
+        String id = UUID.randomUUID().toString();
+        long now = System.currentTimeMillis();
+        int r = RANDOM.nextInt(9);
+        m1.put(id, RegisterVersion.of(0, now));
+        incremental.add(id, RegisterVersion.of(0, now));
+        if (r % 3 == 0) {
+          m2.put(id, RegisterVersion.of(0, now));
+        } else if (r % 3 == 1) {
+          m2.put(id, RegisterVersion.of(1, now));
+        } else {
+          m2.put(id, RegisterVersion.of(0, now + 1));
+        }
+      }
+      DatumDigest d1 = PublisherDigestUtil.commutativeDigest(new DatumSummary("testDataId", m1));
+      DatumDigest d2 = PublisherDigestUtil.commutativeDigest(new DatumSummary("testDataId", m2));
+      Assert.assertFalse(StringFormatter.format("m1={},m2={}", m1, m2), d1.equals(d2));
+      Assert.assertEquals(d1, incremental.toDigest());
+
+      // add and remove keep the same as calc from the whole
+      String removed = m1.keySet().iterator().next();
+      incremental.remove(removed, m1.remove(removed));
+      incremental.add("added", RegisterVersion.of(2, 3));
+      m1.put("added", RegisterVersion.of(2, 3));
+      Assert.assertEquals(
+          PublisherDigestUtil.commutativeDigest(new DatumSummary("testDataId", m1)),
+          incremental.toDigest());
+    }
+  }
+
+  @Test
+  public void testCommutativeDigestHashCollision() {
+    // the same String.hashCode
+    Assert.assertEquals("Aa".hashCode(), "BB".hashCode());
+    CommutativeDatumDigest d1 = new CommutativeDatumDigest();
+    d1.add("Aa", RegisterVersion.of(1, 2));
+    CommutativeDatumDigest d2 = new CommutativeDatumDigest();
+    d2.add("BB", RegisterVersion.of(1, 2));
+    Assert.assertNotEquals(d1.toDigest(), d2.toDigest());
+  }
+
+  @Test
+  public void testCommutativeDigestCached() {
+    Map<String, RegisterVersion> m = Maps.newHashMap();
+    m.put("a", RegisterVersion.of(1, 2));
+    DatumSummary summary = new DatumSummary("testDataId", m);
+    DatumDigest digest = new DatumDigest(1, 2, 3, 4, (short) 5, (short) 6);
+    summary.setCommutativeDigest(digest);
+    Assert.assertTrue(PublisherDigestUtil.commutativeDigest(summary) == digest);
+    Assert.assertTrue(
+        PublisherDigestUtil.digest(Collections.singletonMap("testDataId", summary), true)
+                .get("testDataId")
+            == digest);
+    Assert.assertNotEquals(
+        PublisherDigestUtil.digest(Collections.singletonMap("testDataId", summary), false)
+            .get("testDataId"),
+        digest);
+  }
 }
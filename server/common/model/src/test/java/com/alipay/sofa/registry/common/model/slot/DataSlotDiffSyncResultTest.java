@@ -192,6 +192,51 @@ public class DataSlotDiffSyncResultTest {
     DataSlotDiffUtils.logDiffResult(result, 10);
   }
 
+  @Test
+  public void testDiffPublishersResultChunk() {
+    Map<String, Integer> m = Maps.newHashMap();
+    m.put("a", 250);
+    Map<String, Map<String, Publisher>> publishers = randPublishers(m);
+    // remove one and add all
+    Publisher removed = randPublisher();
+    DatumSummary summary = new DatumSummary("a");
+    summary.getPublisherVersions().put(removed.getRegisterId(), removed.registerVersion());
+    List<DatumSummary> summaries = Lists.newArrayList(summary);
+
+    // not resumable, all the publishers in one result
+    DataSlotDiffPublisherResult result =
+        DataSlotDiffUtils.diffPublishersResult(summaries, publishers, 100);
+    Assert.assertEquals(result.getUpdatedPublishersCount(), 250);
+    Assert.assertNull(result.getResumeDataInfoId());
+
+    DataSlotDiffPublisherRequest request = new DataSlotDiffPublisherRequest(1, 1, summaries);
+    request.setResumable(true);
+    Map<String, Publisher> synced = Maps.newHashMap();
+    int chunks = 0;
+    while (true) {
+      result = DataSlotDiffUtils.diffPublishersResult(request, publishers, 100);
+      chunks++;
+      Assert.assertTrue(result.getUpdatedPublishersCount() <= 100);
+      if (chunks == 1) {
+        Assert.assertEquals(
+            result.getRemovedPublishers().get("a"), Lists.newArrayList(removed.getRegisterId()));
+      } else {
+        Assert.assertTrue(result.getRemovedPublishers().isEmpty());
+      }
+      for (Publisher p : result.getUpdatedPublishers().get("a")) {
+        Assert.assertNull(synced.put(p.getRegisterId(), p));
+      }
+      if (!result.isHasRemain()) {
+        Assert.assertNull(result.getResumeDataInfoId());
+        break;
+      }
+      Assert.assertEquals(result.getResumeDataInfoId(), "a");
+      request.setResume(result.getResumeDataInfoId(), result.getResumeRegisterId());
+    }
+    Assert.assertEquals(chunks, 3);
+    Assert.assertEquals(synced, publishers.get("a"));
+  }
+
   private static void checkAddedPublisher(
       Map<String, Map<String, Publisher>> publishers, DataSlotDiffPublisherResult result) {
     for (Map.Entry<String, List<Publisher>> e : result.getUpdatedPublishers().entrySet()) {
@@ -0,0 +1,84 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alipay.sofa.registry.common.model.slot;
+
+import com.alipay.sofa.registry.common.model.dataserver.DatumDigest;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class SlotDigestTreeTest {
+
+  @Test
+  public void testUpdate() {
+    final int bucketNum = 16;
+    SlotDigestTree tree = new SlotDigestTree(bucketNum);
+    Assert.assertEquals(tree.getBucketNum(), bucketNum);
+    Map<String, DatumDigest> digests = Maps.newHashMap();
+    for (int i = 0; i < 100; i++) {
+      DatumDigest digest = new DatumDigest(i + 1, i, i * 2, i * 3, (short) 0, (short) 0);
+      String dataInfoId = "testDataInfoId" + i;
+      digests.put(dataInfoId, digest);
+      tree.update(dataInfoId, 0, SlotDigestTree.hashOf(dataInfoId, digest));
+    }
+    long[] buckets = SlotDigestTree.buckets(digests, bucketNum);
+    Assert.assertArrayEquals(buckets, tree.snapshot());
+    Assert.assertEquals(SlotDigestTree.root(buckets), SlotDigestTree.root(tree.snapshot()));
+    Assert.assertTrue(SlotDigestTree.diffBuckets(buckets, tree.snapshot()).isEmpty());
+
+    // modify one datum, only one bucket changes
+    final String modified = "testDataInfoId10";
+    DatumDigest newer = new DatumDigest(100, 1, 2, 3, (short) 0, (short) 0);
+    tree.update(
+        modified,
+        SlotDigestTree.hashOf(modified, digests.get(modified)),
+        SlotDigestTree.hashOf(modified, newer));
+    List<Integer> diffs = SlotDigestTree.diffBuckets(buckets, tree.snapshot());
+    Assert.assertEquals(diffs, Collections.singletonList(SlotDigestTree.bucketOf(modified, 16)));
+    Assert.assertNotEquals(SlotDigestTree.root(buckets), SlotDigestTree.root(tree.snapshot()));
+
+    Map<String, DatumDigest> filtered =
+        SlotDigestTree.filter(digests, bucketNum, Sets.newHashSet(diffs));
+    Assert.assertTrue(filtered.containsKey(modified));
+    Assert.assertTrue(filtered.size() < digests.size());
+
+    // the empty datum is the same as not exist
+    Assert.assertEquals(
+        SlotDigestTree.hashOf(modified, new DatumDigest(0, 0, 0, 0, (short) 0, (short) 0)), 0);
+    Assert.assertEquals(SlotDigestTree.hashOf(modified, null), 0);
+  }
+
+  @Test
+  public void testDiffBucketDigest() {
+    long[] source = new long[] {1, 2, 3};
+    DataSlotDiffBucketDigestResult result =
+        DataSlotDiffUtils.diffBucketDigest(
+            new DataSlotDiffBucketDigestRequest(1, 1, new long[] {1, 2, 3}), source);
+    Assert.assertTrue(result.isEmpty());
+    Assert.assertEquals(result.getBucketNum(), 3);
+
+    result =
+        DataSlotDiffUtils.diffBucketDigest(
+            new DataSlotDiffBucketDigestRequest(1, 1, new long[] {1, 5, 3}), source);
+    Assert.assertEquals(result.getDiffBuckets(), Collections.singletonList(1));
+    Assert.assertTrue(result.toString(), result.toString().contains("diffBuckets"));
+  }
+}
@@ -0,0 +1,76 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alipay.sofa.registry.common.model.slot;
+
+import com.alipay.sofa.registry.exception.SofaRegistrySlotTableException;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Sets;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class SlotTableDeltaTest {
+
+  @Test
+  public void testDiffAndApply() {
+    SlotTable from =
+        new SlotTable(
+            10,
+            Lists.newArrayList(
+                new Slot(0, "a", 1, Sets.newHashSet("b")),
+                new Slot(1, "b", 1, Sets.newHashSet("c")),
+                new Slot(2, "c", 1, Sets.newHashSet("a"))));
+    SlotTable to =
+        new SlotTable(
+            11,
+            Lists.newArrayList(
+                new Slot(0, "a", 1, Sets.newHashSet("b")),
+                new Slot(1, "c", 2, Sets.newHashSet("b")),
+                new Slot(3, "a", 1, Sets.newHashSet("c"))));
+    SlotTableDelta delta = SlotTableDelta.diff(from, to);
+    Assert.assertFalse(delta.isUnchanged());
+    Assert.assertEquals(delta.getFromEpoch(), 10);
+    Assert.assertEquals(delta.getToEpoch(), 11);
+    Assert.assertEquals(delta.getUpdatedSlots(), Lists.newArrayList(to.getSlot(1), to.getSlot(3)));
+    Assert.assertEquals(delta.getRemovedSlotIds(), Sets.newHashSet(2));
+    Assert.assertEquals(delta.size(), 3);
+    Assert.assertEquals(delta.apply(from), to);
+
+    try {
+      delta.apply(to);
+      Assert.fail();
+    } catch (SofaRegistrySlotTableException e) {
+      Assert.assertTrue(e.getMessage().contains("not match"));
+    }
+    try {
+      delta.apply(null);
+      Assert.fail();
+    } catch (SofaRegistrySlotTableException e) {
+      Assert.assertTrue(e.getMessage().contains("not match"));
+    }
+  }
+
+  @Test
+  public void testUnchanged() {
+    SlotTable table =
+        new SlotTable(10, Lists.newArrayList(new Slot(0, "a", 1, Sets.newHashSet("b"))));
+    SlotTableDelta delta = SlotTableDelta.unchanged(10);
+    Assert.assertTrue(delta.isUnchanged());
+    Assert.assertEquals(delta.size(), 0);
+    Assert.assertSame(delta.apply(table), table);
+    Assert.assertTrue(SlotTableDelta.diff(table, table).isUnchanged());
+  }
+}
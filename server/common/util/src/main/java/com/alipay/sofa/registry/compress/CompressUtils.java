@@ -20,6 +20,7 @@ import com.alipay.sofa.registry.cache.Sizer;
 import com.alipay.sofa.registry.log.Logger;
 import com.alipay.sofa.registry.log.LoggerFactory;
 import com.alipay.sofa.registry.metrics.CounterFunc;
+import com.alipay.sofa.registry.metrics.GaugeFunc;
 import com.alipay.sofa.registry.util.StringFormatter;
 import java.util.Collections;
 import java.util.HashMap;
@@ -88,6 +89,14 @@ public final class CompressUtils {
             .register();
     cacheCounter.labels("hit").func(cachedExecutor::getHitCount);
     cacheCounter.labels("missing").func(cachedExecutor::getMissingCount);
+    GaugeFunc.build()
+        .namespace("compress")
+        .subsystem("cache")
+        .name(name + "_weight")
+        .help(StringFormatter.format("compress cache {} weight bytes", name))
+        .create()
+        .func(cachedExecutor::getWeight)
+        .register();
     return cachedExecutor;
   }
 
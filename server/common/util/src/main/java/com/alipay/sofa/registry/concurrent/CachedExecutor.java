@@ -19,6 +19,7 @@ package com.alipay.sofa.registry.concurrent;
 import com.alipay.sofa.registry.cache.CacheCleaner;
 import com.google.common.cache.Cache;
 import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.RemovalListener;
 import com.google.common.cache.Weigher;
 import java.util.concurrent.Callable;
 import java.util.concurrent.TimeUnit;
@@ -28,6 +29,8 @@ public class CachedExecutor<K, V> {
   private final Cache<K, V> cache;
   private final LongAdder hitCount = new LongAdder();
   private final LongAdder missingCount = new LongAdder();
+  // the sum of the weight of the entries, only for the weighted cache
+  private final LongAdder weight = new LongAdder();
 
   public CachedExecutor(long silentMs) {
     this(silentMs, false);
@@ -46,7 +49,19 @@ public class CachedExecutor<K, V> {
 
   public CachedExecutor(
       long silentMs, long maxWeight, Weigher<K, V> weigher, boolean expireAfterAccess) {
-    CacheBuilder builder = CacheBuilder.newBuilder().maximumWeight(maxWeight).weigher(weigher);
+    final Weigher<K, V> weightCounter =
+        (K k, V v) -> {
+          final int w = weigher.weigh(k, v);
+          weight.add(w);
+          return w;
+        };
+    final RemovalListener<K, V> removalListener =
+        n -> weight.add(-weigher.weigh(n.getKey(), n.getValue()));
+    CacheBuilder builder =
+        CacheBuilder.newBuilder()
+            .maximumWeight(maxWeight)
+            .weigher(weightCounter)
+            .removalListener(removalListener);
     if (expireAfterAccess) {
       builder = builder.expireAfterAccess(silentMs, TimeUnit.MILLISECONDS);
     } else {
@@ -84,4 +99,8 @@ public class CachedExecutor<K, V> {
   public long getMissingCount() {
     return missingCount.longValue();
   }
+
+  public long getWeight() {
+    return weight.longValue();
+  }
 }
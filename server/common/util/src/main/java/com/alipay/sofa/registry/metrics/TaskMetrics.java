@@ -94,6 +94,12 @@ public class TaskMetrics {
 
     registerIfAbsent(
         MetricRegistry.name(executorName, "task"), (Gauge<Long>) executor::getTaskCount);
+
+    registerIfAbsent(
+        MetricRegistry.name(executorName, "imbalance"), (Gauge<Integer>) executor::getImbalance);
+
+    registerIfAbsent(
+        MetricRegistry.name(executorName, "steal"), (Gauge<Long>) executor::getStealCount);
     executors.add(executorName);
   }
 
@@ -58,6 +58,18 @@ public class KeyedThreadPoolExecutor {
     TaskMetrics.getInstance().registerKeyThreadExecutor("KeyedExecutor-" + executorName, this);
   }
 
+  /**
+   * @param workStealing the lanes of the busy worker could be stolen by the idle workers
+   * @return the fixed worker executor or the work stealing one, both keep the order of a key
+   */
+  public static KeyedThreadPoolExecutor newExecutor(
+      String executorName, int coreSize, int coreBufferSize, boolean workStealing) {
+    if (workStealing) {
+      return new StealingKeyedThreadPoolExecutor(executorName, coreSize, coreBufferSize);
+    }
+    return new KeyedThreadPoolExecutor(executorName, coreSize, coreBufferSize);
+  }
+
   protected AbstractWorker[] createWorkers(int coreSize, int coreBufferSize) {
     BlockingQueues<KeyedTask> queues = new BlockingQueues<>(coreSize, coreBufferSize, false);
     AbstractWorker[] workers = new AbstractWorker[coreSize];
@@ -102,12 +114,14 @@ public class KeyedThreadPoolExecutor {
     final int idx;
     final Counter.Child workerExecCounter;
     final Counter.Child workerCommitCounter;
+    final Counter.Child workerStealCounter;
     volatile boolean running;
 
     protected AbstractWorker(int idx) {
       this.idx = idx;
       this.workerExecCounter = taskCounter.labels(String.valueOf(idx), "exec");
       this.workerCommitCounter = taskCounter.labels(String.valueOf(idx), "commit");
+      this.workerStealCounter = taskCounter.labels(String.valueOf(idx), "steal");
     }
 
     @Override
@@ -120,7 +134,11 @@ public class KeyedThreadPoolExecutor {
             continue;
           }
           running = true;
-          task.run();
+          try {
+            task.run();
+          } finally {
+            afterRun(task);
+          }
           workerExecCounter.inc();
         } catch (Throwable e) {
           LOGGER.safeError("{}_{} run task error", executorName, idx, e);
@@ -130,6 +148,8 @@ public class KeyedThreadPoolExecutor {
       }
     }
 
+    protected void afterRun(KeyedTask task) {}
+
     protected boolean isActive() {
       return running;
     }
@@ -169,6 +189,26 @@ public class KeyedThreadPoolExecutor {
     return count;
   }
 
+  public long getStealCount() {
+    long count = 0;
+    for (AbstractWorker w : workers) {
+      count += w.workerStealCounter.get();
+    }
+    return count;
+  }
+
+  /** @return the gap of the queue size between the busiest worker and the idlest worker */
+  public int getImbalance() {
+    int max = 0;
+    int min = Integer.MAX_VALUE;
+    for (Worker w : workers) {
+      final int size = w.size();
+      max = Math.max(max, size);
+      min = Math.min(min, size);
+    }
+    return workers.length == 0 ? 0 : max - min;
+  }
+
   public int getCoreSize() {
     return coreSize;
   }
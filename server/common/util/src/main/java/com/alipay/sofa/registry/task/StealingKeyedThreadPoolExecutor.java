@@ -0,0 +1,172 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alipay.sofa.registry.task;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import java.util.LinkedList;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * the tasks of a key are queued in a serial lane, the lane is scheduled on the worker of the key.
+ * an idle worker steals the ready lanes from the tail of the other workers, a lane is run by one
+ * worker at a time, so the tasks of a key keep the order as the fixed worker executor
+ */
+public class StealingKeyedThreadPoolExecutor extends KeyedThreadPoolExecutor {
+  private static final long STEAL_INTERVAL_MILLIS = 10;
+  private static final long IDLE_MILLIS = TimeUnit.SECONDS.toMillis(180);
+
+  public StealingKeyedThreadPoolExecutor(String executorName, int coreSize, int coreBufferSize) {
+    super(executorName, coreSize, coreBufferSize);
+  }
+
+  @Override
+  protected AbstractWorker[] createWorkers(int coreSize, int coreBufferSize) {
+    Lanes lanes = new Lanes(coreBufferSize);
+    StealingWorker[] workers = new StealingWorker[coreSize];
+    for (int i = 0; i < coreSize; i++) {
+      workers[i] = new StealingWorker(i, lanes);
+    }
+    lanes.workers = workers;
+    return workers;
+  }
+
+  private static final class Lane {
+    final Object key;
+    final StealingWorker home;
+    final LinkedList<KeyedTask> tasks = Lists.newLinkedList();
+    // in a ready queue or running
+    boolean scheduled;
+    // removed from the lanes, the task should be added to a new lane
+    boolean closed;
+
+    Lane(Object key, StealingWorker home) {
+      this.key = key;
+      this.home = home;
+    }
+  }
+
+  private static final class Lanes {
+    final ConcurrentMap<Object, Lane> lanes = Maps.newConcurrentMap();
+    final AtomicInteger pending = new AtomicInteger();
+    final int capacity;
+    volatile StealingWorker[] workers;
+
+    Lanes(int capacity) {
+      this.capacity = capacity;
+    }
+  }
+
+  private final class StealingWorker extends AbstractWorker {
+    final Lanes lanes;
+    final LinkedBlockingDeque<Lane> ready = new LinkedBlockingDeque<>();
+    // the pending tasks of the lanes which home is this worker
+    final AtomicInteger pending = new AtomicInteger();
+    // only access by the worker thread
+    Lane running;
+
+    StealingWorker(int idx, Lanes lanes) {
+      super(idx);
+      this.lanes = lanes;
+    }
+
+    @Override
+    public int size() {
+      return pending.get();
+    }
+
+    @Override
+    public boolean offer(KeyedTask task) {
+      if (lanes.pending.incrementAndGet() > lanes.capacity) {
+        lanes.pending.decrementAndGet();
+        return false;
+      }
+      pending.incrementAndGet();
+      for (; ; ) {
+        final Lane lane = lanes.lanes.computeIfAbsent(task.key, k -> new Lane(k, this));
+        synchronized (lane) {
+          if (lane.closed) {
+            continue;
+          }
+          lane.tasks.addLast(task);
+          if (!lane.scheduled) {
+            lane.scheduled = true;
+            lane.home.ready.offerLast(lane);
+          }
+          return true;
+        }
+      }
+    }
+
+    @Override
+    public KeyedTask poll() throws InterruptedException {
+      final long deadline = System.currentTimeMillis() + IDLE_MILLIS;
+      for (; ; ) {
+        Lane lane = ready.pollFirst();
+        if (lane == null) {
+          lane = steal();
+        }
+        if (lane == null) {
+          lane = ready.pollFirst(STEAL_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+        }
+        if (lane != null) {
+          synchronized (lane) {
+            running = lane;
+            return lane.tasks.pollFirst();
+          }
+        }
+        if (System.currentTimeMillis() > deadline) {
+          return null;
+        }
+      }
+    }
+
+    private Lane steal() {
+      final StealingWorker[] workers = lanes.workers;
+      for (int i = 1; i < workers.length; i++) {
+        final StealingWorker victim = workers[(idx + i) % workers.length];
+        final Lane lane = victim.ready.pollLast();
+        if (lane != null) {
+          workerStealCounter.inc();
+          return lane;
+        }
+      }
+      return null;
+    }
+
+    @Override
+    protected void afterRun(KeyedTask task) {
+      final Lane lane = running;
+      running = null;
+      lanes.pending.decrementAndGet();
+      lane.home.pending.decrementAndGet();
+      synchronized (lane) {
+        if (lane.tasks.isEmpty()) {
+          lane.scheduled = false;
+          lane.closed = true;
+          lanes.lanes.remove(lane.key, lane);
+        } else {
+          // back to the tail, the other lanes get the chance to run
+          ready.offerLast(lane);
+        }
+      }
+    }
+  }
+}
@@ -47,6 +47,15 @@ public class AtomicSet<T> {
     }
   }
 
+  public int size() {
+    rlock.lock();
+    try {
+      return data.size();
+    } finally {
+      rlock.unlock();
+    }
+  }
+
   public Set<T> get() {
     return new HashSet<>(data);
   }
@@ -0,0 +1,123 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alipay.sofa.registry.task;
+
+import com.alipay.sofa.registry.TestUtils;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class StealingKeyedThreadPoolExecutorTest {
+
+  @Test
+  public void testOrder() throws Exception {
+    KeyedThreadPoolExecutor executor =
+        KeyedThreadPoolExecutor.newExecutor("testStealingOrder", 4, 100000, true);
+    Assert.assertTrue(executor instanceof StealingKeyedThreadPoolExecutor);
+    final int keys = 10;
+    final int tasks = 1000;
+    Map<Integer, List<Integer>> results = Maps.newConcurrentMap();
+    CountDownLatch latch = new CountDownLatch(keys * tasks);
+    for (int i = 0; i < tasks; i++) {
+      for (int k = 0; k < keys; k++) {
+        final int key = k;
+        final int seq = i;
+        executor.execute(
+            key,
+            () -> {
+              results.computeIfAbsent(key, x -> Lists.newArrayList()).add(seq);
+              latch.countDown();
+            });
+      }
+    }
+    Assert.assertTrue(latch.await(10, TimeUnit.SECONDS));
+    for (int k = 0; k < keys; k++) {
+      List<Integer> list = results.get(k);
+      Assert.assertEquals(tasks, list.size());
+      for (int i = 0; i < tasks; i++) {
+        Assert.assertEquals(i, list.get(i).intValue());
+      }
+    }
+    Assert.assertEquals(keys * tasks, executor.getTaskCount());
+  }
+
+  @Test
+  public void testSteal() throws Exception {
+    KeyedThreadPoolExecutor executor =
+        KeyedThreadPoolExecutor.newExecutor("testStealingSteal", 2, 100, true);
+    CountDownLatch blocker = new CountDownLatch(1);
+    CountDownLatch done = new CountDownLatch(1);
+    // the key 0 and the key 2 belong to the same worker
+    executor.execute(
+        0,
+        () -> {
+          try {
+            blocker.await();
+          } catch (InterruptedException e) {
+            throw new RuntimeException(e);
+          }
+        });
+    executor.execute(2, done::countDown);
+    Assert.assertTrue(done.await(5, TimeUnit.SECONDS));
+    Assert.assertTrue(executor.getStealCount() > 0);
+    blocker.countDown();
+  }
+
+  @Test
+  public void testReject() throws Exception {
+    KeyedThreadPoolExecutor executor =
+        KeyedThreadPoolExecutor.newExecutor("testStealingReject", 2, 2, true);
+    CountDownLatch blocker = new CountDownLatch(1);
+    CountDownLatch started = new CountDownLatch(1);
+    executor.execute(
+        0,
+        () -> {
+          started.countDown();
+          try {
+            blocker.await();
+          } catch (InterruptedException e) {
+            throw new RuntimeException(e);
+          }
+        });
+    Assert.assertTrue(started.await(5, TimeUnit.SECONDS));
+    executor.execute(0, () -> {});
+    Assert.assertEquals(2, executor.getQueueSize());
+    Assert.assertEquals(2, executor.getImbalance());
+    TestUtils.assertException(
+        FastRejectedExecutionException.class, () -> executor.execute(1, () -> {}));
+    blocker.countDown();
+    for (int i = 0; i < 100 && executor.getQueueSize() != 0; i++) {
+      Thread.sleep(10);
+    }
+    Assert.assertEquals(0, executor.getQueueSize());
+    executor.execute(1, () -> {});
+  }
+
+  @Test
+  public void testFixed() {
+    KeyedThreadPoolExecutor executor =
+        KeyedThreadPoolExecutor.newExecutor("testStealingFixed", 2, 2, false);
+    Assert.assertFalse(executor instanceof StealingKeyedThreadPoolExecutor);
+    Assert.assertEquals(0, executor.getStealCount());
+    Assert.assertEquals(0, executor.getImbalance());
+  }
+}
@@ -26,7 +26,9 @@ public class AtomicSetTest {
     AtomicSet<String> set = new AtomicSet<>();
     set.add("1234");
     set.add("1234");
+    Assert.assertEquals(1, set.size());
     Assert.assertEquals(1, set.getAndReset().size());
+    Assert.assertEquals(0, set.size());
     Assert.assertEquals(0, set.getAndReset().size());
   }
 }
@@ -29,6 +29,7 @@ import com.alipay.sofa.registry.remoting.ChannelHandler;
 import com.alipay.sofa.registry.remoting.ChannelHandler.HandlerType;
 import com.alipay.sofa.registry.remoting.ChannelHandler.InvokeType;
 import com.alipay.sofa.registry.remoting.Server;
+import com.alipay.sofa.registry.remoting.bolt.serializer.CustomClassSerializerManager;
 import com.alipay.sofa.registry.util.CollectionUtils;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
@@ -274,7 +275,17 @@ public class BoltServer implements Server {
   }
 
   protected InvokeContext newInvokeContext(Object request) {
-    return null;
+    if (request == null) {
+      return null;
+    }
+    final Byte serializer = CustomClassSerializerManager.getClassSerializer(request.getClass());
+    if (serializer == null) {
+      return null;
+    }
+    // the class is bound to the serializer, e.g. the encoded protobuf message
+    InvokeContext invokeContext = new InvokeContext();
+    invokeContext.put(InvokeContext.BOLT_CUSTOM_SERIALIZER, serializer);
+    return invokeContext;
   }
 
   public RpcServer getRpcServer() {
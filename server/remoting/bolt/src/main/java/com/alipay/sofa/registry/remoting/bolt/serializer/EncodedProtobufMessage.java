@@ -0,0 +1,59 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alipay.sofa.registry.remoting.bolt.serializer;
+
+import com.alipay.sofa.registry.util.ParaCheckUtil;
+
+/**
+ * the wire format of a protobuf message which has been encoded ahead. it is sent with the class
+ * name of the message, so the receiver could not tell it from the message itself, and the sender
+ * skips building the message graph
+ */
+public final class EncodedProtobufMessage {
+  private final String messageClass;
+  private final byte[] bytes;
+
+  public EncodedProtobufMessage(String messageClass, byte[] bytes) {
+    ParaCheckUtil.checkNotBlank(messageClass, "messageClass");
+    ParaCheckUtil.checkNotNull(bytes, "bytes");
+    this.messageClass = messageClass;
+    this.bytes = bytes;
+  }
+
+  /**
+   * Getter method for property <tt>messageClass</tt>.
+   *
+   * @return property value of messageClass
+   */
+  public String getMessageClass() {
+    return messageClass;
+  }
+
+  /**
+   * Getter method for property <tt>bytes</tt>.
+   *
+   * @return property value of bytes
+   */
+  public byte[] getBytes() {
+    return bytes;
+  }
+
+  @Override
+  public String toString() {
+    return "EncodedProtobuf{" + messageClass + ", size=" + bytes.length + '}';
+  }
+}
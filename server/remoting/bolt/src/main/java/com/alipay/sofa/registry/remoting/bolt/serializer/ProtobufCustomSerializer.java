@@ -26,6 +26,7 @@ import com.alipay.remoting.rpc.protocol.RpcRequestCommand;
 import com.alipay.remoting.rpc.protocol.RpcResponseCommand;
 import com.alipay.sofa.registry.log.Logger;
 import com.alipay.sofa.registry.log.LoggerFactory;
+import java.nio.charset.StandardCharsets;
 
 /**
  * The type Protobuf custom serializer.
@@ -42,6 +43,16 @@ public class ProtobufCustomSerializer implements CustomSerializer {
   @Override
   public <T extends RequestCommand> boolean serializeHeader(
       T request, InvokeContext invokeContext) {
+    if (request instanceof RpcRequestCommand) {
+      Object requestObject = ((RpcRequestCommand) request).getRequestObject();
+      if (requestObject instanceof EncodedProtobufMessage) {
+        // the clazz has serialized as the wrapper class, replace it with the message class
+        request.setClazz(
+            ((EncodedProtobufMessage) requestObject)
+                .getMessageClass()
+                .getBytes(StandardCharsets.UTF_8));
+      }
+    }
     return false;
   }
 
@@ -54,6 +54,8 @@ public class ProtobufSerializer implements Serializer {
   public byte[] serialize(Object object) throws CodecException {
     if (object == null) {
       throw new SerializationException("Unsupported null message");
+    } else if (object instanceof EncodedProtobufMessage) {
+      return ((EncodedProtobufMessage) object).getBytes();
     } else if (isProtoBufMessageLite(object)) {
       Class clazz = object.getClass();
       Method method = toByteArrayMethodMap.get(clazz);
@@ -16,9 +16,13 @@
  */
 package com.alipay.sofa.registry.remoting.bolt;
 
+import com.alipay.remoting.InvokeContext;
 import com.alipay.remoting.exception.RemotingException;
 import com.alipay.sofa.registry.common.model.store.URL;
 import com.alipay.sofa.registry.remoting.Channel;
+import com.alipay.sofa.registry.remoting.bolt.serializer.CustomClassSerializerManager;
+import com.alipay.sofa.registry.remoting.bolt.serializer.EncodedProtobufMessage;
+import com.alipay.sofa.registry.remoting.bolt.serializer.ProtobufSerializer;
 import java.net.InetSocketAddress;
 import java.util.Collections;
 import java.util.Map;
@@ -56,6 +60,13 @@ public class BoltServerTest {
   public void testChannel() throws Exception {
     // newInvokeContext do nothing
     Assert.assertNull(server.newInvokeContext(null));
+    Assert.assertNull(server.newInvokeContext(new Object()));
+    CustomClassSerializerManager.registerSerializer(
+        EncodedProtobufMessage.class, ProtobufSerializer.PROTOCOL_PROTOBUF);
+    InvokeContext ctx =
+        server.newInvokeContext(new EncodedProtobufMessage(String.class.getName(), new byte[0]));
+    Assert.assertEquals(
+        ProtobufSerializer.PROTOCOL_PROTOBUF, (byte) ctx.get(InvokeContext.BOLT_CUSTOM_SERIALIZER));
 
     Assert.assertNotNull(server.getRpcServer());
     Assert.assertEquals(server.getChannels().size(), 0);
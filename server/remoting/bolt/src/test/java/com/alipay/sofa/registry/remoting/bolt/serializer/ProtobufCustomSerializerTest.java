@@ -90,4 +90,21 @@ public class ProtobufCustomSerializerTest {
     Assert.assertTrue(serializer.deserializeContent(command, null));
     Assert.assertEquals(command.getResponseObject(), "testObj");
   }
+
+  @Test
+  public void testSerdeEncoded() throws Exception {
+    ProtobufCustomSerializer serializer = new ProtobufCustomSerializer();
+    byte[] bytes = ProtobufSerializer.getInstance().serialize("testObj");
+    RpcRequestCommand command =
+        new RpcRequestCommand(new EncodedProtobufMessage(String.class.getName(), bytes));
+    Assert.assertFalse(serializer.serializeHeader(command, null));
+    Assert.assertEquals(String.class.getName(), new String(command.getClazz()));
+    Assert.assertTrue(serializer.serializeContent(command, null));
+    Assert.assertArrayEquals(bytes, command.getContent());
+
+    command.setSerializer(ProtobufCustomSerializer.PROTOCOL_PROTOBUF);
+    command.setRequestClass(String.class.getName());
+    Assert.assertTrue(serializer.deserializeContent(command));
+    Assert.assertEquals(command.getRequestObject(), "testObj");
+  }
 }
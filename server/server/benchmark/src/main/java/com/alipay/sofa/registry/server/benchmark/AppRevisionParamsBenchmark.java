@@ -0,0 +1,94 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alipay.sofa.registry.server.benchmark;
+
+import com.alipay.sofa.registry.common.model.store.AppRevision;
+import com.alipay.sofa.registry.core.model.AppRevisionInterface;
+import com.alipay.sofa.registry.jdbc.convertor.AppRevisionDomainConvertor;
+import com.alipay.sofa.registry.jdbc.domain.AppRevisionDomain;
+import com.google.common.collect.Lists;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.BenchmarkParams;
+
+/**
+ * decode the app revision from the json and the binary params. the encoded size and the retained
+ * heap of the decoded revisions are printed at the end of the trial to compare the footprint
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AppRevisionParamsBenchmark {
+  private static final int RETAINED_NUM = 2000;
+
+  @Param({"json", "binary"})
+  String format;
+
+  @Param({"10", "100"})
+  int interfaceNum;
+
+  AppRevisionDomain domain;
+
+  @Setup(Level.Trial)
+  public void setup() {
+    AppRevision revision = new AppRevision();
+    revision.setAppName("benchmarkApp");
+    revision.setRevision("benchmarkRevision");
+    revision.setClientVersion("5.0");
+    revision.getBaseParams().put("zone", Lists.newArrayList("rz00a"));
+    revision.getBaseParams().put("protocol", Lists.newArrayList("bolt", "tr"));
+    for (int i = 0; i < interfaceNum; i++) {
+      AppRevisionInterface inf = new AppRevisionInterface();
+      String name = "com.alipay.sofa.registry.benchmark.BenchmarkService" + i + ":1.0@DEFAULT";
+      inf.setId(name);
+      inf.getServiceParams().put("timeout", Lists.newArrayList("3000"));
+      inf.getServiceParams().put("serialize", Lists.newArrayList("hessian2"));
+      inf.getServiceParams().put("weight", Lists.newArrayList("100"));
+      inf.getServiceParams().put("methods", Lists.newArrayList("query", "update", "delete"));
+      revision.getInterfaceMap().put(name, inf);
+    }
+    domain =
+        AppRevisionDomainConvertor.convert2Domain(
+            BenchmarkUtils.DATA_CENTER, revision, "binary".equals(format));
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown(BenchmarkParams params) {
+    long before = BenchmarkUtils.usedHeap();
+    List<AppRevision> retained = Lists.newArrayListWithCapacity(RETAINED_NUM);
+    for (int i = 0; i < RETAINED_NUM; i++) {
+      retained.add(AppRevisionDomainConvertor.convert2Revision(domain));
+    }
+    long after = BenchmarkUtils.usedHeap();
+    System.out.printf(
+        "%n%s: format=%s, interfaceNum=%d, encodedSize=%d, retainedPerRevision=%d%n",
+        params.getBenchmark(),
+        format,
+        interfaceNum,
+        domain.getBaseParams().length() + domain.getServiceParams().length(),
+        (after - before) / retained.size());
+  }
+
+  @Benchmark
+  public AppRevision decode() {
+    return AppRevisionDomainConvertor.convert2Revision(domain);
+  }
+}
@@ -0,0 +1,54 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alipay.sofa.registry.server.benchmark;
+
+import org.openjdk.jmh.Main;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * the entry of benchmarks.jar, accepts all the jmh command line options. the results are written as
+ * json to benchmark-result.json unless -rf/-rff is specified, so the runs could be compared by
+ * tools
+ */
+public final class BenchmarkMain {
+  public static final String DEFAULT_RESULT_FILE = "benchmark-result.json";
+
+  private BenchmarkMain() {}
+
+  public static void main(String[] args) throws Exception {
+    CommandLineOptions cmdOptions = new CommandLineOptions(args);
+    if (cmdOptions.shouldHelp()
+        || cmdOptions.shouldList()
+        || cmdOptions.shouldListWithParams()
+        || cmdOptions.shouldListProfilers()
+        || cmdOptions.shouldListResultFormats()) {
+      Main.main(args);
+      return;
+    }
+    OptionsBuilder builder = new OptionsBuilder();
+    if (!cmdOptions.getResultFormat().hasValue()) {
+      builder.resultFormat(ResultFormatType.JSON);
+    }
+    if (!cmdOptions.getResult().hasValue()) {
+      builder.result(DEFAULT_RESULT_FILE);
+    }
+    new Runner(builder.parent(cmdOptions).build()).run();
+  }
+}
@@ -0,0 +1,156 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alipay.sofa.registry.server.benchmark;
+
+import com.alipay.sofa.registry.common.model.ConnectId;
+import com.alipay.sofa.registry.common.model.ProcessId;
+import com.alipay.sofa.registry.common.model.RegisterVersion;
+import com.alipay.sofa.registry.common.model.ServerDataBox;
+import com.alipay.sofa.registry.common.model.dataserver.DatumSummary;
+import com.alipay.sofa.registry.common.model.store.DataInfo;
+import com.alipay.sofa.registry.common.model.store.Publisher;
+import com.alipay.sofa.registry.common.model.store.URL;
+import com.alipay.sofa.registry.core.model.DataBox;
+import com.alipay.sofa.registry.core.model.ReceivedData;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/** fixtures shared by the benchmarks, the same shape as the server side test utils */
+public final class BenchmarkUtils {
+  public static final String DATA_CENTER = "benchmarkDC";
+  public static final String INSTANCE_ID = "benchmarkInstance";
+  public static final String GROUP = "benchmarkGroup";
+
+  private static final AtomicLong REGISTER_ID_SEQ = new AtomicLong();
+  private static final AtomicLong CLIENT_VERSION = new AtomicLong();
+
+  public static final ProcessId PROCESS_ID =
+      new ProcessId("127.0.0.1", System.currentTimeMillis(), 1, 1);
+
+  private BenchmarkUtils() {}
+
+  public static String dataInfoId(String dataId) {
+    return DataInfo.toDataInfoId(dataId, INSTANCE_ID, GROUP);
+  }
+
+  public static Publisher newPublisher(String dataId, int dataSize) {
+    Publisher publisher = new Publisher();
+    publisher.setDataInfoId(dataInfoId(dataId));
+    publisher.setDataId(dataId);
+    publisher.setInstanceId(INSTANCE_ID);
+    publisher.setGroup(GROUP);
+    publisher.setRegisterId("benchmarkRegisterId-" + REGISTER_ID_SEQ.incrementAndGet());
+    publisher.setSessionProcessId(PROCESS_ID);
+    publisher.setRegisterTimestamp(System.currentTimeMillis());
+    publisher.setVersion(CLIENT_VERSION.incrementAndGet());
+    final long seq = REGISTER_ID_SEQ.get();
+    final String clientIp = "10.0." + (seq >> 8 & 0xff) + "." + (seq & 0xff);
+    ConnectId connectId = ConnectId.of(clientIp + ":9999", "127.0.0.1:9600");
+    publisher.setSourceAddress(URL.valueOf(connectId.clientAddress()));
+    publisher.setTargetAddress(URL.valueOf(connectId.sessionAddress()));
+    publisher.setDataList(Lists.newArrayList(new ServerDataBox(randomBytes(dataSize))));
+    return publisher;
+  }
+
+  /** a newer version of the publisher with the given data, the same as a client re-register */
+  public static Publisher newVersion(Publisher base, List<ServerDataBox> dataList) {
+    Publisher publisher = new Publisher();
+    publisher.setDataInfoId(base.getDataInfoId());
+    publisher.setDataId(base.getDataId());
+    publisher.setInstanceId(base.getInstanceId());
+    publisher.setGroup(base.getGroup());
+    publisher.setRegisterId(base.getRegisterId());
+    publisher.setSessionProcessId(base.getSessionProcessId());
+    publisher.setRegisterTimestamp(base.getRegisterTimestamp());
+    publisher.setVersion(CLIENT_VERSION.incrementAndGet());
+    publisher.setSourceAddress(base.getSourceAddress());
+    publisher.setTargetAddress(base.getTargetAddress());
+    publisher.setDataList(dataList);
+    return publisher;
+  }
+
+  public static List<Publisher> newPublishers(String dataId, int count, int dataSize) {
+    List<Publisher> list = Lists.newArrayListWithCapacity(count);
+    for (int i = 0; i < count; i++) {
+      list.add(newPublisher(dataId, dataSize));
+    }
+    return list;
+  }
+
+  public static DatumSummary newDatumSummary(String dataInfoId, int pubCount) {
+    Map<String, RegisterVersion> versions = Maps.newHashMapWithExpectedSize(pubCount);
+    for (int i = 0; i < pubCount; i++) {
+      versions.put(
+          "benchmarkRegisterId-" + REGISTER_ID_SEQ.incrementAndGet(),
+          RegisterVersion.of(CLIENT_VERSION.incrementAndGet(), System.currentTimeMillis()));
+    }
+    return new DatumSummary(dataInfoId, versions);
+  }
+
+  public static ReceivedData newReceivedData(String dataId, int zoneNum, int pubNum, int dataSize) {
+    ReceivedData receivedData = new ReceivedData();
+    receivedData.setDataId(dataId);
+    receivedData.setGroup(GROUP);
+    receivedData.setInstanceId(INSTANCE_ID);
+    receivedData.setSegment(DATA_CENTER);
+    receivedData.setScope("zone");
+    receivedData.setLocalZone("zone-0");
+    receivedData.setVersion(CLIENT_VERSION.incrementAndGet());
+    receivedData.setSubscriberRegistIds(
+        Lists.newArrayList("benchmarkRegisterId-" + REGISTER_ID_SEQ.incrementAndGet()));
+    Map<String, List<DataBox>> data = Maps.newHashMapWithExpectedSize(zoneNum);
+    for (int i = 0; i < zoneNum; i++) {
+      List<DataBox> boxes = Lists.newArrayListWithCapacity(pubNum);
+      for (int j = 0; j < pubNum; j++) {
+        boxes.add(new DataBox(randomText(dataSize)));
+      }
+      data.put("zone-" + i, boxes);
+    }
+    receivedData.setData(data);
+    return receivedData;
+  }
+
+  public static byte[] randomBytes(int size) {
+    byte[] bytes = new byte[size];
+    ThreadLocalRandom.current().nextBytes(bytes);
+    return bytes;
+  }
+
+  /** registry data is mostly urls with parameters, use a small alphabet to keep it compressible */
+  public static String randomText(int size) {
+    final String alphabet = "0123456789abcdef.:/?&=";
+    StringBuilder sb = new StringBuilder(size);
+    ThreadLocalRandom random = ThreadLocalRandom.current();
+    for (int i = 0; i < size; i++) {
+      sb.append(alphabet.charAt(random.nextInt(alphabet.length())));
+    }
+    return sb.toString();
+  }
+
+  /** the used heap after gc, the retained heap is the diff of two calls */
+  public static long usedHeap() {
+    for (int i = 0; i < 3; i++) {
+      System.gc();
+    }
+    Runtime runtime = Runtime.getRuntime();
+    return runtime.totalMemory() - runtime.freeMemory();
+  }
+}
@@ -0,0 +1,75 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alipay.sofa.registry.server.benchmark;
+
+import com.alipay.remoting.serialization.HessianSerializer;
+import com.alipay.sofa.registry.compress.CompressConstants;
+import com.alipay.sofa.registry.compress.CompressUtils;
+import com.alipay.sofa.registry.compress.Compressor;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.BenchmarkParams;
+
+/**
+ * the compressors on the encoded push payload, the compressed size is printed at the end of the
+ * trial to compare the ratio
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CompressorBenchmark {
+  @Param({CompressConstants.encodingGzip, CompressConstants.encodingZstd})
+  String encoding;
+
+  @Param({"10", "1000"})
+  int pubNum;
+
+  Compressor compressor;
+
+  byte[] data;
+
+  byte[] compressed;
+
+  @Setup(Level.Trial)
+  public void setup() throws Exception {
+    compressor = CompressUtils.mustGet(encoding);
+    data =
+        new HessianSerializer()
+            .serialize(BenchmarkUtils.newReceivedData("benchmarkCompress", 3, pubNum, 128));
+    compressed = compressor.compress(data);
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown(BenchmarkParams params) {
+    System.out.printf(
+        "%n%s: encoding=%s, pubNum=%d, size=%d, compressed=%d%n",
+        params.getBenchmark(), encoding, pubNum, data.length, compressed.length);
+  }
+
+  @Benchmark
+  public byte[] compress() throws Exception {
+    return compressor.compress(data);
+  }
+
+  @Benchmark
+  public byte[] decompress() throws Exception {
+    return compressor.decompress(compressed, data.length);
+  }
+}
@@ -0,0 +1,93 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alipay.sofa.registry.server.benchmark;
+
+import com.alipay.sofa.registry.server.session.store.DataIndexer;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+import org.openjdk.jmh.annotations.*;
+
+/** the connectId index of the session stores, registers keep adding while the queries read it */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DataIndexerBenchmark {
+  @Param({"1000", "20000"})
+  int connectNum;
+
+  @Param({"20"})
+  int registerPerConnect;
+
+  String[] connectIds;
+
+  final Map<String, String> store = new ConcurrentHashMap<>();
+
+  DataIndexer<String, String> indexer;
+
+  @Setup(Level.Trial)
+  public void setup() {
+    indexer = new StoreIndexer(store);
+    connectIds = new String[connectNum];
+    for (int i = 0; i < connectNum; i++) {
+      connectIds[i] = "10.0." + (i >> 8 & 0xff) + "." + (i & 0xff) + ":9999_127.0.0.1:9600";
+      for (int j = 0; j < registerPerConnect; j++) {
+        final String connectId = connectIds[i];
+        final String registerId = connectId + "-" + j;
+        indexer.add(connectId, registerId, () -> store.put(registerId, connectId));
+      }
+    }
+  }
+
+  @Benchmark
+  public String add() {
+    final ThreadLocalRandom random = ThreadLocalRandom.current();
+    final String connectId = connectIds[random.nextInt(connectNum)];
+    final String registerId = connectId + "-" + random.nextInt(registerPerConnect);
+    return indexer.add(connectId, registerId, () -> store.put(registerId, connectId));
+  }
+
+  @Benchmark
+  public Set<String> queryByKey() {
+    return indexer.queryByKey(connectIds[ThreadLocalRandom.current().nextInt(connectNum)]);
+  }
+
+  private static final class StoreIndexer extends DataIndexer<String, String> {
+    private final Map<String, String> store;
+
+    StoreIndexer(Map<String, String> store) {
+      super("benchmark");
+      this.store = store;
+    }
+
+    @Override
+    protected void dataStoreForEach(BiConsumer<String, String> consumer) {
+      store.forEach((registerId, connectId) -> consumer.accept(connectId, registerId));
+    }
+
+    @Override
+    protected boolean dataStoreContains(String connectId, String registerId) {
+      return connectId.equals(store.get(registerId));
+    }
+  }
+}
@@ -0,0 +1,73 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alipay.sofa.registry.server.benchmark;
+
+import com.alipay.sofa.registry.task.KeyedThreadPoolExecutor;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.openjdk.jmh.annotations.*;
+
+/** submit a batch of keyed tasks and wait all of them done, the cost of the dispatch round trip */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class KeyedThreadPoolExecutorBenchmark {
+  private static final AtomicInteger EXECUTOR_SEQ = new AtomicInteger();
+  private static final int BATCH = 256;
+
+  @Param({"4", "16"})
+  int coreSize;
+
+  @Param({"16", "4096"})
+  int keyNum;
+
+  @Param({"false", "true"})
+  boolean workStealing;
+
+  KeyedThreadPoolExecutor executor;
+
+  @Setup(Level.Trial)
+  public void setup() {
+    // the executor registers the metrics by name, the name must be unique in the jvm
+    executor =
+        KeyedThreadPoolExecutor.newExecutor(
+            "benchmark-keyed-" + EXECUTOR_SEQ.incrementAndGet(),
+            coreSize,
+            BATCH * 64,
+            workStealing);
+  }
+
+  @State(Scope.Thread)
+  public static class KeyState {
+    int seq;
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(BATCH)
+  public void dispatch(KeyState keyState) throws InterruptedException {
+    final CountDownLatch latch = new CountDownLatch(BATCH);
+    for (int i = 0; i < BATCH; i++) {
+      final Integer key = (keyState.seq++ & Integer.MAX_VALUE) % keyNum;
+      executor.execute(key, latch::countDown);
+    }
+    latch.await();
+  }
+}
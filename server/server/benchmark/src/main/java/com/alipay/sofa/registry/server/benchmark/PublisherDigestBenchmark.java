@@ -0,0 +1,61 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alipay.sofa.registry.server.benchmark;
+
+import com.alipay.sofa.registry.common.model.PublisherDigestUtil;
+import com.alipay.sofa.registry.common.model.dataserver.DatumDigest;
+import com.alipay.sofa.registry.common.model.dataserver.DatumSummary;
+import com.google.common.collect.Maps;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+/** the digest of the summaries exchanged by the slot sync, ordered and commutative */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PublisherDigestBenchmark {
+  @Param({"10", "1000"})
+  int datumNum;
+
+  @Param({"10", "200"})
+  int pubNum;
+
+  Map<String, DatumSummary> summaries;
+
+  @Setup(Level.Trial)
+  public void setup() {
+    summaries = Maps.newHashMapWithExpectedSize(datumNum);
+    for (int i = 0; i < datumNum; i++) {
+      final String dataInfoId = BenchmarkUtils.dataInfoId("benchmarkDigest-" + i);
+      summaries.put(dataInfoId, BenchmarkUtils.newDatumSummary(dataInfoId, pubNum));
+    }
+  }
+
+  @Benchmark
+  public Map<String, DatumDigest> digest() {
+    return PublisherDigestUtil.digest(summaries, false);
+  }
+
+  @Benchmark
+  public Map<String, DatumDigest> commutativeDigest() {
+    return PublisherDigestUtil.digest(summaries, true);
+  }
+}
@@ -0,0 +1,89 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alipay.sofa.registry.server.benchmark;
+
+import com.alipay.remoting.serialization.HessianSerializer;
+import com.alipay.sofa.registry.common.model.client.pb.ReceivedDataPb;
+import com.alipay.sofa.registry.core.model.ReceivedData;
+import com.alipay.sofa.registry.remoting.bolt.serializer.ProtobufSerializer;
+import com.alipay.sofa.registry.server.session.converter.pb.ReceivedDataConvertor;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+/** the encoding of the push payload, hessian for the java clients and protobuf for the others */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ReceivedDataEncodeBenchmark {
+  @Param({"3"})
+  int zoneNum;
+
+  @Param({"10", "1000"})
+  int pubNum;
+
+  @Param({"128"})
+  int dataSize;
+
+  final HessianSerializer hessianSerializer = new HessianSerializer();
+
+  ReceivedData receivedData;
+
+  ReceivedDataPb receivedDataPb;
+
+  byte[] hessianBytes;
+
+  byte[] protobufBytes;
+
+  @Setup(Level.Trial)
+  public void setup() throws Exception {
+    receivedData = BenchmarkUtils.newReceivedData("benchmarkEncode", zoneNum, pubNum, dataSize);
+    receivedDataPb = ReceivedDataConvertor.convert2Pb(receivedData);
+    hessianBytes = hessianSerializer.serialize(receivedData);
+    protobufBytes = ProtobufSerializer.getInstance().serialize(receivedDataPb);
+  }
+
+  @Benchmark
+  public byte[] hessianEncode() throws Exception {
+    return hessianSerializer.serialize(receivedData);
+  }
+
+  /** the push path converts the java model to protobuf before encoding */
+  @Benchmark
+  public byte[] protobufConvertAndEncode() throws Exception {
+    return ProtobufSerializer.getInstance()
+        .serialize(ReceivedDataConvertor.convert2Pb(receivedData));
+  }
+
+  @Benchmark
+  public byte[] protobufEncode() throws Exception {
+    return ProtobufSerializer.getInstance().serialize(receivedDataPb);
+  }
+
+  @Benchmark
+  public ReceivedData hessianDecode() throws Exception {
+    return hessianSerializer.deserialize(hessianBytes, ReceivedData.class.getName());
+  }
+
+  @Benchmark
+  public ReceivedDataPb protobufDecode() throws Exception {
+    return ProtobufSerializer.getInstance()
+        .deserialize(protobufBytes, ReceivedDataPb.class.getName());
+  }
+}
@@ -0,0 +1,151 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alipay.sofa.registry.server.data.cache;
+
+import com.alipay.sofa.registry.common.model.ServerDataBox;
+import com.alipay.sofa.registry.common.model.dataserver.Datum;
+import com.alipay.sofa.registry.common.model.dataserver.DatumVersion;
+import com.alipay.sofa.registry.common.model.store.Publisher;
+import com.alipay.sofa.registry.server.benchmark.BenchmarkUtils;
+import com.google.common.collect.Lists;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.BenchmarkParams;
+
+/**
+ * the throughput of a hot datum, run with -t to scale the writer threads. the readWrite group mixes
+ * the writers with the readers which rebuild the datum snapshot after every change. the retained
+ * heap per publisher of the groups which have been read is printed at the end of the trial to
+ * compare the compact mode
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PublisherGroupBenchmark {
+
+  @State(Scope.Benchmark)
+  public static class GroupState {
+    static final int RETAINED_PUBLISHERS = 20000;
+
+    @Param({"100", "2000"})
+    int pubNum;
+
+    @Param({"128"})
+    int dataSize;
+
+    // keep the publishers encoded, the datum rebuild decodes them
+    @Param({"false", "true"})
+    boolean compact;
+
+    PublisherGroup group;
+
+    @Setup(Level.Trial)
+    public void setup() {
+      final String dataId = "benchmarkPublisherGroup";
+      group =
+          new PublisherGroup(
+              BenchmarkUtils.dataInfoId(dataId), BenchmarkUtils.DATA_CENTER, null, compact);
+      for (Publisher publisher : BenchmarkUtils.newPublishers(dataId, pubNum, dataSize)) {
+        group.addPublisher(publisher);
+      }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown(BenchmarkParams params) {
+      this.group = null;
+      final String dataId = "benchmarkPublisherGroupHeap";
+      long before = BenchmarkUtils.usedHeap();
+      final int groupNum = Math.max(1, RETAINED_PUBLISHERS / pubNum);
+      List<PublisherGroup> retained = Lists.newArrayListWithCapacity(groupNum);
+      for (int i = 0; i < groupNum; i++) {
+        PublisherGroup g =
+            new PublisherGroup(
+                BenchmarkUtils.dataInfoId(dataId + i), BenchmarkUtils.DATA_CENTER, null, compact);
+        for (Publisher publisher : BenchmarkUtils.newPublishers(dataId + i, pubNum, dataSize)) {
+          g.addPublisher(publisher);
+        }
+        // the snapshot is cached by the read if not compact
+        g.toDatum();
+        retained.add(g);
+      }
+      long after = BenchmarkUtils.usedHeap();
+      System.out.printf(
+          "%n%s: compact=%s, pubNum=%d, dataSize=%d, retainedPerPublisher=%d%n",
+          params.getBenchmark(),
+          compact,
+          pubNum,
+          dataSize,
+          (after - before) / ((long) retained.size() * pubNum));
+    }
+  }
+
+  @State(Scope.Thread)
+  public static class WriterState {
+    static final int PUBLISHER_PER_THREAD = 16;
+
+    final List<Publisher> publishers = Lists.newArrayList();
+    final List<List<ServerDataBox>> dataLists = Lists.newArrayList();
+    int seq;
+
+    @Setup(Level.Trial)
+    public void setup(GroupState state) {
+      for (int i = 0; i < PUBLISHER_PER_THREAD; i++) {
+        Publisher publisher = BenchmarkUtils.newPublisher("benchmarkPublisherGroup", 0);
+        state.group.addPublisher(publisher);
+        publishers.add(publisher);
+      }
+      // alternate the data, a re-register with the same data does not bump the version
+      for (int i = 0; i < 2; i++) {
+        dataLists.add(
+            Lists.newArrayList(new ServerDataBox(BenchmarkUtils.randomBytes(state.dataSize))));
+      }
+    }
+
+    Publisher next() {
+      final int n = seq++;
+      final Publisher base = publishers.get(n % PUBLISHER_PER_THREAD);
+      return BenchmarkUtils.newVersion(base, dataLists.get((n / PUBLISHER_PER_THREAD) & 1));
+    }
+  }
+
+  @Benchmark
+  public DatumVersion addPublisher(GroupState state, WriterState writer) {
+    return state.group.addPublisher(writer.next());
+  }
+
+  @Benchmark
+  public Datum toDatum(GroupState state) {
+    return state.group.toDatum();
+  }
+
+  @Benchmark
+  @Group("readWrite")
+  @GroupThreads(2)
+  public DatumVersion readWriteAdd(GroupState state, WriterState writer) {
+    return state.group.addPublisher(writer.next());
+  }
+
+  @Benchmark
+  @Group("readWrite")
+  @GroupThreads(2)
+  public Datum readWriteToDatum(GroupState state) {
+    return state.group.toDatum();
+  }
+}
@@ -0,0 +1,154 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alipay.sofa.registry.server.session.push;
+
+import com.alipay.sofa.registry.common.model.ElementType;
+import com.alipay.sofa.registry.common.model.store.BaseInfo;
+import com.alipay.sofa.registry.common.model.store.PushData;
+import com.alipay.sofa.registry.common.model.store.SubDatum;
+import com.alipay.sofa.registry.common.model.store.Subscriber;
+import com.alipay.sofa.registry.common.model.store.URL;
+import com.alipay.sofa.registry.core.model.ScopeEnum;
+import com.alipay.sofa.registry.server.benchmark.BenchmarkUtils;
+import com.google.common.collect.Lists;
+import java.net.InetSocketAddress;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * buffer the push tasks of the hot subscribers, every task is newer than the buffered one, so the
+ * buffer keeps replacing the pending task of the same key
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PushTaskBufferBenchmark {
+  private static final int KEY_PER_THREAD = 64;
+  private static final int VERSION_PER_KEY = 1024;
+
+  @State(Scope.Benchmark)
+  public static class BufferState {
+    @Param({"4"})
+    int workerSize;
+
+    PushTaskBuffer buffer;
+
+    @Setup(Level.Trial)
+    public void setup() {
+      buffer = new PushTaskBuffer(workerSize);
+    }
+  }
+
+  @State(Scope.Thread)
+  public static class TaskState {
+    private static final AtomicInteger THREAD_SEQ = new AtomicInteger();
+    PushTask[] tasks;
+    int seq;
+
+    @Setup(Level.Trial)
+    public void setup() {
+      final int threadSeq = THREAD_SEQ.incrementAndGet();
+      final InetSocketAddress addr = new InetSocketAddress("10.0.0." + (threadSeq & 0xff), 9600);
+      tasks = new PushTask[KEY_PER_THREAD * VERSION_PER_KEY];
+      for (int k = 0; k < KEY_PER_THREAD; k++) {
+        final String dataId = "benchmarkPushBuffer-" + threadSeq + "-" + k;
+        final Subscriber subscriber = newSubscriber(dataId, addr);
+        final Map<String, Subscriber> subscriberMap =
+            Collections.singletonMap(subscriber.getRegisterId(), subscriber);
+        for (int v = 0; v < VERSION_PER_KEY; v++) {
+          SubDatum datum =
+              SubDatum.normalOf(
+                  subscriber.getDataInfoId(),
+                  BenchmarkUtils.DATA_CENTER,
+                  v + 1,
+                  Collections.emptyList(),
+                  dataId,
+                  BenchmarkUtils.INSTANCE_ID,
+                  BenchmarkUtils.GROUP,
+                  Lists.newArrayList(System.currentTimeMillis()));
+          PushTask task =
+              new NoopPushTask(
+                  new PushCause(null, PushType.Sub, System.currentTimeMillis()),
+                  addr,
+                  subscriberMap,
+                  datum);
+          // keep the task buffered, the buffer worker would drain the expired tasks
+          task.expireTimestamp = Long.MAX_VALUE;
+          tasks[v * KEY_PER_THREAD + k] = task;
+        }
+      }
+    }
+
+    PushTask next(PushTaskBuffer buffer) {
+      if (seq == tasks.length) {
+        // the versions restart from the oldest, drop the buffered keys of this thread
+        seq = 0;
+        for (int k = 0; k < KEY_PER_THREAD; k++) {
+          PushTaskBuffer.BufferTaskKey key = buffer.bufferTaskKey(tasks[k]);
+          for (PushTaskBuffer.BufferWorker worker : buffer.workers) {
+            worker.bufferMap.remove(key);
+          }
+        }
+      }
+      return tasks[seq++];
+    }
+  }
+
+  @Benchmark
+  public boolean buffer(BufferState state, TaskState taskState) {
+    return state.buffer.buffer(taskState.next(state.buffer));
+  }
+
+  static Subscriber newSubscriber(String dataId, InetSocketAddress addr) {
+    Subscriber subscriber = new Subscriber();
+    subscriber.setRegisterId("benchmarkSubscriber-" + dataId);
+    subscriber.setScope(ScopeEnum.zone);
+    subscriber.setElementType(ElementType.SUBSCRIBER);
+    subscriber.setClientVersion(BaseInfo.ClientVersion.StoreData);
+    subscriber.setDataId(dataId);
+    subscriber.setGroup(BenchmarkUtils.GROUP);
+    subscriber.setInstanceId(BenchmarkUtils.INSTANCE_ID);
+    subscriber.setDataInfoId(BenchmarkUtils.dataInfoId(dataId));
+    subscriber.setSourceAddress(new URL(addr.getHostString(), addr.getPort()));
+    return subscriber;
+  }
+
+  private static final class NoopPushTask extends PushTask {
+    NoopPushTask(
+        PushCause pushCause,
+        InetSocketAddress addr,
+        Map<String, Subscriber> subscriberMap,
+        SubDatum datum) {
+      super(pushCause, addr, subscriberMap, datum);
+    }
+
+    @Override
+    protected boolean commit() {
+      return false;
+    }
+
+    @Override
+    protected PushData createPushData() {
+      return null;
+    }
+  }
+}
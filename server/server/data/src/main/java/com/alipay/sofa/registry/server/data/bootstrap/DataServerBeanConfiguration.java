@@ -24,12 +24,14 @@ import com.alipay.sofa.registry.server.data.cache.DatumCache;
 import com.alipay.sofa.registry.server.data.cache.DatumStorage;
 import com.alipay.sofa.registry.server.data.cache.LocalDatumStorage;
 import com.alipay.sofa.registry.server.data.change.DataChangeEventCenter;
+import com.alipay.sofa.registry.server.data.change.DatumVersionStream;
 import com.alipay.sofa.registry.server.data.lease.SessionLeaseManager;
 import com.alipay.sofa.registry.server.data.providedata.CompressDatumService;
 import com.alipay.sofa.registry.server.data.providedata.FetchStopPushService;
 import com.alipay.sofa.registry.server.data.remoting.DataMetaServerManager;
 import com.alipay.sofa.registry.server.data.remoting.DataNodeExchanger;
 import com.alipay.sofa.registry.server.data.remoting.SessionNodeExchanger;
+import com.alipay.sofa.registry.server.data.remoting.dataserver.handler.SlotFollowerDiffBucketDigestRequestHandler;
 import com.alipay.sofa.registry.server.data.remoting.dataserver.handler.SlotFollowerDiffDigestRequestHandler;
 import com.alipay.sofa.registry.server.data.remoting.dataserver.handler.SlotFollowerDiffPublisherRequestHandler;
 import com.alipay.sofa.registry.server.data.remoting.metaserver.MetaServerServiceImpl;
@@ -187,8 +189,10 @@ public class DataServerBeanConfiguration {
     public Collection<AbstractServerHandler> serverHandlers() {
       Collection<AbstractServerHandler> list = new ArrayList<>();
       list.add(getDataHandler());
+      list.add(getMultiDataHandler());
       list.add(batchPutDataHandler());
       list.add(getDataVersionsHandler());
+      list.add(getDataVersionDeltaHandler());
       return list;
     }
 
@@ -196,6 +200,7 @@ public class DataServerBeanConfiguration {
     public Collection<AbstractServerHandler> serverSyncHandlers() {
       Collection<AbstractServerHandler> list = new ArrayList<>();
       list.add(slotFollowerDiffDataInfoIdRequestHandler());
+      list.add(slotFollowerDiffBucketDigestRequestHandler());
       list.add(slotFollowerDiffPublisherRequestHandler());
       return list;
     }
@@ -213,11 +218,21 @@ public class DataServerBeanConfiguration {
       return new GetDataHandler();
     }
 
+    @Bean
+    public AbstractServerHandler getMultiDataHandler() {
+      return new GetMultiDataHandler();
+    }
+
     @Bean
     public AbstractServerHandler slotFollowerDiffDataInfoIdRequestHandler() {
       return new SlotFollowerDiffDigestRequestHandler();
     }
 
+    @Bean
+    public AbstractServerHandler slotFollowerDiffBucketDigestRequestHandler() {
+      return new SlotFollowerDiffBucketDigestRequestHandler();
+    }
+
     @Bean
     public AbstractServerHandler slotFollowerDiffPublisherRequestHandler() {
       return new SlotFollowerDiffPublisherRequestHandler();
@@ -228,6 +243,11 @@ public class DataServerBeanConfiguration {
       return new GetDataVersionsHandler();
     }
 
+    @Bean
+    public AbstractServerHandler getDataVersionDeltaHandler() {
+      return new GetDataVersionDeltaHandler();
+    }
+
     @Bean
     public AbstractServerHandler batchPutDataHandler() {
       return new BatchPutDataHandler();
@@ -251,6 +271,11 @@ public class DataServerBeanConfiguration {
     public DataChangeEventCenter dataChangeEventCenter() {
       return new DataChangeEventCenter();
     }
+
+    @Bean
+    public DatumVersionStream datumVersionStream() {
+      return new DatumVersionStream();
+    }
   }
 
   @Configuration
@@ -54,12 +54,33 @@ public class DataServerConfig implements ServerShareConfig {
 
   private int notifyIntervalMillis = 2000;
 
+  // adapt the notify window between notifyMinIntervalMillis and notifyIntervalMillis by the load.
+  // off by default, it sends up to notifyAdaptiveMaxFlushes times of the change requests
+  private volatile boolean notifyAdaptiveEnabled = false;
+
+  private volatile int notifyMinIntervalMillis = 100;
+
+  // flush immediately if the pending changes not more than it and the notify executor is idle
+  private volatile int notifyIdleMaxItems = 16;
+
+  // the batch size grows from notifyMaxItems up to it under load
+  private volatile int notifyAdaptiveMaxItems = 2000;
+
+  // the max flushes in a notifyIntervalMillis when adaptive
+  private volatile int notifyAdaptiveMaxFlushes = 4;
+
   private int notifyRetryTimes = 3;
 
   private int notifyRetryBackoffMillis = 500;
 
+  // the idle workers of the keyed executors steal the tasks of the busy ones
+  private boolean keyedExecutorWorkStealing = false;
+
   private int notifyTempExecutorPoolSize = OsUtils.getCpuCount() * 3;
 
+  // keep the publishers as encoded bytes in the datum storage to reduce the heap footprint
+  private boolean publisherCompactEnabled = false;
+
   private int notifyTempExecutorQueueSize = 4000;
   private int notifyTempDataIntervalMillis = 500;
 
@@ -101,6 +122,18 @@ public class DataServerConfig implements ServerShareConfig {
   private volatile int slotSyncPublisherDigestMaxNum = 4000;
 
   private volatile int slotSyncPublisherMaxNum = 512;
+  private volatile boolean slotSyncPublisherChunkEnabled = true;
+
+  // the commutative digest is negotiated per peer: the sorted digest is sent until the peer
+  // responds that it supports the commutative one, so the old peers keep working in the rolling
+  // upgrade. set it true to force the sorted digest for all peers
+  private volatile boolean slotSyncDigestCompatible = false;
+
+  // compare the merkle digest of slot before the digest of every datum
+  private volatile boolean slotSyncBucketDigestEnabled = true;
+
+  // the max changes of every slot kept in the version stream
+  private volatile int datumVersionStreamCapacity = 1024;
 
   private int slotSyncRequestExecutorMinPoolSize = OsUtils.getCpuCount() * 3;
 
@@ -126,6 +159,8 @@ public class DataServerConfig implements ServerShareConfig {
   private int migratingMaxSecs = 40;
   private int migratingMaxRetry = 15;
   private int migratingMaxUnavailable = 1;
+  private int migratingMaxConcurrencyPerSession = 32;
+  private int syncLeaderMaxConcurrencyPerLeader = 16;
 
   private int systemPropertyIntervalMillis = 3000;
 
@@ -238,6 +273,132 @@ public class DataServerConfig implements ServerShareConfig {
     this.notifyIntervalMillis = notifyIntervalMillis;
   }
 
+  /**
+   * Getter method for property <tt>notifyAdaptiveEnabled</tt>.
+   *
+   * @return property value of notifyAdaptiveEnabled
+   */
+  public boolean isNotifyAdaptiveEnabled() {
+    return notifyAdaptiveEnabled;
+  }
+
+  /**
+   * Setter method for property <tt>notifyAdaptiveEnabled</tt>.
+   *
+   * @param notifyAdaptiveEnabled value to be assigned to property notifyAdaptiveEnabled
+   */
+  public void setNotifyAdaptiveEnabled(boolean notifyAdaptiveEnabled) {
+    this.notifyAdaptiveEnabled = notifyAdaptiveEnabled;
+  }
+
+  /**
+   * Getter method for property <tt>notifyMinIntervalMillis</tt>.
+   *
+   * @return property value of notifyMinIntervalMillis
+   */
+  public int getNotifyMinIntervalMillis() {
+    return notifyMinIntervalMillis;
+  }
+
+  /**
+   * Setter method for property <tt>notifyMinIntervalMillis</tt>.
+   *
+   * @param notifyMinIntervalMillis value to be assigned to property notifyMinIntervalMillis
+   */
+  public void setNotifyMinIntervalMillis(int notifyMinIntervalMillis) {
+    this.notifyMinIntervalMillis = notifyMinIntervalMillis;
+  }
+
+  /**
+   * Getter method for property <tt>notifyIdleMaxItems</tt>.
+   *
+   * @return property value of notifyIdleMaxItems
+   */
+  public int getNotifyIdleMaxItems() {
+    return notifyIdleMaxItems;
+  }
+
+  /**
+   * Setter method for property <tt>notifyIdleMaxItems</tt>.
+   *
+   * @param notifyIdleMaxItems value to be assigned to property notifyIdleMaxItems
+   */
+  public void setNotifyIdleMaxItems(int notifyIdleMaxItems) {
+    this.notifyIdleMaxItems = notifyIdleMaxItems;
+  }
+
+  /**
+   * Getter method for property <tt>notifyAdaptiveMaxItems</tt>.
+   *
+   * @return property value of notifyAdaptiveMaxItems
+   */
+  public int getNotifyAdaptiveMaxItems() {
+    return notifyAdaptiveMaxItems;
+  }
+
+  /**
+   * Setter method for property <tt>notifyAdaptiveMaxItems</tt>.
+   *
+   * @param notifyAdaptiveMaxItems value to be assigned to property notifyAdaptiveMaxItems
+   */
+  public void setNotifyAdaptiveMaxItems(int notifyAdaptiveMaxItems) {
+    this.notifyAdaptiveMaxItems = notifyAdaptiveMaxItems;
+  }
+
+  /**
+   * Getter method for property <tt>notifyAdaptiveMaxFlushes</tt>.
+   *
+   * @return property value of notifyAdaptiveMaxFlushes
+   */
+  public int getNotifyAdaptiveMaxFlushes() {
+    return notifyAdaptiveMaxFlushes;
+  }
+
+  /**
+   * Setter method for property <tt>notifyAdaptiveMaxFlushes</tt>.
+   *
+   * @param notifyAdaptiveMaxFlushes value to be assigned to property notifyAdaptiveMaxFlushes
+   */
+  public void setNotifyAdaptiveMaxFlushes(int notifyAdaptiveMaxFlushes) {
+    this.notifyAdaptiveMaxFlushes = notifyAdaptiveMaxFlushes;
+  }
+
+  /**
+   * Getter method for property <tt>publisherCompactEnabled</tt>.
+   *
+   * @return property value of publisherCompactEnabled
+   */
+  public boolean isPublisherCompactEnabled() {
+    return publisherCompactEnabled;
+  }
+
+  /**
+   * Setter method for property <tt>publisherCompactEnabled</tt>.
+   *
+   * @param publisherCompactEnabled value to be assigned to property publisherCompactEnabled
+   */
+  public void setPublisherCompactEnabled(boolean publisherCompactEnabled) {
+    this.publisherCompactEnabled = publisherCompactEnabled;
+  }
+
+  /**
+   * Getter method for property <tt>keyedExecutorWorkStealing</tt>.
+   *
+   * @return property value of keyedExecutorWorkStealing
+   */
+  public boolean isKeyedExecutorWorkStealing() {
+    return keyedExecutorWorkStealing;
+  }
+
+  /**
+   * Setter method for property <tt>keyedExecutorWorkStealing</tt>.
+   *
+   * @param keyedExecutorWorkStealing value to be assigned to property keyedExecutorWorkStealing
+   */
+  public void setKeyedExecutorWorkStealing(boolean keyedExecutorWorkStealing) {
+    this.keyedExecutorWorkStealing = keyedExecutorWorkStealing;
+  }
+
   /**
    * Getter method for property <tt>notifyTempDataIntervalMs</tt>.
    *
@@ -489,6 +650,79 @@ public class DataServerConfig implements ServerShareConfig {
     this.slotSyncPublisherMaxNum = slotSyncPublisherMaxNum;
   }
 
+  /**
+   * Getter method for property <tt>slotSyncPublisherChunkEnabled</tt>.
+   *
+   * @return property value of slotSyncPublisherChunkEnabled
+   */
+  public boolean isSlotSyncPublisherChunkEnabled() {
+    return slotSyncPublisherChunkEnabled;
+  }
+
+  /**
+   * Setter method for property <tt>slotSyncPublisherChunkEnabled</tt>.
+   *
+   * @param slotSyncPublisherChunkEnabled value to be assigned to property
+   *     slotSyncPublisherChunkEnabled
+   */
+  public void setSlotSyncPublisherChunkEnabled(boolean slotSyncPublisherChunkEnabled) {
+    this.slotSyncPublisherChunkEnabled = slotSyncPublisherChunkEnabled;
+  }
+
+  /**
+   * Getter method for property <tt>slotSyncDigestCompatible</tt>.
+   *
+   * @return property value of slotSyncDigestCompatible
+   */
+  public boolean isSlotSyncDigestCompatible() {
+    return slotSyncDigestCompatible;
+  }
+
+  /**
+   * Setter method for property <tt>slotSyncDigestCompatible</tt>.
+   *
+   * @param slotSyncDigestCompatible value to be assigned to property slotSyncDigestCompatible
+   */
+  public void setSlotSyncDigestCompatible(boolean slotSyncDigestCompatible) {
+    this.slotSyncDigestCompatible = slotSyncDigestCompatible;
+  }
+
+  /**
+   * Getter method for property <tt>slotSyncBucketDigestEnabled</tt>.
+   *
+   * @return property value of slotSyncBucketDigestEnabled
+   */
+  public boolean isSlotSyncBucketDigestEnabled() {
+    return slotSyncBucketDigestEnabled;
+  }
+
+  /**
+   * Setter method for property <tt>slotSyncBucketDigestEnabled</tt>.
+   *
+   * @param slotSyncBucketDigestEnabled value to be assigned to property slotSyncBucketDigestEnabled
+   */
+  public void setSlotSyncBucketDigestEnabled(boolean slotSyncBucketDigestEnabled) {
+    this.slotSyncBucketDigestEnabled = slotSyncBucketDigestEnabled;
+  }
+
+  /**
+   * Getter method for property <tt>datumVersionStreamCapacity</tt>.
+   *
+   * @return property value of datumVersionStreamCapacity
+   */
+  public int getDatumVersionStreamCapacity() {
+    return datumVersionStreamCapacity;
+  }
+
+  /**
+   * Setter method for property <tt>datumVersionStreamCapacity</tt>.
+   *
+   * @param datumVersionStreamCapacity value to be assigned to property datumVersionStreamCapacity
+   */
+  public void setDatumVersionStreamCapacity(int datumVersionStreamCapacity) {
+    this.datumVersionStreamCapacity = datumVersionStreamCapacity;
+  }
+
   /**
    * Getter method for property <tt>slotLeaderSyncSessionExecutorThreadSize</tt>.
    *
@@ -885,6 +1119,22 @@ public class DataServerConfig implements ServerShareConfig {
     this.migratingMaxUnavailable = migratingMaxUnavailable;
   }
 
+  public int getMigratingMaxConcurrencyPerSession() {
+    return migratingMaxConcurrencyPerSession;
+  }
+
+  public void setMigratingMaxConcurrencyPerSession(int migratingMaxConcurrencyPerSession) {
+    this.migratingMaxConcurrencyPerSession = migratingMaxConcurrencyPerSession;
+  }
+
+  public int getSyncLeaderMaxConcurrencyPerLeader() {
+    return syncLeaderMaxConcurrencyPerLeader;
+  }
+
+  public void setSyncLeaderMaxConcurrencyPerLeader(int syncLeaderMaxConcurrencyPerLeader) {
+    this.syncLeaderMaxConcurrencyPerLeader = syncLeaderMaxConcurrencyPerLeader;
+  }
+
   @Override
   public String toString() {
     return ToStringBuilder.reflectionToString(this, ToStringStyle.MULTI_LINE_STYLE);
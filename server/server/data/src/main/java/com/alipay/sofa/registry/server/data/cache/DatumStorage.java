@@ -51,6 +51,8 @@ public interface DatumStorage {
 
   Map<String, Map<String, Publisher>> getPublishers(int slot);
 
+  Map<String, Map<String, Publisher>> getPublishers(int slot, Collection<String> dataInfoIds);
+
   /**
    * get all datum
    *
@@ -62,6 +64,8 @@ public interface DatumStorage {
 
   Map<String, Integer> getPubCount();
 
+  int getPubCount(int slotId);
+
   DatumVersion put(Publisher publisher);
 
   DatumVersion createEmptyDatumIfAbsent(String dataInfoId, String dataCenter);
@@ -82,6 +86,14 @@ public interface DatumStorage {
 
   Map<String, DatumSummary> getDatumSummary(int slotId);
 
+  /**
+   * get the buckets of the merkle digest of the slot, maintained when publishers modified
+   *
+   * @param slotId
+   * @return
+   */
+  long[] getDigestBuckets(int slotId);
+
   SlotChangeListener getSlotChangeListener();
 
   Set<ProcessId> getSessionProcessIds();
@@ -23,6 +23,7 @@ import com.alipay.sofa.registry.common.model.dataserver.Datum;
 import com.alipay.sofa.registry.common.model.dataserver.DatumSummary;
 import com.alipay.sofa.registry.common.model.dataserver.DatumVersion;
 import com.alipay.sofa.registry.common.model.slot.Slot;
+import com.alipay.sofa.registry.common.model.slot.SlotDigestTree;
 import com.alipay.sofa.registry.common.model.slot.func.SlotFunction;
 import com.alipay.sofa.registry.common.model.slot.func.SlotFunctionRegistry;
 import com.alipay.sofa.registry.common.model.store.Publisher;
@@ -106,6 +107,12 @@ public final class LocalDatumStorage implements DatumStorage {
     return map;
   }
 
+  @Override
+  public int getPubCount(int slotId) {
+    PublisherGroups groups = publisherGroupsMap.get(slotId);
+    return groups == null ? 0 : groups.pubCount();
+  }
+
   @Override
   public Map<String, Publisher> getByConnectId(ConnectId connectId) {
     Map<String, Publisher> m = Maps.newHashMapWithExpectedSize(64);
@@ -119,7 +126,21 @@ public final class LocalDatumStorage implements DatumStorage {
     if (groups == null) {
       return Collections.emptyMap();
     }
-    Map<String, List<Publisher>> publisherMap = groups.getAllPublisher();
+    return toPublisherMap(groups.getAllPublisher());
+  }
+
+  @Override
+  public Map<String, Map<String, Publisher>> getPublishers(
+      int slotId, Collection<String> dataInfoIds) {
+    PublisherGroups groups = getPublisherGroups(slotId);
+    if (groups == null) {
+      return Collections.emptyMap();
+    }
+    return toPublisherMap(groups.getPublishers(dataInfoIds));
+  }
+
+  private static Map<String, Map<String, Publisher>> toPublisherMap(
+      Map<String, List<Publisher>> publisherMap) {
     Map<String, Map<String, Publisher>> ret = Maps.newHashMapWithExpectedSize(publisherMap.size());
     for (Map.Entry<String, List<Publisher>> publishers : publisherMap.entrySet()) {
       final String dataInfoId = publishers.getKey();
@@ -208,6 +229,12 @@ public final class LocalDatumStorage implements DatumStorage {
     return groups != null ? groups.getAllSummary() : Collections.emptyMap();
   }
 
+  @Override
+  public long[] getDigestBuckets(int slotId) {
+    final PublisherGroups groups = publisherGroupsMap.get(slotId);
+    return groups != null ? groups.getDigestBuckets() : new long[SlotDigestTree.DEFAULT_BUCKET_NUM];
+  }
+
   @Override
   public SlotChangeListener getSlotChangeListener() {
     return new SlotListener();
@@ -258,7 +285,10 @@ public final class LocalDatumStorage implements DatumStorage {
       publisherGroupsMap.computeIfAbsent(
           slotId,
           k -> {
-            PublisherGroups groups = new PublisherGroups(dataServerConfig.getLocalDataCenter());
+            PublisherGroups groups =
+                new PublisherGroups(
+                    dataServerConfig.getLocalDataCenter(),
+                    dataServerConfig.isPublisherCompactEnabled());
             LOGGER.info(
                 "{} add publisherGroup {}, role={}, slotNum={}",
                 dataServerConfig.getLocalDataCenter(),
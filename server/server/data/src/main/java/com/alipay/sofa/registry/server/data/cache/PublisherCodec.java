@@ -0,0 +1,342 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alipay.sofa.registry.server.data.cache;
+
+import com.alipay.sofa.registry.common.model.ProcessId;
+import com.alipay.sofa.registry.common.model.PublishSource;
+import com.alipay.sofa.registry.common.model.PublishType;
+import com.alipay.sofa.registry.common.model.ServerDataBox;
+import com.alipay.sofa.registry.common.model.store.BaseInfo.ClientVersion;
+import com.alipay.sofa.registry.common.model.store.Publisher;
+import com.alipay.sofa.registry.common.model.store.URL;
+import com.google.common.collect.Maps;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * compact binary encoding of the publishers of a PublisherGroup. the dataInfoId/dataId/instanceId
+ * /group are the same in the group and not written, the sessionProcessId is kept by the envelope.
+ * the dataList is written at the head with its length, so the data of two encoded publishers could
+ * be compared without decoding. the decoded strings are interned by the setters of the publisher
+ */
+final class PublisherCodec {
+  private static final URL.ProtocolType[] PROTOCOLS = URL.ProtocolType.values();
+  private static final ClientVersion[] CLIENT_VERSIONS = ClientVersion.values();
+  private static final PublishType[] PUBLISH_TYPES = PublishType.values();
+  private static final PublishSource[] PUBLISH_SOURCES = PublishSource.values();
+
+  final String dataInfoId;
+  final String dataId;
+  final String instanceId;
+  final String group;
+
+  PublisherCodec(String dataInfoId, String dataId, String instanceId, String group) {
+    this.dataInfoId = dataInfoId;
+    this.dataId = dataId;
+    this.instanceId = instanceId;
+    this.group = group;
+  }
+
+  /**
+   * @return null if the publisher could not be encoded, e.g. the dataBox holds an object not bytes,
+   *     it should be kept as object
+   */
+  byte[] encode(Publisher publisher) {
+    if (publisher.getClass() != Publisher.class
+        || !Objects.equals(dataInfoId, publisher.getDataInfoId())
+        || !Objects.equals(dataId, publisher.getDataId())
+        || !Objects.equals(instanceId, publisher.getInstanceId())
+        || !Objects.equals(group, publisher.getGroup())) {
+      return null;
+    }
+    ByteArrayOutputStream data = new ByteArrayOutputStream(64);
+    if (!writeDataList(data, publisher.getDataList())) {
+      return null;
+    }
+    ByteArrayOutputStream out = new ByteArrayOutputStream(data.size() + 128);
+    writeVarInt(out, data.size());
+    byte[] dataBytes = data.toByteArray();
+    out.write(dataBytes, 0, dataBytes.length);
+
+    writeString(out, publisher.getRegisterId());
+    writeString(out, publisher.getClientId());
+    writeString(out, publisher.getCell());
+    writeString(out, publisher.getAppName());
+    writeString(out, publisher.getProcessId());
+    writeVarLong(out, publisher.getVersion());
+    writeVarLong(out, publisher.getRegisterTimestamp());
+    writeVarLong(out, publisher.getClientRegisterTimestamp());
+    writeURL(out, publisher.getSourceAddress());
+    writeURL(out, publisher.getTargetAddress());
+    writeEnum(out, publisher.getClientVersion());
+    writeEnum(out, publisher.getPublishType());
+    writeEnum(out, publisher.getPublishSource());
+    Map<String, String> attributes = publisher.getAttributes();
+    if (attributes == null) {
+      writeSize(out, -1);
+    } else {
+      writeSize(out, attributes.size());
+      for (Map.Entry<String, String> e : attributes.entrySet()) {
+        writeString(out, e.getKey());
+        writeString(out, e.getValue());
+      }
+    }
+    return out.toByteArray();
+  }
+
+  Publisher decode(byte[] bytes, ProcessId sessionProcessId) {
+    Decoder decoder = new Decoder(bytes);
+    // skip the length of the dataList
+    decoder.readVarInt();
+    Publisher publisher = new Publisher();
+    publisher.setDataList(decoder.readDataList());
+    publisher.setDataInfoId(dataInfoId);
+    publisher.setDataId(dataId);
+    publisher.setInstanceId(instanceId);
+    publisher.setGroup(group);
+    publisher.setSessionProcessId(sessionProcessId);
+    publisher.setRegisterId(decoder.readString());
+    publisher.setClientId(decoder.readString());
+    publisher.setCell(decoder.readString());
+    publisher.setAppName(decoder.readString());
+    publisher.setProcessId(decoder.readString());
+    publisher.setVersion(decoder.readVarLong());
+    publisher.setRegisterTimestamp(decoder.readVarLong());
+    publisher.setClientRegisterTimestamp(decoder.readVarLong());
+    publisher.setSourceAddress(decoder.readURL());
+    publisher.setTargetAddress(decoder.readURL());
+    publisher.setClientVersion(decoder.readEnum(CLIENT_VERSIONS));
+    publisher.setPublishType(decoder.readEnum(PUBLISH_TYPES));
+    publisher.setPublishSource(decoder.readEnum(PUBLISH_SOURCES));
+    int size = decoder.readSize();
+    if (size >= 0) {
+      Map<String, String> attributes = Maps.newHashMapWithExpectedSize(size);
+      for (int i = 0; i < size; i++) {
+        attributes.put(decoder.readString(), decoder.readString());
+      }
+      publisher.setAttributes(attributes);
+    }
+    return publisher;
+  }
+
+  /** compare the encoded dataList of the two publishers */
+  static boolean sameDataList(byte[] a, byte[] b) {
+    Decoder da = new Decoder(a);
+    Decoder db = new Decoder(b);
+    final int len = da.readVarInt();
+    if (len != db.readVarInt()) {
+      return false;
+    }
+    da.checkRemaining(len);
+    db.checkRemaining(len);
+    for (int i = 0; i < len; i++) {
+      if (a[da.pos + i] != b[db.pos + i]) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static boolean writeDataList(ByteArrayOutputStream out, List<ServerDataBox> dataList) {
+    if (dataList == null) {
+      writeSize(out, -1);
+      return true;
+    }
+    writeSize(out, dataList.size());
+    for (ServerDataBox box : dataList) {
+      if (box == null) {
+        // 0 means null box
+        writeVarInt(out, 0);
+        continue;
+      }
+      final byte[] bytes = box.getBytes();
+      if (bytes == null) {
+        if (box.getObject() != null) {
+          return false;
+        }
+        // 1 means empty box
+        writeVarInt(out, 1);
+      } else {
+        writeVarInt(out, bytes.length + 2);
+        out.write(bytes, 0, bytes.length);
+      }
+      writeVarInt(out, box.getSerialization());
+    }
+    return true;
+  }
+
+  private static void writeURL(ByteArrayOutputStream out, URL url) {
+    if (url == null) {
+      writeVarInt(out, 0);
+      return;
+    }
+    writeVarInt(out, 1);
+    writeEnum(out, url.getProtocol());
+    writeString(out, url.getIpAddress());
+    writeVarInt(out, url.getPort());
+    Byte serializerIndex = url.getSerializerIndex();
+    writeVarInt(out, serializerIndex == null ? 0 : (serializerIndex & 0xFF) + 1);
+  }
+
+  private static void writeEnum(ByteArrayOutputStream out, Enum<?> e) {
+    writeVarInt(out, e == null ? 0 : e.ordinal() + 1);
+  }
+
+  private static void writeSize(ByteArrayOutputStream out, int size) {
+    // -1 means null
+    writeVarInt(out, size + 1);
+  }
+
+  private static void writeString(ByteArrayOutputStream out, String s) {
+    if (s == null) {
+      writeVarInt(out, 0);
+      return;
+    }
+    byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+    writeVarInt(out, bytes.length + 1);
+    out.write(bytes, 0, bytes.length);
+  }
+
+  static void writeVarInt(ByteArrayOutputStream out, int value) {
+    while ((value & ~0x7F) != 0) {
+      out.write((value & 0x7F) | 0x80);
+      value >>>= 7;
+    }
+    out.write(value);
+  }
+
+  static void writeVarLong(ByteArrayOutputStream out, long value) {
+    while ((value & ~0x7FL) != 0) {
+      out.write((int) ((value & 0x7F) | 0x80));
+      value >>>= 7;
+    }
+    out.write((int) value);
+  }
+
+  private static final class Decoder {
+    final byte[] bytes;
+    int pos;
+
+    Decoder(byte[] bytes) {
+      this.bytes = bytes;
+    }
+
+    List<ServerDataBox> readDataList() {
+      int size = readSize();
+      if (size < 0) {
+        return null;
+      }
+      List<ServerDataBox> dataList = new ArrayList<>(size);
+      for (int i = 0; i < size; i++) {
+        int len = readVarInt();
+        if (len == 0) {
+          dataList.add(null);
+          continue;
+        }
+        ServerDataBox box = new ServerDataBox();
+        if (len > 1) {
+          len -= 2;
+          checkRemaining(len);
+          byte[] data = new byte[len];
+          System.arraycopy(bytes, pos, data, 0, len);
+          pos += len;
+          box.setBytes(data);
+        }
+        box.setSerialization(readVarInt());
+        dataList.add(box);
+      }
+      return dataList;
+    }
+
+    URL readURL() {
+      if (readVarInt() == 0) {
+        return null;
+      }
+      // not use the constructor, it resolves the ip
+      URL url = new URL();
+      url.setProtocol(readEnum(PROTOCOLS));
+      url.setIpAddress(readString());
+      url.setPort(readVarInt());
+      int serializerIndex = readVarInt();
+      url.setSerializerIndex(serializerIndex == 0 ? null : (byte) (serializerIndex - 1));
+      return url;
+    }
+
+    <T extends Enum<T>> T readEnum(T[] values) {
+      int index = readVarInt();
+      if (index == 0) {
+        return null;
+      }
+      if (index > values.length) {
+        throw new IllegalArgumentException("illegal enum index: " + index);
+      }
+      return values[index - 1];
+    }
+
+    int readSize() {
+      return readVarInt() - 1;
+    }
+
+    String readString() {
+      int len = readVarInt();
+      if (len == 0) {
+        return null;
+      }
+      len -= 1;
+      checkRemaining(len);
+      String s = new String(bytes, pos, len, StandardCharsets.UTF_8);
+      pos += len;
+      return s;
+    }
+
+    int readVarInt() {
+      int value = 0;
+      for (int shift = 0; shift < 32; shift += 7) {
+        checkRemaining(1);
+        byte b = bytes[pos++];
+        value |= (b & 0x7F) << shift;
+        if (b >= 0) {
+          return value;
+        }
+      }
+      throw new IllegalArgumentException("malformed varint");
+    }
+
+    long readVarLong() {
+      long value = 0;
+      for (int shift = 0; shift < 64; shift += 7) {
+        checkRemaining(1);
+        byte b = bytes[pos++];
+        value |= (long) (b & 0x7F) << shift;
+        if (b >= 0) {
+          return value;
+        }
+      }
+      throw new IllegalArgumentException("malformed varlong");
+    }
+
+    void checkRemaining(int len) {
+      if (len < 0 || pos + len > bytes.length) {
+        throw new IllegalArgumentException("truncated publisher");
+      }
+    }
+  }
+}
@@ -28,27 +28,45 @@ import com.alipay.sofa.registry.util.ParaCheckUtil;
  * @version v 0.1 2020-12-02 19:47 yuzhi.lyz Exp $
  */
 public final class PublisherEnvelope {
+  // null if unpub or in compact mode
   final Publisher publisher;
+  // the encoded publisher in compact mode, decoded when it is read
+  final byte[] compactPublisher;
+  // kept on heap in compact mode, the client_off scans the connectId of all the publishers
+  private final ConnectId compactConnectId;
+  // the codec of the group in compact mode
+  private final PublisherCodec codec;
   final ProcessId sessionProcessId;
   final RegisterVersion registerVersion;
   final long tombstoneTimestamp;
 
   private PublisherEnvelope(
       Publisher publisher,
+      byte[] compactPublisher,
+      ConnectId compactConnectId,
+      PublisherCodec codec,
       ProcessId sessionProcessId,
       RegisterVersion registerVersion,
       long tombstoneTimestamp) {
     this.publisher = publisher;
+    this.compactPublisher = compactPublisher;
+    this.compactConnectId = compactConnectId;
+    this.codec = codec;
     this.sessionProcessId = sessionProcessId;
     this.registerVersion = registerVersion;
     this.tombstoneTimestamp = tombstoneTimestamp;
   }
 
   static PublisherEnvelope of(Publisher publisher) {
+    return of(publisher, null);
+  }
+
+  /** @param codec null if not in compact mode */
+  static PublisherEnvelope of(Publisher publisher, PublisherCodec codec) {
     ParaCheckUtil.checkNotNull(publisher.getSessionProcessId(), "publisher.sessionProcessId");
     switch (publisher.getDataType()) {
       case PUBLISHER:
-        return pubOf(publisher, publisher.getSessionProcessId());
+        return pubOf(publisher, publisher.getSessionProcessId(), codec);
       case UN_PUBLISHER:
         return unpubOf(publisher.registerVersion(), publisher.getSessionProcessId());
       default:
@@ -57,10 +75,21 @@ public final class PublisherEnvelope {
   }
 
   static PublisherEnvelope pubOf(Publisher publisher, ProcessId sessionProcessId) {
+    return pubOf(publisher, sessionProcessId, null);
+  }
+
+  static PublisherEnvelope pubOf(
+      Publisher publisher, ProcessId sessionProcessId, PublisherCodec codec) {
     ParaCheckUtil.checkEquals(
         publisher.getDataType(), StoreData.DataType.PUBLISHER, "Publisher.dataType");
+    // keep the object if the publisher could not be encoded
+    final byte[] bytes = codec == null ? null : codec.encode(publisher);
+    final boolean compact = bytes != null;
     return new PublisherEnvelope(
-        publisher,
+        compact ? null : publisher,
+        bytes,
+        compact ? publisher.connectId() : null,
+        compact ? codec : null,
         sessionProcessId,
         publisher.registerVersion(),
         // Long.max means pub never compact
@@ -68,11 +97,31 @@ public final class PublisherEnvelope {
   }
 
   static PublisherEnvelope unpubOf(RegisterVersion version, ProcessId sessionProcessId) {
-    return new PublisherEnvelope(null, sessionProcessId, version, System.currentTimeMillis());
+    return new PublisherEnvelope(
+        null, null, null, null, sessionProcessId, version, System.currentTimeMillis());
   }
 
   boolean isPub() {
-    return publisher != null;
+    return publisher != null || compactPublisher != null;
+  }
+
+  boolean isCompact() {
+    return compactPublisher != null;
+  }
+
+  /** @return the publisher, a new instance is decoded in compact mode, null if unpub */
+  Publisher getPublisher() {
+    if (publisher != null) {
+      return publisher;
+    }
+    return compactPublisher == null ? null : codec.decode(compactPublisher, sessionProcessId);
+  }
+
+  ConnectId getConnectId() {
+    if (publisher != null) {
+      return publisher.connectId();
+    }
+    return compactConnectId;
   }
 
   RegisterVersion getVersionIfPub() {
@@ -80,7 +129,12 @@ public final class PublisherEnvelope {
   }
 
   boolean isConnectId(ConnectId connectId) {
-    return isPub() && publisher.connectId().equals(connectId);
+    return isPub() && getConnectId().equals(connectId);
+  }
+
+  /** @return true if the dataList of the two compact envelopes are the same */
+  boolean sameCompactDataList(PublisherEnvelope other) {
+    return PublisherCodec.sameDataList(compactPublisher, other.compactPublisher);
   }
 
   @Override
@@ -89,7 +143,9 @@ public final class PublisherEnvelope {
     sb.append("pub=")
         .append(isPub())
         .append(", connectId=")
-        .append(publisher != null ? publisher.connectId() : "null")
+        .append(getConnectId())
+        .append(", compact=")
+        .append(isCompact())
         .append(", ver=")
         .append(registerVersion)
         .append(", ts=")
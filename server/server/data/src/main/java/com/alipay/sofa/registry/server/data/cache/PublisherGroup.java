@@ -21,9 +21,11 @@ import static com.alipay.sofa.registry.server.data.change.ChangeMetrics.SKIP_SAM
 import com.alipay.sofa.registry.common.model.ConnectId;
 import com.alipay.sofa.registry.common.model.ProcessId;
 import com.alipay.sofa.registry.common.model.RegisterVersion;
+import com.alipay.sofa.registry.common.model.dataserver.CommutativeDatumDigest;
 import com.alipay.sofa.registry.common.model.dataserver.Datum;
 import com.alipay.sofa.registry.common.model.dataserver.DatumSummary;
 import com.alipay.sofa.registry.common.model.dataserver.DatumVersion;
+import com.alipay.sofa.registry.common.model.slot.SlotDigestTree;
 import com.alipay.sofa.registry.common.model.store.DataInfo;
 import com.alipay.sofa.registry.common.model.store.ProcessIdCache;
 import com.alipay.sofa.registry.common.model.store.Publisher;
@@ -43,6 +45,7 @@ import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 import java.util.stream.Collectors;
@@ -55,8 +58,16 @@ import org.apache.commons.collections.MapUtils;
 public final class PublisherGroup {
   private static final Logger LOGGER = LoggerFactory.getLogger(PublisherGroup.class);
 
+  // the writers share the readLock and update the envelope of each registerId by CAS, so the writes
+  // of different registerIds are not serialized by the hot dataInfoId. the snapshot which need a
+  // consistent view of the pubMap/version takes the writeLock. the summaries are not locked, the
+  // digest may be a little newer than the summary, the diff of the next round corrects it
   private final ReadWriteLock lock = new ReentrantReadWriteLock();
 
+  private final Lock updateLock = lock.readLock();
+
+  private final Lock viewLock = lock.writeLock();
+
   final String dataInfoId;
 
   final String dataCenter;
@@ -74,15 +85,48 @@ public final class PublisherGroup {
 
   private static final int RECENT_VERSIONS_CAP = 10;
 
+  // the version and recentVersions are modified in synchronized(recentVersions)
   private final ArrayDeque<Long> recentVersions = new ArrayDeque<>(RECENT_VERSIONS_CAP);
 
+  // the digests of the pubs, maintained when pubMap modified, guarded by synchronized(digest)
+  private final CommutativeDatumDigest digest = new CommutativeDatumDigest();
+
+  private final Map<String /*sessionIp*/, CommutativeDatumDigest> sessionDigests =
+      Maps.newHashMapWithExpectedSize(4);
+
+  // the hash of the digest has been added to the digestTree
+  private final SlotDigestTree digestTree;
+
+  // keep the publishers as encoded bytes, decoded when the datum is built. null if not compact
+  private final PublisherCodec codec;
+
+  private long digestTreeHash;
+
+  // the frozen snapshot shared by the readers, built lazily on the first read after the pubMap
+  // or the version modified. not cached in compact mode, it holds all the decoded publishers
+  private volatile Datum snapshot;
+
   PublisherGroup(String dataInfoId, String dataCenter) {
+    this(dataInfoId, dataCenter, null);
+  }
+
+  PublisherGroup(String dataInfoId, String dataCenter, SlotDigestTree digestTree) {
+    this(dataInfoId, dataCenter, digestTree, false);
+  }
+
+  PublisherGroup(
+      String dataInfoId, String dataCenter, SlotDigestTree digestTree, boolean compactPublisher) {
+    this.digestTree = digestTree;
     DataInfo dataInfo = DataInfo.valueOf(dataInfoId);
     this.dataInfoId = WordCache.getWordCache(dataInfoId);
     this.dataCenter = WordCache.getWordCache(dataCenter);
     this.dataId = WordCache.getWordCache(dataInfo.getDataId());
     this.instanceId = WordCache.getWordCache(dataInfo.getInstanceId());
     this.group = WordCache.getWordCache(dataInfo.getGroup());
+    this.codec =
+        compactPublisher
+            ? new PublisherCodec(this.dataInfoId, this.dataId, this.instanceId, this.group)
+            : null;
     if (DatumVersionUtil.useConfregVersionGen()) {
       this.version = DatumVersionUtil.confregNextId(0);
     } else {
@@ -95,29 +139,70 @@ public final class PublisherGroup {
   }
 
   Datum toDatum() {
+    if (codec != null) {
+      return toCompactDatum();
+    }
+    Datum datum = snapshot;
+    if (datum != null) {
+      return datum;
+    }
+    // the writers are blocked by the viewLock, the snapshot is consistent with the pubMap
+    viewLock.lock();
+    try {
+      datum = snapshot;
+      if (datum == null) {
+        datum = newDatum().freeze();
+        this.snapshot = datum;
+      }
+      return datum;
+    } finally {
+      viewLock.unlock();
+    }
+  }
+
+  private Datum toCompactDatum() {
+    final Datum datum;
+    final List<PublisherEnvelope> envelopes = new ArrayList<>(pubMap.size());
+    // only collect the envelopes in the viewLock, decode them after the writers are unblocked
+    viewLock.lock();
+    try {
+      datum = newDatumOfVersion();
+      for (PublisherEnvelope envelope : pubMap.values()) {
+        if (envelope.isPub()) {
+          envelopes.add(envelope);
+        }
+      }
+    } finally {
+      viewLock.unlock();
+    }
+    for (PublisherEnvelope envelope : envelopes) {
+      datum.addPublisher(envelope.getPublisher());
+    }
+    return datum.freeze();
+  }
+
+  // must be called in lock
+  private Datum newDatum() {
+    Datum datum = newDatumOfVersion();
+    for (PublisherEnvelope envelope : pubMap.values()) {
+      if (envelope.isPub()) {
+        datum.addPublisher(envelope.getPublisher());
+      }
+    }
+    return datum;
+  }
+
+  // must be called in lock
+  private Datum newDatumOfVersion() {
     Datum datum = new Datum();
     datum.setDataCenter(dataCenter);
     datum.setDataId(dataId);
     datum.setDataInfoId(dataInfoId);
     datum.setGroup(group);
     datum.setInstanceId(instanceId);
-    long ver;
-    List<Publisher> list = new ArrayList<>(pubMap.size());
-    lock.readLock().lock();
     datum.setRecentVersions(
         recentVersions.stream().filter(Objects::nonNull).collect(Collectors.toList()));
-    try {
-      ver = this.version;
-      for (PublisherEnvelope envelope : pubMap.values()) {
-        if (envelope.isPub()) {
-          list.add(envelope.publisher);
-        }
-      }
-    } finally {
-      lock.readLock().unlock();
-    }
-    datum.setVersion(ver);
-    list.forEach(datum::addPublisher);
+    datum.setVersion(this.version);
     return datum;
   }
 
@@ -125,7 +210,7 @@ public final class PublisherGroup {
     List<Publisher> list = new ArrayList<>(pubMap.size());
     for (PublisherEnvelope envelope : pubMap.values()) {
       if (envelope.isPub()) {
-        list.add(envelope.publisher);
+        list.add(envelope.getPublisher());
       }
     }
     return list;
@@ -135,16 +220,26 @@ public final class PublisherGroup {
     Map<String, Publisher> map = Maps.newHashMap();
     for (PublisherEnvelope p : pubMap.values()) {
       if (p.isConnectId(connectId)) {
-        map.put(p.publisher.getRegisterId(), p.publisher);
+        Publisher publisher = p.getPublisher();
+        map.put(publisher.getRegisterId(), publisher);
       }
     }
     return map;
   }
 
   DatumVersion updateVersion() {
-    final boolean useConfreg = DatumVersionUtil.useConfregVersionGen();
-    lock.writeLock().lock();
+    updateLock.lock();
     try {
+      return bumpVersion();
+    } finally {
+      updateLock.unlock();
+    }
+  }
+
+  // must be called in lock
+  private DatumVersion bumpVersion() {
+    final boolean useConfreg = DatumVersionUtil.useConfregVersionGen();
+    synchronized (recentVersions) {
       long lastVersion = this.version;
       if (useConfreg) {
         this.version = DatumVersionUtil.confregNextId(lastVersion);
@@ -152,9 +247,8 @@ public final class PublisherGroup {
         this.version = DatumVersionUtil.nextId();
       }
       appendRecentVersion(lastVersion);
+      this.snapshot = null;
       return new DatumVersion(version);
-    } finally {
-      lock.writeLock().unlock();
     }
   }
 
@@ -166,38 +260,53 @@ public final class PublisherGroup {
   }
 
   private boolean tryAddPublisher(Publisher publisher) {
-    PublisherEnvelope exist = pubMap.get(publisher.getRegisterId());
     final RegisterVersion registerVersion = publisher.registerVersion();
-    if (exist == null) {
-      PublisherEnvelope envelope = PublisherEnvelope.of(publisher);
-      pubMap.put(publisher.getRegisterId(), envelope);
-      return envelope.isPub();
-    }
-
-    if (exist.registerVersion.equals(registerVersion)) {
-      if (LOGGER.isDebugEnabled()) {
-        LOGGER.debug(
-            "[AddSameVer] {}, {}, exist={}, add={}",
+    PublisherEnvelope envelope = null;
+    for (; ; ) {
+      final PublisherEnvelope exist = pubMap.get(publisher.getRegisterId());
+      if (exist == null) {
+        if (envelope == null) {
+          envelope = PublisherEnvelope.of(publisher, codec);
+        }
+        if (casEnvelope(publisher.getRegisterId(), null, envelope)) {
+          return envelope.isPub();
+        }
+        // the registerId has been put concurrently, retry
+        continue;
+      }
+      if (exist.registerVersion.equals(registerVersion)) {
+        if (LOGGER.isDebugEnabled()) {
+          LOGGER.debug(
+              "[AddSameVer] {}, {}, exist={}, add={}",
+              publisher.getDataInfoId(),
+              publisher.getRegisterId(),
+              exist.registerVersion,
+              publisher.registerVersion());
+        }
+        return false;
+      }
+      if (!exist.registerVersion.orderThan(registerVersion)) {
+        LOGGER.warn(
+            "[AddOlderVer] {}, {}, exist={}, add={}",
             publisher.getDataInfoId(),
             publisher.getRegisterId(),
             exist.registerVersion,
             publisher.registerVersion());
+        return false;
       }
-      return false;
-    }
-    if (!exist.registerVersion.orderThan(registerVersion)) {
-      LOGGER.warn(
-          "[AddOlderVer] {}, {}, exist={}, add={}",
-          publisher.getDataInfoId(),
-          publisher.getRegisterId(),
-          exist.registerVersion,
-          publisher.registerVersion());
-      return false;
+      if (envelope == null) {
+        envelope = PublisherEnvelope.of(publisher, codec);
+      }
+      if (casEnvelope(publisher.getRegisterId(), exist, envelope)) {
+        return isPubChanged(publisher, exist, envelope);
+      }
+      // the registerId has been modified concurrently, retry
     }
-    PublisherEnvelope envelope = PublisherEnvelope.of(publisher);
-    pubMap.put(publisher.getRegisterId(), envelope);
+  }
 
-    if (exist.publisher == null) {
+  private boolean isPubChanged(
+      Publisher publisher, PublisherEnvelope exist, PublisherEnvelope envelope) {
+    if (!exist.isPub()) {
       // publisher is null after client_off
       LOGGER.info(
           "[ReplaceEmptyPub] {}, {}, exist={}, add={}, regIsPub={}",
@@ -209,10 +318,17 @@ public final class PublisherGroup {
       return envelope.isPub();
     }
     try {
-      boolean same =
-          exist.publisher.getDataList() == null
-              ? publisher.getDataList() == null
-              : exist.publisher.getDataList().equals(publisher.getDataList());
+      final boolean same;
+      if (exist.isCompact() && envelope.isCompact()) {
+        // compare the encoded data, not decode the exist publisher
+        same = exist.sameCompactDataList(envelope);
+      } else {
+        final Publisher existPublisher = exist.getPublisher();
+        same =
+            existPublisher.getDataList() == null
+                ? publisher.getDataList() == null
+                : existPublisher.getDataList().equals(publisher.getDataList());
+      }
       if (same) {
         SKIP_SAME_VALUE_COUNTER.inc();
         LOGGER.info(
@@ -239,22 +355,23 @@ public final class PublisherGroup {
 
   DatumVersion addPublisher(Publisher publisher) {
     publisher.setSessionProcessId(ProcessIdCache.cache(publisher.getSessionProcessId()));
-    lock.writeLock().lock();
+    updateLock.lock();
     try {
       if (tryAddPublisher(publisher)) {
-        return updateVersion();
+        return bumpVersion();
       }
       return null;
     } finally {
-      lock.writeLock().unlock();
+      updateDigestTree();
+      updateLock.unlock();
     }
   }
 
   DatumVersion clean(ProcessId sessionProcessId, CleanContinues cleanContinues) {
     sessionProcessId = ProcessIdCache.cache(sessionProcessId);
     if (sessionProcessId == null) {
-      // not check continues
-      lock.writeLock().lock();
+      // not check continues, clean all need the exclusive lock
+      viewLock.lock();
       try {
         final int size = pubMap.size();
         if (size == 0) {
@@ -262,9 +379,15 @@ public final class PublisherGroup {
         }
         cleanContinues.onClean(size);
         pubMap.clear();
-        return updateVersion();
+        this.snapshot = null;
+        synchronized (digest) {
+          digest.reset();
+          sessionDigests.clear();
+        }
+        return bumpVersion();
       } finally {
-        lock.writeLock().unlock();
+        updateDigestTree();
+        viewLock.unlock();
       }
     }
     // collect the pub of the processId without lock
@@ -276,21 +399,22 @@ public final class PublisherGroup {
       }
     }
     // clean modify the version, need to lock
-    lock.writeLock().lock();
+    updateLock.lock();
     try {
       boolean modified = false;
       for (Map.Entry<String, PublisherEnvelope> clean : cleans.entrySet()) {
         if (!cleanContinues.continues()) {
           break;
         }
-        if (pubMap.remove(clean.getKey(), clean.getValue())) {
+        if (removeEnvelope(clean.getKey(), clean.getValue())) {
           cleanContinues.onClean(1);
           modified = true;
         }
       }
-      return modified ? updateVersion() : null;
+      return modified ? bumpVersion() : null;
     } finally {
-      lock.writeLock().unlock();
+      updateDigestTree();
+      updateLock.unlock();
     }
   }
 
@@ -299,56 +423,68 @@ public final class PublisherGroup {
     if (MapUtils.isEmpty(removedPublishers)) {
       return null;
     }
-    lock.writeLock().lock();
+    updateLock.lock();
     try {
       boolean modified = false;
       for (Map.Entry<String, RegisterVersion> e : removedPublishers.entrySet()) {
-        final String registerId = e.getKey();
-        final RegisterVersion removedVer = e.getValue();
+        if (tryRemovePublisher(sessionProcessId, e.getKey(), e.getValue())) {
+          modified = true;
+        }
+      }
+      return modified ? bumpVersion() : null;
+    } finally {
+      updateDigestTree();
+      updateLock.unlock();
+    }
+  }
 
-        final PublisherEnvelope existing = pubMap.get(registerId);
-        if (existing == null || !existing.isPub()) {
-          // the removedPublishers is from pubMap, but now notExist/unpub/pubByOtherSession
+  private boolean tryRemovePublisher(
+      ProcessId sessionProcessId, String registerId, RegisterVersion removedVer) {
+    for (; ; ) {
+      final PublisherEnvelope existing = pubMap.get(registerId);
+      if (existing == null || !existing.isPub()) {
+        // the removedPublishers is from pubMap, but now notExist/unpub/pubByOtherSession
+        return false;
+      }
+      // remove the existing <= removedVer
+      if (existing.registerVersion.equals(removedVer)
+          || existing.registerVersion.orderThan(removedVer)) {
+        // sync from leader
+        if (sessionProcessId == null) {
+          if (removeEnvelope(registerId, existing)) {
+            return true;
+          }
+          // the registerId has been modified concurrently, retry
           continue;
         }
-        // remove the existing <= removedVer
-        if (existing.registerVersion.equals(removedVer)
-            || existing.registerVersion.orderThan(removedVer)) {
-          // sync from leader
-          if (sessionProcessId == null) {
-            pubMap.remove(registerId);
-            modified = true;
-            continue;
-          }
-          if (sessionProcessId.equals(existing.sessionProcessId)) {
-            // syn from session, mark unpub with higher registerTimestamp
-            pubMap.put(
-                registerId,
-                PublisherEnvelope.unpubOf(removedVer.incrRegisterTimestamp(), sessionProcessId));
-            modified = true;
-          } else {
-            LOGGER.warn(
-                "[RemovePidModified] {}, {}, exist={}/{}, expect={}/{}",
-                dataInfoId,
-                registerId,
-                existing.registerVersion,
-                existing.sessionProcessId,
-                removedVer,
-                sessionProcessId);
-          }
-        } else {
-          // the item has modified after diff, ignored
-          LOGGER.warn(
-              "[RemoveVerModified] {}, {}, exist={}, expect={}",
-              dataInfoId,
+        if (sessionProcessId.equals(existing.sessionProcessId)) {
+          // syn from session, mark unpub with higher registerTimestamp
+          if (casEnvelope(
               registerId,
-              existing.registerVersion,
-              removedVer);
+              existing,
+              PublisherEnvelope.unpubOf(removedVer.incrRegisterTimestamp(), sessionProcessId))) {
+            return true;
+          }
+          continue;
         }
+        LOGGER.warn(
+            "[RemovePidModified] {}, {}, exist={}/{}, expect={}/{}",
+            dataInfoId,
+            registerId,
+            existing.registerVersion,
+            existing.sessionProcessId,
+            removedVer,
+            sessionProcessId);
+        return false;
       }
-      return modified ? updateVersion() : null;
-    } finally {
-      lock.writeLock().unlock();
+      // the item has modified after diff, ignored
+      LOGGER.warn(
+          "[RemoveVerModified] {}, {}, exist={}, expect={}",
+          dataInfoId,
+          registerId,
+          existing.registerVersion,
+          removedVer);
+      return false;
     }
   }
 
@@ -358,7 +494,7 @@ public final class PublisherGroup {
       ParaCheckUtil.checkEquals(p.getDataInfoId(), dataInfoId, "publisher.dataInfoId");
       p.setSessionProcessId(ProcessIdCache.cache(p.getSessionProcessId()));
     }
-    lock.writeLock().lock();
+    updateLock.lock();
     try {
       boolean modified = false;
       for (Publisher publisher : puts) {
@@ -367,17 +503,102 @@ public final class PublisherGroup {
         }
       }
       if (modified) {
-        return updateVersion();
+        return bumpVersion();
       }
       return null;
     } finally {
-      lock.writeLock().unlock();
+      updateDigestTree();
+      updateLock.unlock();
+    }
+  }
+
+  // must be called in updateLock, the digest is updated in the compute of the registerId, so the
+  // digest updates of a registerId are applied in the same order as the pubMap
+  private boolean casEnvelope(
+      String registerId, PublisherEnvelope expect, PublisherEnvelope update) {
+    final boolean[] success = new boolean[1];
+    pubMap.compute(
+        registerId,
+        (k, exist) -> {
+          if (exist != expect) {
+            return exist;
+          }
+          synchronized (digest) {
+            digestRemove(k, expect);
+            digestAdd(k, update);
+          }
+          success[0] = true;
+          return update;
+        });
+    if (success[0]) {
+      this.snapshot = null;
+    }
+    return success[0];
+  }
+
+  // must be called in updateLock
+  private boolean removeEnvelope(String registerId, PublisherEnvelope envelope) {
+    final boolean[] success = new boolean[1];
+    pubMap.computeIfPresent(
+        registerId,
+        (k, exist) -> {
+          if (exist != envelope) {
+            return exist;
+          }
+          synchronized (digest) {
+            digestRemove(k, envelope);
+          }
+          success[0] = true;
+          return null;
+        });
+    if (success[0]) {
+      this.snapshot = null;
+    }
+    return success[0];
+  }
+
+  private void digestAdd(String registerId, PublisherEnvelope envelope) {
+    if (envelope == null || !envelope.isPub()) {
+      return;
+    }
+    digest.add(registerId, envelope.registerVersion);
+    sessionDigests
+        .computeIfAbsent(
+            envelope.sessionProcessId.getHostAddress(), k -> new CommutativeDatumDigest())
+        .add(registerId, envelope.registerVersion);
+  }
+
+  private void digestRemove(String registerId, PublisherEnvelope envelope) {
+    if (envelope == null || !envelope.isPub()) {
+      return;
+    }
+    digest.remove(registerId, envelope.registerVersion);
+    final String sessionIp = envelope.sessionProcessId.getHostAddress();
+    CommutativeDatumDigest sessionDigest = sessionDigests.get(sessionIp);
+    if (sessionDigest != null) {
+      sessionDigest.remove(registerId, envelope.registerVersion);
+      if (sessionDigest.isEmpty()) {
+        sessionDigests.remove(sessionIp);
+      }
+    }
+  }
+
+  // must be called in lock, the last writer updates the tree with the digest of all writers
+  private void updateDigestTree() {
+    if (digestTree == null) {
+      return;
+    }
+    synchronized (digest) {
+      final long hash = SlotDigestTree.hashOf(dataInfoId, digest.toDigest());
+      digestTree.update(dataInfoId, digestTreeHash, hash);
+      this.digestTreeHash = hash;
     }
   }
 
   DatumSummary getAllSummary() {
     Map<String /*registerId*/, RegisterVersion> publisherVersions =
         Maps.newHashMapWithExpectedSize(pubMap.size());
+    DatumSummary summary = new DatumSummary(dataInfoId, publisherVersions);
     for (Map.Entry<String, PublisherEnvelope> e : pubMap.entrySet()) {
       PublisherEnvelope envelope = e.getValue();
       RegisterVersion v = envelope.getVersionIfPub();
@@ -386,8 +607,10 @@ public final class PublisherGroup {
       }
       publisherVersions.put(e.getKey(), v);
     }
-
-    return new DatumSummary(dataInfoId, publisherVersions);
+    synchronized (digest) {
+      summary.setCommutativeDigest(digest.toDigest());
+    }
+    return summary;
   }
 
   Map<String, DatumSummary> getSummary(Set<String> sessionIps) {
@@ -411,8 +634,16 @@ public final class PublisherGroup {
     }
 
     Map<String, DatumSummary> result = Maps.newHashMapWithExpectedSize(summaryMap.size());
-    for (Entry<String, Map<String, RegisterVersion>> entry : summaryMap.entrySet()) {
-      result.put(entry.getKey(), new DatumSummary(dataInfoId, entry.getValue()));
+    synchronized (digest) {
+      for (Entry<String, Map<String, RegisterVersion>> entry : summaryMap.entrySet()) {
+        DatumSummary summary = new DatumSummary(dataInfoId, entry.getValue());
+        CommutativeDatumDigest sessionDigest = sessionDigests.get(entry.getKey());
+        summary.setCommutativeDigest(
+            sessionDigest != null
+                ? sessionDigest.toDigest()
+                : new CommutativeDatumDigest().toDigest());
+        result.put(entry.getKey(), summary);
+      }
     }
     return result;
   }
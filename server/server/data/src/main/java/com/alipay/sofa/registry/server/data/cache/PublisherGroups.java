@@ -22,6 +22,7 @@ import com.alipay.sofa.registry.common.model.RegisterVersion;
 import com.alipay.sofa.registry.common.model.dataserver.Datum;
 import com.alipay.sofa.registry.common.model.dataserver.DatumSummary;
 import com.alipay.sofa.registry.common.model.dataserver.DatumVersion;
+import com.alipay.sofa.registry.common.model.slot.SlotDigestTree;
 import com.alipay.sofa.registry.common.model.store.Publisher;
 import com.alipay.sofa.registry.util.StringFormatter;
 import com.google.common.collect.Maps;
@@ -40,9 +41,17 @@ import org.springframework.util.CollectionUtils;
 public final class PublisherGroups {
   private final Map<String, PublisherGroup> publisherGroupMap = Maps.newConcurrentMap();
   private final String dataCenter;
+  private final SlotDigestTree digestTree = new SlotDigestTree(SlotDigestTree.DEFAULT_BUCKET_NUM);
+
+  private final boolean compactPublisher;
 
   PublisherGroups(String dataCenter) {
+    this(dataCenter, false);
+  }
+
+  PublisherGroups(String dataCenter, boolean compactPublisher) {
     this.dataCenter = dataCenter;
+    this.compactPublisher = compactPublisher;
   }
 
   Datum getDatum(String dataInfoId) {
@@ -90,12 +99,31 @@ public final class PublisherGroups {
     return map;
   }
 
+  Map<String, List<Publisher>> getPublishers(Collection<String> dataInfoIds) {
+    Map<String, List<Publisher>> map = Maps.newHashMapWithExpectedSize(dataInfoIds.size());
+    for (String dataInfoId : dataInfoIds) {
+      PublisherGroup group = publisherGroupMap.get(dataInfoId);
+      if (group != null) {
+        map.put(dataInfoId, group.getPublishers());
+      }
+    }
+    return map;
+  }
+
   Map<String, Integer> getPubCount() {
     Map<String, Integer> map = Maps.newHashMapWithExpectedSize(publisherGroupMap.size());
     publisherGroupMap.forEach((k, v) -> map.put(k, v.pubMap.size()));
     return map;
   }
 
+  int pubCount() {
+    int count = 0;
+    for (PublisherGroup group : publisherGroupMap.values()) {
+      count += group.pubMap.size();
+    }
+    return count;
+  }
+
   Map<String, Publisher> getByConnectId(ConnectId connectId) {
     Map<String, Publisher> map = Maps.newHashMapWithExpectedSize(64);
     publisherGroupMap.values().forEach(v -> map.putAll(v.getByConnectId(connectId)));
@@ -104,7 +132,7 @@ public final class PublisherGroups {
 
   PublisherGroup createGroupIfAbsent(String dataInfoId) {
     return publisherGroupMap.computeIfAbsent(
-        dataInfoId, k -> new PublisherGroup(dataInfoId, dataCenter));
+        dataInfoId, k -> new PublisherGroup(dataInfoId, dataCenter, digestTree, compactPublisher));
   }
 
   Map<String, DatumVersion> clean(ProcessId sessionProcessId, CleanContinues cleanContinues) {
@@ -174,6 +202,10 @@ public final class PublisherGroups {
     return summaries;
   }
 
+  long[] getDigestBuckets() {
+    return digestTree.snapshot();
+  }
+
   Set<ProcessId> getSessionProcessIds() {
     Set<ProcessId> ids = Sets.newHashSet();
     publisherGroupMap.values().forEach(g -> ids.addAll(g.getSessionProcessIds()));
@@ -17,6 +17,7 @@
 package com.alipay.sofa.registry.server.data.change;
 
 import io.prometheus.client.Counter;
+import io.prometheus.client.Histogram;
 
 public final class ChangeMetrics {
   private ChangeMetrics() {}
@@ -56,4 +57,32 @@ public final class ChangeMetrics {
   static final Counter.Child CHANGETEMP_COMMIT_COUNTER = CHANGE_TEMP_COUNTER_.labels("commit");
   static final Counter.Child CHANGETEMP_SUCCESS_COUNTER = CHANGE_TEMP_COUNTER_.labels("success");
   static final Counter.Child CHANGETEMP_FAIL_COUNTER = CHANGE_TEMP_COUNTER_.labels("fail");
+
+  private static final Histogram CHANGE_FLUSH_SIZE_HISTOGRAM =
+      Histogram.build()
+          .namespace("data")
+          .subsystem("change")
+          .name("notify_flush_size")
+          .help("the num of changes in a flush")
+          .labelNames("path")
+          .exponentialBuckets(1, 2, 13)
+          .register();
+
+  private static final Histogram CHANGE_QUEUE_DELAY_HISTOGRAM =
+      Histogram.build()
+          .namespace("data")
+          .subsystem("change")
+          .name("notify_queue_delay")
+          .help("millis from the first change to the flush")
+          .labelNames("path")
+          .exponentialBuckets(10, 2, 10)
+          .register();
+
+  static void observeChangeFlush(String path, int size) {
+    CHANGE_FLUSH_SIZE_HISTOGRAM.labels(path).observe(size);
+  }
+
+  static void observeChangeQueueDelay(String path, long millis) {
+    CHANGE_QUEUE_DELAY_HISTOGRAM.labels(path).observe(millis);
+  }
 }
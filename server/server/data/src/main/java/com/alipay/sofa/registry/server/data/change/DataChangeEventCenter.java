@@ -61,6 +61,8 @@ public class DataChangeEventCenter {
 
   @Autowired private DatumCache datumCache;
 
+  @Autowired private DatumVersionStream datumVersionStream;
+
   @Autowired private Exchange boltExchange;
 
   private final Map<String, DataChangeMerger> dataCenter2Changes = Maps.newConcurrentMap();
@@ -76,23 +78,30 @@ public class DataChangeEventCenter {
   private KeyedThreadPoolExecutor notifyExecutor;
   private KeyedThreadPoolExecutor notifyTempExecutor;
 
+  private NotifyWindow notifyWindow;
+
   public void init() {
+    this.notifyWindow = new NotifyWindow(dataServerConfig);
     this.notifyExecutor =
-        new KeyedThreadPoolExecutor(
+        KeyedThreadPoolExecutor.newExecutor(
             "notify",
             dataServerConfig.getNotifyExecutorPoolSize(),
-            dataServerConfig.getNotifyExecutorQueueSize());
+            dataServerConfig.getNotifyExecutorQueueSize(),
+            dataServerConfig.isKeyedExecutorWorkStealing());
     this.notifyTempExecutor =
-        new KeyedThreadPoolExecutor(
+        KeyedThreadPoolExecutor.newExecutor(
             "notifyTemp",
             dataServerConfig.getNotifyTempExecutorPoolSize(),
-            dataServerConfig.getNotifyTempExecutorQueueSize());
+            dataServerConfig.getNotifyTempExecutorQueueSize(),
+            dataServerConfig.isKeyedExecutorWorkStealing());
 
     ConcurrentUtils.createDaemonThread("changeMerger", changeMerger).start();
     ConcurrentUtils.createDaemonThread("tempChangeMerger", tempChangeMerger).start();
     LOGGER.info(
-        "start DataChange NotifyIntervalMs={}, NotifyTempIntervalMs={}",
+        "start DataChange NotifyIntervalMs={}, NotifyMinIntervalMs={}, adaptive={}, NotifyTempIntervalMs={}",
         dataServerConfig.getNotifyIntervalMillis(),
+        dataServerConfig.getNotifyMinIntervalMillis(),
+        dataServerConfig.isNotifyAdaptiveEnabled(),
         dataServerConfig.getNotifyTempDataIntervalMillis());
   }
 
@@ -346,15 +355,21 @@ public class DataChangeEventCenter {
   }
 
   boolean handleChanges(Map<String, List<Channel>> channelsMap) {
+    return handleChanges(
+        channelsMap, NotifyWindow.Path.Batch, dataServerConfig.getNotifyMaxItems());
+  }
+
+  boolean handleChanges(
+      Map<String, List<Channel>> channelsMap, NotifyWindow.Path path, int maxItems) {
     // first clean the event
-    final int maxItems = dataServerConfig.getNotifyMaxItems();
     final List<DataChangeEvent> events = transferChangeEvent(maxItems);
     if (events.isEmpty()) {
       return false;
     }
-    if (channelsMap.isEmpty()) {
+    observeFlush(path.name(), events);
+    final boolean emptyChannels = channelsMap.isEmpty();
+    if (emptyChannels) {
       LOGGER.error("session conn is empty when change");
-      return false;
     }
     for (DataChangeEvent event : events) {
       final Map<String, DatumVersion> changes =
@@ -369,6 +384,11 @@ public class DataChangeEventCenter {
       if (changes.isEmpty()) {
         continue;
       }
+      // the stream records the changes even if no session connected, keep the stream continuous
+      datumVersionStream.append(dataCenter, changes);
+      if (emptyChannels) {
+        continue;
+      }
       for (Map.Entry<String, DatumVersion> entry : changes.entrySet()) {
         LOGGER.info("datum change notify: {},{}", entry.getKey(), entry.getValue());
       }
@@ -388,7 +408,28 @@ public class DataChangeEventCenter {
         }
       }
     }
-    return true;
+    return !emptyChannels;
+  }
+
+  private static void observeFlush(String path, List<DataChangeEvent> events) {
+    final long now = System.currentTimeMillis();
+    int size = 0;
+    for (DataChangeEvent event : events) {
+      size += event.getDataInfoIds().size();
+      final long first = event.getTraceTimes().getFirstDataChange();
+      if (first > 0) {
+        observeChangeQueueDelay(path, now - first);
+      }
+    }
+    observeChangeFlush(path, size);
+  }
+
+  int pendingChangeCount() {
+    int count = 0;
+    for (DataChangeMerger merger : dataCenter2Changes.values()) {
+      count += merger.getDataInfoIds().size();
+    }
+    return count;
   }
 
   void handleExpire() {
@@ -434,15 +475,37 @@ public class DataChangeEventCenter {
     return events;
   }
 
+  boolean handleWindow(long now) {
+    final int pending = pendingChangeCount();
+    final NotifyWindow.Path path =
+        notifyWindow.nextFlush(pending, notifyExecutor.getQueueSize() == 0, now);
+    if (path == null) {
+      return false;
+    }
+    final int maxItems = notifyWindow.getMaxItems();
+    Server server = boltExchange.getServer(dataServerConfig.getNotifyPort());
+    Map<String, List<Channel>> channelMap = server.selectAllAvailableChannelsForHostAddress();
+    handleChanges(channelMap, path, maxItems);
+    notifyWindow.onFlush(path, pending, now);
+    if (path == NotifyWindow.Path.Batch) {
+      LOGGER.info("flush changes, pending={}, maxItems={}, {}", pending, maxItems, notifyWindow);
+    }
+    return true;
+  }
+
   private final class ChangeMerger extends LoopRunnable {
+    private long lastExpireTimestamp;
 
     @Override
     public void runUnthrowable() {
       try {
-        Server server = boltExchange.getServer(dataServerConfig.getNotifyPort());
-        Map<String, List<Channel>> channelMap = server.selectAllAvailableChannelsForHostAddress();
-        handleChanges(channelMap);
-        handleExpire();
+        final long now = System.currentTimeMillis();
+        handleWindow(now);
+        // the window ticks faster than notifyIntervalMillis when adaptive, keep the retry interval
+        if (now - lastExpireTimestamp >= dataServerConfig.getNotifyIntervalMillis()) {
+          lastExpireTimestamp = now;
+          handleExpire();
+        }
       } catch (Throwable e) {
         LOGGER.error("failed to merge change", e);
       }
@@ -450,8 +513,7 @@ public class DataChangeEventCenter {
 
     @Override
     public void waitingUnthrowable() {
-      ConcurrentUtils.sleepUninterruptibly(
-          dataServerConfig.getNotifyIntervalMillis(), TimeUnit.MILLISECONDS);
+      ConcurrentUtils.sleepUninterruptibly(notifyWindow.getTickMillis(), TimeUnit.MILLISECONDS);
     }
   }
 
@@ -477,6 +539,11 @@ public class DataChangeEventCenter {
     this.datumCache = datumCache;
   }
 
+  @VisibleForTesting
+  void setDatumVersionStream(DatumVersionStream datumVersionStream) {
+    this.datumVersionStream = datumVersionStream;
+  }
+
   @VisibleForTesting
   void setExchange(Exchange boltExchange) {
     this.boltExchange = boltExchange;
@@ -498,6 +565,11 @@ public class DataChangeEventCenter {
     this.notifyExecutor = notifyExecutor;
   }
 
+  @VisibleForTesting
+  void setNotifyWindow(NotifyWindow notifyWindow) {
+    this.notifyWindow = notifyWindow;
+  }
+
   @VisibleForTesting
   void setNotifyTempExecutor(KeyedThreadPoolExecutor notifyTempExecutor) {
     this.notifyTempExecutor = notifyTempExecutor;
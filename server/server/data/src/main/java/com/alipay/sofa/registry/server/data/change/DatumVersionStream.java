@@ -0,0 +1,159 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alipay.sofa.registry.server.data.change;
+
+import com.alipay.sofa.registry.common.model.dataserver.DatumVersion;
+import com.alipay.sofa.registry.common.model.dataserver.DatumVersionDelta;
+import com.alipay.sofa.registry.common.model.slot.func.SlotFunction;
+import com.alipay.sofa.registry.common.model.slot.func.SlotFunctionRegistry;
+import com.alipay.sofa.registry.server.data.bootstrap.DataServerConfig;
+import com.alipay.sofa.registry.util.DatumVersionUtil;
+import com.alipay.sofa.registry.util.StringFormatter;
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.collect.Maps;
+import java.util.ArrayDeque;
+import java.util.Map;
+import org.springframework.beans.factory.annotation.Autowired;
+
+/**
+ * the stream of the changed datum versions, grouped by slot. the session keeps the cursor(streamId
+ * and seq) of every slot and only fetches the versions changed after the cursor
+ */
+public class DatumVersionStream {
+  private final SlotFunction slotFunction = SlotFunctionRegistry.getFunc();
+
+  private final Map<String /*dataCenter*/, Map<Integer /*slotId*/, SlotVersionLog>> logs =
+      Maps.newConcurrentMap();
+
+  @Autowired DataServerConfig dataServerConfig;
+
+  public void append(String dataCenter, Map<String, DatumVersion> versions) {
+    final Map<Integer, SlotVersionLog> slotLogs =
+        logs.computeIfAbsent(dataCenter, k -> Maps.newConcurrentMap());
+    final int capacity = dataServerConfig.getDatumVersionStreamCapacity();
+    for (Map.Entry<String, DatumVersion> e : versions.entrySet()) {
+      final int slotId = slotFunction.slotOf(e.getKey());
+      SlotVersionLog log =
+          slotLogs.computeIfAbsent(slotId, k -> new SlotVersionLog(slotId, -1, capacity));
+      log.append(e.getKey(), e.getValue());
+    }
+  }
+
+  public DatumVersionDelta delta(
+      String dataCenter, int slotId, long slotLeaderEpoch, long streamId, long seq) {
+    final Map<Integer, SlotVersionLog> slotLogs =
+        logs.computeIfAbsent(dataCenter, k -> Maps.newConcurrentMap());
+    final int capacity = dataServerConfig.getDatumVersionStreamCapacity();
+    SlotVersionLog log =
+        slotLogs.compute(
+            slotId,
+            (k, v) -> {
+              // the leader of the slot has changed, the changes may lost when not the leader
+              if (v == null || v.leaderEpoch != slotLeaderEpoch) {
+                return new SlotVersionLog(slotId, slotLeaderEpoch, capacity);
+              }
+              return v;
+            });
+    return log.since(streamId, seq, dataServerConfig.getNotifyMaxItems());
+  }
+
+  @VisibleForTesting
+  SlotVersionLog getLog(String dataCenter, int slotId) {
+    Map<Integer, SlotVersionLog> slotLogs = logs.get(dataCenter);
+    return slotLogs == null ? null : slotLogs.get(slotId);
+  }
+
+  static final class SlotVersionLog {
+    final int slotId;
+    final long leaderEpoch;
+    final long streamId = DatumVersionUtil.nextId();
+    final int capacity;
+    private final ArrayDeque<Change> changes;
+    private long seq;
+
+    SlotVersionLog(int slotId, long leaderEpoch, int capacity) {
+      this.slotId = slotId;
+      this.leaderEpoch = leaderEpoch;
+      this.capacity = capacity;
+      this.changes = new ArrayDeque<>(Math.min(capacity, 64));
+    }
+
+    synchronized void append(String dataInfoId, DatumVersion version) {
+      if (changes.size() >= capacity) {
+        changes.pollFirst();
+      }
+      changes.addLast(new Change(++seq, dataInfoId, version));
+    }
+
+    synchronized DatumVersionDelta since(long streamId, long fromSeq, int maxItems) {
+      if (this.streamId != streamId || fromSeq > seq) {
+        return DatumVersionDelta.resetOf(this.streamId, seq);
+      }
+      if (fromSeq == seq) {
+        return DatumVersionDelta.of(this.streamId, seq, Maps.newHashMapWithExpectedSize(0));
+      }
+      final Change first = changes.peekFirst();
+      if (first == null || first.seq > fromSeq + 1) {
+        // the changes after the cursor has been evicted
+        return DatumVersionDelta.resetOf(this.streamId, seq);
+      }
+      Map<String, DatumVersion> versions = Maps.newHashMapWithExpectedSize(64);
+      long lastSeq = fromSeq;
+      for (Change change : changes) {
+        if (change.seq <= fromSeq) {
+          continue;
+        }
+        if (versions.size() >= maxItems && !versions.containsKey(change.dataInfoId)) {
+          // too many changes, the rest is fetched by the next round
+          break;
+        }
+        DatumVersion exist = versions.get(change.dataInfoId);
+        if (exist == null || exist.getValue() < change.version.getValue()) {
+          versions.put(change.dataInfoId, change.version);
+        }
+        lastSeq = change.seq;
+      }
+      return DatumVersionDelta.of(this.streamId, lastSeq, versions);
+    }
+
+    synchronized long getSeq() {
+      return seq;
+    }
+
+    synchronized int size() {
+      return changes.size();
+    }
+
+    @Override
+    public String toString() {
+      return StringFormatter.format(
+          "SlotVerLog{{},leaderEpoch={},stream={},seq={}}", slotId, leaderEpoch, streamId, seq);
+    }
+  }
+
+  static final class Change {
+    final long seq;
+    final String dataInfoId;
+    final DatumVersion version;
+
+    Change(long seq, String dataInfoId, DatumVersion version) {
+      this.seq = seq;
+      this.dataInfoId = dataInfoId;
+      this.version = version;
+    }
+  }
+}
@@ -0,0 +1,140 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alipay.sofa.registry.server.data.change;
+
+import com.alipay.sofa.registry.server.data.bootstrap.DataServerConfig;
+import com.alipay.sofa.registry.util.StringFormatter;
+
+/**
+ * the batching window of the change notify. the flushes are budgeted per notifyIntervalMillis, so
+ * the change requests are at most notifyAdaptiveMaxFlushes times of the fixed interval. a tiny
+ * pending set is flushed immediately when the notify executor is idle, otherwise the changes are
+ * merged in the window. the window starts at notifyIntervalMillis, doubles when the budget of the
+ * last interval is used up and halves when less than half of it is used. the batch size doubles
+ * when a flush is full and halves when a flush is small, bounded by the config
+ */
+final class NotifyWindow {
+  enum Path {
+    Idle,
+    Batch,
+  }
+
+  private final DataServerConfig dataServerConfig;
+
+  private int windowMillis;
+  private int maxItems;
+  private long lastFlushTimestamp;
+  private long periodTimestamp;
+  private int periodFlushes;
+
+  NotifyWindow(DataServerConfig dataServerConfig) {
+    this.dataServerConfig = dataServerConfig;
+    this.windowMillis = dataServerConfig.getNotifyIntervalMillis();
+    this.maxItems = dataServerConfig.getNotifyMaxItems();
+  }
+
+  /**
+   * @param pending the num of pending changes
+   * @param executorIdle the notify executor has no queued task
+   * @param now current millis
+   * @return the path to flush, null if keep merging
+   */
+  Path nextFlush(int pending, boolean executorIdle, long now) {
+    if (pending <= 0) {
+      return null;
+    }
+    if (!dataServerConfig.isNotifyAdaptiveEnabled()) {
+      return Path.Batch;
+    }
+    rollPeriod(now);
+    if (periodFlushes >= dataServerConfig.getNotifyAdaptiveMaxFlushes()) {
+      // out of the budget, wait the next interval
+      return null;
+    }
+    if (executorIdle && pending <= dataServerConfig.getNotifyIdleMaxItems()) {
+      return Path.Idle;
+    }
+    if (now - lastFlushTimestamp >= getWindowMillis()) {
+      return Path.Batch;
+    }
+    return null;
+  }
+
+  void onFlush(Path path, int flushed, long now) {
+    this.lastFlushTimestamp = now;
+    if (!dataServerConfig.isNotifyAdaptiveEnabled()) {
+      return;
+    }
+    rollPeriod(now);
+    periodFlushes++;
+    final int minItems = dataServerConfig.getNotifyMaxItems();
+    final int maxItemsBound = Math.max(minItems, dataServerConfig.getNotifyAdaptiveMaxItems());
+    if (path == Path.Batch && flushed >= maxItems) {
+      // under load, merge more changes in a request
+      maxItems = Math.min(maxItems * 2, maxItemsBound);
+    } else if (flushed < maxItems / 4) {
+      maxItems = Math.max(maxItems / 2, minItems);
+    }
+  }
+
+  private void rollPeriod(long now) {
+    final int interval = dataServerConfig.getNotifyIntervalMillis();
+    if (periodTimestamp == 0) {
+      periodTimestamp = now;
+      return;
+    }
+    if (now - periodTimestamp < interval) {
+      return;
+    }
+    final int minWindow = Math.min(dataServerConfig.getNotifyMinIntervalMillis(), interval);
+    final int budget = dataServerConfig.getNotifyAdaptiveMaxFlushes();
+    if (periodFlushes >= budget) {
+      windowMillis = Math.min(windowMillis * 2, interval);
+    } else if (periodFlushes < budget / 2) {
+      windowMillis = Math.max(windowMillis / 2, minWindow);
+    }
+    periodTimestamp = now;
+    periodFlushes = 0;
+  }
+
+  int getWindowMillis() {
+    if (!dataServerConfig.isNotifyAdaptiveEnabled()) {
+      return dataServerConfig.getNotifyIntervalMillis();
+    }
+    return windowMillis;
+  }
+
+  int getMaxItems() {
+    if (!dataServerConfig.isNotifyAdaptiveEnabled()) {
+      return dataServerConfig.getNotifyMaxItems();
+    }
+    return maxItems;
+  }
+
+  int getTickMillis() {
+    if (!dataServerConfig.isNotifyAdaptiveEnabled()) {
+      return dataServerConfig.getNotifyIntervalMillis();
+    }
+    return dataServerConfig.getNotifyMinIntervalMillis();
+  }
+
+  @Override
+  public String toString() {
+    return StringFormatter.format(
+        "NotifyWindow{window={},maxItems={}}", getWindowMillis(), getMaxItems());
+  }
+}
@@ -17,11 +17,16 @@
 package com.alipay.sofa.registry.server.data.providedata;
 
 import com.alipay.sofa.common.profile.StringUtil;
+import com.alipay.sofa.registry.cache.Sizer;
 import com.alipay.sofa.registry.common.model.constants.ValueConstants;
+import com.alipay.sofa.registry.common.model.dataserver.Datum;
 import com.alipay.sofa.registry.common.model.metaserver.CompressDatumSwitch;
 import com.alipay.sofa.registry.common.model.metaserver.CompressPushSwitch;
 import com.alipay.sofa.registry.common.model.metaserver.ProvideData;
 import com.alipay.sofa.registry.common.model.store.SubDatum;
+import com.alipay.sofa.registry.common.model.store.ZipSubPublisherList;
+import com.alipay.sofa.registry.compress.CompressCachedExecutor;
+import com.alipay.sofa.registry.compress.CompressKey;
 import com.alipay.sofa.registry.compress.CompressUtils;
 import com.alipay.sofa.registry.compress.Compressor;
 import com.alipay.sofa.registry.log.Logger;
@@ -29,13 +34,36 @@ import com.alipay.sofa.registry.log.LoggerFactory;
 import com.alipay.sofa.registry.server.data.bootstrap.DataServerConfig;
 import com.alipay.sofa.registry.server.shared.providedata.AbstractFetchSystemPropertyService;
 import com.alipay.sofa.registry.server.shared.providedata.SystemDataStorage;
+import com.alipay.sofa.registry.server.shared.util.DatumUtils;
 import com.alipay.sofa.registry.util.JsonUtils;
+import com.alipay.sofa.registry.util.StringFormatter;
+import com.alipay.sofa.registry.util.StringUtils;
+import com.alipay.sofa.registry.util.SystemUtils;
+import io.prometheus.client.Counter;
+import java.util.Objects;
 import org.springframework.beans.factory.annotation.Autowired;
 
 public class CompressDatumService
     extends AbstractFetchSystemPropertyService<CompressDatumService.CompressStorage> {
   private static final Logger LOGGER = LoggerFactory.getLogger(CompressPushSwitch.class);
 
+  private static final String KEY_ENCODED_DATUM_CACHE_CAPACITY =
+      "registry.compress.encoded.datum.capacity";
+
+  static final CompressCachedExecutor<EncodedSubDatum> encodedDatumCachedExecutor =
+      CompressUtils.newCachedExecutor(
+          "datum_encoded",
+          60 * 1000,
+          SystemUtils.getSystemInteger(KEY_ENCODED_DATUM_CACHE_CAPACITY, 1024 * 1024 * 128));
+
+  private static final Counter ENCODED_DATUM_SAVED_COUNTER =
+      Counter.build()
+          .namespace("compress")
+          .subsystem("cache")
+          .name("datum_encoded_saved_seconds")
+          .help("the encoding time saved by the encoded datum cache hits")
+          .register();
+
   @Autowired private DataServerConfig dataServerConfig;
 
   public CompressDatumService() {
@@ -78,19 +106,139 @@ public class CompressDatumService
     return storage.get().compressDatumSwitch;
   }
 
-  public Compressor getCompressor(SubDatum datum, String[] encodes) {
+  /**
+   * get the SubDatum of the datum for the session, compressed with the first available encoding of
+   * the encodes if the compress switch is enabled and the databox size is not less than the min
+   * size. the result is cached by the version of the datum and shared by the sessions, the version
+   * bump makes a new key
+   *
+   * @param datum
+   * @param encodes
+   * @return null if the datum is null
+   */
+  public SubDatum getEncodedSubDatum(Datum datum, String[] encodes) {
     if (datum == null) {
       return null;
     }
-    CompressDatumSwitch compressDatumSwitch = getCompressSwitch();
-    if (!compressDatumSwitch.isEnabled()) {
-      return null;
+    final CompressDatumSwitch compressDatumSwitch = getCompressSwitch();
+    final Compressor compressor =
+        compressDatumSwitch.isEnabled() ? CompressUtils.find(encodes) : null;
+    final int compressMinSize = compressor == null ? 0 : compressDatumSwitch.getCompressMinSize();
+    final EncodedDatumKey key =
+        new EncodedDatumKey(
+            compressor == null ? "" : compressor.getEncoding(),
+            datum.getDataInfoId(),
+            datum.getDataCenter(),
+            datum.getVersion(),
+            datum.publisherSize(),
+            compressMinSize);
+    final boolean[] built = new boolean[1];
+    EncodedSubDatum encoded;
+    try {
+      encoded =
+          encodedDatumCachedExecutor.execute(
+              key,
+              () -> {
+                built[0] = true;
+                final long start = System.nanoTime();
+                SubDatum subDatum = DatumUtils.of(datum);
+                if (compressor != null && subDatum.getDataBoxBytes() >= compressMinSize) {
+                  subDatum = DatumUtils.compressSubDatum(subDatum, compressor);
+                }
+                return new EncodedSubDatum(subDatum, System.nanoTime() - start);
+              });
+    } catch (Throwable e) {
+      throw new RuntimeException("encode datum failed: " + key, e);
     }
-    datum.mustUnzipped();
-    if (datum.getDataBoxBytes() < compressDatumSwitch.getCompressMinSize()) {
-      return null;
+    if (!built[0]) {
+      ENCODED_DATUM_SAVED_COUNTER.inc(encoded.buildNanos / 1_000_000_000.0);
+    }
+    return encoded.subDatum;
+  }
+
+  public static String encodingOf(SubDatum datum) {
+    ZipSubPublisherList zip = datum.getZipPublishers();
+    return zip == null ? "" : zip.getEncoding();
+  }
+
+  static final class EncodedSubDatum implements Sizer {
+    final SubDatum subDatum;
+    // the time to build the SubDatum, saved by the cache hits
+    final long buildNanos;
+
+    EncodedSubDatum(SubDatum subDatum, long buildNanos) {
+      this.subDatum = subDatum;
+      this.buildNanos = buildNanos;
+    }
+
+    @Override
+    public int size() {
+      return subDatum.size() + 16;
+    }
+  }
+
+  static final class EncodedDatumKey implements CompressKey {
+    final String encode;
+    final String dataInfoId;
+    final String dataCenter;
+    final long version;
+    final int pubNum;
+    final int compressMinSize;
+
+    EncodedDatumKey(
+        String encode,
+        String dataInfoId,
+        String dataCenter,
+        long version,
+        int pubNum,
+        int compressMinSize) {
+      this.encode = encode;
+      this.dataInfoId = dataInfoId;
+      this.dataCenter = dataCenter;
+      this.version = version;
+      this.pubNum = pubNum;
+      this.compressMinSize = compressMinSize;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (o == null || getClass() != o.getClass()) {
+        return false;
+      }
+      EncodedDatumKey that = (EncodedDatumKey) o;
+      return version == that.version
+          && pubNum == that.pubNum
+          && compressMinSize == that.compressMinSize
+          && Objects.equals(encode, that.encode)
+          && Objects.equals(dataInfoId, that.dataInfoId)
+          && Objects.equals(dataCenter, that.dataCenter);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(encode, dataInfoId, dataCenter, version, pubNum, compressMinSize);
+    }
+
+    @Override
+    public int size() {
+      return StringUtils.sizeof(encode)
+          + StringUtils.sizeof(dataInfoId)
+          + StringUtils.sizeof(dataCenter)
+          + 24;
+    }
+
+    @Override
+    public String toString() {
+      return StringFormatter.format(
+          "dataInfoId={}, dataCenter={}, ver={}, encode={}",
+          dataInfoId,
+          dataCenter,
+          version,
+          encode);
     }
-    return CompressUtils.find(encodes);
   }
 
   protected static class CompressStorage extends SystemDataStorage {
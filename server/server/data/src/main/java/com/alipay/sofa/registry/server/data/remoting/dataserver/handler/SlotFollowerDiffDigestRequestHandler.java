@@ -18,6 +18,7 @@ package com.alipay.sofa.registry.server.data.remoting.dataserver.handler;
 
 import com.alipay.sofa.registry.common.model.GenericResponse;
 import com.alipay.sofa.registry.common.model.Node;
+import com.alipay.sofa.registry.common.model.PublisherDigestUtil;
 import com.alipay.sofa.registry.common.model.dataserver.DatumDigest;
 import com.alipay.sofa.registry.common.model.slot.DataSlotDiffDigestRequest;
 import com.alipay.sofa.registry.common.model.slot.DataSlotDiffDigestResult;
@@ -61,11 +62,13 @@ public class SlotFollowerDiffDigestRequestHandler
         LOGGER.warn("not leader of {}", slotId);
         return new GenericResponse().fillFailed("not leader of " + slotId);
       }
-      DataSlotDiffDigestResult result =
-          calcDiffResult(
-              slotId,
-              request.getDatumDigest(),
-              localDatumStorage.getPublishers(request.getSlotId()));
+      DataSlotDiffDigestResult result;
+      if (request.isCommutativeDigest()) {
+        // use the digests maintained by storage, avoid to calc the digest of every datum
+        result = calcDiffResult(slotId, request);
+      } else {
+        result = calcDiffResult(slotId, request, localDatumStorage.getPublishers(slotId));
+      }
       result.setSlotTableEpoch(slotManager.getSlotTableEpoch());
       return new GenericResponse().fillSucceed(result);
     } catch (Throwable e) {
@@ -78,10 +81,21 @@ public class SlotFollowerDiffDigestRequestHandler
 
   private DataSlotDiffDigestResult calcDiffResult(
       int targetSlot,
-      Map<String, DatumDigest> targetDigestMap,
+      DataSlotDiffDigestRequest request,
       Map<String, Map<String, Publisher>> existingPublishers) {
     DataSlotDiffDigestResult result =
-        DataSlotDiffUtils.diffDigestResult(targetDigestMap, existingPublishers);
+        DataSlotDiffUtils.diffDigestResult(request, existingPublishers);
+    DataSlotDiffUtils.logDiffResult(result, targetSlot);
+    return result;
+  }
+
+  private DataSlotDiffDigestResult calcDiffResult(
+      int targetSlot, DataSlotDiffDigestRequest request) {
+    Map<String, DatumDigest> digestMap =
+        PublisherDigestUtil.digest(
+            request.filterBuckets(localDatumStorage.getDatumSummary(targetSlot)), true);
+    DataSlotDiffDigestResult result =
+        DataSlotDiffUtils.diffDigest(request.getDatumDigest(), digestMap);
     DataSlotDiffUtils.logDiffResult(result, targetSlot);
     return result;
   }
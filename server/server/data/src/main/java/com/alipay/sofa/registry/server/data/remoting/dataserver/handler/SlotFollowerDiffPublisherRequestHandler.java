@@ -33,6 +33,7 @@ import com.alipay.sofa.registry.server.shared.remoting.AbstractServerHandler;
 import com.alipay.sofa.registry.util.ParaCheckUtil;
 import com.alipay.sofa.registry.util.StringFormatter;
 import com.google.common.annotations.VisibleForTesting;
+import com.google.common.collect.Lists;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.Executor;
@@ -72,11 +73,12 @@ public class SlotFollowerDiffPublisherRequestHandler
         LOGGER.warn("not leader of {}", slotId);
         return new GenericResponse().fillFailed("not leader of " + slotId);
       }
+      // only get the publishers of the request dataInfoIds, avoid copy all publishers of the slot
       DataSlotDiffPublisherResult result =
           calcDiffResult(
               slotId,
-              request.getDatumSummaries(),
-              localDatumStorage.getPublishers(request.getSlotId()));
+              request,
+              localDatumStorage.getPublishers(slotId, requestDataInfoIds(request)));
       result.setSlotTableEpoch(slotManager.getSlotTableEpoch());
       return new GenericResponse().fillSucceed(result);
     } catch (Throwable e) {
@@ -88,13 +90,21 @@ public class SlotFollowerDiffPublisherRequestHandler
     }
   }
 
+  private static List<String> requestDataInfoIds(DataSlotDiffPublisherRequest request) {
+    List<String> dataInfoIds = Lists.newArrayListWithCapacity(request.getDatumSummaries().size());
+    for (DatumSummary summary : request.getDatumSummaries()) {
+      dataInfoIds.add(summary.getDataInfoId());
+    }
+    return dataInfoIds;
+  }
+
   private DataSlotDiffPublisherResult calcDiffResult(
       int targetSlot,
-      List<DatumSummary> datumSummaries,
+      DataSlotDiffPublisherRequest request,
       Map<String, Map<String, Publisher>> existingPublishers) {
     DataSlotDiffPublisherResult result =
         DataSlotDiffUtils.diffPublishersResult(
-            datumSummaries, existingPublishers, dataServerConfig.getSlotSyncPublisherMaxNum());
+            request, existingPublishers, dataServerConfig.getSlotSyncPublisherMaxNum());
     DataSlotDiffUtils.logDiffResult(result, targetSlot);
     return result;
   }
@@ -24,12 +24,10 @@ import com.alipay.sofa.registry.common.model.slot.SlotAccess;
 import com.alipay.sofa.registry.common.model.slot.SlotAccessGenericResponse;
 import com.alipay.sofa.registry.common.model.store.SubDatum;
 import com.alipay.sofa.registry.compress.CompressUtils;
-import com.alipay.sofa.registry.compress.Compressor;
 import com.alipay.sofa.registry.log.Logger;
 import com.alipay.sofa.registry.remoting.Channel;
 import com.alipay.sofa.registry.server.data.cache.DatumCache;
 import com.alipay.sofa.registry.server.data.providedata.CompressDatumService;
-import com.alipay.sofa.registry.server.shared.util.DatumUtils;
 import com.alipay.sofa.registry.util.ParaCheckUtil;
 import com.google.common.annotations.VisibleForTesting;
 import java.util.concurrent.Executor;
@@ -93,26 +91,19 @@ public class GetDataHandler extends AbstractDataHandler<GetDataRequest> {
           slotAccessAfter, "slotLeaderEpoch has change, prev=" + slotAccessBefore);
     }
     // return SubDatum, it's serdeSize and memoryOverhead much smaller than Datum
-    SubDatum subDatum = datum != null ? DatumUtils.of(datum) : null;
-    String encode = "";
-    Compressor compressor =
-        compressDatumService.getCompressor(subDatum, request.getAcceptEncodes());
-    if (compressor != null) {
-      encode = compressor.getEncoding();
-    }
-    SubDatum zipDatum = DatumUtils.compressSubDatum(subDatum, compressor);
+    SubDatum zipDatum = compressDatumService.getEncodedSubDatum(datum, request.getAcceptEncodes());
     GET_DATUM_Y_COUNTER.inc();
-    if (subDatum != null) {
+    if (zipDatum != null) {
       LOGGER.info(
           "getD,{},{},{},{},encode={},dataBoxSize={},encodeSize={}",
           dataInfoId,
           dataCenter,
-          subDatum.mustGetPublishers().size(),
-          subDatum.getVersion(),
-          CompressUtils.normalizeEncode(encode),
+          zipDatum.getPubNum(),
+          zipDatum.getVersion(),
+          CompressUtils.normalizeEncode(CompressDatumService.encodingOf(zipDatum)),
           zipDatum.getDataBoxBytes(),
           zipDatum.size());
-      GET_PUBLISHER_COUNTER.inc(subDatum.mustGetPublishers().size());
+      GET_PUBLISHER_COUNTER.inc(zipDatum.getPubNum());
     } else {
       LOGGER.info("getNilD,{},{}", dataInfoId, dataCenter);
     }
@@ -0,0 +1,98 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alipay.sofa.registry.server.data.remoting.sessionserver.handler;
+
+import static com.alipay.sofa.registry.server.data.remoting.sessionserver.handler.HandlerMetrics.GetVersion.*;
+
+import com.alipay.sofa.registry.common.model.dataserver.DatumVersionDelta;
+import com.alipay.sofa.registry.common.model.dataserver.GetDataVersionDeltaRequest;
+import com.alipay.sofa.registry.common.model.slot.SlotAccess;
+import com.alipay.sofa.registry.common.model.slot.SlotAccessGenericResponse;
+import com.alipay.sofa.registry.log.Logger;
+import com.alipay.sofa.registry.remoting.Channel;
+import com.alipay.sofa.registry.server.data.change.DatumVersionStream;
+import com.alipay.sofa.registry.util.ParaCheckUtil;
+import com.google.common.annotations.VisibleForTesting;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadPoolExecutor;
+import org.springframework.beans.factory.annotation.Autowired;
+
+/** processor to get the changed versions of the slot from the version stream */
+public class GetDataVersionDeltaHandler extends AbstractDataHandler<GetDataVersionDeltaRequest> {
+  private static final Logger LOGGER = DataLog.GET_LOGGER;
+
+  @Autowired private DatumVersionStream datumVersionStream;
+
+  @Autowired private ThreadPoolExecutor getDataProcessorExecutor;
+
+  @Override
+  public Executor getExecutor() {
+    return getDataProcessorExecutor;
+  }
+
+  @Override
+  public void checkParam(GetDataVersionDeltaRequest request) {
+    ParaCheckUtil.checkNonNegative(request.getSlotId(), "GetDataVersionDeltaRequest.slotId");
+    ParaCheckUtil.checkNotBlank(request.getDataCenter(), "GetDataVersionDeltaRequest.dataCenter");
+    checkSessionProcessId(request.getSessionProcessId());
+  }
+
+  @Override
+  public Object doHandle(Channel channel, GetDataVersionDeltaRequest request) {
+    processSessionProcessId(channel, request.getSessionProcessId());
+    final int slotId = request.getSlotId();
+    final String dataCenter = request.getDataCenter();
+    final SlotAccess slotAccessBefore =
+        checkAccess(slotId, request.getSlotTableEpoch(), request.getSlotLeaderEpoch());
+    if (!slotAccessBefore.isAccept()) {
+      return SlotAccessGenericResponse.failedResponse(slotAccessBefore);
+    }
+    final DatumVersionDelta delta =
+        datumVersionStream.delta(
+            dataCenter,
+            slotId,
+            slotAccessBefore.getSlotLeaderEpoch(),
+            request.getStreamId(),
+            request.getSeq());
+    // double check slot access, @see GetDataHandler
+    final SlotAccess slotAccessAfter =
+        checkAccess(slotId, request.getSlotTableEpoch(), request.getSlotLeaderEpoch());
+    if (slotAccessAfter.getSlotLeaderEpoch() != slotAccessBefore.getSlotLeaderEpoch()) {
+      return SlotAccessGenericResponse.failedResponse(
+          slotAccessAfter, "slotLeaderEpoch has change, prev=" + slotAccessBefore);
+    }
+    LOGGER.info(
+        "getVDelta,{},{},stream={},seq={},{}",
+        slotId,
+        dataCenter,
+        request.getStreamId(),
+        request.getSeq(),
+        delta);
+    GET_VERSION_DELTA_COUNTER.labels(delta.isReset() ? "Y" : "N").inc();
+    return SlotAccessGenericResponse.successResponse(slotAccessAfter, delta);
+  }
+
+  @Override
+  public Class interest() {
+    return GetDataVersionDeltaRequest.class;
+  }
+
+  @VisibleForTesting
+  void setDatumVersionStream(DatumVersionStream datumVersionStream) {
+    this.datumVersionStream = datumVersionStream;
+  }
+}
@@ -0,0 +1,143 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alipay.sofa.registry.server.data.remoting.sessionserver.handler;
+
+import static com.alipay.sofa.registry.server.data.remoting.sessionserver.handler.HandlerMetrics.GetData.*;
+
+import com.alipay.sofa.registry.common.model.GenericResponse;
+import com.alipay.sofa.registry.common.model.dataserver.Datum;
+import com.alipay.sofa.registry.common.model.dataserver.GetMultiDataRequest;
+import com.alipay.sofa.registry.common.model.dataserver.MultiSubDatum;
+import com.alipay.sofa.registry.common.model.slot.SlotAccess;
+import com.alipay.sofa.registry.common.model.store.SubDatum;
+import com.alipay.sofa.registry.compress.CompressUtils;
+import com.alipay.sofa.registry.log.Logger;
+import com.alipay.sofa.registry.remoting.Channel;
+import com.alipay.sofa.registry.server.data.cache.DatumCache;
+import com.alipay.sofa.registry.server.data.providedata.CompressDatumService;
+import com.alipay.sofa.registry.util.ParaCheckUtil;
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.collect.Maps;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadPoolExecutor;
+import javax.annotation.Resource;
+import org.springframework.beans.factory.annotation.Autowired;
+
+/**
+ * processor to get multi data of the slots, the slot access is checked once per slot and the
+ * rejected slots do not fail the others
+ */
+public class GetMultiDataHandler extends AbstractDataHandler<GetMultiDataRequest> {
+  private static final Logger LOGGER = DataLog.GET_LOGGER;
+  @Autowired private DatumCache datumCache;
+
+  @Autowired private ThreadPoolExecutor getDataProcessorExecutor;
+
+  @Resource private CompressDatumService compressDatumService;
+
+  @Override
+  public Executor getExecutor() {
+    return getDataProcessorExecutor;
+  }
+
+  @Override
+  public void checkParam(GetMultiDataRequest request) {
+    ParaCheckUtil.checkNotBlank(request.getDataCenter(), "GetMultiDataRequest.dataCenter");
+    ParaCheckUtil.checkNotEmpty(
+        request.getSlotDataInfoIds().keySet(), "GetMultiDataRequest.slotDataInfoIds");
+    checkSessionProcessId(request.getSessionProcessId());
+  }
+
+  @Override
+  public Object doHandle(Channel channel, GetMultiDataRequest request) {
+    processSessionProcessId(channel, request.getSessionProcessId());
+    final String dataCenter = request.getDataCenter();
+    final MultiSubDatum result = new MultiSubDatum();
+    for (Map.Entry<Integer, List<String>> e : request.getSlotDataInfoIds().entrySet()) {
+      final int slotId = e.getKey();
+      final long slotLeaderEpoch = request.getSlotLeaderEpoch(slotId);
+      final SlotAccess slotAccessBefore =
+          checkAccess(slotId, request.getSlotTableEpoch(), slotLeaderEpoch);
+      if (!slotAccessBefore.isAccept()) {
+        GET_DATUM_N_COUNTER.inc(e.getValue().size());
+        result.putRejectedSlot(slotId, slotAccessBefore);
+        continue;
+      }
+      Map<String, Datum> datums = Maps.newHashMapWithExpectedSize(e.getValue().size());
+      for (String dataInfoId : e.getValue()) {
+        // the dataInfoId not belongs to the slot is absent in the result
+        if (slotManager.slotOf(dataInfoId) == slotId) {
+          datums.put(dataInfoId, datumCache.get(dataCenter, dataInfoId));
+        }
+      }
+      // double check slot access, @see GetDataHandler
+      final SlotAccess slotAccessAfter =
+          checkAccess(slotId, request.getSlotTableEpoch(), slotLeaderEpoch);
+      if (slotAccessAfter.getSlotLeaderEpoch() != slotAccessBefore.getSlotLeaderEpoch()) {
+        GET_DATUM_N_COUNTER.inc(e.getValue().size());
+        result.putRejectedSlot(slotId, slotAccessAfter);
+        continue;
+      }
+      for (Map.Entry<String, Datum> datum : datums.entrySet()) {
+        result.putDatum(
+            datum.getKey(),
+            toSubDatum(datum.getKey(), dataCenter, datum.getValue(), request.getAcceptEncodes()));
+      }
+    }
+    GET_MULTI_DATUM_COUNTER.inc();
+    return new GenericResponse<MultiSubDatum>().fillSucceed(result);
+  }
+
+  private SubDatum toSubDatum(
+      String dataInfoId, String dataCenter, Datum datum, String[] acceptEncodes) {
+    // the compression is decided per datum, as same as GetDataHandler
+    SubDatum zipDatum = compressDatumService.getEncodedSubDatum(datum, acceptEncodes);
+    GET_DATUM_Y_COUNTER.inc();
+    if (zipDatum != null) {
+      LOGGER.info(
+          "getMD,{},{},{},{},encode={},dataBoxSize={},encodeSize={}",
+          dataInfoId,
+          dataCenter,
+          zipDatum.getPubNum(),
+          zipDatum.getVersion(),
+          CompressUtils.normalizeEncode(CompressDatumService.encodingOf(zipDatum)),
+          zipDatum.getDataBoxBytes(),
+          zipDatum.size());
+      GET_PUBLISHER_COUNTER.inc(zipDatum.getPubNum());
+    } else {
+      LOGGER.info("getMNilD,{},{}", dataInfoId, dataCenter);
+    }
+    return zipDatum;
+  }
+
+  @Override
+  public Class interest() {
+    return GetMultiDataRequest.class;
+  }
+
+  @VisibleForTesting
+  void setDatumCache(DatumCache datumCache) {
+    this.datumCache = datumCache;
+  }
+
+  @VisibleForTesting
+  void setCompressDatumService(CompressDatumService service) {
+    this.compressDatumService = service;
+  }
+}
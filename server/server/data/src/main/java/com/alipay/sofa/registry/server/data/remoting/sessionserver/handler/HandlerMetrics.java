@@ -41,6 +41,14 @@ public final class HandlerMetrics {
             .name("getP_total")
             .help("session get publisher")
             .register();
+
+    static final Counter GET_MULTI_DATUM_COUNTER =
+        Counter.build()
+            .namespace("data")
+            .subsystem("remote")
+            .name("getMD_total")
+            .help("session get multi datum")
+            .register();
   }
 
   static final class GetVersion {
@@ -51,5 +59,14 @@ public final class HandlerMetrics {
             .name("getV_total")
             .help("session get versions")
             .register();
+
+    static final Counter GET_VERSION_DELTA_COUNTER =
+        Counter.build()
+            .namespace("data")
+            .subsystem("remote")
+            .name("getV_delta_total")
+            .help("session get version deltas")
+            .labelNames("reset")
+            .register();
   }
 }
@@ -25,10 +25,13 @@ import com.alipay.sofa.registry.common.model.PublisherDigestUtil;
 import com.alipay.sofa.registry.common.model.RegisterVersion;
 import com.alipay.sofa.registry.common.model.dataserver.DatumDigest;
 import com.alipay.sofa.registry.common.model.dataserver.DatumSummary;
+import com.alipay.sofa.registry.common.model.slot.DataSlotDiffBucketDigestRequest;
+import com.alipay.sofa.registry.common.model.slot.DataSlotDiffBucketDigestResult;
 import com.alipay.sofa.registry.common.model.slot.DataSlotDiffDigestRequest;
 import com.alipay.sofa.registry.common.model.slot.DataSlotDiffDigestResult;
 import com.alipay.sofa.registry.common.model.slot.DataSlotDiffPublisherRequest;
 import com.alipay.sofa.registry.common.model.slot.DataSlotDiffPublisherResult;
+import com.alipay.sofa.registry.common.model.slot.SlotDigestTree;
 import com.alipay.sofa.registry.common.model.store.Publisher;
 import com.alipay.sofa.registry.common.model.store.WordCache;
 import com.alipay.sofa.registry.log.Logger;
@@ -62,7 +65,11 @@ public final class SlotDiffSyncer {
   private final DataChangeEventCenter dataChangeEventCenter;
   private final SessionLeaseManager sessionLeaseManager;
 
-  SlotDiffSyncer(
+  // the peers which support the commutative digest, learned from the digest responses. the sorted
+  // digest is sent until the peer responds, so the old peers never receive the commutative one
+  private final Set<String> commutativePeers = Sets.newConcurrentHashSet();
+
+  public SlotDiffSyncer(
       DataServerConfig dataServerConfig,
       DatumStorage datumStorage,
       DataChangeEventCenter dataChangeEventCenter,
@@ -125,9 +132,10 @@ public final class SlotDiffSyncer {
           changeDataIds, DataChangeType.SYNC, dataServerConfig.getLocalDataCenter());
     }
     DIFF_LOGGER.info(
-        "DiffPublisher, slotId={} from {}, updatedP {}:{}, removedP {}:{}",
+        "DiffPublisher, slotId={} from {}, resume={}, updatedP {}:{}, removedP {}:{}",
         slotId,
         targetAddress,
+        result.getResumeDataInfoId(),
         result.getUpdatedPublishers().size(),
         result.getUpdatedPublishersCount(),
         result.getRemovedPublishersCount(),
@@ -146,6 +154,9 @@ public final class SlotDiffSyncer {
       boolean syncSession) {
     // need the empty dataInfoId to add updatePublisher
     Map<String, DatumSummary> round = pickSummaries(summaryMap, maxPublishers);
+    // the large datum is synced in chunks, continue after the resume token
+    String resumeDataInfoId = null;
+    String resumeRegisterId = null;
     // sync for the existing dataInfoIds.publisher
     while (!summaryMap.isEmpty()) {
       if (!continues.continues()) {
@@ -160,6 +171,10 @@ public final class SlotDiffSyncer {
       }
       DataSlotDiffPublisherRequest request =
           new DataSlotDiffPublisherRequest(slotTableEpoch, slotId, round.values());
+      if (dataServerConfig.isSlotSyncPublisherChunkEnabled()) {
+        request.setResumable(true);
+        request.setResume(resumeDataInfoId, resumeRegisterId);
+      }
 
       GenericResponse<DataSlotDiffPublisherResult> resp =
           (GenericResponse<DataSlotDiffPublisherResult>)
@@ -173,10 +188,25 @@ public final class SlotDiffSyncer {
         // the sync round has finish, enter next round
         round.keySet().forEach(d -> summaryMap.remove(d));
         round = pickSummaries(summaryMap, maxPublishers);
+        resumeDataInfoId = null;
+        resumeRegisterId = null;
       } else {
         // has remain, remove the synced dataInfoIds, enter next round
         Set<String> synced = result.syncDataInfoIds();
+        final String resume = result.getResumeDataInfoId();
+        if (resume != null) {
+          resumeDataInfoId = resume;
+          resumeRegisterId = result.getResumeRegisterId();
+        } else if (resumeDataInfoId != null && synced.contains(resumeDataInfoId)) {
+          // the last chunk of the datum has synced
+          resumeDataInfoId = null;
+          resumeRegisterId = null;
+        }
         for (String dataInfoId : synced) {
+          if (dataInfoId.equals(resume)) {
+            // the datum has remain chunks, keep it in the round
+            continue;
+          }
           round.remove(dataInfoId);
           summaryMap.remove(dataInfoId);
         }
@@ -195,14 +225,136 @@ public final class SlotDiffSyncer {
       SyncContinues continues,
       Map<String, DatumSummary> summaryMap) {
     final boolean syncSession = summaryTargetIp != null;
+    // the commutative digest is maintained by storage, the sorted digest is for the old version
+    final boolean commutative = isCommutativeDigest(targetAddress);
+    Map<String, DatumDigest> digestMap = PublisherDigestUtil.digest(summaryMap, commutative);
+    if (isBucketDigestEnabled(targetAddress)) {
+      long[] buckets = SlotDigestTree.buckets(digestMap, SlotDigestTree.DEFAULT_BUCKET_NUM);
+      DataSlotDiffBucketDigestResult bucketResult =
+          syncBucketDigest(slotId, targetAddress, exchanger, slotTableEpoch, buckets);
+      if (bucketResult != null) {
+        if (bucketResult.isEmpty()) {
+          // the root is the same
+          return true;
+        }
+        final Set<Integer> diffBuckets = Sets.newHashSet(bucketResult.getDiffBuckets());
+        summaryMap =
+            SlotDigestTree.filter(summaryMap, SlotDigestTree.DEFAULT_BUCKET_NUM, diffBuckets);
+        digestMap =
+            SlotDigestTree.filter(digestMap, SlotDigestTree.DEFAULT_BUCKET_NUM, diffBuckets);
+        return syncDigest(
+            slotId,
+            targetAddress,
+            exchanger,
+            slotTableEpoch,
+            syncSession,
+            maxPublishers,
+            continues,
+            summaryMap,
+            digestMap,
+            commutative,
+            diffBuckets);
+      }
+    }
+    return syncDigest(
+        slotId,
+        targetAddress,
+        exchanger,
+        slotTableEpoch,
+        syncSession,
+        maxPublishers,
+        continues,
+        summaryMap,
+        digestMap,
+        commutative,
+        null);
+  }
+
+  boolean isCommutativeDigest(String targetAddress) {
+    return !dataServerConfig.isSlotSyncDigestCompatible()
+        && commutativePeers.contains(targetAddress);
+  }
+
+  private boolean isBucketDigestEnabled(String targetAddress) {
+    // the merkle digest depends on the commutative digest
+    return dataServerConfig.isSlotSyncBucketDigestEnabled() && isCommutativeDigest(targetAddress);
+  }
+
+  /**
+   * compare the merkle digest of the slot
+   *
+   * @return null if the target not support or failed, should fallback to the full digest
+   */
+  DataSlotDiffBucketDigestResult syncBucketDigest(
+      int slotId,
+      String targetAddress,
+      ClientSideExchanger exchanger,
+      long slotTableEpoch,
+      long[] buckets) {
+    try {
+      DataSlotDiffBucketDigestRequest request =
+          new DataSlotDiffBucketDigestRequest(slotTableEpoch, slotId, buckets);
+      Object respObj = exchanger.requestRaw(targetAddress, request).getResult();
+      GenericResponse resp = respObj instanceof GenericResponse ? (GenericResponse) respObj : null;
+      if (resp == null
+          || !resp.isSuccess()
+          || !(resp.getData() instanceof DataSlotDiffBucketDigestResult)) {
+        // the fallback is harmless, not warn in every round
+        DIFF_LOGGER.info(
+            "DiffBucketDigestFallback, slotId={} from {}, resp={}", slotId, targetAddress, respObj);
+        return null;
+      }
+      DataSlotDiffBucketDigestResult result = (DataSlotDiffBucketDigestResult) resp.getData();
+      if (result.getBucketNum() != buckets.length) {
+        LOGGER.warn(
+            "DiffBucketDigest bucketNum not match, slotId={} from {}, {}!={}",
+            slotId,
+            targetAddress,
+            result.getBucketNum(),
+            buckets.length);
+        return null;
+      }
+      // sync from session
+      final ProcessId sessionProcessId = result.getSessionProcessId();
+      if (sessionProcessId != null) {
+        sessionLeaseManager.renewSession(sessionProcessId);
+      }
+      DIFF_LOGGER.info(
+          "DiffBucketDigest, slotId={} from {}, diffBuckets={}",
+          slotId,
+          targetAddress,
+          result.getDiffBuckets().size());
+      return result;
+    } catch (Throwable e) {
+      DIFF_LOGGER.info(
+          "DiffBucketDigestFallback, slotId={} from {}, {}", slotId, targetAddress, e.getMessage());
+      return null;
+    }
+  }
+
+  private boolean syncDigest(
+      int slotId,
+      String targetAddress,
+      ClientSideExchanger exchanger,
+      long slotTableEpoch,
+      boolean syncSession,
+      int maxPublishers,
+      SyncContinues continues,
+      Map<String, DatumSummary> summaryMap,
+      Map<String, DatumDigest> digestMap,
+      boolean commutative,
+      Set<Integer> diffBuckets) {
     if (syncSession) {
       SyncSession.observeSyncSessionId(slotId, summaryMap.size());
     } else {
       SyncLeader.observeSyncLeaderId(slotId, summaryMap.size());
     }
-    Map<String, DatumDigest> digestMap = PublisherDigestUtil.digest(summaryMap);
     DataSlotDiffDigestRequest request =
         new DataSlotDiffDigestRequest(slotTableEpoch, slotId, digestMap);
+    request.setCommutativeDigest(commutative);
+    if (diffBuckets != null) {
+      request.setBuckets(SlotDigestTree.DEFAULT_BUCKET_NUM, diffBuckets);
+    }
     Response exchangeResp = exchanger.requestRaw(targetAddress, request);
     GenericResponse<DataSlotDiffDigestResult> resp =
         (GenericResponse<DataSlotDiffDigestResult>) exchangeResp.getResult();
@@ -250,6 +402,12 @@ public final class SlotDiffSyncer {
       return null;
     }
     DataSlotDiffDigestResult result = resp.getData();
+    if (result.isCommutativeDigestSupported()) {
+      commutativePeers.add(targetAddress);
+    } else {
+      // the peer maybe rollback to the old version
+      commutativePeers.remove(targetAddress);
+    }
 
     // sync from session
     final ProcessId sessionProcessId = result.getSessionProcessId();
@@ -344,6 +502,39 @@ public final class SlotDiffSyncer {
       SyncContinues continues)
       throws RequestException {
     ParaCheckUtil.checkNotBlank(slotLeaderIp, "slotLeaderIp");
+    if (isBucketDigestEnabled(slotLeaderIp)) {
+      // use the buckets maintained by storage, avoid to build the summary when the slot is same
+      DataSlotDiffBucketDigestResult bucketResult =
+          syncBucketDigest(
+              slotId,
+              slotLeaderIp,
+              exchanger,
+              slotTableEpoch,
+              datumStorage.getDigestBuckets(slotId));
+      if (bucketResult != null) {
+        if (bucketResult.isEmpty()) {
+          return true;
+        }
+        final Set<Integer> diffBuckets = Sets.newHashSet(bucketResult.getDiffBuckets());
+        Map<String, DatumSummary> summary =
+            SlotDigestTree.filter(
+                datumStorage.getDatumSummary(slotId),
+                SlotDigestTree.DEFAULT_BUCKET_NUM,
+                diffBuckets);
+        return syncDigest(
+            slotId,
+            slotLeaderIp,
+            exchanger,
+            slotTableEpoch,
+            false,
+            dataServerConfig.getSlotSyncPublisherDigestMaxNum(),
+            continues,
+            summary,
+            PublisherDigestUtil.digest(summary, true),
+            true,
+            diffBuckets);
+      }
+    }
     Map<String, DatumSummary> summary = datumStorage.getDatumSummary(slotId);
     return sync(
         slotId,
@@ -119,22 +119,25 @@ public final class SlotManagerImpl implements SlotManager {
 
   void initExecutors() {
     this.migrateSessionExecutor =
-        new KeyedThreadPoolExecutor(
+        KeyedThreadPoolExecutor.newExecutor(
             "migrate-session",
             dataServerConfig.getSlotLeaderSyncSessionExecutorThreadSize(),
-            dataServerConfig.getSlotLeaderSyncSessionExecutorQueueSize());
+            dataServerConfig.getSlotLeaderSyncSessionExecutorQueueSize(),
+            dataServerConfig.isKeyedExecutorWorkStealing());
 
     this.syncSessionExecutor =
-        new KeyedThreadPoolExecutor(
+        KeyedThreadPoolExecutor.newExecutor(
             "sync-session",
             dataServerConfig.getSlotLeaderSyncSessionExecutorThreadSize(),
-            dataServerConfig.getSlotLeaderSyncSessionExecutorQueueSize());
+            dataServerConfig.getSlotLeaderSyncSessionExecutorQueueSize(),
+            dataServerConfig.isKeyedExecutorWorkStealing());
 
     this.syncLeaderExecutor =
-        new KeyedThreadPoolExecutor(
+        KeyedThreadPoolExecutor.newExecutor(
             "sync-leader",
             dataServerConfig.getSlotFollowerSyncLeaderExecutorThreadSize(),
-            dataServerConfig.getSlotFollowerSyncLeaderExecutorQueueSize());
+            dataServerConfig.getSlotFollowerSyncLeaderExecutorQueueSize(),
+            dataServerConfig.isKeyedExecutorWorkStealing());
   }
 
   @Override
@@ -376,9 +379,19 @@ public final class SlotManagerImpl implements SlotManager {
     final int syncLeaderIntervalMs =
         dataServerConfig.getSlotFollowerSyncLeaderIntervalSecs() * 1000;
     final long slotTableEpoch = slotTableStates.table.getEpoch();
-    for (SlotState slotState : slotTableStates.slotStates.values()) {
+    final SyncBudget sessionBudget =
+        new SyncBudget(dataServerConfig.getMigratingMaxConcurrencyPerSession());
+    final SyncBudget leaderBudget =
+        new SyncBudget(dataServerConfig.getSyncLeaderMaxConcurrencyPerLeader());
+    for (SlotState slotState : prioritySlotStates(sessionBudget, leaderBudget)) {
       try {
-        sync(slotState, syncSessionIntervalMs, syncLeaderIntervalMs, slotTableEpoch);
+        sync(
+            slotState,
+            syncSessionIntervalMs,
+            syncLeaderIntervalMs,
+            slotTableEpoch,
+            sessionBudget,
+            leaderBudget);
       } catch (Throwable e) {
         SYNC_ERROR_LOGGER.error(
             "[syncCommit]failed to do sync slot {}, migrated={}",
@@ -389,11 +402,76 @@ public final class SlotManagerImpl implements SlotManager {
     }
   }
 
+  /**
+   * order the slots of one round: the migrating leader slots first, the one with more publishers
+   * first; then the follower slots which have not synced from leader yet; the others at last. the
+   * running tasks occupy the budgets at the same time
+   *
+   * @param sessionBudget
+   * @param leaderBudget
+   * @return
+   */
+  List<SlotState> prioritySlotStates(SyncBudget sessionBudget, SyncBudget leaderBudget) {
+    final List<SlotState> migratings = Lists.newArrayList();
+    final List<SlotState> newFollowers = Lists.newArrayList();
+    final List<SlotState> others = Lists.newArrayList();
+    final Map<Integer, Integer> pubCounts = Maps.newHashMap();
+    for (SlotState slotState : slotTableStates.slotStates.values()) {
+      for (MigratingTask mtask : slotState.migratingTasks.values()) {
+        if (!mtask.task.isFinished()) {
+          sessionBudget.occupy(mtask.sessionIp);
+        }
+      }
+      final Slot slot = slotState.slot;
+      if (localIsLeader(slot)) {
+        if (slotState.migrated) {
+          others.add(slotState);
+        } else {
+          migratings.add(slotState);
+          pubCounts.put(slotState.slotId, localDatumStorage.getPubCount(slotState.slotId));
+        }
+        continue;
+      }
+      final KeyedTask<SyncLeaderTask> syncLeaderTask = slotState.syncLeaderTask;
+      if (syncLeaderTask != null && !syncLeaderTask.isFinished()) {
+        leaderBudget.occupy(slot.getLeader());
+      }
+      if (slotState.lastSuccessLeaderSyncTime < 0) {
+        newFollowers.add(slotState);
+      } else {
+        others.add(slotState);
+      }
+    }
+    migratings.sort((a, b) -> Integer.compare(pubCounts.get(b.slotId), pubCounts.get(a.slotId)));
+    List<SlotState> ret =
+        Lists.newArrayListWithCapacity(migratings.size() + newFollowers.size() + others.size());
+    ret.addAll(migratings);
+    ret.addAll(newFollowers);
+    ret.addAll(others);
+    return ret;
+  }
+
   boolean sync(
       SlotState slotState,
       int syncSessionIntervalMs,
       int syncLeaderIntervalMs,
       long slotTableEpoch) {
+    return sync(
+        slotState,
+        syncSessionIntervalMs,
+        syncLeaderIntervalMs,
+        slotTableEpoch,
+        SyncBudget.unlimited(),
+        SyncBudget.unlimited());
+  }
+
+  boolean sync(
+      SlotState slotState,
+      int syncSessionIntervalMs,
+      int syncLeaderIntervalMs,
+      long slotTableEpoch,
+      SyncBudget sessionBudget,
+      SyncBudget leaderBudget) {
     final Slot slot = slotState.slot;
     if (localIsLeader(slot)) {
       final KeyedTask<SyncLeaderTask> syncLeaderTask = slotState.syncLeaderTask;
@@ -406,15 +484,15 @@ public final class SlotManagerImpl implements SlotManager {
       final Set<String> sessions = metaServerService.getSessionServerList();
       if (slotState.migrated) {
 
-        syncSessions(slotState, sessions, syncSessionIntervalMs, slotTableEpoch);
+        syncSessions(slotState, sessions, syncSessionIntervalMs, slotTableEpoch, sessionBudget);
       } else {
-        syncMigrating(slotState, sessions, syncSessionIntervalMs, slotTableEpoch);
+        syncMigrating(slotState, sessions, syncSessionIntervalMs, slotTableEpoch, sessionBudget);
         // check all migrating task
         checkMigratingTask(slotState, sessions);
       }
     } else {
       // sync leader
-      syncLeader(slotState, syncLeaderIntervalMs, slotTableEpoch);
+      syncLeader(slotState, syncLeaderIntervalMs, slotTableEpoch, leaderBudget);
     }
     return true;
   }
@@ -438,8 +516,15 @@ public final class SlotManagerImpl implements SlotManager {
     }
 
     // check all migrating task
-    if (slotState.migratingTasks.isEmpty() || sessions.isEmpty()) {
-      LOGGER.warn("sessionNodes or migratingTask is empty when migrating, {}", slot);
+    if (sessions.isEmpty()) {
+      LOGGER.warn("sessionNodes is empty when migrating, {}", slot);
+      return false;
+    }
+    final int successCount = slotState.countAnywaySuccess(sessions);
+    observeLeaderMigratingProgress(slotState.slotId, sessions.size(), successCount, span);
+    if (slotState.migratingTasks.isEmpty()) {
+      // all sessions are waiting for the budget
+      LOGGER.warn("migratingTask is empty when migrating, {}", slot);
       return false;
     }
     // TODO the session down and up in a short time. session.processId is important
@@ -525,7 +610,8 @@ public final class SlotManagerImpl implements SlotManager {
       SlotState slotState,
       Collection<String> sessions,
       int syncSessionIntervalMs,
-      long slotTableEpoch) {
+      long slotTableEpoch,
+      SyncBudget sessionBudget) {
     final Slot slot = slotState.slot;
     if (slotState.migratingStartTime == 0) {
       slotState.migratingStartTime = System.currentTimeMillis();
@@ -541,6 +627,11 @@ public final class SlotManagerImpl implements SlotManager {
     for (String sessionIp : sessions) {
       MigratingTask mtask = slotState.migratingTasks.get(sessionIp);
       if (mtask == null) {
+        if (!sessionBudget.tryAcquire(sessionIp)) {
+          // the session is busy with other migrating slots, start it later
+          observeSyncDeferred("migrate");
+          continue;
+        }
         KeyedTask<SyncSessionTask> ktask =
             commitSyncSessionTask(slot, slotTableEpoch, sessionIp, null, true);
         mtask = new MigratingTask(sessionIp, ktask);
@@ -554,6 +645,10 @@ public final class SlotManagerImpl implements SlotManager {
         if (triggerEmergencyMigrating(slotState, sessions, mtask, notSyncedCount)) {
           LOGGER.info("[emergency]{},session={}", slotState.slotId, mtask.sessionIp);
         } else {
+          if (!sessionBudget.tryAcquire(sessionIp)) {
+            observeSyncDeferred("migrate");
+            continue;
+          }
           KeyedTask<SyncSessionTask> ktask =
               commitSyncSessionTask(slot, slotTableEpoch, sessionIp, null, true);
           mtask.task = ktask;
@@ -582,11 +677,17 @@ public final class SlotManagerImpl implements SlotManager {
       SlotState slotState,
       Collection<String> sessions,
       int syncSessionIntervalMs,
-      long slotTableEpoch) {
+      long slotTableEpoch,
+      SyncBudget sessionBudget) {
 
     final Set<String> doSyncSet = Sets.newHashSetWithExpectedSize(16);
     for (String sessionIp : sessions) {
       if (needSessionSync(slotState, sessionIp, syncSessionIntervalMs)) {
+        if (sessionBudget.isExhausted(sessionIp)) {
+          // the migrating has priority over the steady sync
+          observeSyncDeferred("session");
+          continue;
+        }
         doSyncSet.add(sessionIp);
       }
     }
@@ -634,13 +735,19 @@ public final class SlotManagerImpl implements SlotManager {
     return task == null || task.isOverAfter(syncSessionIntervalMs);
   }
 
-  private void syncLeader(SlotState slotState, int syncLeaderIntervalMs, long slotTableEpoch) {
+  private void syncLeader(
+      SlotState slotState, int syncLeaderIntervalMs, long slotTableEpoch, SyncBudget leaderBudget) {
     final Slot slot = slotState.slot;
     final KeyedTask<SyncLeaderTask> syncLeaderTask = slotState.syncLeaderTask;
     if (syncLeaderTask != null && syncLeaderTask.isFinished()) {
       slotState.completeSyncLeaderTask();
     }
     if (syncLeaderTask == null || syncLeaderTask.isOverAfter(syncLeaderIntervalMs)) {
+      if (!leaderBudget.tryAcquire(slot.getLeader())) {
+        // the leader is busy with other syncing slots, sync it later
+        observeSyncDeferred("leader");
+        return;
+      }
       // sync leader no need to notify event
       SlotDiffSyncer syncer =
           new SlotDiffSyncer(dataServerConfig, localDatumStorage, null, sessionLeaseManager);
@@ -749,6 +856,18 @@ public final class SlotManagerImpl implements SlotManager {
       return count;
     }
 
+    int countAnywaySuccess(Collection<String> sessions) {
+      int count = 0;
+      for (String session : sessions) {
+        MigratingTask t = migratingTasks.get(session);
+        // contains forceSuccess
+        if (t != null && (t.forceSuccess || t.task.isSuccess())) {
+          count++;
+        }
+      }
+      return count;
+    }
+
     boolean isAnywaySuccess(Collection<String> sessions) {
       if (sessions.isEmpty()) {
         return false;
@@ -948,6 +1067,11 @@ public final class SlotManagerImpl implements SlotManager {
     return ServerEnv.isLocalServer(slot.getLeader());
   }
 
+  @VisibleForTesting
+  SlotState getSlotState(int slotId) {
+    return slotTableStates.slotStates.get(slotId);
+  }
+
   @VisibleForTesting
   void setMetaServerService(MetaServerServiceImpl metaServerService) {
     this.metaServerService = metaServerService;
@@ -76,6 +76,33 @@ public final class SlotMetrics {
             .buckets(3, 5, 10, 20, 30, 60, 120, 180, 240)
             .register();
 
+    private static final Gauge LEADER_MIGRATING_PROGRESS_GAUGE =
+        Gauge.build()
+            .namespace("data")
+            .subsystem("slot")
+            .name("leader_migrating_progress")
+            .help("ratio of sessions finish migrating")
+            .labelNames("slot")
+            .register();
+
+    private static final Gauge LEADER_MIGRATING_ETA_GAUGE =
+        Gauge.build()
+            .namespace("data")
+            .subsystem("slot")
+            .name("leader_migrating_eta_secs")
+            .help("estimated remaining seconds of migrating, -1 means unknown")
+            .labelNames("slot")
+            .register();
+
+    private static final Counter SYNC_DEFERRED_COUNTER =
+        Counter.build()
+            .namespace("data")
+            .subsystem("slot")
+            .name("sync_deferred_total")
+            .help("count sync deferred by the concurrency budget")
+            .labelNames("type")
+            .register();
+
     static void observeLeaderUpdateCounter() {
       LEADER_UPDATE_COUNTER.inc();
     }
@@ -93,7 +120,22 @@ public final class SlotMetrics {
     }
 
     static void observeLeaderMigratingFinish(int slotId) {
-      LEADER_MIGRATING_GAUGE.labels(String.valueOf(slotId)).set(0);
+      final String slot = String.valueOf(slotId);
+      LEADER_MIGRATING_GAUGE.labels(slot).set(0);
+      LEADER_MIGRATING_PROGRESS_GAUGE.labels(slot).set(1);
+      LEADER_MIGRATING_ETA_GAUGE.labels(slot).set(0);
+    }
+
+    static void observeLeaderMigratingProgress(int slotId, int total, int success, long millis) {
+      final String slot = String.valueOf(slotId);
+      LEADER_MIGRATING_PROGRESS_GAUGE.labels(slot).set(total == 0 ? 0 : (double) success / total);
+      // estimate by the average span of the finished sessions
+      final double eta = success == 0 ? -1 : millis / 1000d * (total - success) / success;
+      LEADER_MIGRATING_ETA_GAUGE.labels(slot).set(eta);
+    }
+
+    static void observeSyncDeferred(String type) {
+      SYNC_DEFERRED_COUNTER.labels(type).inc();
     }
 
     static void observeLeaderMigratingFail(int slotId, String sessionIp) {
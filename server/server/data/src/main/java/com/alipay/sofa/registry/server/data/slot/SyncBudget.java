@@ -0,0 +1,58 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alipay.sofa.registry.server.data.slot;
+
+import com.google.common.collect.Maps;
+import java.util.Map;
+
+/**
+ * counts the running tasks by target during one round of sync watching, bounds how many tasks could
+ * hit the same target at the same time. maxPerTarget <= 0 means no limit
+ */
+final class SyncBudget {
+  private final int maxPerTarget;
+  private final Map<String, Integer> runnings = Maps.newHashMap();
+
+  SyncBudget(int maxPerTarget) {
+    this.maxPerTarget = maxPerTarget;
+  }
+
+  /** record a task which is already running on the target */
+  void occupy(String target) {
+    runnings.merge(target, 1, Integer::sum);
+  }
+
+  boolean tryAcquire(String target) {
+    if (isExhausted(target)) {
+      return false;
+    }
+    occupy(target);
+    return true;
+  }
+
+  boolean isExhausted(String target) {
+    return maxPerTarget > 0 && running(target) >= maxPerTarget;
+  }
+
+  int running(String target) {
+    return runnings.getOrDefault(target, 0);
+  }
+
+  static SyncBudget unlimited() {
+    return new SyncBudget(0);
+  }
+}
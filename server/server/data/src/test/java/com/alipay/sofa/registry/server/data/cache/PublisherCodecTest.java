@@ -0,0 +1,99 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alipay.sofa.registry.server.data.cache;
+
+import com.alipay.sofa.registry.common.model.PublishSource;
+import com.alipay.sofa.registry.common.model.PublishType;
+import com.alipay.sofa.registry.common.model.ServerDataBox;
+import com.alipay.sofa.registry.common.model.store.BaseInfo;
+import com.alipay.sofa.registry.common.model.store.Publisher;
+import com.alipay.sofa.registry.common.model.store.URL;
+import com.alipay.sofa.registry.server.data.TestBaseUtils;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.Arrays;
+import java.util.Map;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class PublisherCodecTest {
+
+  @Test
+  public void testAllFields() throws Exception {
+    Publisher publisher = TestBaseUtils.createTestPublisher("testDataInfoId");
+    publisher.setClientId("testClientId");
+    publisher.setCell("testCell");
+    publisher.setAppName("testApp");
+    publisher.setProcessId("testProcessId");
+    publisher.setClientRegisterTimestamp(System.currentTimeMillis() - 1000);
+    publisher.setClientVersion(BaseInfo.ClientVersion.StoreData);
+    publisher.setPublishType(PublishType.TEMPORARY);
+    publisher.setPublishSource(PublishSource.DATUM_SYNCER);
+    publisher.setSourceAddress(new URL(URL.ProtocolType.BOLT, "127.0.0.1", 9999, URL.PROTOBUF));
+    Map<String, String> attributes = Maps.newHashMap();
+    attributes.put("testKey", "testValue");
+    publisher.setAttributes(attributes);
+    ServerDataBox empty = new ServerDataBox();
+    publisher.setDataList(Lists.newArrayList(new ServerDataBox(new byte[] {1, 2, 3}), null, empty));
+
+    PublisherCodec codec = PublisherEnvelopeTest.codecOf(publisher);
+    byte[] bytes = codec.encode(publisher);
+    Assert.assertNotNull(bytes);
+    Publisher decoded = codec.decode(bytes, publisher.getSessionProcessId());
+
+    // make sure the new fields of the publisher are encoded
+    for (Class<?> clazz : Arrays.asList(BaseInfo.class, Publisher.class)) {
+      for (Field field : clazz.getDeclaredFields()) {
+        if (Modifier.isStatic(field.getModifiers())) {
+          continue;
+        }
+        field.setAccessible(true);
+        Assert.assertEquals(field.getName(), field.get(publisher), field.get(decoded));
+      }
+    }
+    Assert.assertEquals(
+        publisher.getSourceAddress().getSerializerIndex(),
+        decoded.getSourceAddress().getSerializerIndex());
+    // interned by the setters
+    Assert.assertTrue(publisher.getCell() == decoded.getCell());
+    Assert.assertTrue(publisher.getAppName() == decoded.getAppName());
+    Assert.assertTrue(
+        publisher.getSourceAddress().getIpAddress() == decoded.getSourceAddress().getIpAddress());
+    Assert.assertTrue(codec.dataInfoId == decoded.getDataInfoId());
+  }
+
+  @Test
+  public void testNotEncode() {
+    Publisher publisher = TestBaseUtils.createTestPublisher("testDataInfoId");
+    PublisherCodec codec = PublisherEnvelopeTest.codecOf(publisher);
+    publisher.setDataList(Lists.newArrayList(new ServerDataBox("testDataBox")));
+    Assert.assertNull(codec.encode(publisher));
+
+    Publisher other = TestBaseUtils.createTestPublisher("testOtherDataInfoId");
+    Assert.assertNull(codec.encode(other));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testTruncated() {
+    Publisher publisher = TestBaseUtils.createTestPublisher("testDataInfoId");
+    PublisherCodec codec = PublisherEnvelopeTest.codecOf(publisher);
+    byte[] bytes = codec.encode(publisher);
+    codec.decode(Arrays.copyOf(bytes, bytes.length / 2), publisher.getSessionProcessId());
+  }
+}
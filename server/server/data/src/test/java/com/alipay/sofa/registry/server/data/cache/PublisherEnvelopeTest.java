@@ -18,11 +18,13 @@ package com.alipay.sofa.registry.server.data.cache;
 
 import com.alipay.sofa.registry.common.model.ConnectId;
 import com.alipay.sofa.registry.common.model.ProcessId;
+import com.alipay.sofa.registry.common.model.ServerDataBox;
 import com.alipay.sofa.registry.common.model.store.Publisher;
 import com.alipay.sofa.registry.common.model.store.UnPublisher;
 import com.alipay.sofa.registry.server.data.TestBaseUtils;
 import com.alipay.sofa.registry.server.shared.env.ServerEnv;
 import com.alipay.sofa.registry.util.ParaCheckUtil;
+import com.google.common.collect.Lists;
 import org.junit.Assert;
 import org.junit.Test;
 
@@ -69,4 +71,67 @@ public class PublisherEnvelopeTest {
     Assert.assertFalse(envelope.isConnectId(publisher.connectId()));
     Assert.assertFalse(envelope.isConnectId(ConnectId.of("127.0.0.1:9999", "127.0.0.2:9997")));
   }
+
+  @Test
+  public void testCompact() {
+    Publisher publisher = TestBaseUtils.createTestPublisher("testDataInfoId");
+    publisher.setDataList(Lists.newArrayList(new ServerDataBox("testDataBox".getBytes())));
+    PublisherEnvelope envelope = PublisherEnvelope.of(publisher, codecOf(publisher));
+    ParaCheckUtil.checkNotBlank(envelope.toString(), "tostring");
+    Assert.assertNull(envelope.publisher);
+    Assert.assertTrue(envelope.isCompact());
+    Assert.assertTrue(envelope.isPub());
+    Assert.assertEquals(publisher.registerVersion(), envelope.getVersionIfPub());
+    Assert.assertTrue(envelope.isConnectId(publisher.connectId()));
+    Assert.assertFalse(envelope.isConnectId(ConnectId.of("127.0.0.1:9999", "127.0.0.2:9997")));
+
+    Publisher decoded = envelope.getPublisher();
+    Assert.assertTrue(decoded != publisher);
+    Assert.assertEquals(publisher.getRegisterId(), decoded.getRegisterId());
+    Assert.assertEquals(publisher.getDataInfoId(), decoded.getDataInfoId());
+    Assert.assertEquals(publisher.registerVersion(), decoded.registerVersion());
+    Assert.assertEquals(publisher.getSessionProcessId(), decoded.getSessionProcessId());
+    Assert.assertEquals(publisher.getDataList(), decoded.getDataList());
+    Assert.assertEquals(publisher.connectId(), decoded.connectId());
+
+    // the dataBox holds an object, keep the object
+    Publisher objectData = TestBaseUtils.cloneBase(publisher);
+    objectData.setDataList(Lists.newArrayList(new ServerDataBox("testDataBox")));
+    envelope = PublisherEnvelope.of(objectData, codecOf(publisher));
+    Assert.assertFalse(envelope.isCompact());
+    Assert.assertTrue(envelope.getPublisher() == objectData);
+
+    envelope = PublisherEnvelope.of(UnPublisher.of(publisher), codecOf(publisher));
+    Assert.assertFalse(envelope.isCompact());
+    Assert.assertFalse(envelope.isPub());
+    Assert.assertNull(envelope.getPublisher());
+  }
+
+  @Test
+  public void testCompactDataList() {
+    Publisher publisher = TestBaseUtils.createTestPublisher("testDataInfoId");
+    publisher.setDataList(Lists.newArrayList(new ServerDataBox("testDataBox".getBytes())));
+    PublisherCodec codec = codecOf(publisher);
+    PublisherEnvelope envelope = PublisherEnvelope.of(publisher, codec);
+
+    Publisher same = TestBaseUtils.cloneBase(publisher);
+    same.setVersion(publisher.getVersion() + 1);
+    same.setDataList(Lists.newArrayList(new ServerDataBox("testDataBox".getBytes())));
+    Assert.assertTrue(envelope.sameCompactDataList(PublisherEnvelope.of(same, codec)));
+
+    Publisher changed = TestBaseUtils.cloneBase(publisher);
+    changed.setDataList(Lists.newArrayList(new ServerDataBox("testDataBox1".getBytes())));
+    Assert.assertFalse(envelope.sameCompactDataList(PublisherEnvelope.of(changed, codec)));
+
+    Publisher nullData = TestBaseUtils.cloneBase(publisher);
+    Assert.assertFalse(envelope.sameCompactDataList(PublisherEnvelope.of(nullData, codec)));
+  }
+
+  static PublisherCodec codecOf(Publisher publisher) {
+    return new PublisherCodec(
+        publisher.getDataInfoId(),
+        publisher.getDataId(),
+        publisher.getInstanceId(),
+        publisher.getGroup());
+  }
 }
@@ -18,21 +18,27 @@ package com.alipay.sofa.registry.server.data.cache;
 
 import com.alipay.sofa.registry.common.model.ConnectId;
 import com.alipay.sofa.registry.common.model.ProcessId;
+import com.alipay.sofa.registry.common.model.PublisherDigestUtil;
 import com.alipay.sofa.registry.common.model.RegisterVersion;
 import com.alipay.sofa.registry.common.model.ServerDataBox;
 import com.alipay.sofa.registry.common.model.dataserver.Datum;
 import com.alipay.sofa.registry.common.model.dataserver.DatumSummary;
 import com.alipay.sofa.registry.common.model.dataserver.DatumVersion;
+import com.alipay.sofa.registry.common.model.slot.SlotDigestTree;
 import com.alipay.sofa.registry.common.model.store.Publisher;
 import com.alipay.sofa.registry.common.model.store.URL;
 import com.alipay.sofa.registry.server.data.TestBaseUtils;
 import com.alipay.sofa.registry.server.shared.env.ServerEnv;
+import com.alipay.sofa.registry.util.ConcurrentUtils;
 import com.alipay.sofa.registry.util.DatumVersionUtil;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Sets;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import org.junit.Assert;
 import org.junit.Test;
 
@@ -399,4 +405,251 @@ public class PublisherGroupTest {
   //        }
   //        return ret;
   //    }
+
+  @Test
+  public void testSnapshot() {
+    final String dataId = "testDataInfoId";
+    Publisher publisher = TestBaseUtils.createTestPublisher(dataId);
+    PublisherGroup group = new PublisherGroup(publisher.getDataInfoId(), "dc");
+    group.addPublisher(publisher);
+
+    Datum datum = group.toDatum();
+    Assert.assertTrue(datum == group.toDatum());
+    Assert.assertEquals(1, datum.publisherSize());
+    TestBaseUtils.assertException(UnsupportedOperationException.class, () -> datum.setVersion(1));
+    TestBaseUtils.assertException(
+        UnsupportedOperationException.class, () -> datum.addPublisher(publisher));
+    TestBaseUtils.assertException(
+        UnsupportedOperationException.class, () -> datum.getPubMap().clear());
+
+    // add same pub, not change
+    group.addPublisher(publisher);
+    Assert.assertTrue(datum == group.toDatum());
+
+    Publisher publisher2 = TestBaseUtils.createTestPublisher(dataId);
+    group.addPublisher(publisher2);
+    Datum datum2 = group.toDatum();
+    Assert.assertTrue(datum != datum2);
+    Assert.assertEquals(2, datum2.publisherSize());
+    Assert.assertEquals(group.getVersion().getValue(), datum2.getVersion());
+    Assert.assertEquals(1, datum.publisherSize());
+
+    DatumVersion v = group.updateVersion();
+    Datum datum3 = group.toDatum();
+    Assert.assertTrue(datum2 != datum3);
+    Assert.assertEquals(v.getValue(), datum3.getVersion());
+
+    group.clean(null, CleanContinues.ALWAYS);
+    Assert.assertEquals(0, group.toDatum().publisherSize());
+  }
+
+  @Test
+  public void testDigest() {
+    final String dataId = "testDataInfoId";
+    Publisher publisher = TestBaseUtils.createTestPublisher(dataId);
+    PublisherGroup group = new PublisherGroup(publisher.getDataInfoId(), "dc");
+    assertDigest(group);
+
+    List<Publisher> publishers = Lists.newArrayList(publisher);
+    for (int i = 0; i < 10; i++) {
+      publishers.add(TestBaseUtils.createTestPublisher(dataId));
+    }
+    group.put(publishers);
+    assertDigest(group);
+
+    Publisher newer = TestBaseUtils.cloneBase(publisher);
+    newer.setVersion(publisher.getVersion() + 1);
+    newer.setDataList(Lists.newArrayList(new ServerDataBox("testDataBox")));
+    Assert.assertNotNull(group.addPublisher(newer));
+    assertDigest(group);
+
+    // unpub by session
+    Assert.assertNotNull(
+        group.remove(
+            ServerEnv.PROCESS_ID,
+            Collections.singletonMap(newer.getRegisterId(), newer.registerVersion())));
+    assertDigest(group);
+
+    // remove by leader
+    Publisher removed = publishers.get(1);
+    Assert.assertNotNull(
+        group.remove(
+            null, Collections.singletonMap(removed.getRegisterId(), removed.registerVersion())));
+    assertDigest(group);
+
+    Assert.assertNotNull(group.clean(ServerEnv.PROCESS_ID, CleanContinues.ALWAYS));
+    assertDigest(group);
+    Assert.assertEquals(group.getAllSummary().size(), 0);
+  }
+
+  @Test
+  public void testConcurrentWrite() throws Exception {
+    final String dataId = "testDataInfoId";
+    final Publisher base = TestBaseUtils.createTestPublisher(dataId);
+    final SlotDigestTree tree = new SlotDigestTree(SlotDigestTree.DEFAULT_BUCKET_NUM);
+    final PublisherGroup group = new PublisherGroup(base.getDataInfoId(), "dc", tree);
+    final List<Publisher> shared = Lists.newArrayList();
+    for (int i = 0; i < 100; i++) {
+      shared.add(TestBaseUtils.createTestPublisher(dataId));
+    }
+    final int threads = 8;
+    final int loops = 500;
+    final long startVersion = group.getVersion().getValue();
+    final CountDownLatch latch = new CountDownLatch(threads);
+    final AtomicInteger errors = new AtomicInteger();
+    for (int t = 0; t < threads; t++) {
+      final int seed = t;
+      Runnable writer =
+          () -> {
+            try {
+              for (int i = 0; i < loops; i++) {
+                group.addPublisher(TestBaseUtils.createTestPublisher(dataId));
+                // the shared registerIds are updated/removed by all the writers
+                Publisher p = shared.get((i + seed) % shared.size());
+                Publisher newer = TestBaseUtils.cloneBase(p);
+                newer.setVersion(p.getVersion() + i);
+                group.addPublisher(newer);
+                if (i % 7 == 0) {
+                  group.remove(
+                      null, Collections.singletonMap(p.getRegisterId(), newer.registerVersion()));
+                }
+                if (i % 50 == 0) {
+                  group.toDatum();
+                }
+              }
+            } catch (Throwable e) {
+              errors.incrementAndGet();
+            } finally {
+              latch.countDown();
+            }
+          };
+      ConcurrentUtils.createDaemonThread("pubGroupWriter-" + t, writer).start();
+    }
+    latch.await();
+    Assert.assertEquals(0, errors.get());
+    assertDigest(group);
+    Datum datum = group.toDatum();
+    Assert.assertEquals(group.getPublishers().size(), datum.publisherSize());
+    Assert.assertTrue(datum.publisherSize() >= threads * loops);
+    Assert.assertTrue(datum.getVersion() > startVersion);
+    Assert.assertEquals(group.getVersion().getValue(), datum.getVersion());
+    Assert.assertTrue(datum.getRecentVersions().size() <= 10);
+
+    // the digest tree is updated by the last writer
+    long[] buckets = tree.snapshot();
+    Assert.assertEquals(
+        SlotDigestTree.hashOf(group.dataInfoId, group.getAllSummary().getCommutativeDigest()),
+        buckets[SlotDigestTree.bucketOf(group.dataInfoId, tree.getBucketNum())]);
+  }
+
+  @Test
+  public void testConcurrentWriteSameRegisterIdOfSessions() throws Exception {
+    final String dataId = "testDataInfoId";
+    final Publisher base = TestBaseUtils.createTestPublisher(dataId);
+    final PublisherGroup group = new PublisherGroup(base.getDataInfoId(), "dc");
+    final ProcessId[] sessions =
+        new ProcessId[] {
+          new ProcessId("10.0.0.1", System.currentTimeMillis(), 100, 1),
+          new ProcessId("10.0.0.2", System.currentTimeMillis(), 200, 2)
+        };
+    final AtomicLong versions = new AtomicLong(base.getVersion());
+    final int loops = 20000;
+    final CountDownLatch latch = new CountDownLatch(sessions.length);
+    final AtomicInteger errors = new AtomicInteger();
+    for (int t = 0; t < sessions.length; t++) {
+      final ProcessId session = sessions[t];
+      Runnable writer =
+          () -> {
+            try {
+              for (int i = 0; i < loops; i++) {
+                // the registerId moves between the sessions
+                Publisher newer = TestBaseUtils.cloneBase(base);
+                newer.setVersion(versions.incrementAndGet());
+                newer.setSessionProcessId(session);
+                group.addPublisher(newer);
+                if (i % 5 == 0) {
+                  group.remove(
+                      session,
+                      Collections.singletonMap(newer.getRegisterId(), newer.registerVersion()));
+                }
+              }
+            } catch (Throwable e) {
+              errors.incrementAndGet();
+            } finally {
+              latch.countDown();
+            }
+          };
+      ConcurrentUtils.createDaemonThread("pubGroupSessionWriter-" + t, writer).start();
+    }
+    latch.await();
+    Assert.assertEquals(0, errors.get());
+    assertDigest(group);
+    for (ProcessId session : sessions) {
+      assertSessionDigest(group, session.getHostAddress());
+    }
+  }
+
+  private static void assertDigest(PublisherGroup group) {
+    DatumSummary summary = group.getAllSummary();
+    DatumSummary calc = new DatumSummary(summary.getDataInfoId(), summary.getPublisherVersions());
+    Assert.assertEquals(
+        summary.getCommutativeDigest(), PublisherDigestUtil.commutativeDigest(calc));
+    assertSessionDigest(group, ServerEnv.PROCESS_ID.getHostAddress());
+  }
+
+  private static void assertSessionDigest(PublisherGroup group, String sessionIp) {
+    DatumSummary summary = group.getSummary(Sets.newHashSet(sessionIp)).get(sessionIp);
+    DatumSummary calc = new DatumSummary(summary.getDataInfoId(), summary.getPublisherVersions());
+    Assert.assertEquals(
+        summary.getCommutativeDigest(), PublisherDigestUtil.commutativeDigest(calc));
+  }
+
+  @Test
+  public void testCompact() {
+    final String dataId = "testDataInfoId";
+    Publisher publisher = TestBaseUtils.createTestPublisher(dataId);
+    PublisherGroup group = new PublisherGroup(publisher.getDataInfoId(), "dc", null, true);
+
+    DatumVersion v = group.addPublisher(publisher);
+    Assert.assertNotNull(v);
+    Assert.assertTrue(group.pubMap.get(publisher.getRegisterId()).isCompact());
+    Datum datum = group.toDatum();
+    Assert.assertEquals(1, datum.publisherSize());
+    Publisher decoded = datum.getPubMap().get(publisher.getRegisterId());
+    Assert.assertTrue(decoded != publisher);
+    Assert.assertEquals(publisher.registerVersion(), decoded.registerVersion());
+    Assert.assertEquals(publisher.getDataList(), decoded.getDataList());
+    Assert.assertEquals(publisher.getRegisterId(), group.getPublishers().get(0).getRegisterId());
+    Assert.assertEquals(1, group.getByConnectId(publisher.connectId()).size());
+    Assert.assertEquals(Collections.singleton(ServerEnv.PROCESS_ID), group.getSessionProcessIds());
+
+    // newer version with the same data, not change
+    Publisher newer = TestBaseUtils.cloneBase(publisher);
+    newer.setVersion(publisher.getVersion() + 1);
+    Assert.assertNull(group.addPublisher(newer));
+
+    // newer version with the different data
+    newer = TestBaseUtils.cloneBase(newer);
+    newer.setDataList(Lists.newArrayList(new ServerDataBox("testDataBox1".getBytes())));
+    newer.setVersion(newer.getVersion() + 1);
+    Assert.assertNotNull(group.addPublisher(newer));
+    Assert.assertTrue(group.pubMap.get(publisher.getRegisterId()).isCompact());
+    Assert.assertEquals(
+        newer.getDataList(),
+        group.toDatum().getPubMap().get(publisher.getRegisterId()).getDataList());
+
+    // newer version with the same encoded data, not change
+    Publisher same = TestBaseUtils.cloneBase(newer);
+    same.setDataList(Lists.newArrayList(new ServerDataBox("testDataBox1".getBytes())));
+    same.setVersion(newer.getVersion() + 1);
+    Assert.assertNull(group.addPublisher(same));
+
+    // the decoded datum is not cached in compact mode
+    Assert.assertTrue(group.toDatum() != group.toDatum());
+    Assert.assertEquals(group.toDatum().getVersion(), group.getVersion().getValue());
+
+    Assert.assertNotNull(group.clean(null, CleanContinues.ALWAYS));
+    Assert.assertTrue(group.getPublishers().isEmpty());
+    Assert.assertEquals(0, group.toDatum().publisherSize());
+  }
 }
@@ -17,9 +17,11 @@
 package com.alipay.sofa.registry.server.data.cache;
 
 import com.alipay.sofa.registry.common.model.ProcessId;
+import com.alipay.sofa.registry.common.model.PublisherDigestUtil;
 import com.alipay.sofa.registry.common.model.dataserver.Datum;
 import com.alipay.sofa.registry.common.model.dataserver.DatumSummary;
 import com.alipay.sofa.registry.common.model.dataserver.DatumVersion;
+import com.alipay.sofa.registry.common.model.slot.SlotDigestTree;
 import com.alipay.sofa.registry.common.model.store.Publisher;
 import com.alipay.sofa.registry.common.model.store.URL;
 import com.alipay.sofa.registry.common.model.store.UnPublisher;
@@ -426,4 +428,39 @@ public class PublisherGroupsTest {
     Assert.assertTrue(groups.getAllDatum().isEmpty());
     Assert.assertTrue(groups.getAllPublisher().isEmpty());
   }
+
+  @Test
+  public void testDigestBuckets() {
+    PublisherGroups groups = new PublisherGroups(testDc);
+    Assert.assertArrayEquals(
+        groups.getDigestBuckets(), new long[SlotDigestTree.DEFAULT_BUCKET_NUM]);
+    List<Publisher> publishers = Lists.newArrayList();
+    for (int i = 0; i < 10; i++) {
+      Publisher publisher = TestBaseUtils.createTestPublisher(testDataId + i);
+      publishers.add(publisher);
+      groups.put(publisher.getDataInfoId(), Collections.singletonList(publisher));
+      groups.put(
+          publisher.getDataInfoId(),
+          Collections.singletonList(TestBaseUtils.createTestPublisher(testDataId + i)));
+    }
+    assertDigestBuckets(groups);
+
+    Publisher removed = publishers.get(0);
+    groups.remove(
+        removed.getDataInfoId(),
+        null,
+        Collections.singletonMap(removed.getRegisterId(), removed.registerVersion()));
+    assertDigestBuckets(groups);
+
+    groups.remove(publishers.get(1).getDataInfoId(), null);
+    assertDigestBuckets(groups);
+  }
+
+  private static void assertDigestBuckets(PublisherGroups groups) {
+    Assert.assertArrayEquals(
+        groups.getDigestBuckets(),
+        SlotDigestTree.buckets(
+            PublisherDigestUtil.digest(groups.getAllSummary(), true),
+            SlotDigestTree.DEFAULT_BUCKET_NUM));
+  }
 }
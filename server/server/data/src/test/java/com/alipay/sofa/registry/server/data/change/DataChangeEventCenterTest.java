@@ -51,6 +51,9 @@ public class DataChangeEventCenterTest {
     this.datumCache = TestBaseUtils.newLocalDatumCache(DC, true);
     center.setDataServerConfig(dataServerConfig);
     center.setDatumCache(datumCache);
+    DatumVersionStream stream = new DatumVersionStream();
+    stream.dataServerConfig = dataServerConfig;
+    center.setDatumVersionStream(stream);
   }
 
   @Test
@@ -103,6 +106,38 @@ public class DataChangeEventCenterTest {
     Assert.assertTrue(ChangeMetrics.CHANGE_SKIP_COUNTER.get() == (pre + 1));
   }
 
+  @Test
+  public void testHandleWindow() {
+    setCenter();
+    dataServerConfig.setNotifyAdaptiveEnabled(true);
+    dataServerConfig.setNotifyIdleMaxItems(2);
+    center.setNotifyWindow(new NotifyWindow(dataServerConfig));
+    center.setNotifyExecutor(TestBaseUtils.rejectExecutor());
+    Server server = Mockito.mock(Server.class);
+    Exchange exchange = Mockito.mock(BoltExchange.class);
+    Mockito.when(exchange.getServer(Mockito.anyInt())).thenReturn(server);
+    center.setExchange(exchange);
+    TestBaseUtils.MockBlotChannel channel = TestBaseUtils.newChannel(9620, "localhost", 1000);
+    Mockito.when(server.selectAllAvailableChannelsForHostAddress())
+        .thenReturn(Collections.singletonMap("localhost", Lists.newArrayList(channel)));
+
+    long now = System.currentTimeMillis();
+    Assert.assertFalse(center.handleWindow(now));
+    // tiny changes, flush immediately
+    center.onChange(Lists.newArrayList("1", "2"), DataChangeType.PUT, DC);
+    Assert.assertEquals(2, center.pendingChangeCount());
+    Assert.assertTrue(center.handleWindow(now));
+    Assert.assertEquals(0, center.pendingChangeCount());
+
+    // more changes, wait the window
+    center.onChange(Lists.newArrayList("1", "2", "3"), DataChangeType.PUT, DC);
+    Assert.assertFalse(center.handleWindow(now + 1));
+    Assert.assertEquals(3, center.pendingChangeCount());
+    Assert.assertFalse(center.handleWindow(now + dataServerConfig.getNotifyMinIntervalMillis()));
+    Assert.assertTrue(center.handleWindow(now + dataServerConfig.getNotifyIntervalMillis()));
+    Assert.assertEquals(0, center.pendingChangeCount());
+  }
+
   @Test
   public void testNotify() {
     setCenter();
@@ -0,0 +1,99 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alipay.sofa.registry.server.data.change;
+
+import com.alipay.sofa.registry.common.model.dataserver.DatumVersion;
+import com.alipay.sofa.registry.common.model.dataserver.DatumVersionDelta;
+import com.alipay.sofa.registry.common.model.slot.func.SlotFunctionRegistry;
+import com.alipay.sofa.registry.server.data.TestBaseUtils;
+import java.util.Collections;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class DatumVersionStreamTest {
+  private static final String DC = "testDc";
+
+  private DatumVersionStream newStream(int capacity) {
+    DatumVersionStream stream = new DatumVersionStream();
+    stream.dataServerConfig = TestBaseUtils.newDataConfig(DC);
+    stream.dataServerConfig.setDatumVersionStreamCapacity(capacity);
+    stream.dataServerConfig.setNotifyMaxItems(2);
+    return stream;
+  }
+
+  @Test
+  public void testDelta() {
+    DatumVersionStream stream = newStream(10);
+    final String dataInfoId = "testDataInfoId";
+    final int slotId = SlotFunctionRegistry.getFunc().slotOf(dataInfoId);
+    // open the stream
+    DatumVersionDelta delta = stream.delta(DC, slotId, 1, 0, 0);
+    Assert.assertTrue(delta.isReset());
+    Assert.assertEquals(0, delta.getSeq());
+    final long streamId = delta.getStreamId();
+
+    delta = stream.delta(DC, slotId, 1, streamId, 0);
+    Assert.assertFalse(delta.isReset());
+    Assert.assertTrue(delta.getVersions().isEmpty());
+
+    stream.append(DC, Collections.singletonMap(dataInfoId, new DatumVersion(10)));
+    stream.append(DC, Collections.singletonMap(dataInfoId, new DatumVersion(20)));
+    delta = stream.delta(DC, slotId, 1, streamId, 0);
+    Assert.assertFalse(delta.isReset());
+    Assert.assertEquals(streamId, delta.getStreamId());
+    Assert.assertEquals(2, delta.getSeq());
+    Assert.assertEquals(
+        Collections.singletonMap(dataInfoId, new DatumVersion(20)), delta.getVersions());
+
+    delta = stream.delta(DC, slotId, 1, streamId, 1);
+    Assert.assertEquals(2, delta.getSeq());
+    Assert.assertEquals(1, delta.getVersions().size());
+
+    // unknown stream or seq
+    Assert.assertTrue(stream.delta(DC, slotId, 1, streamId + 1, 2).isReset());
+    Assert.assertTrue(stream.delta(DC, slotId, 1, streamId, 3).isReset());
+    // leader changed, recreate the stream
+    delta = stream.delta(DC, slotId, 2, streamId, 2);
+    Assert.assertTrue(delta.isReset());
+    Assert.assertNotEquals(streamId, delta.getStreamId());
+  }
+
+  @Test
+  public void testEvict() {
+    DatumVersionStream stream = newStream(3);
+    final String dataInfoId = "testDataInfoId";
+    final int slotId = SlotFunctionRegistry.getFunc().slotOf(dataInfoId);
+    final long streamId = stream.delta(DC, slotId, 1, 0, 0).getStreamId();
+    for (int i = 0; i < 3; i++) {
+      stream.append(DC, Collections.singletonMap(dataInfoId + i, new DatumVersion(i + 1)));
+    }
+    DatumVersionStream.SlotVersionLog log = stream.getLog(DC, slotId);
+    // the changes of other slots are not in the log
+    Assert.assertTrue(log.size() <= 3);
+
+    for (int i = 0; i < 4; i++) {
+      stream.append(DC, Collections.singletonMap(dataInfoId, new DatumVersion(i + 10)));
+    }
+    Assert.assertEquals(3, log.size());
+    // the changes after seq=0 has been evicted
+    Assert.assertTrue(stream.delta(DC, slotId, 1, streamId, 0).isReset());
+    DatumVersionDelta delta = stream.delta(DC, slotId, 1, streamId, log.getSeq() - 3);
+    Assert.assertFalse(delta.isReset());
+    Assert.assertEquals(log.getSeq(), delta.getSeq());
+    Assert.assertEquals(new DatumVersion(13), delta.getVersions().get(dataInfoId));
+  }
+}
@@ -0,0 +1,118 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alipay.sofa.registry.server.data.change;
+
+import com.alipay.sofa.registry.server.data.TestBaseUtils;
+import com.alipay.sofa.registry.server.data.bootstrap.DataServerConfig;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class NotifyWindowTest {
+
+  private DataServerConfig newConfig() {
+    DataServerConfig config = TestBaseUtils.newDataConfig("testDc");
+    config.setNotifyAdaptiveEnabled(true);
+    config.setNotifyMinIntervalMillis(100);
+    config.setNotifyIntervalMillis(800);
+    config.setNotifyIdleMaxItems(10);
+    config.setNotifyMaxItems(100);
+    config.setNotifyAdaptiveMaxItems(400);
+    config.setNotifyAdaptiveMaxFlushes(4);
+    return config;
+  }
+
+  @Test
+  public void testIdle() {
+    NotifyWindow window = new NotifyWindow(newConfig());
+    Assert.assertNull(window.nextFlush(0, true, 1000));
+    Assert.assertEquals(NotifyWindow.Path.Idle, window.nextFlush(1, true, 1000));
+    Assert.assertEquals(NotifyWindow.Path.Idle, window.nextFlush(10, true, 1000));
+    window.onFlush(NotifyWindow.Path.Idle, 10, 1000);
+    // executor busy, wait the window
+    Assert.assertNull(window.nextFlush(1, false, 1050));
+    // too many pending
+    Assert.assertNull(window.nextFlush(11, true, 1050));
+    Assert.assertEquals(NotifyWindow.Path.Batch, window.nextFlush(1, false, 1800));
+    Assert.assertEquals(100, window.getTickMillis());
+  }
+
+  @Test
+  public void testBudget() {
+    NotifyWindow window = new NotifyWindow(newConfig());
+    for (int i = 0; i < 4; i++) {
+      Assert.assertEquals(NotifyWindow.Path.Idle, window.nextFlush(1, true, 1000 + i));
+      window.onFlush(NotifyWindow.Path.Idle, 1, 1000 + i);
+    }
+    // out of the budget in the interval
+    Assert.assertNull(window.nextFlush(1, true, 1010));
+    Assert.assertNull(window.nextFlush(10000, false, 1799));
+    Assert.assertEquals(NotifyWindow.Path.Idle, window.nextFlush(1, true, 1800));
+    Assert.assertEquals(800, window.getWindowMillis());
+  }
+
+  @Test
+  public void testAdapt() {
+    NotifyWindow window = new NotifyWindow(newConfig());
+    // start at the interval
+    Assert.assertEquals(800, window.getWindowMillis());
+    Assert.assertEquals(100, window.getMaxItems());
+    long now = 1000;
+    // shrink when the budget is not used, bounded
+    for (int i = 0; i < 5; i++) {
+      Assert.assertEquals(NotifyWindow.Path.Batch, window.nextFlush(20, false, now));
+      window.onFlush(NotifyWindow.Path.Batch, 20, now);
+      now += 800;
+    }
+    Assert.assertEquals(100, window.getWindowMillis());
+
+    // grow under load, bounded
+    Assert.assertEquals(NotifyWindow.Path.Batch, window.nextFlush(10000, false, now));
+    window.onFlush(NotifyWindow.Path.Batch, 10000, now);
+    for (int i = 1; i < 4; i++) {
+      Assert.assertNull(window.nextFlush(10000, false, now + i * 100 - 1));
+      Assert.assertEquals(NotifyWindow.Path.Batch, window.nextFlush(10000, false, now + i * 100));
+      window.onFlush(NotifyWindow.Path.Batch, 10000, now + i * 100);
+    }
+    Assert.assertEquals(400, window.getMaxItems());
+    Assert.assertNull(window.nextFlush(10000, false, now + 400));
+    Assert.assertEquals(NotifyWindow.Path.Batch, window.nextFlush(10000, false, now + 800));
+    Assert.assertEquals(200, window.getWindowMillis());
+
+    // middle load, keep
+    window.onFlush(NotifyWindow.Path.Batch, 200, now + 800);
+    Assert.assertEquals(400, window.getMaxItems());
+
+    // shrink the batch size when the flush is small, bounded
+    for (int i = 0; i < 10; i++) {
+      window.onFlush(NotifyWindow.Path.Batch, 1, now + 800);
+    }
+    Assert.assertEquals(100, window.getMaxItems());
+  }
+
+  @Test
+  public void testDisabled() {
+    DataServerConfig config = newConfig();
+    config.setNotifyAdaptiveEnabled(false);
+    NotifyWindow window = new NotifyWindow(config);
+    Assert.assertNull(window.nextFlush(0, true, 1000));
+    Assert.assertEquals(NotifyWindow.Path.Batch, window.nextFlush(1, true, 1000));
+    window.onFlush(NotifyWindow.Path.Batch, 10000, 1000);
+    Assert.assertEquals(800, window.getWindowMillis());
+    Assert.assertEquals(800, window.getTickMillis());
+    Assert.assertEquals(100, window.getMaxItems());
+  }
+}
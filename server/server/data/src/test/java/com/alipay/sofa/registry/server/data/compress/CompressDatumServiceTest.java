@@ -18,8 +18,12 @@ package com.alipay.sofa.registry.server.data.compress;
 
 import com.alipay.sofa.registry.common.model.ServerDataBox;
 import com.alipay.sofa.registry.common.model.constants.ValueConstants;
+import com.alipay.sofa.registry.common.model.dataserver.Datum;
 import com.alipay.sofa.registry.common.model.metaserver.ProvideData;
+import com.alipay.sofa.registry.common.model.store.Publisher;
+import com.alipay.sofa.registry.common.model.store.SubDatum;
 import com.alipay.sofa.registry.compress.CompressConstants;
+import com.alipay.sofa.registry.server.data.TestBaseUtils;
 import com.alipay.sofa.registry.server.data.providedata.CompressDatumService;
 import org.junit.Assert;
 import org.junit.Test;
@@ -57,4 +61,41 @@ public class CompressDatumServiceTest extends CompressDatumService {
         new ProvideData(new ServerDataBox(""), ValueConstants.COMPRESS_PUSH_SWITCH_DATA_ID, 4L));
     Assert.assertTrue(getCompressSwitch().isEnabled());
   }
+
+  @Test
+  public void testEncodedSubDatum() {
+    Assert.assertNull(getEncodedSubDatum(null, new String[] {CompressConstants.encodingZstd}));
+    Publisher publisher = TestBaseUtils.createTestPublisher("testEncodedSubDatum");
+    Datum datum = new Datum(publisher, "testDc", 10);
+    final String[] encodes = new String[] {CompressConstants.encodingZstd};
+
+    SubDatum plain = getEncodedSubDatum(datum, encodes);
+    Assert.assertNull(plain.getZipPublishers());
+    Assert.assertEquals(1, plain.getPubNum());
+    Assert.assertEquals(10, plain.getVersion());
+    // hit the cache of the same version
+    Assert.assertSame(plain, getEncodedSubDatum(datum, encodes));
+
+    // the version bump misses the cache
+    datum.setVersion(11);
+    SubDatum next = getEncodedSubDatum(datum, encodes);
+    Assert.assertNotSame(plain, next);
+    Assert.assertEquals(11, next.getVersion());
+
+    doProcess(
+        storage.get(),
+        new ProvideData(
+            new ServerDataBox("{\"enabled\": true, \"compressMinSize\": 0}"),
+            ValueConstants.COMPRESS_DATUM_SWITCH_DATA_ID,
+            2L));
+    SubDatum zip = getEncodedSubDatum(datum, encodes);
+    Assert.assertNotNull(zip.getZipPublishers());
+    Assert.assertEquals(CompressConstants.encodingZstd, encodingOf(zip));
+    Assert.assertEquals(1, zip.getPubNum());
+    Assert.assertSame(zip, getEncodedSubDatum(datum, encodes));
+    // the session not accept the encoding gets the plain one
+    SubDatum unzip = getEncodedSubDatum(datum, new String[] {"unknown"});
+    Assert.assertNull(unzip.getZipPublishers());
+    Assert.assertEquals("", encodingOf(unzip));
+  }
 }
@@ -0,0 +1,209 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alipay.sofa.registry.server.data.remoting.dataserver.handler;
+
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyInt;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.alipay.sofa.registry.common.model.GenericResponse;
+import com.alipay.sofa.registry.common.model.Node;
+import com.alipay.sofa.registry.common.model.slot.DataSlotDiffBucketDigestRequest;
+import com.alipay.sofa.registry.common.model.slot.DataSlotDiffBucketDigestResult;
+import com.alipay.sofa.registry.common.model.slot.DataSlotDiffDigestRequest;
+import com.alipay.sofa.registry.common.model.slot.DataSlotDiffPublisherRequest;
+import com.alipay.sofa.registry.common.model.slot.SlotDigestTree;
+import com.alipay.sofa.registry.common.model.store.Publisher;
+import com.alipay.sofa.registry.remoting.ChannelHandler;
+import com.alipay.sofa.registry.remoting.exchange.message.Response;
+import com.alipay.sofa.registry.server.data.TestBaseUtils;
+import com.alipay.sofa.registry.server.data.cache.LocalDatumStorage;
+import com.alipay.sofa.registry.server.data.change.DataChangeEventCenter;
+import com.alipay.sofa.registry.server.data.lease.SessionLeaseManager;
+import com.alipay.sofa.registry.server.data.remoting.DataNodeExchanger;
+import com.alipay.sofa.registry.server.data.slot.SlotDiffSyncer;
+import com.alipay.sofa.registry.server.data.slot.SlotManager;
+import com.google.common.collect.Lists;
+import java.util.List;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class SlotFollowerDiffBucketDigestRequestHandlerTest {
+  private static final int SLOT_ID = 10;
+  private static final String LEADER = "testLeader";
+
+  @Test
+  public void testCheckParam() {
+    SlotFollowerDiffBucketDigestRequestHandler handler = newHandler();
+    TestBaseUtils.assertException(
+        IllegalArgumentException.class,
+        () -> {
+          handler.checkParam(request(-1, new long[1]));
+        });
+    TestBaseUtils.assertException(
+        IllegalArgumentException.class,
+        () -> {
+          handler.checkParam(request(1, new long[0]));
+        });
+    handler.checkParam(request(1, new long[1]));
+  }
+
+  @Test
+  public void testHandle() {
+    SlotFollowerDiffBucketDigestRequestHandler handler = newHandler();
+    LocalDatumStorage storage = TestBaseUtils.newLocalStorage("testDc", true);
+    handler.setLocalDatumStorage(storage);
+    SlotManager slotManager = mock(SlotManager.class);
+    handler.setSlotManager(slotManager);
+    TestBaseUtils.MockBlotChannel channel = TestBaseUtils.newChannel(9620, "localhost", 8888);
+    List<Publisher> publishers = TestBaseUtils.createTestPublishers(SLOT_ID, 2);
+    storage.put(publishers.get(0).getDataInfoId(), publishers);
+    long[] buckets = storage.getDigestBuckets(SLOT_ID);
+
+    // not leader
+    GenericResponse resp = (GenericResponse) handler.doHandle(channel, request(SLOT_ID, buckets));
+    Assert.assertFalse(resp.isSuccess());
+
+    when(slotManager.isLeader(anyInt())).thenReturn(true);
+    resp = (GenericResponse) handler.doHandle(channel, request(SLOT_ID, buckets));
+    Assert.assertTrue(resp.isSuccess());
+    Assert.assertTrue(((DataSlotDiffBucketDigestResult) resp.getData()).isEmpty());
+
+    resp = (GenericResponse) handler.doHandle(channel, request(SLOT_ID, new long[buckets.length]));
+    Assert.assertTrue(resp.isSuccess());
+    Assert.assertEquals(
+        Lists.newArrayList(
+            SlotDigestTree.bucketOf(
+                publishers.get(0).getDataInfoId(), SlotDigestTree.DEFAULT_BUCKET_NUM)),
+        ((DataSlotDiffBucketDigestResult) resp.getData()).getDiffBuckets());
+  }
+
+  @Test
+  public void testSyncRoundTrip() throws Exception {
+    LocalDatumStorage leader = TestBaseUtils.newLocalStorage("testDc", true);
+    LocalDatumStorage follower = TestBaseUtils.newLocalStorage("testDc", true);
+    List<List<Publisher>> datums = Lists.newArrayList();
+    for (int i = 0; i < 50; i++) {
+      List<Publisher> publishers = TestBaseUtils.createTestPublishers(SLOT_ID, 2);
+      leader.put(publishers.get(0).getDataInfoId(), publishers);
+      follower.put(publishers.get(0).getDataInfoId(), publishers);
+      datums.add(publishers);
+    }
+    List<Object> requests = Lists.newArrayList();
+    DataNodeExchanger exchanger = leaderExchanger(leader, requests);
+    SlotDiffSyncer syncer =
+        new SlotDiffSyncer(
+            follower.getDataServerConfig(),
+            follower,
+            new DataChangeEventCenter(),
+            new SessionLeaseManager());
+
+    // the first round negotiates the commutative digest, without the bucket digest
+    Assert.assertTrue(syncer.syncSlotLeader(SLOT_ID, LEADER, exchanger, 1, () -> true));
+    Assert.assertFalse(requests.get(0) instanceof DataSlotDiffBucketDigestRequest);
+
+    // update a publisher and add a datum in the leader
+    Publisher updated = TestBaseUtils.cloneBase(datums.get(0).get(0));
+    updated.setVersion(updated.getVersion() + 1);
+    leader.put(updated);
+    List<Publisher> added = TestBaseUtils.createTestPublishers(SLOT_ID, 2);
+    leader.put(added.get(0).getDataInfoId(), added);
+
+    requests.clear();
+    Assert.assertTrue(syncer.syncSlotLeader(SLOT_ID, LEADER, exchanger, 1, () -> true));
+    Assert.assertTrue(requests.get(0) instanceof DataSlotDiffBucketDigestRequest);
+    DataSlotDiffDigestRequest digestRequest = (DataSlotDiffDigestRequest) requests.get(1);
+    Assert.assertTrue(digestRequest.isCommutativeDigest());
+    // only the datums in the diff buckets
+    Assert.assertTrue(digestRequest.getBuckets().size() <= 2);
+    Assert.assertTrue(digestRequest.getDatumDigest().size() < datums.size());
+    Assert.assertTrue(requests.get(2) instanceof DataSlotDiffPublisherRequest);
+    Assert.assertEquals(
+        updated.getVersion(),
+        follower
+            .get(updated.getDataInfoId())
+            .getPubMap()
+            .get(updated.getRegisterId())
+            .getVersion());
+    Assert.assertEquals(2, follower.get(added.get(0).getDataInfoId()).publisherSize());
+
+    // the same root, only the bucket digest
+    requests.clear();
+    Assert.assertTrue(syncer.syncSlotLeader(SLOT_ID, LEADER, exchanger, 1, () -> true));
+    Assert.assertEquals(1, requests.size());
+  }
+
+  private static DataNodeExchanger leaderExchanger(
+      LocalDatumStorage leader, List<Object> requests) {
+    SlotManager slotManager = mock(SlotManager.class);
+    when(slotManager.isLeader(anyInt())).thenReturn(true);
+    SlotFollowerDiffBucketDigestRequestHandler bucketHandler =
+        new SlotFollowerDiffBucketDigestRequestHandler();
+    bucketHandler.setLocalDatumStorage(leader);
+    bucketHandler.setSlotManager(slotManager);
+    SlotFollowerDiffDigestRequestHandler digestHandler = new SlotFollowerDiffDigestRequestHandler();
+    digestHandler.setLocalDatumStorage(leader);
+    digestHandler.setSlotManager(slotManager);
+    SlotFollowerDiffPublisherRequestHandler publisherHandler =
+        new SlotFollowerDiffPublisherRequestHandler();
+    publisherHandler.setLocalDatumStorage(leader);
+    publisherHandler.setSlotManager(slotManager);
+    publisherHandler.setDataServerConfig(leader.getDataServerConfig());
+
+    DataNodeExchanger exchanger = mock(DataNodeExchanger.class);
+    when(exchanger.requestRaw(anyString(), any()))
+        .thenAnswer(
+            invocation -> {
+              Object request = invocation.getArguments()[1];
+              requests.add(request);
+              final Object result;
+              if (request instanceof DataSlotDiffBucketDigestRequest) {
+                result = bucketHandler.doHandle(null, (DataSlotDiffBucketDigestRequest) request);
+              } else if (request instanceof DataSlotDiffDigestRequest) {
+                result = digestHandler.doHandle(null, (DataSlotDiffDigestRequest) request);
+              } else {
+                result = publisherHandler.doHandle(null, (DataSlotDiffPublisherRequest) request);
+              }
+              return new Response() {
+                @Override
+                public Object getResult() {
+                  return result;
+                }
+              };
+            });
+    return exchanger;
+  }
+
+  private SlotFollowerDiffBucketDigestRequestHandler newHandler() {
+    SlotFollowerDiffBucketDigestRequestHandler handler =
+        new SlotFollowerDiffBucketDigestRequestHandler();
+    Assert.assertNull(handler.getExecutor());
+    Assert.assertEquals(handler.interest(), DataSlotDiffBucketDigestRequest.class);
+    Assert.assertEquals(handler.getConnectNodeType(), Node.NodeType.DATA);
+    Assert.assertEquals(handler.getType(), ChannelHandler.HandlerType.PROCESSER);
+    Assert.assertEquals(handler.getInvokeType(), ChannelHandler.InvokeType.SYNC);
+    GenericResponse failed = (GenericResponse) handler.buildFailedResponse("msg");
+    Assert.assertFalse(failed.isSuccess());
+    return handler;
+  }
+
+  private static DataSlotDiffBucketDigestRequest request(int slotId, long[] buckets) {
+    return new DataSlotDiffBucketDigestRequest(1, slotId, buckets);
+  }
+}
@@ -0,0 +1,128 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alipay.sofa.registry.server.data.remoting.sessionserver.handler;
+
+import static org.mockito.Matchers.anyLong;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.alipay.sofa.registry.common.model.GenericResponse;
+import com.alipay.sofa.registry.common.model.Node;
+import com.alipay.sofa.registry.common.model.dataserver.GetMultiDataRequest;
+import com.alipay.sofa.registry.common.model.dataserver.MultiSubDatum;
+import com.alipay.sofa.registry.common.model.store.Publisher;
+import com.alipay.sofa.registry.common.model.store.SubDatum;
+import com.alipay.sofa.registry.server.data.TestBaseUtils;
+import com.alipay.sofa.registry.server.data.cache.DatumCache;
+import com.alipay.sofa.registry.server.data.change.DataChangeEventCenter;
+import com.alipay.sofa.registry.server.data.lease.SessionLeaseManager;
+import com.alipay.sofa.registry.server.data.providedata.CompressDatumService;
+import com.alipay.sofa.registry.server.data.slot.SlotManager;
+import com.alipay.sofa.registry.server.shared.env.ServerEnv;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class GetMultiDataHandlerTest {
+
+  @Test
+  public void testCheckParam() {
+    GetMultiDataHandler handler = newHandler();
+    TestBaseUtils.assertException(
+        IllegalArgumentException.class,
+        () -> {
+          handler.checkParam(new GetMultiDataRequest(ServerEnv.PROCESS_ID, "testDc", 1));
+        });
+
+    TestBaseUtils.assertException(
+        IllegalArgumentException.class,
+        () -> {
+          GetMultiDataRequest request = new GetMultiDataRequest(ServerEnv.PROCESS_ID, null, 1);
+          request.add(1, 1, "xx");
+          handler.checkParam(request);
+        });
+
+    GetMultiDataRequest request = new GetMultiDataRequest(ServerEnv.PROCESS_ID, "testDc", 1);
+    request.add(1, 1, "xx");
+    handler.checkParam(request);
+  }
+
+  private GetMultiDataHandler newHandler() {
+    GetMultiDataHandler handler = new GetMultiDataHandler();
+    Assert.assertNull(handler.getExecutor());
+    Assert.assertEquals(handler.interest(), GetMultiDataRequest.class);
+    Assert.assertEquals(handler.getConnectNodeType(), Node.NodeType.SESSION);
+    handler.sessionLeaseManager = new SessionLeaseManager();
+    handler.slotManager = mock(SlotManager.class);
+    DatumCache datumCache = TestBaseUtils.newLocalDatumCache("testDc", true);
+    handler.setDatumCache(datumCache);
+    handler.setCompressDatumService(new CompressDatumService());
+    handler.localDatumStorage = datumCache.getLocalDatumStorage();
+    handler.dataChangeEventCenter = new DataChangeEventCenter();
+    handler.dataServerConfig = TestBaseUtils.newDataConfig("testDc");
+    return handler;
+  }
+
+  @Test
+  public void testHandle() {
+    GetMultiDataHandler handler = newHandler();
+    TestBaseUtils.MockBlotChannel channel = TestBaseUtils.newChannel(9620, "localhost", 8888);
+    Publisher pub = TestBaseUtils.createTestPublishers(1, 1).get(0);
+    handler.localDatumStorage.put(pub);
+
+    when(handler.slotManager.slotOf(pub.getDataInfoId())).thenReturn(1);
+    when(handler.slotManager.slotOf("nilDataId")).thenReturn(1);
+    when(handler.slotManager.slotOf("otherSlotDataId")).thenReturn(3);
+    when(handler.slotManager.slotOf("movedDataId")).thenReturn(2);
+    when(handler.slotManager.checkSlotAccess(eq(1), anyLong(), anyLong()))
+        .thenReturn(TestBaseUtils.accept());
+    when(handler.slotManager.checkSlotAccess(eq(2), anyLong(), anyLong()))
+        .thenReturn(TestBaseUtils.moved());
+
+    GetMultiDataRequest request = new GetMultiDataRequest(ServerEnv.PROCESS_ID, "testDc", 1);
+    request.add(1, 1, pub.getDataInfoId());
+    request.add(1, 1, "nilDataId");
+    request.add(1, 1, "otherSlotDataId");
+    request.add(2, 1, "movedDataId");
+    Assert.assertEquals(4, request.dataInfoIdSize());
+    Assert.assertTrue(request.toString(), request.toString().contains("testDc"));
+
+    GenericResponse<MultiSubDatum> resp =
+        (GenericResponse<MultiSubDatum>) handler.doHandle(channel, request);
+    Assert.assertTrue(resp.isSuccess());
+    MultiSubDatum result = resp.getData();
+    Assert.assertEquals(2, result.getDatums().size());
+    SubDatum subDatum = result.getDatums().get(pub.getDataInfoId());
+    Assert.assertEquals(subDatum.mustGetPublishers().size(), 1);
+    Assert.assertEquals(subDatum.mustGetPublishers().get(0).getRegisterId(), pub.getRegisterId());
+    Assert.assertTrue(result.getDatums().containsKey("nilDataId"));
+    Assert.assertNull(result.getDatums().get("nilDataId"));
+    Assert.assertFalse(result.getDatums().containsKey("otherSlotDataId"));
+    Assert.assertFalse(result.getDatums().containsKey("movedDataId"));
+    Assert.assertEquals(1, result.getRejectedSlots().size());
+    Assert.assertEquals(
+        TestBaseUtils.moved().getStatus(), result.getRejectedSlots().get(2).getStatus());
+
+    // the leader changed in the getting
+    when(handler.slotManager.checkSlotAccess(eq(1), anyLong(), anyLong()))
+        .thenReturn(TestBaseUtils.accept(), TestBaseUtils.migrating(1, 10, 100));
+    resp = (GenericResponse<MultiSubDatum>) handler.doHandle(channel, request);
+    Assert.assertTrue(resp.isSuccess());
+    Assert.assertTrue(resp.getData().getDatums().isEmpty());
+    Assert.assertEquals(2, resp.getData().getRejectedSlots().size());
+  }
+}
@@ -27,6 +27,7 @@ import com.alipay.sofa.registry.common.model.slot.DataSlotDiffDigestRequest;
 import com.alipay.sofa.registry.common.model.slot.DataSlotDiffDigestResult;
 import com.alipay.sofa.registry.common.model.slot.DataSlotDiffPublisherRequest;
 import com.alipay.sofa.registry.common.model.slot.DataSlotDiffPublisherResult;
+import com.alipay.sofa.registry.common.model.slot.DataSlotDiffUtils;
 import com.alipay.sofa.registry.common.model.store.Publisher;
 import com.alipay.sofa.registry.remoting.exchange.message.Response;
 import com.alipay.sofa.registry.server.data.TestBaseUtils;
@@ -90,11 +91,11 @@ public class SlotDiffSyncerTest {
   public void testSyncDigestResp() {
     SlotDiffSyncer syncer = newSyncer();
     Assert.assertNull(
-        syncer.processSyncDigestResp(10, failDigestResp(), null, Collections.emptyMap()));
-    Assert.assertNull(syncer.processSyncDigestResp(10, null, null, Collections.emptyMap()));
+        syncer.processSyncDigestResp(10, failDigestResp(), ServerEnv.IP, Collections.emptyMap()));
+    Assert.assertNull(syncer.processSyncDigestResp(10, null, ServerEnv.IP, Collections.emptyMap()));
     Assert.assertTrue(
         syncer
-            .processSyncDigestResp(10, emptyDigestResp(), null, Collections.emptyMap())
+            .processSyncDigestResp(10, emptyDigestResp(), ServerEnv.IP, Collections.emptyMap())
             .isEmpty());
 
     DatumStorage storage = syncer.getDatumStorage();
@@ -116,7 +117,7 @@ public class SlotDiffSyncerTest {
     summaryMap.put(
         publisher3.getDataInfoId(), TestBaseUtils.newDatumSummary(2, publisher3.getDataInfoId()));
     // try remove publisher3, but not match register.version
-    Assert.assertFalse(syncer.processSyncDigestResp(10, resp, null, summaryMap).isEmpty());
+    Assert.assertFalse(syncer.processSyncDigestResp(10, resp, ServerEnv.IP, summaryMap).isEmpty());
     Datum datum1 = storage.get(publisher3.getDataInfoId());
     Assert.assertTrue(datum1.publisherSize() != 0);
 
@@ -126,13 +127,42 @@ public class SlotDiffSyncerTest {
         new DatumSummary(
             publisher3.getDataInfoId(),
             Collections.singletonMap(publisher3.getRegisterId(), publisher3.registerVersion())));
-    DataSlotDiffDigestResult result = syncer.processSyncDigestResp(10, resp, null, summaryMap);
+    DataSlotDiffDigestResult result =
+        syncer.processSyncDigestResp(10, resp, ServerEnv.IP, summaryMap);
     Assert.assertFalse(result.isEmpty());
     Datum datum2 = storage.get(publisher3.getDataInfoId());
     Assert.assertTrue(datum2.publisherSize() == 0);
     Assert.assertTrue(datum2.getVersion() > datum1.getVersion());
   }
 
+  @Test
+  public void testDigestNegotiation() {
+    SlotDiffSyncer syncer = newSyncer();
+    final String target = "testTarget";
+    // sorted digest until the peer responds
+    Assert.assertFalse(syncer.isCommutativeDigest(target));
+    // old peer
+    syncer.processSyncDigestResp(10, emptyDigestResp(), target, Collections.emptyMap());
+    Assert.assertFalse(syncer.isCommutativeDigest(target));
+
+    GenericResponse resp =
+        new GenericResponse()
+            .fillSucceed(
+                DataSlotDiffUtils.diffDigest(Collections.emptyMap(), Collections.emptyMap()));
+    syncer.processSyncDigestResp(10, resp, target, Collections.emptyMap());
+    Assert.assertTrue(syncer.isCommutativeDigest(target));
+    Assert.assertFalse(syncer.isCommutativeDigest("testOtherTarget"));
+
+    // force the sorted digest
+    syncer.getDataServerConfig().setSlotSyncDigestCompatible(true);
+    Assert.assertFalse(syncer.isCommutativeDigest(target));
+    syncer.getDataServerConfig().setSlotSyncDigestCompatible(false);
+
+    // the peer rollback
+    syncer.processSyncDigestResp(10, emptyDigestResp(), target, Collections.emptyMap());
+    Assert.assertFalse(syncer.isCommutativeDigest(target));
+  }
+
   @Test
   public void testSyncPublisherResp() {
     SlotDiffSyncer syncer = newSyncer();
@@ -434,6 +464,52 @@ public class SlotDiffSyncerTest {
     Assert.assertEquals(datum4.getPubMap().get(p4.get(1).getRegisterId()), p4.get(1));
   }
 
+  @Test
+  public void testSyncPublishersChunk() {
+    SlotDiffSyncer syncer = newSyncer();
+    List<Publisher> publishers = TestBaseUtils.createTestPublishers(10, 250);
+    final String dataInfoId = publishers.get(0).getDataInfoId();
+    Map<String, Publisher> publisherMap = Maps.newHashMap();
+    publishers.forEach(p -> publisherMap.put(p.getRegisterId(), p));
+    final Map<String, Map<String, Publisher>> source =
+        Collections.singletonMap(dataInfoId, publisherMap);
+
+    final List<Integer> chunks = Lists.newArrayList();
+    DataNodeExchanger exchanger = mock(DataNodeExchanger.class);
+    when(exchanger.requestRaw(anyString(), Matchers.isA(DataSlotDiffPublisherRequest.class)))
+        .thenAnswer(
+            invocation -> {
+              DataSlotDiffPublisherRequest request =
+                  (DataSlotDiffPublisherRequest) invocation.getArguments()[1];
+              DataSlotDiffPublisherResult result =
+                  DataSlotDiffUtils.diffPublishersResult(request, source, 100);
+              chunks.add(result.getUpdatedPublishersCount());
+              GenericResponse<DataSlotDiffPublisherResult> resp = new GenericResponse<>();
+              resp.fillSucceed(result);
+              return new Response() {
+                @Override
+                public Object getResult() {
+                  return resp;
+                }
+              };
+            });
+    Map<String, DatumSummary> summaryMap = Maps.newHashMap();
+    summaryMap.put(dataInfoId, new DatumSummary(dataInfoId));
+    Assert.assertTrue(
+        syncer.syncPublishers(10, "testAddress", exchanger, 1, summaryMap, 100, TRUE, false));
+    Assert.assertEquals(chunks, Lists.newArrayList(100, 100, 50));
+    Assert.assertEquals(syncer.getDatumStorage().get(dataInfoId).getPubMap(), publisherMap);
+    Assert.assertTrue(summaryMap.isEmpty());
+
+    // disable chunk, all publishers in one response
+    syncer.getDataServerConfig().setSlotSyncPublisherChunkEnabled(false);
+    chunks.clear();
+    summaryMap.put(dataInfoId, new DatumSummary(dataInfoId));
+    Assert.assertTrue(
+        syncer.syncPublishers(10, "testAddress", exchanger, 1, summaryMap, 100, TRUE, false));
+    Assert.assertEquals(chunks, Lists.newArrayList(250));
+  }
+
   private static <T extends ClientSideExchanger> T mockExchange(
       Class<T> c, Object result1, Class reqClazz1, Object result2, Class reqClazz2) {
     T exchanger = mock(c);
@@ -215,6 +215,24 @@ public class SlotManagerImplTest {
     FollowerSlotStatus followerstatus = (FollowerSlotStatus) list.get(1);
     Assert.assertTrue(followerstatus.getLastSyncTaskStartTime() > 0);
     Assert.assertTrue(followerstatus.getLastLeaderSyncTime() <= 0);
+
+    // test budget
+    SyncBudget sessionBudget = new SyncBudget(1);
+    sessionBudget.occupy("xx1");
+    SyncBudget leaderBudget = new SyncBudget(1);
+    leaderBudget.occupy("xxx");
+
+    slotState = new SlotManagerImpl.SlotState(createSelfLeader(0, 3));
+    Assert.assertTrue(sm.sync(slotState, 1000, 1000, 100, sessionBudget, leaderBudget));
+    // xx1 is busy, only migrating xx2
+    Assert.assertEquals(slotState.migratingTasks.keySet(), Sets.newHashSet("xx2"));
+    Assert.assertTrue(sessionBudget.isExhausted("xx2"));
+
+    slotState = new SlotManagerImpl.SlotState(createSelfFollower(1, 3));
+    Assert.assertTrue(sm.sync(slotState, 1000, 1000, 100, sessionBudget, leaderBudget));
+    Assert.assertNull(slotState.syncLeaderTask);
+    Assert.assertTrue(sm.sync(slotState, 1000, 1000, 100));
+    Assert.assertNotNull(slotState.syncLeaderTask);
   }
 
   @Test
@@ -268,6 +286,53 @@ public class SlotManagerImplTest {
     Assert.assertTrue(mt1.forceSuccess);
   }
 
+  @Test
+  public void testPrioritySlotStates() {
+    Mock mock = mockSM(10, true, false, Sets.newHashSet("xx1", "xx2"));
+    SlotManagerImpl sm = mock.slotManager;
+    sm.updateSlotTable(
+        new SlotTable(
+            1,
+            Lists.newArrayList(
+                createSelfFollower(1, 1),
+                createSelfLeader(0, 1),
+                createSelfFollower(2, 1),
+                createSelfLeader(10, 1))));
+    sm.processUpdating();
+
+    SyncBudget sessionBudget = new SyncBudget(1);
+    SyncBudget leaderBudget = new SyncBudget(1);
+    List<SlotManagerImpl.SlotState> states = sm.prioritySlotStates(sessionBudget, leaderBudget);
+    // the migrating leaders first, slot 10 has more publishers
+    Assert.assertEquals(states.get(0).slotId, 10);
+    Assert.assertEquals(states.get(1).slotId, 0);
+    Assert.assertFalse(sessionBudget.isExhausted("xx1"));
+
+    // slot 2 has synced from leader, slot 10 has migrated
+    sm.getSlotState(2).lastSuccessLeaderSyncTime = System.currentTimeMillis();
+    sm.getSlotState(10).migrated = true;
+    KeyedTask running = Mockito.mock(KeyedTask.class);
+    Mockito.when(running.isFinished()).thenReturn(false);
+    sm.getSlotState(0).migratingTasks.put("xx1", new SlotManagerImpl.MigratingTask("xx1", running));
+    sm.getSlotState(1).syncLeaderTask = running;
+
+    states = sm.prioritySlotStates(sessionBudget, leaderBudget);
+    Assert.assertEquals(states.get(0).slotId, 0);
+    Assert.assertEquals(states.get(1).slotId, 1);
+    Assert.assertTrue(Sets.newHashSet(2, 10).contains(states.get(2).slotId));
+    Assert.assertTrue(Sets.newHashSet(2, 10).contains(states.get(3).slotId));
+    // the running tasks occupy the budgets
+    Assert.assertTrue(sessionBudget.isExhausted("xx1"));
+    Assert.assertFalse(sessionBudget.isExhausted("xx2"));
+    Assert.assertTrue(leaderBudget.isExhausted("xxx"));
+
+    SyncBudget unlimited = SyncBudget.unlimited();
+    for (int i = 0; i < 100; i++) {
+      Assert.assertTrue(unlimited.tryAcquire("xx1"));
+    }
+    Assert.assertEquals(unlimited.running("xx1"), 100);
+  }
+
   @Test
   public void testHasSlot() {
     SlotManagerImpl sm = mockSM(10, false, false, Collections.EMPTY_SET).slotManager;
@@ -19,6 +19,7 @@ package com.alipay.sofa.registry.server.meta.metaserver.impl;
 import com.alipay.sofa.registry.common.model.metaserver.cluster.VersionedList;
 import com.alipay.sofa.registry.common.model.metaserver.nodes.MetaNode;
 import com.alipay.sofa.registry.common.model.slot.SlotTable;
+import com.alipay.sofa.registry.common.model.slot.SlotTableDelta;
 import com.alipay.sofa.registry.server.meta.lease.data.DataServerManager;
 import com.alipay.sofa.registry.server.meta.lease.session.SessionServerManager;
 import com.alipay.sofa.registry.server.meta.metaserver.CurrentDcMetaServer;
@@ -59,6 +60,10 @@ public class LocalMetaServer extends AbstractMetaServer implements CurrentDcMeta
     return slotManager.getSlotTable();
   }
 
+  public SlotTableDelta getSlotTableDelta(long fromEpoch, SlotTable to) {
+    return slotManager.getSlotTableDelta(fromEpoch, to);
+  }
+
   public long getEpoch() {
     return currentEpoch.get();
   }
@@ -26,6 +26,7 @@ import com.alipay.sofa.registry.common.model.metaserver.nodes.MetaNode;
 import com.alipay.sofa.registry.common.model.metaserver.nodes.SessionNode;
 import com.alipay.sofa.registry.common.model.slot.SlotConfig;
 import com.alipay.sofa.registry.common.model.slot.SlotTable;
+import com.alipay.sofa.registry.common.model.slot.SlotTableDelta;
 import com.alipay.sofa.registry.exception.SofaRegistryMetaLeaderException;
 import com.alipay.sofa.registry.log.Logger;
 import com.alipay.sofa.registry.log.LoggerFactory;
@@ -98,6 +99,10 @@ public class HeartbeatRequestHandler extends BaseMetaServerHandler<HeartbeatRequ
                   sessionMetaInfo,
                   metaLeaderService.getLeader(),
                   metaLeaderService.getLeaderEpoch());
+          SlotTableDelta delta = getSlotTableDelta(heartbeat, slotTable);
+          if (delta != null) {
+            response.setSlotTableDelta(delta);
+          }
           break;
         case META:
           response =
@@ -133,6 +138,19 @@ public class HeartbeatRequestHandler extends BaseMetaServerHandler<HeartbeatRequ
     }
   }
 
+  private SlotTableDelta getSlotTableDelta(HeartbeatRequest<Node> heartbeat, SlotTable slotTable) {
+    final long baseEpoch = heartbeat.getSlotTableDeltaBaseEpoch();
+    if (baseEpoch == SlotTable.INIT.getEpoch()) {
+      return null;
+    }
+    SlotTableDelta delta = currentDcMetaServer.getSlotTableDelta(baseEpoch, slotTable);
+    // the delta is not smaller than the slot table
+    if (delta == null || delta.size() >= slotTable.getSlots().size()) {
+      return null;
+    }
+    return delta;
+  }
+
   @SuppressWarnings("unchecked")
   private void onHeartbeat(HeartbeatRequest heartbeat, Channel channel) {
     new DefaultHeartbeatListener(nodeConfig.getLocalDataCenter(), channel).onHeartbeat(heartbeat);
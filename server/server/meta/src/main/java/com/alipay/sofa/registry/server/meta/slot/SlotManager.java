@@ -18,6 +18,7 @@ package com.alipay.sofa.registry.server.meta.slot;
 
 import com.alipay.sofa.registry.common.model.slot.DataNodeSlot;
 import com.alipay.sofa.registry.common.model.slot.SlotTable;
+import com.alipay.sofa.registry.common.model.slot.SlotTableDelta;
 import com.alipay.sofa.registry.observer.Observable;
 
 /**
@@ -55,4 +56,13 @@ public interface SlotManager extends SlotTableAware, Observable {
    * @return the get data node managed slot
    */
   DataNodeSlot getDataNodeManagedSlot(String dataNode, boolean ignoreFollowers);
+
+  /**
+   * Gets get slot table delta.
+   *
+   * @param fromEpoch the epoch of the slot table held by the caller
+   * @param to the target slot table
+   * @return the delta, null if the slot table of fromEpoch is absent
+   */
+  SlotTableDelta getSlotTableDelta(long fromEpoch, SlotTable to);
 }
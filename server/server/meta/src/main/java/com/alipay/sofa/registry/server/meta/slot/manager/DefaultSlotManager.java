@@ -17,6 +17,7 @@
 package com.alipay.sofa.registry.server.meta.slot.manager;
 
 import com.alipay.sofa.registry.common.model.slot.SlotTable;
+import com.alipay.sofa.registry.common.model.slot.SlotTableDelta;
 import com.alipay.sofa.registry.exception.InitializeException;
 import com.alipay.sofa.registry.lifecycle.impl.LifecycleHelper;
 import com.alipay.sofa.registry.observer.Observable;
@@ -24,8 +25,12 @@ import com.alipay.sofa.registry.observer.UnblockingObserver;
 import com.alipay.sofa.registry.server.meta.MetaLeaderService;
 import com.alipay.sofa.registry.server.meta.remoting.notifier.Notifier;
 import com.alipay.sofa.registry.server.meta.slot.SlotManager;
+import com.alipay.sofa.registry.util.SystemUtils;
 import com.google.common.annotations.VisibleForTesting;
+import com.google.common.collect.Maps;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import javax.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
@@ -36,6 +41,16 @@ import org.springframework.stereotype.Component;
  */
 @Component
 public class DefaultSlotManager extends SimpleSlotManager implements SlotManager {
+  public static final String KEY_SLOT_TABLE_HISTORY_SIZE = "registry.meta.slot.table.history.size";
+
+  private final int historySize = SystemUtils.getSystemInteger(KEY_SLOT_TABLE_HISTORY_SIZE, 16);
+
+  // epoch -> slot table, the recent refreshed slot tables, guard by itself
+  private final LinkedHashMap<Long, SlotTable> history = new LinkedHashMap<>();
+
+  // fromEpoch -> delta to the slot table of deltaEpoch, guard by history
+  private final Map<Long, SlotTableDelta> deltas = Maps.newHashMap();
+  private long deltaEpoch;
 
   @Autowired(required = false)
   private List<Notifier> notifiers;
@@ -69,12 +84,49 @@ public class DefaultSlotManager extends SimpleSlotManager implements SlotManager
           "not leader, concurrent leader is:" + metaLeaderService.getLeader());
     }
     if (super.refresh(slotTable)) {
+      recordHistory(slotTable);
       notifyObservers(slotTable);
       return true;
     }
     return false;
   }
 
+  private void recordHistory(SlotTable slotTable) {
+    if (historySize <= 0) {
+      return;
+    }
+    synchronized (history) {
+      history.put(slotTable.getEpoch(), slotTable);
+      while (history.size() > historySize) {
+        Long eldest = history.keySet().iterator().next();
+        history.remove(eldest);
+      }
+    }
+  }
+
+  /**
+   * the deltas to the latest slot table are cached, the heartbeats of the nodes with the same epoch
+   * share the delta
+   */
+  @Override
+  public SlotTableDelta getSlotTableDelta(long fromEpoch, SlotTable to) {
+    SlotTableDelta delta = super.getSlotTableDelta(fromEpoch, to);
+    if (delta != null) {
+      return delta;
+    }
+    synchronized (history) {
+      final SlotTable from = history.get(fromEpoch);
+      if (from == null || !history.containsKey(to.getEpoch())) {
+        return null;
+      }
+      if (deltaEpoch != to.getEpoch()) {
+        deltas.clear();
+        deltaEpoch = to.getEpoch();
+      }
+      return deltas.computeIfAbsent(fromEpoch, k -> SlotTableDelta.diff(from, to));
+    }
+  }
+
   private final class SlotTableChangeNotification implements UnblockingObserver {
 
     @Override
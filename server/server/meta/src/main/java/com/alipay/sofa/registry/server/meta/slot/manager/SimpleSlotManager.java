@@ -19,6 +19,7 @@ package com.alipay.sofa.registry.server.meta.slot.manager;
 import com.alipay.sofa.registry.common.model.slot.DataNodeSlot;
 import com.alipay.sofa.registry.common.model.slot.SlotConfig;
 import com.alipay.sofa.registry.common.model.slot.SlotTable;
+import com.alipay.sofa.registry.common.model.slot.SlotTableDelta;
 import com.alipay.sofa.registry.observer.impl.AbstractLifecycleObservable;
 import com.alipay.sofa.registry.server.meta.slot.SlotManager;
 import com.google.common.annotations.VisibleForTesting;
@@ -131,6 +132,14 @@ public class SimpleSlotManager extends AbstractLifecycleObservable implements Sl
     }
   }
 
+  @Override
+  public SlotTableDelta getSlotTableDelta(long fromEpoch, SlotTable to) {
+    if (fromEpoch == to.getEpoch()) {
+      return SlotTableDelta.unchanged(fromEpoch);
+    }
+    return null;
+  }
+
   private void setSlotTableCacheWrapper(SlotTableCacheWrapper wrapper) {
     this.localRepo = wrapper;
   }
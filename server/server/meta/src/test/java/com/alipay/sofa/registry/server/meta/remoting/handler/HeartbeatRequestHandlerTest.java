@@ -20,9 +20,13 @@ import static org.mockito.Mockito.*;
 
 import com.alipay.sofa.registry.common.model.GenericResponse;
 import com.alipay.sofa.registry.common.model.Node;
+import com.alipay.sofa.registry.common.model.metaserver.inter.heartbeat.BaseHeartBeatResponse;
 import com.alipay.sofa.registry.common.model.metaserver.inter.heartbeat.HeartbeatRequest;
 import com.alipay.sofa.registry.common.model.metaserver.nodes.DataNode;
+import com.alipay.sofa.registry.common.model.slot.Slot;
 import com.alipay.sofa.registry.common.model.slot.SlotConfig;
+import com.alipay.sofa.registry.common.model.slot.SlotTable;
+import com.alipay.sofa.registry.common.model.slot.SlotTableDelta;
 import com.alipay.sofa.registry.remoting.Channel;
 import com.alipay.sofa.registry.server.meta.AbstractMetaServerTestBase;
 import com.alipay.sofa.registry.server.meta.MetaLeaderService;
@@ -31,6 +35,7 @@ import com.alipay.sofa.registry.server.meta.lease.data.DataServerManager;
 import com.alipay.sofa.registry.server.meta.lease.session.SessionServerManager;
 import com.alipay.sofa.registry.server.meta.metaserver.impl.DefaultCurrentDcMetaServer;
 import com.alipay.sofa.registry.server.meta.slot.manager.DefaultSlotManager;
+import java.util.List;
 import java.util.concurrent.TimeoutException;
 import org.junit.Assert;
 import org.junit.Before;
@@ -83,6 +88,62 @@ public class HeartbeatRequestHandlerTest extends AbstractMetaServerTestBase {
     Assert.assertTrue(((GenericResponse) handler.doHandle(channel, heartbeat)).isSuccess());
   }
 
+  @Test
+  public void testDoHandleWithSlotTableDelta() throws TimeoutException, InterruptedException {
+    makeMetaLeader();
+    SlotTable from = randomSlotTable(randomDataNodes(3));
+    slotManager.refresh(from);
+    List<Slot> slots = from.getSlots();
+    Slot slot = slots.get(0);
+    slots.set(
+        0,
+        new Slot(slot.getId(), slot.getLeader(), slot.getLeaderEpoch() + 1, slot.getFollowers()));
+    SlotTable to = new SlotTable(from.getEpoch() + 1, slots);
+    slotManager.refresh(to);
+    when(currentDcMetaServer.getSlotTable()).thenReturn(to);
+    when(currentDcMetaServer.getSlotTableDelta(anyLong(), any()))
+        .thenAnswer(
+            invocation ->
+                slotManager.getSlotTableDelta(
+                    (Long) invocation.getArguments()[0], (SlotTable) invocation.getArguments()[1]));
+
+    // the full slot table without the base epoch
+    BaseHeartBeatResponse response = heartbeat(SlotTable.INIT.getEpoch());
+    Assert.assertEquals(to, response.getSlotTable());
+    Assert.assertNull(response.getSlotTableDelta());
+
+    response = heartbeat(from.getEpoch());
+    Assert.assertNull(response.getSlotTable());
+    SlotTableDelta delta = response.getSlotTableDelta();
+    Assert.assertEquals(delta.size(), 1);
+    response.applySlotTableDelta(from);
+    Assert.assertEquals(to, response.getSlotTable());
+
+    response = heartbeat(to.getEpoch());
+    Assert.assertNull(response.getSlotTable());
+    Assert.assertTrue(response.getSlotTableDelta().isUnchanged());
+
+    // the base is not in the history
+    response = heartbeat(from.getEpoch() - 1);
+    Assert.assertEquals(to, response.getSlotTable());
+  }
+
+  private BaseHeartBeatResponse heartbeat(long baseEpoch) {
+    HeartbeatRequest<Node> heartbeat =
+        new HeartbeatRequest<Node>(
+                new DataNode(randomURL(randomIp()), getDc()),
+                0,
+                getDc(),
+                System.currentTimeMillis(),
+                new SlotConfig.SlotBasicInfo(
+                    SlotConfig.SLOT_NUM, SlotConfig.SLOT_REPLICAS, SlotConfig.FUNC))
+            .setSlotTableDeltaBaseEpoch(baseEpoch);
+    GenericResponse<BaseHeartBeatResponse> resp =
+        (GenericResponse<BaseHeartBeatResponse>) handler.doHandle(channel, heartbeat);
+    Assert.assertTrue(resp.isSuccess());
+    return resp.getData();
+  }
+
   @Test
   public void testDoHandleWithErrDC() throws TimeoutException, InterruptedException {
     makeMetaLeader();
@@ -20,7 +20,9 @@ import static org.mockito.Matchers.any;
 import static org.mockito.Mockito.*;
 
 import com.alipay.sofa.registry.common.model.metaserver.nodes.DataNode;
+import com.alipay.sofa.registry.common.model.slot.Slot;
 import com.alipay.sofa.registry.common.model.slot.SlotTable;
+import com.alipay.sofa.registry.common.model.slot.SlotTableDelta;
 import com.alipay.sofa.registry.exception.SofaRegistryRuntimeException;
 import com.alipay.sofa.registry.server.meta.AbstractMetaServerTestBase;
 import com.alipay.sofa.registry.server.meta.remoting.notifier.Notifier;
@@ -88,4 +90,26 @@ public class DefaultSlotManagerTest extends AbstractMetaServerTestBase {
     verify(notifier1, atLeast(1)).notifySlotTableChange(any());
     verify(notifier3, atLeast(1)).notifySlotTableChange(any());
   }
+
+  @Test
+  public void testSlotTableDelta() {
+    SlotTable from = randomSlotTable();
+    Assert.assertTrue(slotManager.refresh(from));
+    List<Slot> slots = from.getSlots();
+    Slot slot = slots.get(0);
+    slots.set(
+        0,
+        new Slot(slot.getId(), slot.getLeader(), slot.getLeaderEpoch() + 1, slot.getFollowers()));
+    SlotTable to = new SlotTable(from.getEpoch() + 1, slots);
+    Assert.assertTrue(slotManager.refresh(to));
+
+    SlotTableDelta delta = slotManager.getSlotTableDelta(from.getEpoch(), to);
+    Assert.assertEquals(delta.size(), 1);
+    Assert.assertEquals(delta.apply(from), to);
+    // cached
+    Assert.assertSame(delta, slotManager.getSlotTableDelta(from.getEpoch(), to));
+
+    Assert.assertTrue(slotManager.getSlotTableDelta(to.getEpoch(), to).isUnchanged());
+    Assert.assertNull(slotManager.getSlotTableDelta(from.getEpoch() - 1, to));
+  }
 }
@@ -0,0 +1,53 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alipay.sofa.registry.server.session.acceptor;
+
+import com.alipay.sofa.registry.common.model.ClientOffPublishers;
+import com.alipay.sofa.registry.common.model.ConnectId;
+import java.util.Collections;
+import java.util.List;
+
+/** the client off of a batch of connections, sent to the data servers in one request per slot */
+public final class ClientOffBatchWriteDataRequest
+    implements WriteDataRequest<List<ClientOffPublishers>> {
+
+  private final List<ClientOffPublishers> requestBody;
+
+  public ClientOffBatchWriteDataRequest(List<ClientOffPublishers> clientOffPublishers) {
+    this.requestBody = Collections.unmodifiableList(clientOffPublishers);
+  }
+
+  @Override
+  public List<ClientOffPublishers> getRequestBody() {
+    return requestBody;
+  }
+
+  @Override
+  public WriteDataRequestType getRequestType() {
+    return WriteDataRequestType.CLIENT_OFF_BATCH;
+  }
+
+  /**
+   * the batch contains multi connections
+   *
+   * @return null
+   */
+  @Override
+  public ConnectId getConnectId() {
+    return null;
+  }
+}
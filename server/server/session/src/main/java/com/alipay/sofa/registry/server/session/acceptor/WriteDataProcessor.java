@@ -50,6 +50,9 @@ public class WriteDataProcessor {
       case CLIENT_OFF:
         doClientOffAsync(request);
         return true;
+      case CLIENT_OFF_BATCH:
+        doClientOffBatchAsync(request);
+        return true;
       default:
         LOGGER.error(
             "Unknown request type, connectId={}, requestType={}, requestBody={}",
@@ -65,6 +68,11 @@ public class WriteDataProcessor {
     dataNodeService.clientOff(req.getRequestBody());
   }
 
+  private void doClientOffBatchAsync(WriteDataRequest request) {
+    ClientOffBatchWriteDataRequest req = (ClientOffBatchWriteDataRequest) request;
+    dataNodeService.clientOff(req.getRequestBody());
+  }
+
   private void doUnPublishAsync(WriteDataRequest request) {
     PublisherWriteDataRequest req = (PublisherWriteDataRequest) request;
     dataNodeService.unregister(req.getRequestBody());
@@ -29,7 +29,8 @@ public interface WriteDataRequest<T> {
   enum WriteDataRequestType {
     PUBLISHER,
     UN_PUBLISHER,
-    CLIENT_OFF
+    CLIENT_OFF,
+    CLIENT_OFF_BATCH
   }
 
   /**
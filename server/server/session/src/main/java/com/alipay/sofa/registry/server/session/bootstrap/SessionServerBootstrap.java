@@ -28,6 +28,8 @@ import com.alipay.sofa.registry.metrics.TaskMetrics;
 import com.alipay.sofa.registry.net.NetUtil;
 import com.alipay.sofa.registry.remoting.ChannelHandler;
 import com.alipay.sofa.registry.remoting.Server;
+import com.alipay.sofa.registry.remoting.bolt.serializer.CustomClassSerializerManager;
+import com.alipay.sofa.registry.remoting.bolt.serializer.EncodedProtobufMessage;
 import com.alipay.sofa.registry.remoting.bolt.serializer.ProtobufCustomSerializer;
 import com.alipay.sofa.registry.remoting.bolt.serializer.ProtobufSerializer;
 import com.alipay.sofa.registry.remoting.exchange.Exchange;
@@ -406,8 +408,15 @@ public class SessionServerBootstrap {
         RegisterResponsePb.class.getName(), serializer);
     CustomSerializerManager.registerCustomSerializer(ResultPb.class.getName(), serializer);
     CustomSerializerManager.registerCustomSerializer(ReceivedDataPb.class.getName(), serializer);
+    CustomSerializerManager.registerCustomSerializer(
+        ReceivedDeltaDataPb.class.getName(), serializer);
     CustomSerializerManager.registerCustomSerializer(
         ReceivedConfigDataPb.class.getName(), serializer);
+    // the encoded push payload, sent as the protobuf message it holds
+    CustomSerializerManager.registerCustomSerializer(
+        EncodedProtobufMessage.class.getName(), serializer);
+    CustomClassSerializerManager.registerSerializer(
+        EncodedProtobufMessage.class, ProtobufSerializer.PROTOCOL_PROTOBUF);
 
     SerializerManager.addSerializer(
         ProtobufSerializer.PROTOCOL_PROTOBUF, ProtobufSerializer.getInstance());
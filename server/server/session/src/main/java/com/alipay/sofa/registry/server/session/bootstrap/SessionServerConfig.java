@@ -53,6 +53,18 @@ public interface SessionServerConfig extends ServerShareConfig {
 
   int getScanSubscriberIntervalMillis();
 
+  boolean isScanVersionStreamEnabled();
+
+  int getScanVersionFullIntervalRounds();
+
+  boolean isPushDeltaEnabled();
+
+  int getPushDeltaMinPubNum();
+
+  boolean isPushProtobufEncodedEnabled();
+
+  boolean isPushExecutorWorkStealing();
+
   int getClientNodeExchangeTimeoutMillis();
 
   int getClientNodePushConcurrencyLevel();
@@ -61,6 +73,8 @@ public interface SessionServerConfig extends ServerShareConfig {
 
   int getDataNodeExchangeForFetchDatumTimeoutMillis();
 
+  int getDataNodeFetchDatumBatchSize();
+
   int getMetaNodeExchangeTimeoutMillis();
 
   String getSessionServerRegion();
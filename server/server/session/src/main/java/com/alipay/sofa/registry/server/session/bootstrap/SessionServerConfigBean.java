@@ -105,6 +105,10 @@ public class SessionServerConfigBean implements SessionServerConfig {
 
   private int dataNodeExchangeForFetchDatumTimeoutMillis = 5000;
 
+  // the concurrent datum cache misses to the same data server are fetched in one multi-get request
+  // up to the size, disabled when less than 2
+  private volatile int dataNodeFetchDatumBatchSize = 0;
+
   private int metaNodeExchangeTimeoutMillis = 3000;
 
   private int pushTaskExecutorPoolSize = OsUtils.getCpuCount() * 3;
@@ -133,6 +137,24 @@ public class SessionServerConfigBean implements SessionServerConfig {
 
   private int scanSubscriberIntervalMillis = 1000 * 5;
 
+  // fetch the changed versions by the version stream of the data server
+  private volatile boolean scanVersionStreamEnabled = true;
+
+  // when the version stream enabled, fetch the full versions every N rounds
+  private volatile int scanVersionFullIntervalRounds = 12;
+
+  // push the diff to the subscribers which accept the delta encoding
+  private volatile boolean pushDeltaEnabled = true;
+
+  // the small datum is pushed fully, the diff not saves much
+  private volatile int pushDeltaMinPubNum = 100;
+
+  // cache the encoded protobuf payload and only write the registerIds for each push
+  private volatile boolean pushProtobufEncodedEnabled = false;
+
+  // the idle push workers steal the tasks of the busy ones, e.g. a hot client
+  private boolean pushExecutorWorkStealing = false;
+
   private double accessLimitRate = 30000.0;
 
   private String sessionServerRegion;
@@ -803,6 +825,25 @@ public class SessionServerConfigBean implements SessionServerConfig {
     this.dataNodeExchangeForFetchDatumTimeoutMillis = dataNodeExchangeForFetchDatumTimeoutMillis;
   }
 
+  /**
+   * Getter method for property <tt>dataNodeFetchDatumBatchSize</tt>.
+   *
+   * @return property value of dataNodeFetchDatumBatchSize
+   */
+  @Override
+  public int getDataNodeFetchDatumBatchSize() {
+    return dataNodeFetchDatumBatchSize;
+  }
+
+  /**
+   * Setter method for property <tt>dataNodeFetchDatumBatchSize</tt>.
+   *
+   * @param dataNodeFetchDatumBatchSize value to be assigned to property dataNodeFetchDatumBatchSize
+   */
+  public void setDataNodeFetchDatumBatchSize(int dataNodeFetchDatumBatchSize) {
+    this.dataNodeFetchDatumBatchSize = dataNodeFetchDatumBatchSize;
+  }
+
   /**
    * Getter method for property <tt>slotSyncPublisherMaxNum</tt>.
    *
@@ -853,6 +894,121 @@ public class SessionServerConfigBean implements SessionServerConfig {
     this.scanSubscriberIntervalMillis = scanSubscriberIntervalMillis;
   }
 
+  /**
+   * Getter method for property <tt>scanVersionStreamEnabled</tt>.
+   *
+   * @return property value of scanVersionStreamEnabled
+   */
+  @Override
+  public boolean isScanVersionStreamEnabled() {
+    return scanVersionStreamEnabled;
+  }
+
+  /**
+   * Setter method for property <tt>scanVersionStreamEnabled</tt>.
+   *
+   * @param scanVersionStreamEnabled value to be assigned to property scanVersionStreamEnabled
+   */
+  public void setScanVersionStreamEnabled(boolean scanVersionStreamEnabled) {
+    this.scanVersionStreamEnabled = scanVersionStreamEnabled;
+  }
+
+  /**
+   * Getter method for property <tt>scanVersionFullIntervalRounds</tt>.
+   *
+   * @return property value of scanVersionFullIntervalRounds
+   */
+  @Override
+  public int getScanVersionFullIntervalRounds() {
+    return scanVersionFullIntervalRounds;
+  }
+
+  /**
+   * Setter method for property <tt>scanVersionFullIntervalRounds</tt>.
+   *
+   * @param scanVersionFullIntervalRounds value to be assigned to property
+   *     scanVersionFullIntervalRounds
+   */
+  public void setScanVersionFullIntervalRounds(int scanVersionFullIntervalRounds) {
+    this.scanVersionFullIntervalRounds = scanVersionFullIntervalRounds;
+  }
+
+  /**
+   * Getter method for property <tt>pushDeltaEnabled</tt>.
+   *
+   * @return property value of pushDeltaEnabled
+   */
+  @Override
+  public boolean isPushDeltaEnabled() {
+    return pushDeltaEnabled;
+  }
+
+  /**
+   * Setter method for property <tt>pushDeltaEnabled</tt>.
+   *
+   * @param pushDeltaEnabled value to be assigned to property pushDeltaEnabled
+   */
+  public void setPushDeltaEnabled(boolean pushDeltaEnabled) {
+    this.pushDeltaEnabled = pushDeltaEnabled;
+  }
+
+  /**
+   * Getter method for property <tt>pushDeltaMinPubNum</tt>.
+   *
+   * @return property value of pushDeltaMinPubNum
+   */
+  @Override
+  public int getPushDeltaMinPubNum() {
+    return pushDeltaMinPubNum;
+  }
+
+  /**
+   * Setter method for property <tt>pushDeltaMinPubNum</tt>.
+   *
+   * @param pushDeltaMinPubNum value to be assigned to property pushDeltaMinPubNum
+   */
+  public void setPushDeltaMinPubNum(int pushDeltaMinPubNum) {
+    this.pushDeltaMinPubNum = pushDeltaMinPubNum;
+  }
+
+  /**
+   * Getter method for property <tt>pushProtobufEncodedEnabled</tt>.
+   *
+   * @return property value of pushProtobufEncodedEnabled
+   */
+  @Override
+  public boolean isPushProtobufEncodedEnabled() {
+    return pushProtobufEncodedEnabled;
+  }
+
+  /**
+   * Setter method for property <tt>pushProtobufEncodedEnabled</tt>.
+   *
+   * @param pushProtobufEncodedEnabled value to be assigned to property pushProtobufEncodedEnabled
+   */
+  public void setPushProtobufEncodedEnabled(boolean pushProtobufEncodedEnabled) {
+    this.pushProtobufEncodedEnabled = pushProtobufEncodedEnabled;
+  }
+
+  /**
+   * Getter method for property <tt>pushExecutorWorkStealing</tt>.
+   *
+   * @return property value of pushExecutorWorkStealing
+   */
+  @Override
+  public boolean isPushExecutorWorkStealing() {
+    return pushExecutorWorkStealing;
+  }
+
+  /**
+   * Setter method for property <tt>pushExecutorWorkStealing</tt>.
+   *
+   * @param pushExecutorWorkStealing value to be assigned to property pushExecutorWorkStealing
+   */
+  public void setPushExecutorWorkStealing(boolean pushExecutorWorkStealing) {
+    this.pushExecutorWorkStealing = pushExecutorWorkStealing;
+  }
+
   public int getSlotSyncMaxBufferSize() {
     return slotSyncMaxBufferSize;
   }
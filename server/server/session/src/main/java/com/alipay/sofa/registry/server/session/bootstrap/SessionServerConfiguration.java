@@ -189,6 +189,7 @@ public class SessionServerConfiguration {
       list.add(publisherHandler());
       list.add(subscriberHandler());
       list.add(watcherHandler());
+      list.add(batchRegisterHandler());
       list.add(clientNodeConnectionHandler());
       list.add(syncConfigHandler());
       list.add(publisherPbHandler());
@@ -206,6 +207,7 @@ public class SessionServerConfiguration {
     public Collection<AbstractServerHandler> serverSyncHandlers() {
       Collection<AbstractServerHandler> list = new ArrayList<>();
       list.add(dataSlotDiffDigestRequestHandler());
+      list.add(dataSlotDiffBucketDigestRequestHandler());
       list.add(dataSlotDiffPublisherRequestHandler());
       return list;
     }
@@ -244,6 +246,11 @@ public class SessionServerConfiguration {
       return new WatcherHandler();
     }
 
+    @Bean
+    public AbstractServerHandler batchRegisterHandler() {
+      return new BatchRegisterHandler();
+    }
+
     @Bean
     public AbstractServerHandler clientNodeConnectionHandler() {
       return new ClientNodeConnectionHandler();
@@ -294,6 +301,11 @@ public class SessionServerConfiguration {
       return new DataSlotDiffDigestRequestHandler();
     }
 
+    @Bean
+    public AbstractServerHandler dataSlotDiffBucketDigestRequestHandler() {
+      return new DataSlotDiffBucketDigestRequestHandler();
+    }
+
     @Bean
     public AbstractServerHandler dataSlotDiffPublisherRequestHandler() {
       return new DataSlotDiffPublisherRequestHandler();
@@ -19,8 +19,15 @@ package com.alipay.sofa.registry.server.session.cache;
 import com.alipay.sofa.registry.common.model.store.SubDatum;
 import com.alipay.sofa.registry.log.Logger;
 import com.alipay.sofa.registry.log.LoggerFactory;
+import com.alipay.sofa.registry.server.session.bootstrap.SessionServerConfig;
 import com.alipay.sofa.registry.server.session.node.service.DataNodeService;
+import com.alipay.sofa.registry.server.session.slot.SlotTableCache;
+import com.alipay.sofa.registry.task.MetricsableThreadPoolExecutor;
+import com.alipay.sofa.registry.util.OsUtils;
 import com.alipay.sofa.registry.util.ParaCheckUtil;
+import com.google.common.collect.Maps;
+import java.util.Map;
+import java.util.concurrent.ThreadPoolExecutor;
 import org.springframework.beans.factory.annotation.Autowired;
 
 /**
@@ -32,6 +39,16 @@ public class DatumCacheGenerator implements CacheGenerator {
   /** DataNode service */
   @Autowired DataNodeService dataNodeService;
 
+  @Autowired SessionServerConfig sessionServerConfig;
+
+  @Autowired SlotTableCache slotTableCache;
+
+  /** key is dataCenter and the data leader */
+  private final Map<String, MultiDatumFetcher> multiFetchers = Maps.newConcurrentMap();
+
+  private final ThreadPoolExecutor multiFetchExecutor =
+      MetricsableThreadPoolExecutor.newExecutor("MultiDatumFetch", OsUtils.getCpuCount() * 2, 1024);
+
   @Override
   public Value generatePayload(Key key) {
     EntityType entityType = key.getEntityType();
@@ -43,7 +60,7 @@ public class DatumCacheGenerator implements CacheGenerator {
       ParaCheckUtil.checkNotBlank(dataCenter, "dataCenter");
       ParaCheckUtil.checkNotBlank(dataInfoId, "dataInfoId");
       final long now = System.currentTimeMillis();
-      SubDatum datum = dataNodeService.fetch(dataInfoId, dataCenter);
+      SubDatum datum = fetch(dataInfoId, dataCenter);
       final long span = System.currentTimeMillis() - now;
       if (datum == null) {
         LOGGER.info("loadNil,{},{},span={}", dataInfoId, dataCenter, span);
@@ -61,4 +78,21 @@ public class DatumCacheGenerator implements CacheGenerator {
     }
     throw new IllegalArgumentException("unsupported key type:" + entityType);
   }
+
+  private SubDatum fetch(String dataInfoId, String dataCenter) {
+    final int batchSize = sessionServerConfig.getDataNodeFetchDatumBatchSize();
+    if (batchSize <= 1) {
+      return dataNodeService.fetch(dataInfoId, dataCenter);
+    }
+    final String leader = slotTableCache.getLeader(slotTableCache.slotOf(dataInfoId));
+    MultiDatumFetcher fetcher =
+        multiFetchers.computeIfAbsent(
+            dataCenter + "@" + leader,
+            k -> new MultiDatumFetcher(dataCenter, dataNodeService, multiFetchExecutor));
+    // waiting for the prev batches and the own
+    return fetcher.fetch(
+        dataInfoId,
+        batchSize,
+        sessionServerConfig.getDataNodeExchangeForFetchDatumTimeoutMillis() * 2L);
+  }
 }
@@ -0,0 +1,160 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alipay.sofa.registry.server.session.cache;
+
+import com.alipay.sofa.registry.common.model.store.SubDatum;
+import com.alipay.sofa.registry.log.Logger;
+import com.alipay.sofa.registry.log.LoggerFactory;
+import com.alipay.sofa.registry.server.session.node.service.DataNodeService;
+import com.alipay.sofa.registry.util.StringFormatter;
+import com.google.common.collect.Maps;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * coalesces the concurrent datum fetches to the same data server into multi-get requests. the first
+ * fetch starts a drain task, the fetches arriving while the task is requesting are packed into the
+ * next request. a single pending fetch still uses the single-get request
+ */
+final class MultiDatumFetcher {
+  private static final Logger LOGGER = LoggerFactory.getLogger("CACHE-GEN");
+
+  private final String dataCenter;
+
+  private final DataNodeService dataNodeService;
+
+  private final Executor executor;
+
+  private final Map<String, CompletableFuture<SubDatum>> pending = new LinkedHashMap<>();
+
+  private boolean draining;
+
+  MultiDatumFetcher(String dataCenter, DataNodeService dataNodeService, Executor executor) {
+    this.dataCenter = dataCenter;
+    this.dataNodeService = dataNodeService;
+    this.executor = executor;
+  }
+
+  SubDatum fetch(String dataInfoId, int batchSize, long timeoutMillis) {
+    final CompletableFuture<SubDatum> future;
+    boolean startDrain = false;
+    synchronized (this) {
+      // the concurrent fetches of the same dataInfoId share one future
+      future = pending.computeIfAbsent(dataInfoId, k -> new CompletableFuture<>());
+      if (!draining) {
+        draining = true;
+        startDrain = true;
+      }
+    }
+    if (startDrain) {
+      try {
+        executor.execute(() -> drain(batchSize));
+      } catch (RejectedExecutionException e) {
+        drain(batchSize);
+      }
+    }
+    try {
+      return future.get(timeoutMillis, TimeUnit.MILLISECONDS);
+    } catch (ExecutionException e) {
+      Throwable cause = e.getCause();
+      if (cause instanceof RuntimeException) {
+        throw (RuntimeException) cause;
+      }
+      throw new RuntimeException(cause);
+    } catch (TimeoutException e) {
+      throw new RuntimeException(
+          StringFormatter.format(
+              "GetData timeout in batch, {}, {}, timeout={}",
+              dataInfoId,
+              dataCenter,
+              timeoutMillis),
+          e);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new RuntimeException(e);
+    }
+  }
+
+  void drain(int batchSize) {
+    for (; ; ) {
+      Map<String, CompletableFuture<SubDatum>> batch = poll(batchSize);
+      if (batch == null) {
+        return;
+      }
+      fetchBatch(batch);
+    }
+  }
+
+  private synchronized Map<String, CompletableFuture<SubDatum>> poll(int batchSize) {
+    if (pending.isEmpty()) {
+      draining = false;
+      return null;
+    }
+    Map<String, CompletableFuture<SubDatum>> batch =
+        Maps.newHashMapWithExpectedSize(Math.min(batchSize, pending.size()));
+    Iterator<Map.Entry<String, CompletableFuture<SubDatum>>> it = pending.entrySet().iterator();
+    while (it.hasNext() && batch.size() < batchSize) {
+      Map.Entry<String, CompletableFuture<SubDatum>> e = it.next();
+      batch.put(e.getKey(), e.getValue());
+      it.remove();
+    }
+    return batch;
+  }
+
+  private void fetchBatch(Map<String, CompletableFuture<SubDatum>> batch) {
+    Map<String, SubDatum> datums = Collections.emptyMap();
+    if (batch.size() > 1) {
+      try {
+        final long now = System.currentTimeMillis();
+        datums = dataNodeService.fetch(batch.keySet(), dataCenter);
+        LOGGER.info(
+            "loadMulti,{},num={},got={},span={}",
+            dataCenter,
+            batch.size(),
+            datums.size(),
+            System.currentTimeMillis() - now);
+      } catch (Throwable e) {
+        LOGGER.error("loadMulti failed, {}, num={}", dataCenter, batch.size(), e);
+      }
+    }
+    for (Map.Entry<String, CompletableFuture<SubDatum>> e : batch.entrySet()) {
+      final String dataInfoId = e.getKey();
+      if (datums.containsKey(dataInfoId)) {
+        e.getValue().complete(datums.get(dataInfoId));
+        continue;
+      }
+      // the single one, or the failed one in the multi-get
+      try {
+        e.getValue().complete(dataNodeService.fetch(dataInfoId, dataCenter));
+      } catch (Throwable t) {
+        e.getValue().completeExceptionally(t);
+      }
+    }
+  }
+
+  synchronized int pendingSize() {
+    return pending.size();
+  }
+}
@@ -22,11 +22,13 @@ import com.alipay.sofa.registry.common.model.store.*;
 import com.alipay.sofa.registry.core.model.DataBox;
 import com.alipay.sofa.registry.core.model.ReceivedConfigData;
 import com.alipay.sofa.registry.core.model.ReceivedData;
+import com.alipay.sofa.registry.core.model.ReceivedDeltaData;
 import com.alipay.sofa.registry.core.model.ScopeEnum;
 import com.alipay.sofa.registry.log.Logger;
 import com.alipay.sofa.registry.log.LoggerFactory;
 import com.alipay.sofa.registry.util.DatumVersionUtil;
 import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -105,6 +107,80 @@ public final class ReceivedDataConverter {
     return new PushData<>(receivedData, dataCount);
   }
 
+  /**
+   * the diff between the pushed datum and the current datum, the publisher is identified by the
+   * registerId, a changed publisher removes all the boxes of the old one and adds the new ones
+   *
+   * @param baseDatum the datum pushed to the subscriber
+   * @param unzipDatum the current datum
+   * @param scope the scope
+   * @param subscriberRegisterIdList the subscriber register id list
+   * @param regionLocal the region local
+   * @param zonePredicate the zone predicate, the same as the full push
+   * @return received delta data, dataCount is the sum of the added and removed boxes
+   */
+  public static PushData<ReceivedDeltaData> getReceivedDeltaData(
+      SubDatum baseDatum,
+      SubDatum unzipDatum,
+      ScopeEnum scope,
+      List<String> subscriberRegisterIdList,
+      String regionLocal,
+      Predicate<String> zonePredicate) {
+    baseDatum.mustUnzipped();
+    unzipDatum.mustUnzipped();
+    ReceivedDeltaData deltaData = new ReceivedDeltaData();
+    deltaData.setDataId(unzipDatum.getDataId());
+    deltaData.setGroup(unzipDatum.getGroup());
+    deltaData.setInstanceId(unzipDatum.getInstanceId());
+    deltaData.setSubscriberRegistIds(subscriberRegisterIdList);
+    deltaData.setSegment(unzipDatum.getDataCenter());
+    deltaData.setScope(scope.name());
+    deltaData.setVersion(unzipDatum.getVersion());
+    deltaData.setBaseVersion(baseDatum.getVersion());
+    deltaData.setLocalZone(regionLocal);
+
+    Map<String, SubPublisher> basePublishers =
+        Maps.newHashMapWithExpectedSize(baseDatum.getPubNum());
+    for (SubPublisher publisher : baseDatum.mustGetPublishers()) {
+      if (!zonePredicate.test(publisher.getCell())) {
+        basePublishers.put(publisher.getRegisterId(), publisher);
+      }
+    }
+    Map<String /*zone*/, List<DataBox>> addMap = new HashMap<>();
+    Map<String /*zone*/, List<DataBox>> removeMap = new HashMap<>();
+    int dataCount = 0;
+    for (SubPublisher publisher : unzipDatum.mustGetPublishers()) {
+      if (zonePredicate.test(publisher.getCell())) {
+        continue;
+      }
+      SubPublisher base = basePublishers.remove(publisher.getRegisterId());
+      if (base != null
+          && base.getVersion() == publisher.getVersion()
+          && base.getRegisterTimestamp() == publisher.getRegisterTimestamp()) {
+        continue;
+      }
+      if (base != null) {
+        dataCount += fillZoneDatas(removeMap, base);
+      }
+      dataCount += fillZoneDatas(addMap, publisher);
+    }
+    for (SubPublisher base : basePublishers.values()) {
+      dataCount += fillZoneDatas(removeMap, base);
+    }
+    deltaData.setAddData(addMap);
+    deltaData.setRemoveData(removeMap);
+    return new PushData<>(deltaData, dataCount);
+  }
+
+  private static int fillZoneDatas(Map<String, List<DataBox>> zoneMap, SubPublisher publisher) {
+    List<ServerDataBox> datas = publisher.getDataList();
+    if (datas == null || datas.isEmpty()) {
+      return 0;
+    }
+    fillRegionDatas(zoneMap.computeIfAbsent(publisher.getCell(), k -> new ArrayList<>()), datas);
+    return datas.size();
+  }
+
   private static void fillRegionDatas(List<DataBox> regionDatas, List<ServerDataBox> datas) {
     for (ServerDataBox data : datas) {
       DataBox box = new DataBox();
@@ -20,8 +20,12 @@ import com.alipay.sofa.registry.common.model.client.pb.*;
 import com.alipay.sofa.registry.compress.*;
 import com.alipay.sofa.registry.core.model.ReceivedConfigData;
 import com.alipay.sofa.registry.core.model.ReceivedData;
+import com.alipay.sofa.registry.core.model.ReceivedDeltaData;
+import com.alipay.sofa.registry.remoting.bolt.serializer.EncodedProtobufMessage;
 import com.alipay.sofa.registry.util.SystemUtils;
+import com.google.protobuf.CodedOutputStream;
 import com.google.protobuf.UnsafeByteOperations;
+import java.io.IOException;
 import java.util.*;
 
 /**
@@ -127,6 +131,57 @@ public final class ReceivedDataConvertor {
     }
   }
 
+  /**
+   * the fields of protobuf could be in any order, write the registerIds ahead and copy the encoded
+   * ReceivedDataPb(without registerIds) after them, avoid building and encoding the message for
+   * each push
+   */
+  public static EncodedProtobufMessage encodeWithRegisterIds(
+      byte[] encodedTemplate, List<String> registerIds) {
+    int size = encodedTemplate.length;
+    for (String registerId : registerIds) {
+      size +=
+          CodedOutputStream.computeStringSize(
+              ReceivedDataPb.SUBSCRIBERREGISTIDS_FIELD_NUMBER, registerId);
+    }
+    final byte[] bytes = new byte[size];
+    final CodedOutputStream output = CodedOutputStream.newInstance(bytes);
+    try {
+      for (String registerId : registerIds) {
+        output.writeString(ReceivedDataPb.SUBSCRIBERREGISTIDS_FIELD_NUMBER, registerId);
+      }
+      output.writeRawBytes(encodedTemplate);
+      output.checkNoSpaceLeft();
+    } catch (IOException e) {
+      throw new IllegalStateException("failed to encode ReceivedDataPb", e);
+    }
+    return new EncodedProtobufMessage(ReceivedDataPb.class.getName(), bytes);
+  }
+
+  public static ReceivedDeltaDataPb convert2Pb(ReceivedDeltaData receivedDeltaData) {
+    if (receivedDeltaData == null) {
+      return null;
+    }
+    ReceivedDeltaDataPb.Builder builder = ReceivedDeltaDataPb.newBuilder();
+    builder
+        .setDataId(receivedDeltaData.getDataId())
+        .setGroup(receivedDeltaData.getGroup())
+        .setInstanceId(receivedDeltaData.getInstanceId())
+        .setLocalZone(receivedDeltaData.getLocalZone())
+        .setScope(receivedDeltaData.getScope())
+        .setSegment(receivedDeltaData.getSegment())
+        .setVersion(receivedDeltaData.getVersion())
+        .setBaseVersion(receivedDeltaData.getBaseVersion())
+        .addAllSubscriberRegistIds(receivedDeltaData.getSubscriberRegistIds());
+    if (receivedDeltaData.getAddData() != null) {
+      builder.putAllAddData(DataBoxConvertor.convert2PbMaps(receivedDeltaData.getAddData()));
+    }
+    if (receivedDeltaData.getRemoveData() != null) {
+      builder.putAllRemoveData(DataBoxConvertor.convert2PbMaps(receivedDeltaData.getRemoveData()));
+    }
+    return builder.build();
+  }
+
   public static ReceivedConfigDataPb convert2Pb(ReceivedConfigData receivedConfigData) {
 
     if (receivedConfigData == null) {
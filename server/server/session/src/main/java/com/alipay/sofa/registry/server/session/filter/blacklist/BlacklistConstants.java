@@ -33,4 +33,7 @@ public class BlacklistConstants {
 
   /** match full ip */
   public static final String IP_FULL = "IP_FULL";
+
+  /** match ip in CIDR ranges, e.g. 10.0.0.0/8 */
+  public static final String IP_CIDR = "IP_CIDR";
 }
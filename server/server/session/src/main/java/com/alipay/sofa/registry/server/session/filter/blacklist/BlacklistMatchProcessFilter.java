@@ -21,7 +21,6 @@ import com.alipay.sofa.registry.common.model.store.URL;
 import com.alipay.sofa.registry.server.session.filter.IPMatchStrategy;
 import com.alipay.sofa.registry.server.session.filter.ProcessFilter;
 import com.alipay.sofa.registry.server.session.providedata.FetchBlackListService;
-import java.util.List;
 import javax.annotation.Resource;
 import org.springframework.beans.factory.annotation.Autowired;
 
@@ -38,10 +37,8 @@ public class BlacklistMatchProcessFilter implements ProcessFilter<BaseInfo> {
   @Override
   public boolean match(BaseInfo storeData) {
 
-    final List<BlacklistConfig> configList = fetchBlackListService.getBlacklistConfigList();
-
-    // empty list proceed
-    if (null == configList || configList.size() == 0) {
+    // empty blacklist proceed
+    if (fetchBlackListService.getBlacklistMatcher().isEmpty()) {
       return false;
     }
 
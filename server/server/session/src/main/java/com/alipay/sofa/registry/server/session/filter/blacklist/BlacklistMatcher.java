@@ -0,0 +1,115 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alipay.sofa.registry.server.session.filter.blacklist;
+
+import com.alipay.sofa.registry.log.Logger;
+import com.alipay.sofa.registry.log.LoggerFactory;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * the blacklist configs compiled per blacklist type, a hash set for the full ips and a prefix trie
+ * for the CIDR ranges. it is immutable after compiled, rebuilt when the configs change
+ */
+public final class BlacklistMatcher {
+  private static final Logger LOGGER = LoggerFactory.getLogger(BlacklistMatcher.class);
+
+  public static final BlacklistMatcher EMPTY = new BlacklistMatcher(Collections.emptyMap());
+
+  private final Map<String, TypeMatcher> typeMatchers;
+
+  private BlacklistMatcher(Map<String, TypeMatcher> typeMatchers) {
+    this.typeMatchers = typeMatchers;
+  }
+
+  @SuppressWarnings({"rawtypes", "unchecked"})
+  public static BlacklistMatcher compile(List<BlacklistConfig> configs) {
+    if (configs == null || configs.isEmpty()) {
+      return EMPTY;
+    }
+    Map<String, TypeMatcher> typeMatchers = Maps.newHashMap();
+    for (BlacklistConfig config : configs) {
+      List<MatchType> matchTypes = config.getMatchTypes();
+      if (config.getType() == null || matchTypes == null) {
+        continue;
+      }
+      for (MatchType matchType : matchTypes) {
+        if (matchType == null || matchType.getPatternSet() == null) {
+          continue;
+        }
+        Set<String> patterns = matchType.getPatternSet();
+        if (BlacklistConstants.IP_FULL.equals(matchType.getType())) {
+          typeMatchers
+              .computeIfAbsent(config.getType(), k -> new TypeMatcher())
+              .ips
+              .addAll(patterns);
+        } else if (BlacklistConstants.IP_CIDR.equals(matchType.getType())) {
+          IPPrefixTrie ranges =
+              typeMatchers.computeIfAbsent(config.getType(), k -> new TypeMatcher()).ranges;
+          for (String cidr : patterns) {
+            try {
+              ranges.add(cidr);
+            } catch (Throwable e) {
+              LOGGER.error("illegal blacklist cidr: {}, type={}", cidr, config.getType(), e);
+            }
+          }
+        }
+      }
+    }
+    return typeMatchers.isEmpty() ? EMPTY : new BlacklistMatcher(typeMatchers);
+  }
+
+  public boolean match(String type, String ip) {
+    final TypeMatcher typeMatcher = typeMatchers.get(type);
+    if (typeMatcher == null) {
+      return false;
+    }
+    return typeMatcher.ips.contains(ip) || typeMatcher.ranges.contains(ip);
+  }
+
+  /**
+   * @param type blacklist type
+   * @param ip ip
+   * @return true if the ip matches the CIDR ranges of the type
+   */
+  public boolean matchRange(String type, String ip) {
+    final TypeMatcher typeMatcher = typeMatchers.get(type);
+    return typeMatcher != null && typeMatcher.ranges.contains(ip);
+  }
+
+  public boolean hasRange() {
+    for (TypeMatcher typeMatcher : typeMatchers.values()) {
+      if (!typeMatcher.ranges.isEmpty()) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  public boolean isEmpty() {
+    return typeMatchers.isEmpty();
+  }
+
+  private static final class TypeMatcher {
+    final Set<String> ips = Sets.newHashSet();
+    final IPPrefixTrie ranges = new IPPrefixTrie();
+  }
+}
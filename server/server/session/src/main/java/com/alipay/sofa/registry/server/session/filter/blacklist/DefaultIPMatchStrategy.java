@@ -19,11 +19,8 @@ package com.alipay.sofa.registry.server.session.filter.blacklist;
 import com.alipay.sofa.registry.server.session.filter.IPMatchStrategy;
 import com.alipay.sofa.registry.server.session.providedata.FetchBlackListService;
 import com.google.common.annotations.VisibleForTesting;
-import java.util.List;
-import java.util.Set;
 import java.util.function.Supplier;
 import javax.annotation.Resource;
-import org.apache.commons.lang.StringUtils;
 
 /**
  * @author shangyu.wh
@@ -39,43 +36,8 @@ public class DefaultIPMatchStrategy implements IPMatchStrategy<String> {
   }
 
   private boolean match(String type, String matchPattern) {
-
-    List<BlacklistConfig> configList = fetchBlackListService.getBlacklistConfigList();
-    for (BlacklistConfig blacklistConfig : configList) {
-
-      // 如黑名单类型不匹配则跳过
-      if (!StringUtils.equals(type, blacklistConfig.getType())) {
-        continue;
-      }
-
-      List<MatchType> matchTypeList = blacklistConfig.getMatchTypes();
-
-      // 匹配规则为空跳过
-      if (null == matchTypeList || matchTypeList.size() == 0) {
-        continue;
-      }
-
-      for (MatchType matchType : matchTypeList) {
-        if (null == matchType) {
-          continue;
-        }
-
-        if (BlacklistConstants.IP_FULL.equals(matchType.getType())) {
-          // IP 全匹配时判断当前发布者IP是否在IP列表中，如命中则拒绝发布
-          @SuppressWarnings("unchecked")
-          Set<String> patterns = matchType.getPatternSet();
-
-          if (null == patterns || patterns.size() == 0) {
-            continue;
-          }
-
-          if (patterns.contains(matchPattern)) {
-            return true;
-          }
-        }
-      }
-    }
-    return false;
+    // the configs are compiled when changed, O(1) for full ip and O(32/128) for the cidr ranges
+    return fetchBlackListService.getBlacklistMatcher().match(type, matchPattern);
   }
 
   /**
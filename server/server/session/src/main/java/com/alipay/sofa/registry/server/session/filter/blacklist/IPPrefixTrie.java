@@ -0,0 +1,108 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alipay.sofa.registry.server.session.filter.blacklist;
+
+import com.google.common.net.InetAddresses;
+import java.net.InetAddress;
+
+/**
+ * a binary prefix trie of the ip ranges, the ipv4 and ipv6 ranges are kept in different roots. a
+ * lookup walks at most 32/128 bits of the address
+ */
+public final class IPPrefixTrie {
+  private final Node v4Root = new Node();
+  private final Node v6Root = new Node();
+  private int rangeNum;
+
+  /**
+   * add the range in CIDR notation, e.g. 10.0.0.0/8 or 2001:db8::/32. an address without the prefix
+   * length is treated as a single host
+   *
+   * @param cidr the range
+   * @throws IllegalArgumentException if the cidr is illegal
+   */
+  public void add(String cidr) {
+    final String range = cidr.trim();
+    final int slash = range.indexOf('/');
+    final byte[] address =
+        InetAddresses.forString(slash < 0 ? range : range.substring(0, slash)).getAddress();
+    final int maxBits = address.length * 8;
+    final int prefixLen = slash < 0 ? maxBits : Integer.parseInt(range.substring(slash + 1));
+    if (prefixLen < 0 || prefixLen > maxBits) {
+      throw new IllegalArgumentException("illegal prefix length: " + cidr);
+    }
+    Node node = address.length == 4 ? v4Root : v6Root;
+    for (int i = 0; i < prefixLen; i++) {
+      if (node.terminal) {
+        // covered by a shorter range
+        return;
+      }
+      final int bit = bitAt(address, i);
+      if (node.children[bit] == null) {
+        node.children[bit] = new Node();
+      }
+      node = node.children[bit];
+    }
+    node.terminal = true;
+    // the longer ranges are covered
+    node.children[0] = null;
+    node.children[1] = null;
+    rangeNum++;
+  }
+
+  /**
+   * @param ip the literal ip address
+   * @return true if the ip is in any range, false if not or the ip is not a literal address
+   */
+  public boolean contains(String ip) {
+    if (rangeNum == 0 || ip == null) {
+      return false;
+    }
+    final InetAddress address;
+    try {
+      address = InetAddresses.forString(ip);
+    } catch (IllegalArgumentException e) {
+      return false;
+    }
+    return contains(address.getAddress());
+  }
+
+  private boolean contains(byte[] address) {
+    Node node = address.length == 4 ? v4Root : v6Root;
+    final int maxBits = address.length * 8;
+    for (int i = 0; i < maxBits && node != null; i++) {
+      if (node.terminal) {
+        return true;
+      }
+      node = node.children[bitAt(address, i)];
+    }
+    return node != null && node.terminal;
+  }
+
+  public boolean isEmpty() {
+    return rangeNum == 0;
+  }
+
+  private static int bitAt(byte[] address, int index) {
+    return (address[index >>> 3] >>> (7 - (index & 7))) & 1;
+  }
+
+  private static final class Node {
+    final Node[] children = new Node[2];
+    boolean terminal;
+  }
+}
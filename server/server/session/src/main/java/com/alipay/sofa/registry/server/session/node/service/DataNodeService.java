@@ -18,9 +18,12 @@ package com.alipay.sofa.registry.server.session.node.service;
 
 import com.alipay.sofa.registry.common.model.ClientOffPublishers;
 import com.alipay.sofa.registry.common.model.dataserver.DatumVersion;
+import com.alipay.sofa.registry.common.model.dataserver.DatumVersionDelta;
 import com.alipay.sofa.registry.common.model.store.Publisher;
 import com.alipay.sofa.registry.common.model.store.SubDatum;
 import com.alipay.sofa.registry.remoting.exchange.ExchangeCallback;
+import java.util.Collection;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -51,11 +54,37 @@ public interface DataNodeService {
    */
   void clientOff(ClientOffPublishers clientOffPublishers);
 
+  /**
+   * client off a batch of connections, the publishers of all the connections are merged into one
+   * request per slot, a slot rejected by the full queue does not abort the other slots
+   *
+   * @param clientOffPublishers
+   * @return the rejected slots, empty if all the slots are committed
+   */
+  List<Integer> clientOff(List<ClientOffPublishers> clientOffPublishers);
+
   void fetchDataVersion(
       String dataCenter,
       int slotId,
       Map<String, DatumVersion> interests,
       ExchangeCallback<Map<String /*datainfoid*/, DatumVersion>> callback);
+
+  /**
+   * fetch the changed versions of the slot after the cursor of the version stream
+   *
+   * @param dataCenter
+   * @param slotId
+   * @param streamId
+   * @param seq
+   * @param callback
+   */
+  void fetchDataVersionDelta(
+      String dataCenter,
+      int slotId,
+      long streamId,
+      long seq,
+      ExchangeCallback<DatumVersionDelta> callback);
+
   /**
    * fetch one dataCenter publisher data from data server
    *
@@ -64,4 +93,15 @@ public interface DataNodeService {
    * @return
    */
   SubDatum fetch(String dataInfoId, String dataCenterId);
+
+  /**
+   * fetch multi publisher data of one dataCenter from data servers, one request per data server.
+   * the result is partial, the failed dataInfoIds are absent and a dataInfoId mapping to null means
+   * the datum not exists
+   *
+   * @param dataInfoIds
+   * @param dataCenterId
+   * @return
+   */
+  Map<String, SubDatum> fetch(Collection<String> dataInfoIds, String dataCenterId);
 }
@@ -18,6 +18,7 @@ package com.alipay.sofa.registry.server.session.node.service;
 
 import com.alipay.sofa.registry.common.model.ClientOffPublishers;
 import com.alipay.sofa.registry.common.model.CommonResponse;
+import com.alipay.sofa.registry.common.model.GenericResponse;
 import com.alipay.sofa.registry.common.model.dataserver.*;
 import com.alipay.sofa.registry.common.model.slot.Slot;
 import com.alipay.sofa.registry.common.model.slot.SlotAccessGenericResponse;
@@ -37,6 +38,7 @@ import com.alipay.sofa.registry.remoting.exchange.message.Request;
 import com.alipay.sofa.registry.remoting.exchange.message.Response;
 import com.alipay.sofa.registry.remoting.exchange.message.SimpleRequest;
 import com.alipay.sofa.registry.server.session.bootstrap.SessionServerConfig;
+import com.alipay.sofa.registry.server.session.registry.ClientManagerMetric;
 import com.alipay.sofa.registry.server.session.slot.SlotTableCache;
 import com.alipay.sofa.registry.server.shared.env.ServerEnv;
 import com.alipay.sofa.registry.server.shared.util.DatumUtils;
@@ -130,6 +132,42 @@ public class DataNodeServiceImpl implements DataNodeService {
     }
   }
 
+  @Override
+  public List<Integer> clientOff(List<ClientOffPublishers> clientOffPublishers) {
+    if (clientOffPublishers.isEmpty()) {
+      return Collections.emptyList();
+    }
+    Map<Integer, List<Object>> groups = Maps.newHashMap();
+    for (ClientOffPublishers publishers : clientOffPublishers) {
+      for (Map.Entry<Integer, ClientOffPublisher> group : groupBySlot(publishers).entrySet()) {
+        groups.computeIfAbsent(group.getKey(), k -> Lists.newArrayList()).add(group.getValue());
+      }
+    }
+    ClientManagerMetric.CLIENT_OFF_BATCH.inc();
+    ClientManagerMetric.CLIENT_OFF_BATCH_CONNECT.inc(clientOffPublishers.size());
+    List<Integer> rejectedSlots = Lists.newArrayList();
+    for (Map.Entry<Integer, List<Object>> group : groups.entrySet()) {
+      final int slotId = group.getKey();
+      try {
+        // one req for all the connections of the slot
+        commitReq(slotId, new Req(slotId, new ReqBatch(group.getValue())));
+        ClientManagerMetric.CLIENT_OFF_BATCH_SLOT_REQ.inc();
+      } catch (FastRejectedExecutionException e) {
+        ClientManagerMetric.CLIENT_OFF_BATCH_REJECTED.inc();
+        rejectedSlots.add(slotId);
+      }
+    }
+    if (!rejectedSlots.isEmpty()) {
+      // the committed slots are not rolled back, report the rejected ones only
+      LOGGER.warn(
+          "commit clientOff batch overflow, connects={}, slots={}, rejectedSlots={}",
+          clientOffPublishers.size(),
+          groups.size(),
+          rejectedSlots);
+    }
+    return rejectedSlots;
+  }
+
   @Override
   public void fetchDataVersion(
       String dataCenter,
@@ -202,6 +240,65 @@ public class DataNodeServiceImpl implements DataNodeService {
     }
   }
 
+  @Override
+  public void fetchDataVersionDelta(
+      String dataCenter,
+      int slotId,
+      long streamId,
+      long seq,
+      ExchangeCallback<DatumVersionDelta> callback) {
+    final Slot slot = getSlot(slotId);
+    final String dataNodeIp = slot.getLeader();
+    try {
+      final GetDataVersionDeltaRequest request =
+          new GetDataVersionDeltaRequest(dataCenter, ServerEnv.PROCESS_ID, slotId, streamId, seq);
+      request.setSlotTableEpoch(slotTableCache.getEpoch());
+      request.setSlotLeaderEpoch(slot.getLeaderEpoch());
+      final CallbackHandler handler =
+          new CallbackHandler() {
+            @Override
+            public void onCallback(Channel channel, Object message) {
+              SlotAccessGenericResponse<DatumVersionDelta> genericResponse =
+                  (SlotAccessGenericResponse<DatumVersionDelta>) message;
+              if (genericResponse.isSuccess()) {
+                callback.onCallback(channel, genericResponse.getData());
+              } else {
+                callback.onException(
+                    channel,
+                    new RuntimeException(
+                        StringFormatter.format(
+                            "GetDataVersionDelta failed, {}@{}, slotId={}, access={}, msg:{}",
+                            dataNodeIp,
+                            dataCenter,
+                            slotId,
+                            genericResponse.getSlotAccess(),
+                            genericResponse.getMessage())));
+              }
+            }
+
+            @Override
+            public void onException(Channel channel, Throwable exception) {
+              callback.onException(channel, exception);
+            }
+
+            @Override
+            public Executor getExecutor() {
+              return callbackExecutor;
+            }
+          };
+      Response response =
+          dataNodeExchanger.request(new SimpleRequest<>(request, getUrl(slot), handler));
+      Response.ResultStatus result = (Response.ResultStatus) response.getResult();
+      if (result != Response.ResultStatus.SUCCESSFUL) {
+        throw new RequestException("response not success, status=" + result);
+      }
+    } catch (RequestException e) {
+      throw new RuntimeException(
+          StringFormatter.format(
+              "GetDataVersionDelta fail {}@{}, slotId={}", dataNodeIp, dataCenter, slotId, e));
+    }
+  }
+
   @Override
   public SubDatum fetch(String dataInfoId, String dataCenter) {
     String dataNodeIp = null;
@@ -262,6 +359,75 @@ public class DataNodeServiceImpl implements DataNodeService {
     }
   }
 
+  @Override
+  public Map<String, SubDatum> fetch(Collection<String> dataInfoIds, String dataCenter) {
+    final long slotTableEpoch = slotTableCache.getEpoch();
+    Map<URL, GetMultiDataRequest> requests = Maps.newHashMap();
+    for (String dataInfoId : dataInfoIds) {
+      try {
+        final Slot slot = getSlot(dataInfoId);
+        GetMultiDataRequest request =
+            requests.computeIfAbsent(
+                getUrl(slot),
+                k -> new GetMultiDataRequest(ServerEnv.PROCESS_ID, dataCenter, slotTableEpoch));
+        request.add(slot.getId(), slot.getLeaderEpoch(), dataInfoId);
+      } catch (Throwable e) {
+        LOGGER.warn("GetMultiData skip {}, {}: {}", dataInfoId, dataCenter, e.getMessage());
+      }
+    }
+    Map<String, SubDatum> ret = Maps.newHashMapWithExpectedSize(dataInfoIds.size());
+    for (Map.Entry<URL, GetMultiDataRequest> e : requests.entrySet()) {
+      final URL url = e.getKey();
+      final GetMultiDataRequest getMultiDataRequest = e.getValue();
+      getMultiDataRequest.setAcceptEncodes(CompressConstants.defaultCompressEncodes);
+      try {
+        Response response =
+            dataNodeExchanger.request(
+                new Request<GetMultiDataRequest>() {
+                  @Override
+                  public GetMultiDataRequest getRequestBody() {
+                    return getMultiDataRequest;
+                  }
+
+                  @Override
+                  public URL getRequestUrl() {
+                    return url;
+                  }
+
+                  @Override
+                  public Integer getTimeout() {
+                    return sessionServerConfig.getDataNodeExchangeForFetchDatumTimeoutMillis();
+                  }
+                });
+        GenericResponse<MultiSubDatum> genericResponse =
+            (GenericResponse<MultiSubDatum>) response.getResult();
+        if (!genericResponse.isSuccess()) {
+          LOGGER.error(
+              "GetMultiData got fail response {}, {}, msg:{}",
+              url.getIpAddress(),
+              getMultiDataRequest,
+              genericResponse.getMessage());
+          continue;
+        }
+        final MultiSubDatum multiSubDatum = genericResponse.getData();
+        for (Map.Entry<String, SubDatum> datum : multiSubDatum.getDatums().entrySet()) {
+          ret.put(
+              datum.getKey(), datum.getValue() == null ? null : SubDatum.intern(datum.getValue()));
+        }
+        if (!multiSubDatum.getRejectedSlots().isEmpty()) {
+          LOGGER.warn(
+              "GetMultiData rejected slots {}, {}, {}",
+              url.getIpAddress(),
+              dataCenter,
+              multiSubDatum.getRejectedSlots().values());
+        }
+      } catch (Throwable t) {
+        LOGGER.error("GetMultiData fail {}, {}", url.getIpAddress(), getMultiDataRequest, t);
+      }
+    }
+    return ret;
+  }
+
   private CommonResponse sendRequest(Request request) throws RequestException {
     Response response = dataNodeExchanger.request(request);
     Object result = response.getResult();
@@ -323,6 +489,23 @@ public class DataNodeServiceImpl implements DataNodeService {
       this.slotId = slotId;
       this.req = req;
     }
+
+    void addTo(List<Object> batch) {
+      if (req instanceof ReqBatch) {
+        batch.addAll(((ReqBatch) req).reqs);
+      } else {
+        batch.add(req);
+      }
+    }
+  }
+
+  // the reqs of a slot committed in one queue item, flatten into the BatchRequest
+  private static final class ReqBatch {
+    final List<Object> reqs;
+
+    ReqBatch(List<Object> reqs) {
+      this.reqs = reqs;
+    }
   }
 
   private static final class RetryBatch {
@@ -365,11 +548,12 @@ public class DataNodeServiceImpl implements DataNodeService {
             Map<Integer, LinkedList<Object>> reqs =
                 drainReq(queue, sessionServerConfig.getDataNodeMaxBatchSize());
             // send by order, firstReq.slotId is the first one
-            LinkedList<Object> firstBatch = reqs.remove(firstReq.slotId);
-            if (firstBatch == null) {
-              firstBatch = Lists.newLinkedList();
+            LinkedList<Object> firstBatch = Lists.newLinkedList();
+            firstReq.addTo(firstBatch);
+            LinkedList<Object> others = reqs.remove(firstReq.slotId);
+            if (others != null) {
+              firstBatch.addAll(others);
             }
-            firstBatch.addFirst(firstReq.req);
             request(firstReq.slotId, firstBatch);
             for (Map.Entry<Integer, LinkedList<Object>> batch : reqs.entrySet()) {
               request(batch.getKey(), batch.getValue());
@@ -454,7 +638,7 @@ public class DataNodeServiceImpl implements DataNodeService {
     Map<Integer, LinkedList<Object>> ret = Maps.newLinkedHashMap();
     for (Req req : reqs) {
       LinkedList<Object> objects = ret.computeIfAbsent(req.slotId, k -> Lists.newLinkedList());
-      objects.add(req.req);
+      req.addTo(objects);
     }
     return ret;
   }
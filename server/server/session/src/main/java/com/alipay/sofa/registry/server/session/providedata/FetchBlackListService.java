@@ -21,10 +21,12 @@ import com.alipay.sofa.registry.common.model.constants.ValueConstants;
 import com.alipay.sofa.registry.common.model.metaserver.ProvideData;
 import com.alipay.sofa.registry.log.Logger;
 import com.alipay.sofa.registry.log.LoggerFactory;
+import com.alipay.sofa.registry.remoting.Channel;
 import com.alipay.sofa.registry.server.session.bootstrap.SessionServerConfig;
 import com.alipay.sofa.registry.server.session.connections.ConnectionsService;
 import com.alipay.sofa.registry.server.session.filter.blacklist.BlacklistConfig;
 import com.alipay.sofa.registry.server.session.filter.blacklist.BlacklistConstants;
+import com.alipay.sofa.registry.server.session.filter.blacklist.BlacklistMatcher;
 import com.alipay.sofa.registry.server.session.filter.blacklist.MatchType;
 import com.alipay.sofa.registry.server.session.providedata.FetchBlackListService.BlacklistStorage;
 import com.alipay.sofa.registry.server.session.registry.Registry;
@@ -108,7 +110,8 @@ public class FetchBlackListService extends AbstractFetchSystemPropertyService<Bl
     }
   }
 
-  private void clientOffBlackIp(Map<String, Map<String, Set<String>>> blacklistConfigMap) {
+  private void clientOffBlackIp(
+      Map<String, Map<String, Set<String>>> blacklistConfigMap, BlacklistMatcher matcher) {
     if (blacklistConfigMap != null) {
       Set<String> ipSet = new HashSet();
 
@@ -129,6 +132,16 @@ public class FetchBlackListService extends AbstractFetchSystemPropertyService<Bl
         }
       }
 
+      if (matcher.hasRange()) {
+        for (Channel channel : connectionsService.getAllChannel()) {
+          String ip = channel.getRemoteAddress().getAddress().getHostAddress();
+          if (matcher.matchRange(BlacklistConstants.FORBIDDEN_PUB, ip)
+              || matcher.matchRange(BlacklistConstants.FORBIDDEN_SUB_BY_PREFIX, ip)) {
+            ipSet.add(ip);
+          }
+        }
+      }
+
       List<ConnectId> conIds = connectionsService.getIpConnects(ipSet);
       // blacklist remove pub, sub, watch
       sessionRegistry.blacklist(conIds);
@@ -152,14 +165,16 @@ public class FetchBlackListService extends AbstractFetchSystemPropertyService<Bl
     LOGGER.info("Fetch session blacklist {}", data);
 
     List<BlacklistConfig> blacklistConfigs = new ArrayList();
-    // {"FORBIDDEN_PUB":{"IP_FULL":["1.1.1.1"]},"FORBIDDEN_SUB_BY_PREFIX":{"IP_FULL":["1.1.1.1"]}}
+    // {"FORBIDDEN_PUB":{"IP_FULL":["1.1.1.1"],"IP_CIDR":["10.0.0.0/8"]},
+    // "FORBIDDEN_SUB_BY_PREFIX":{"IP_FULL":["1.1.1.1"]}}
     Map<String, Map<String, Set<String>>> blacklistConfigMap =
         convertBlacklistConfig(data, blacklistConfigs);
-    clientOffBlackIp(blacklistConfigMap);
+    // compile once per config change, the register requests only do the lookup
+    BlacklistStorage update = new BlacklistStorage(provideData.getVersion(), blacklistConfigs);
+    clientOffBlackIp(blacklistConfigMap, update.blacklistMatcher);
 
     // after cancel success
     try {
-      BlacklistStorage update = new BlacklistStorage(provideData.getVersion(), blacklistConfigs);
       if (compareAndSet(expect, update)) {
         return true;
       }
@@ -172,10 +187,12 @@ public class FetchBlackListService extends AbstractFetchSystemPropertyService<Bl
 
   protected static class BlacklistStorage extends SystemDataStorage {
     final List<BlacklistConfig> blacklistConfigList;
+    final BlacklistMatcher blacklistMatcher;
 
     public BlacklistStorage(long version, List<BlacklistConfig> blacklistConfigList) {
       super(version);
       this.blacklistConfigList = blacklistConfigList;
+      this.blacklistMatcher = BlacklistMatcher.compile(blacklistConfigList);
     }
   }
 
@@ -188,6 +205,25 @@ public class FetchBlackListService extends AbstractFetchSystemPropertyService<Bl
     return storage.get().blacklistConfigList;
   }
 
+  /**
+   * Getter method for property <tt>blacklistMatcher</tt>.
+   *
+   * @return property value of blacklistMatcher
+   */
+  public BlacklistMatcher getBlacklistMatcher() {
+    return storage.get().blacklistMatcher;
+  }
+
+  /**
+   * recompile the matcher of the blacklistConfigList, keep the version
+   *
+   * @param blacklistConfigList value to be assigned to property blacklistConfigList
+   */
+  @VisibleForTesting
+  public void setBlacklistConfigList(List<BlacklistConfig> blacklistConfigList) {
+    storage.set(new BlacklistStorage(storage.get().getVersion(), blacklistConfigList));
+  }
+
   /**
    * Setter method for property <tt>sessionRegistry</tt>.
    *
@@ -18,28 +18,74 @@ package com.alipay.sofa.registry.server.session.push;
 
 import com.alipay.sofa.registry.common.model.SubscriberUtils;
 import com.alipay.sofa.registry.common.model.client.pb.ReceivedDataPb;
+import com.alipay.sofa.registry.common.model.client.pb.ReceivedDeltaDataPb;
 import com.alipay.sofa.registry.common.model.store.*;
+import com.alipay.sofa.registry.compress.CompressCachedExecutor;
+import com.alipay.sofa.registry.compress.CompressUtils;
 import com.alipay.sofa.registry.compress.Compressor;
 import com.alipay.sofa.registry.core.model.ReceivedConfigData;
 import com.alipay.sofa.registry.core.model.ReceivedData;
+import com.alipay.sofa.registry.core.model.ReceivedDeltaData;
+import com.alipay.sofa.registry.remoting.bolt.serializer.EncodedProtobufMessage;
 import com.alipay.sofa.registry.server.session.bootstrap.SessionServerConfig;
 import com.alipay.sofa.registry.server.session.converter.ReceivedDataConverter;
 import com.alipay.sofa.registry.server.session.converter.pb.ReceivedDataConvertor;
 import com.alipay.sofa.registry.server.session.predicate.ZonePredicate;
 import com.alipay.sofa.registry.server.session.providedata.CompressPushService;
+import com.alipay.sofa.registry.util.SystemUtils;
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import com.google.common.collect.Lists;
 import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Predicate;
 import javax.annotation.Resource;
 import org.springframework.beans.factory.annotation.Autowired;
 
 public class PushDataGenerator {
 
+  public static final String KEY_PUSH_PAYLOAD_CACHE_CAPACITY = "registry.push.payload.capacity";
+
+  public static final String KEY_PUSH_DELTA_DATUM_CAPACITY = "registry.push.delta.datum.capacity";
+
+  static final String ENCODE_PLAIN = "plain";
+
+  static final CompressCachedExecutor<PushPayload> pushPayloadExecutor =
+      CompressUtils.newCachedExecutor(
+          "push_payload",
+          60 * 1000,
+          SystemUtils.getSystemInteger(KEY_PUSH_PAYLOAD_CACHE_CAPACITY, 1024 * 1024 * 256));
+
+  // the pushed datums, the base of the delta push
+  final Cache<PushedDatumKey, SubDatum> pushedDatumCache =
+      CacheBuilder.newBuilder()
+          .maximumWeight(
+              SystemUtils.getSystemInteger(KEY_PUSH_DELTA_DATUM_CAPACITY, 1024 * 1024 * 128))
+          .weigher((PushedDatumKey k, SubDatum v) -> v.size())
+          .expireAfterAccess(5, TimeUnit.MINUTES)
+          .build();
+
   @Autowired protected SessionServerConfig sessionServerConfig;
 
   @Resource protected CompressPushService compressPushService;
 
   public PushData createPushData(SubDatum unzipDatum, Map<String, Subscriber> subscriberMap) {
+    return createPushData(unzipDatum, subscriberMap, true);
+  }
+
+  /**
+   * create the push data, push the diff against the pushed datum if the subscribers accept the
+   * delta encoding and the pushed datum is still cached, otherwise push the full datum
+   *
+   * @param unzipDatum the datum to push
+   * @param subscriberMap the subscribers
+   * @param allowDelta false if the subscribers require the full push, e.g. the delta is rejected
+   * @return push data
+   */
+  public PushData createPushData(
+      SubDatum unzipDatum, Map<String, Subscriber> subscriberMap, boolean allowDelta) {
     unzipDatum.mustUnzipped();
     if (subscriberMap.size() > 1) {
       SubscriberUtils.getAndAssertHasSameScope(subscriberMap.values());
@@ -52,40 +98,160 @@ public class PushDataGenerator {
     String dataId = subscriber.getDataId();
     String clientCell = sessionServerConfig.getClientCell(subscriber.getCell());
 
-    Predicate<String> zonePredicate =
-        ZonePredicate.zonePredicate(dataId, clientCell, subscriber.getScope(), sessionServerConfig);
-
-    PushData<ReceivedData> pushData =
-        ReceivedDataConverter.getReceivedDataMulti(
-            unzipDatum,
-            subscriber.getScope(),
-            Lists.newArrayList(subscriberMap.keySet()),
+    final List<String> registerIds = Lists.newArrayList(subscriberMap.keySet());
+    if (acceptDelta(subscriber)) {
+      pushedDatumCache.put(PushedDatumKey.of(unzipDatum), unzipDatum);
+      if (allowDelta) {
+        PushData deltaData =
+            createDeltaPushData(unzipDatum, subscriberMap.values(), registerIds, clientCell);
+        if (deltaData != null) {
+          return deltaData;
+        }
+      }
+    }
+    final PushPayloadKey key =
+        new PushPayloadKey(
+            unzipDatum.getDataInfoId(),
+            unzipDatum.getDataCenter(),
+            unzipDatum.getVersion(),
+            unzipDatum.getPubNum(),
+            subscriber.getScope().name(),
             clientCell,
-            zonePredicate);
-    pushData.getPayload().setVersion(unzipDatum.getVersion());
+            PushPayloadKey.SERIALIZER_JAVA,
+            ENCODE_PLAIN);
+    // the payload only depends on the datum and the subscribe condition, share it between the
+    // subscribers and patch the registerIds of each push
+    final PushPayload payload =
+        executePayload(
+            key,
+            () -> {
+              Predicate<String> zonePredicate =
+                  ZonePredicate.zonePredicate(
+                      dataId, clientCell, subscriber.getScope(), sessionServerConfig);
+              PushData<ReceivedData> pushData =
+                  ReceivedDataConverter.getReceivedDataMulti(
+                      unzipDatum,
+                      subscriber.getScope(),
+                      Collections.emptyList(),
+                      clientCell,
+                      zonePredicate);
+              pushData.getPayload().setVersion(unzipDatum.getVersion());
+              return PushPayload.of(pushData.getPayload(), pushData.getDataCount());
+            });
     final Byte serializerIndex = subscriber.getSourceAddress().getSerializerIndex();
     if (serializerIndex == null || URL.PROTOBUF != serializerIndex) {
-      return pushData;
+      return new PushData<>(payload.newReceivedData(registerIds), payload.getDataCount());
     }
-    Compressor compressor =
+    final ReceivedData template = payload.getReceivedData();
+    final Compressor compressor =
         compressPushService.getCompressor(
-            pushData.getPayload(),
-            subscriber.getAcceptEncodes(),
-            subscriber.getSourceAddress().getIpAddress());
+            template, subscriber.getAcceptEncodes(), subscriber.getSourceAddress().getIpAddress());
+    final boolean encoded = sessionServerConfig.isPushProtobufEncodedEnabled();
+    final PushPayloadKey pbKey =
+        key.withSerializer(
+            encoded ? PushPayloadKey.SERIALIZER_PROTOBUF_ENCODED : URL.PROTOBUF,
+            compressor == null ? ENCODE_PLAIN : compressor.getEncoding());
+    final PushPayload pbPayload =
+        executePayload(
+            pbKey,
+            () -> {
+              ReceivedDataPb receivedDataPb =
+                  compressor == null
+                      ? ReceivedDataConvertor.convert2Pb(template)
+                      : ReceivedDataConvertor.convert2CompressedPb(template, compressor);
+              return encoded
+                  ? PushPayload.ofEncoded(receivedDataPb, payload.getDataCount())
+                  : PushPayload.of(receivedDataPb, payload.getDataCount());
+            });
+    if (encoded) {
+      EncodedProtobufMessage message = pbPayload.newEncodedReceivedDataPb(registerIds);
+      if (compressor == null) {
+        return new PushData<>(message, pbPayload.getDataCount());
+      } else {
+        return new PushData<>(
+            message, pbPayload.getDataCount(), compressor.getEncoding(), pbPayload.getBodySize());
+      }
+    }
+    ReceivedDataPb receivedDataPb = pbPayload.newReceivedDataPb(registerIds);
     if (compressor == null) {
-      ReceivedDataPb receivedDataPb = ReceivedDataConvertor.convert2Pb(pushData.getPayload());
-      return new PushData<>(receivedDataPb, pushData.getDataCount());
+      return new PushData<>(receivedDataPb, pbPayload.getDataCount());
     } else {
-      ReceivedDataPb receivedDataPb =
-          ReceivedDataConvertor.convert2CompressedPb(pushData.getPayload(), compressor);
       return new PushData<>(
           receivedDataPb,
-          pushData.getDataCount(),
+          pbPayload.getDataCount(),
           compressor.getEncoding(),
           receivedDataPb.getBody().size());
     }
   }
 
+  private PushData createDeltaPushData(
+      SubDatum unzipDatum,
+      Collection<Subscriber> subscribers,
+      List<String> registerIds,
+      String clientCell) {
+    if (!sessionServerConfig.isPushDeltaEnabled()
+        || unzipDatum.getPubNum() < sessionServerConfig.getPushDeltaMinPubNum()) {
+      return null;
+    }
+    final String dataCenter = unzipDatum.getDataCenter();
+    long baseVersion = 0;
+    for (Subscriber subscriber : subscribers) {
+      final long pushedVersion = subscriber.getPushedVersion(dataCenter);
+      if (pushedVersion <= 0 || (baseVersion != 0 && baseVersion != pushedVersion)) {
+        return null;
+      }
+      baseVersion = pushedVersion;
+    }
+    if (baseVersion >= unzipDatum.getVersion()) {
+      return null;
+    }
+    final SubDatum baseDatum =
+        pushedDatumCache.getIfPresent(
+            new PushedDatumKey(unzipDatum.getDataInfoId(), dataCenter, baseVersion));
+    if (baseDatum == null) {
+      return null;
+    }
+    final Subscriber subscriber = subscribers.iterator().next();
+    Predicate<String> zonePredicate =
+        ZonePredicate.zonePredicate(
+            subscriber.getDataId(), clientCell, subscriber.getScope(), sessionServerConfig);
+    PushData<ReceivedDeltaData> pushData =
+        ReceivedDataConverter.getReceivedDeltaData(
+            baseDatum, unzipDatum, subscriber.getScope(), registerIds, clientCell, zonePredicate);
+    // the delta is not worth it if most of the boxes changed
+    if (pushData.getDataCount() >= unzipDatum.getPubNum()) {
+      return null;
+    }
+    final Byte serializerIndex = subscriber.getSourceAddress().getSerializerIndex();
+    Object payload = pushData.getPayload();
+    if (serializerIndex != null && URL.PROTOBUF == serializerIndex) {
+      ReceivedDeltaDataPb deltaDataPb = ReceivedDataConvertor.convert2Pb(pushData.getPayload());
+      payload = deltaDataPb;
+    }
+    return new PushData<>(payload, pushData.getDataCount(), ReceivedDeltaData.ACCEPT_ENCODING, 0);
+  }
+
+  static boolean acceptDelta(Subscriber subscriber) {
+    final String[] acceptEncodes = subscriber.getAcceptEncodes();
+    if (acceptEncodes == null) {
+      return false;
+    }
+    for (String encode : acceptEncodes) {
+      if (ReceivedDeltaData.ACCEPT_ENCODING.equals(encode)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private static PushPayload executePayload(PushPayloadKey key, Callable<PushPayload> callable) {
+    try {
+      return pushPayloadExecutor.execute(key, callable);
+    } catch (Throwable e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
   public PushData createPushData(Watcher watcher, ReceivedConfigData data) {
     URL url = watcher.getSourceAddress();
     Object o = data;
@@ -94,4 +260,40 @@ public class PushDataGenerator {
     }
     return new PushData(o, 1);
   }
+
+  @VisibleForTesting
+  static final class PushedDatumKey {
+    final String dataInfoId;
+    final String dataCenter;
+    final long version;
+
+    PushedDatumKey(String dataInfoId, String dataCenter, long version) {
+      this.dataInfoId = dataInfoId;
+      this.dataCenter = dataCenter;
+      this.version = version;
+    }
+
+    static PushedDatumKey of(SubDatum datum) {
+      return new PushedDatumKey(datum.getDataInfoId(), datum.getDataCenter(), datum.getVersion());
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (!(o instanceof PushedDatumKey)) {
+        return false;
+      }
+      PushedDatumKey that = (PushedDatumKey) o;
+      return version == that.version
+          && Objects.equals(dataInfoId, that.dataInfoId)
+          && Objects.equals(dataCenter, that.dataCenter);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(dataInfoId, dataCenter, version);
+    }
+  }
 }
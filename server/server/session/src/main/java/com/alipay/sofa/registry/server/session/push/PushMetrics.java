@@ -117,6 +117,18 @@ public final class PushMetrics {
             .help("retry count")
             .labelNames("reason")
             .register();
+
+    private static final Counter PUSH_DELTA_COUNTER =
+        Counter.build()
+            .namespace("session")
+            .subsystem("push")
+            .name("delta_total")
+            .help("delta push count")
+            .labelNames("type")
+            .register();
+
+    static final Counter.Child PUSH_DELTA_OK_COUNTER = PUSH_DELTA_COUNTER.labels("ok");
+    static final Counter.Child PUSH_DELTA_REJECT_COUNTER = PUSH_DELTA_COUNTER.labels("reject");
     private static final Histogram PUSH_DELAY_HISTOGRAM =
         Histogram.build()
             .linearBuckets(0, 1000, 30)
@@ -0,0 +1,119 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alipay.sofa.registry.server.session.push;
+
+import com.alipay.sofa.registry.cache.Sizer;
+import com.alipay.sofa.registry.common.model.client.pb.ReceivedDataPb;
+import com.alipay.sofa.registry.core.model.DataBox;
+import com.alipay.sofa.registry.core.model.ReceivedData;
+import com.alipay.sofa.registry.remoting.bolt.serializer.EncodedProtobufMessage;
+import com.alipay.sofa.registry.server.session.converter.pb.ReceivedDataConvertor;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * the cached push payload without the registerIds, the payload is shared by the pushes, must not be
+ * modified
+ */
+final class PushPayload implements Sizer {
+  private final Object template;
+  private final int dataCount;
+  private final int byteSize;
+  private final int bodySize;
+
+  private PushPayload(Object template, int dataCount, int byteSize) {
+    this(template, dataCount, byteSize, 0);
+  }
+
+  private PushPayload(Object template, int dataCount, int byteSize, int bodySize) {
+    this.template = template;
+    this.dataCount = dataCount;
+    this.byteSize = byteSize;
+    this.bodySize = bodySize;
+  }
+
+  static PushPayload of(ReceivedData receivedData, int dataCount) {
+    int size = 64;
+    for (Map.Entry<String, List<DataBox>> e : receivedData.getData().entrySet()) {
+      size += e.getKey().length();
+      for (DataBox box : e.getValue()) {
+        size += 16;
+        if (box.getData() != null) {
+          size += box.getData().length();
+        }
+      }
+    }
+    return new PushPayload(receivedData, dataCount, size);
+  }
+
+  static PushPayload of(ReceivedDataPb receivedDataPb, int dataCount) {
+    return new PushPayload(receivedDataPb, dataCount, receivedDataPb.getSerializedSize() + 64);
+  }
+
+  /** only keep the encoded bytes, the registerIds are written by each push */
+  static PushPayload ofEncoded(ReceivedDataPb receivedDataPb, int dataCount) {
+    if (receivedDataPb.getSubscriberRegistIdsCount() != 0) {
+      receivedDataPb = receivedDataPb.toBuilder().clearSubscriberRegistIds().build();
+    }
+    byte[] bytes = receivedDataPb.toByteArray();
+    return new PushPayload(bytes, dataCount, bytes.length + 64, receivedDataPb.getBody().size());
+  }
+
+  ReceivedData getReceivedData() {
+    return (ReceivedData) template;
+  }
+
+  ReceivedData newReceivedData(List<String> registerIds) {
+    ReceivedData t = getReceivedData();
+    ReceivedData receivedData = new ReceivedData();
+    receivedData.setDataId(t.getDataId());
+    receivedData.setGroup(t.getGroup());
+    receivedData.setInstanceId(t.getInstanceId());
+    receivedData.setSegment(t.getSegment());
+    receivedData.setScope(t.getScope());
+    receivedData.setVersion(t.getVersion());
+    receivedData.setLocalZone(t.getLocalZone());
+    receivedData.setData(t.getData());
+    receivedData.setSubscriberRegistIds(registerIds);
+    return receivedData;
+  }
+
+  ReceivedDataPb newReceivedDataPb(List<String> registerIds) {
+    return ((ReceivedDataPb) template)
+        .toBuilder()
+        .clearSubscriberRegistIds()
+        .addAllSubscriberRegistIds(registerIds)
+        .build();
+  }
+
+  EncodedProtobufMessage newEncodedReceivedDataPb(List<String> registerIds) {
+    return ReceivedDataConvertor.encodeWithRegisterIds((byte[]) template, registerIds);
+  }
+
+  int getBodySize() {
+    return bodySize;
+  }
+
+  int getDataCount() {
+    return dataCount;
+  }
+
+  @Override
+  public int size() {
+    return byteSize;
+  }
+}
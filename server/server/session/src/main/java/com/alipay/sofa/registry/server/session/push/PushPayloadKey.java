@@ -0,0 +1,117 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alipay.sofa.registry.server.session.push;
+
+import com.alipay.sofa.registry.compress.CompressKey;
+import com.alipay.sofa.registry.util.StringFormatter;
+import com.alipay.sofa.registry.util.StringUtils;
+import java.util.Objects;
+
+/** the identical pushes of the same datum could share the payload, except the registerIds */
+public final class PushPayloadKey implements CompressKey {
+  // the java object, not serialized by protobuf
+  static final byte SERIALIZER_JAVA = -1;
+  // the encoded protobuf bytes, not the protobuf object
+  static final byte SERIALIZER_PROTOBUF_ENCODED = -2;
+
+  private final String dataInfoId;
+  private final String dataCenter;
+  private final long version;
+  private final int pubNum;
+  private final String scope;
+  private final String clientCell;
+  private final byte serializer;
+  private final String encode;
+  private final int byteSize;
+
+  PushPayloadKey(
+      String dataInfoId,
+      String dataCenter,
+      long version,
+      int pubNum,
+      String scope,
+      String clientCell,
+      byte serializer,
+      String encode) {
+    this.dataInfoId = dataInfoId;
+    this.dataCenter = dataCenter;
+    this.version = version;
+    this.pubNum = pubNum;
+    this.scope = scope;
+    this.clientCell = clientCell;
+    this.serializer = serializer;
+    this.encode = encode;
+    this.byteSize = calcSize();
+  }
+
+  PushPayloadKey withSerializer(byte serializer, String encode) {
+    return new PushPayloadKey(
+        dataInfoId, dataCenter, version, pubNum, scope, clientCell, serializer, encode);
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (o == null || getClass() != o.getClass()) {
+      return false;
+    }
+    PushPayloadKey that = (PushPayloadKey) o;
+    return version == that.version
+        && pubNum == that.pubNum
+        && serializer == that.serializer
+        && Objects.equals(dataInfoId, that.dataInfoId)
+        && Objects.equals(dataCenter, that.dataCenter)
+        && Objects.equals(scope, that.scope)
+        && Objects.equals(clientCell, that.clientCell)
+        && Objects.equals(encode, that.encode);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(
+        dataInfoId, dataCenter, version, pubNum, scope, clientCell, serializer, encode);
+  }
+
+  @Override
+  public int size() {
+    return byteSize;
+  }
+
+  private int calcSize() {
+    return StringUtils.sizeof(dataInfoId)
+        + StringUtils.sizeof(dataCenter)
+        + StringUtils.sizeof(scope)
+        + StringUtils.sizeof(clientCell)
+        + StringUtils.sizeof(encode)
+        + 16;
+  }
+
+  @Override
+  public String toString() {
+    return StringFormatter.format(
+        "dataInfoId={}, dc={}, ver={}, scope={}, cell={}, serializer={}, encode={}",
+        dataInfoId,
+        dataCenter,
+        version,
+        scope,
+        clientCell,
+        serializer,
+        encode);
+  }
+}
@@ -21,9 +21,12 @@ import static com.alipay.sofa.registry.server.session.push.PushMetrics.Push.*;
 import com.alipay.remoting.rpc.exception.InvokeTimeoutException;
 import com.alipay.sofa.registry.common.model.SubscriberUtils;
 import com.alipay.sofa.registry.common.model.Tuple;
+import com.alipay.sofa.registry.common.model.client.pb.ResultPb;
 import com.alipay.sofa.registry.common.model.store.PushData;
 import com.alipay.sofa.registry.common.model.store.SubDatum;
 import com.alipay.sofa.registry.common.model.store.Subscriber;
+import com.alipay.sofa.registry.core.model.ReceivedDeltaData;
+import com.alipay.sofa.registry.core.model.Result;
 import com.alipay.sofa.registry.log.Logger;
 import com.alipay.sofa.registry.remoting.CallbackHandler;
 import com.alipay.sofa.registry.remoting.Channel;
@@ -79,10 +82,11 @@ public class PushProcessor {
   @PostConstruct
   public void init() {
     pushExecutor =
-        new KeyedThreadPoolExecutor(
+        KeyedThreadPoolExecutor.newExecutor(
             "PushExecutor",
             sessionServerConfig.getPushTaskExecutorPoolSize(),
-            sessionServerConfig.getPushTaskExecutorQueueSize());
+            sessionServerConfig.getPushTaskExecutorQueueSize(),
+            sessionServerConfig.isPushExecutorWorkStealing());
     intTaskBuffer();
     ConcurrentUtils.createDaemonThread("PushCleaner", cleaner).start();
   }
@@ -420,7 +424,8 @@ public class PushProcessor {
     }
 
     protected PushData createPushData() {
-      return pushDataGenerator.createPushData(DatumUtils.decompressSubDatum(datum), subscriberMap);
+      return pushDataGenerator.createPushData(
+          DatumUtils.decompressSubDatum(datum), subscriberMap, !fullPushRequired);
     }
 
     @Override
@@ -458,6 +463,21 @@ public class PushProcessor {
     @Override
     public void onCallback(Channel channel, Object message) {
       pushingRecords.remove(pushTask.pushingTaskKey);
+      if (ReceivedDeltaData.ACCEPT_ENCODING.equals(pushTask.getPushEncode())) {
+        if (isRejected(message)) {
+          PUSH_DELTA_REJECT_COUNTER.inc();
+          LOGGER.info(
+              "[PushDeltaReject]taskId={}, {}, {}, {}",
+              pushTask.taskID,
+              pushTask.pushingTaskKey,
+              pushTask.datum.getVersion(),
+              message);
+          pushTask.fullPushRequired = true;
+          retry(pushTask, RetryReason.Error);
+          return;
+        }
+        PUSH_DELTA_OK_COUNTER.inc();
+      }
       // get max pushedVersion before checkAndUpdate
       final long subscriberPushedVersion =
           SubscriberUtils.getMaxPushedVersion(
@@ -484,6 +504,16 @@ public class PushProcessor {
           pushTask.getEncodeSize());
     }
 
+    private boolean isRejected(Object message) {
+      if (message instanceof Result) {
+        return !((Result) message).isSuccess();
+      }
+      if (message instanceof ResultPb) {
+        return !((ResultPb) message).getSuccess();
+      }
+      return false;
+    }
+
     @Override
     public void onException(Channel channel, Throwable exception) {
       pushingRecords.remove(pushTask.pushingTaskKey);
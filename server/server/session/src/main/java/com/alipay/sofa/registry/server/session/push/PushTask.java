@@ -41,6 +41,8 @@ public abstract class PushTask {
   protected final PushTrace trace;
 
   protected int retryCount;
+  // the delta push is rejected by the client, e.g. version gap, retry with the full push
+  protected volatile boolean fullPushRequired;
   private int pushDataCount = -1;
   private String pushEncode = StringUtils.EMPTY;
   private int encodeSize = 0;
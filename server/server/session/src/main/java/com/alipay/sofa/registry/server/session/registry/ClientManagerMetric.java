@@ -47,6 +47,35 @@ public class ClientManagerMetric {
           .help("client off address total")
           .register();
 
+  private static final Counter CLIENT_OFF_BATCH_COUNTER =
+      Counter.build()
+          .namespace("session")
+          .subsystem("client_off")
+          .name("batch_total")
+          .help("client off batch count")
+          .labelNames("type")
+          .register();
+
+  // batches of the closed connections
+  public static final Counter.Child CLIENT_OFF_BATCH = CLIENT_OFF_BATCH_COUNTER.labels("batch");
+  // connections cleaned in the batches
+  public static final Counter.Child CLIENT_OFF_BATCH_CONNECT =
+      CLIENT_OFF_BATCH_COUNTER.labels("connect");
+  // per slot requests committed to the data servers
+  public static final Counter.Child CLIENT_OFF_BATCH_SLOT_REQ =
+      CLIENT_OFF_BATCH_COUNTER.labels("slotReq");
+  // per slot requests rejected by the full queue of the data servers
+  public static final Counter.Child CLIENT_OFF_BATCH_REJECTED =
+      CLIENT_OFF_BATCH_COUNTER.labels("rejected");
+
+  public static final GaugeFunc CLIENT_OFF_PENDING_GAUGE =
+      GaugeFunc.build()
+          .namespace("session")
+          .subsystem("client_off")
+          .name("pending")
+          .help("closed connections waiting for cleanup")
+          .register();
+
   public static final Histogram ADDRESS_LOAD_DELAY_HISTOGRAM =
       Histogram.build()
           .linearBuckets(0, 500, 30)
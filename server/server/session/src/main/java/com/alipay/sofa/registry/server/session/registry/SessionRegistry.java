@@ -16,9 +16,11 @@
  */
 package com.alipay.sofa.registry.server.session.registry;
 
+import com.alipay.sofa.registry.common.model.ClientOffPublishers;
 import com.alipay.sofa.registry.common.model.ConnectId;
 import com.alipay.sofa.registry.common.model.Tuple;
 import com.alipay.sofa.registry.common.model.dataserver.DatumVersion;
+import com.alipay.sofa.registry.common.model.dataserver.DatumVersionDelta;
 import com.alipay.sofa.registry.common.model.store.*;
 import com.alipay.sofa.registry.common.model.wrapper.Wrapper;
 import com.alipay.sofa.registry.common.model.wrapper.WrapperInvocation;
@@ -29,7 +31,7 @@ import com.alipay.sofa.registry.remoting.Server;
 import com.alipay.sofa.registry.remoting.exchange.Exchange;
 import com.alipay.sofa.registry.remoting.exchange.ExchangeCallback;
 import com.alipay.sofa.registry.remoting.exchange.RequestChannelClosedException;
-import com.alipay.sofa.registry.server.session.acceptor.ClientOffWriteDataRequest;
+import com.alipay.sofa.registry.server.session.acceptor.ClientOffBatchWriteDataRequest;
 import com.alipay.sofa.registry.server.session.acceptor.PublisherWriteDataRequest;
 import com.alipay.sofa.registry.server.session.acceptor.WriteDataAcceptor;
 import com.alipay.sofa.registry.server.session.acceptor.WriteDataRequest;
@@ -106,6 +108,9 @@ public class SessionRegistry implements Registry {
 
   private final VersionWatchDog versionWatchDog = new VersionWatchDog();
 
+  // the cursor of the version stream of every slot
+  private final Map<Integer, VersionStreamCursor> versionCursors = Maps.newConcurrentMap();
+
   @PostConstruct
   public void init() {
     ConcurrentUtils.createDaemonThread("SessionVerWatchDog", versionWatchDog).start();
@@ -285,11 +290,15 @@ public class SessionRegistry implements Registry {
     }
 
     Map<ConnectId, List<Publisher>> pubMap = removeFromSession(connectIdSet, removeSubAndWat);
+    List<ClientOffPublishers> clientOffPublishers = Lists.newArrayListWithCapacity(pubMap.size());
     for (Entry<ConnectId, List<Publisher>> pubEntry : pubMap.entrySet()) {
-      clientOffToDataNode(pubEntry.getKey(), pubEntry.getValue());
+      if (!CollectionUtils.isEmpty(pubEntry.getValue())) {
+        clientOffPublishers.add(new ClientOffPublishers(pubEntry.getKey(), pubEntry.getValue()));
+      }
       Loggers.CLIENT_DISABLE_LOG.info(
           "connectId={}, pubRemove={}", pubEntry.getKey(), pubEntry.getValue().size());
     }
+    clientOffToDataNode(clientOffPublishers);
   }
 
   public boolean isPushEmpty(Subscriber subscriber) {
@@ -314,11 +323,12 @@ public class SessionRegistry implements Registry {
     return ret;
   }
 
-  private void clientOffToDataNode(ConnectId connectId, List<Publisher> clientOffPublishers) {
+  private void clientOffToDataNode(List<ClientOffPublishers> clientOffPublishers) {
     if (CollectionUtils.isEmpty(clientOffPublishers)) {
       return;
     }
-    writeDataAcceptor.accept(new ClientOffWriteDataRequest(connectId, clientOffPublishers));
+    // all the connections are merged into one request per slot, avoid the storm of small writes
+    writeDataAcceptor.accept(new ClientOffBatchWriteDataRequest(clientOffPublishers));
   }
 
   private final class ClientWatchDog extends LoopRunnable {
@@ -407,13 +417,28 @@ public class SessionRegistry implements Registry {
       long round, String dataCenter, Map<String, DatumVersion> interestVersions) {
     Map<Integer, Map<String, DatumVersion>> interestVersionsGroup = groupBySlot(interestVersions);
 
+    final boolean streamEnabled = sessionServerConfig.isScanVersionStreamEnabled();
+    if (!streamEnabled) {
+      versionCursors.clear();
+    }
+    // the full versions scan is the consistency check when the version stream enabled
+    final boolean fullRound =
+        !streamEnabled
+            || round % Math.max(1, sessionServerConfig.getScanVersionFullIntervalRounds()) == 0;
     Map<Integer, FetchVersionResult> resultMap =
         Maps.newHashMapWithExpectedSize(interestVersions.size());
     for (Map.Entry<Integer, Map<String, DatumVersion>> group : interestVersionsGroup.entrySet()) {
       final Integer slotId = group.getKey();
       try {
-        final FetchVersionResult result =
-            fetchDataVersionAsync(dataCenter, slotId, group.getValue(), round);
+        final VersionStreamCursor cursor = streamEnabled ? versionCursors.get(slotId) : null;
+        final FetchVersionResult result;
+        if (cursor != null && !fullRound) {
+          result = fetchDataVersionDeltaAsync(dataCenter, slotId, cursor, round);
+        } else if (streamEnabled && cursor == null) {
+          result = openDataVersionStreamAsync(dataCenter, slotId, group.getValue(), round);
+        } else {
+          result = fetchDataVersionAsync(dataCenter, slotId, group.getValue(), round);
+        }
         if (result != null) {
           resultMap.put(slotId, result);
         }
@@ -541,6 +566,22 @@ public class SessionRegistry implements Registry {
     }
   }
 
+  private static final class VersionStreamCursor {
+    static final VersionStreamCursor OPEN = new VersionStreamCursor(0, 0);
+    final long streamId;
+    final long seq;
+
+    VersionStreamCursor(long streamId, long seq) {
+      this.streamId = streamId;
+      this.seq = seq;
+    }
+
+    @Override
+    public String toString() {
+      return StringFormatter.format("Cursor{stream={},seq={}}", streamId, seq);
+    }
+  }
+
   private static final class FetchVersionCallback {
     final Map<String, DatumVersion> versions;
 
@@ -557,6 +598,17 @@ public class SessionRegistry implements Registry {
       return null;
     }
     final FetchVersionResult result = new FetchVersionResult(slotId, leader);
+    fetchDataVersionAsync(dataCenter, slotId, interestVersions, round, result);
+    return result;
+  }
+
+  private void fetchDataVersionAsync(
+      String dataCenter,
+      int slotId,
+      Map<String, DatumVersion> interestVersions,
+      long round,
+      FetchVersionResult result) {
+    final String leader = result.leader;
     dataNodeService.fetchDataVersion(
         dataCenter,
         slotId,
@@ -601,6 +653,120 @@ public class SessionRegistry implements Registry {
                 e);
           }
         });
+  }
+
+  /**
+   * open the version stream and wait for the cursor before the full fetch, so the changes after the
+   * full fetch are all behind the cursor
+   */
+  FetchVersionResult openDataVersionStreamAsync(
+      String dataCenter, int slotId, Map<String, DatumVersion> interestVersions, long round) {
+    final String leader = slotTableCache.getLeader(slotId);
+    if (StringUtils.isBlank(leader)) {
+      SCAN_VER_LOGGER.error("[NoLeader]slotId={}, round={}", slotId, round);
+      return null;
+    }
+    final FetchVersionResult result = new FetchVersionResult(slotId, leader);
+    final VersionStreamCursor open = VersionStreamCursor.OPEN;
+    dataNodeService.fetchDataVersionDelta(
+        dataCenter,
+        slotId,
+        open.streamId,
+        open.seq,
+        new ExchangeCallback<DatumVersionDelta>() {
+          @Override
+          public void onCallback(Channel channel, DatumVersionDelta delta) {
+            versionCursors.put(
+                slotId, new VersionStreamCursor(delta.getStreamId(), delta.getSeq()));
+            SCAN_VER_LOGGER.info(
+                "[openSlotVerStream]round={},{},{},leader={},{}",
+                round,
+                slotId,
+                dataCenter,
+                leader,
+                delta);
+            fullFetch();
+          }
+
+          @Override
+          public void onException(Channel channel, Throwable e) {
+            SCAN_VER_LOGGER.error(
+                "round={},failed to open version stream,slotId={},leader={}",
+                round,
+                slotId,
+                leader,
+                e);
+            // retry to open at next round, the full fetch still works
+            fullFetch();
+          }
+
+          private void fullFetch() {
+            try {
+              fetchDataVersionAsync(dataCenter, slotId, interestVersions, round, result);
+            } catch (Throwable e) {
+              result.callback = new FetchVersionCallback(null);
+              SCAN_VER_LOGGER.error(
+                  "round={},failed to fetch versions,slotId={},leader={},size={}",
+                  round,
+                  slotId,
+                  leader,
+                  interestVersions.size(),
+                  e);
+            }
+          }
+        });
+    return result;
+  }
+
+  FetchVersionResult fetchDataVersionDeltaAsync(
+      String dataCenter, int slotId, VersionStreamCursor cursor, long round) {
+    final String leader = slotTableCache.getLeader(slotId);
+    if (StringUtils.isBlank(leader)) {
+      SCAN_VER_LOGGER.error("[NoLeader]slotId={}, round={}", slotId, round);
+      return null;
+    }
+    final FetchVersionResult result = new FetchVersionResult(slotId, leader);
+    dataNodeService.fetchDataVersionDelta(
+        dataCenter,
+        slotId,
+        cursor.streamId,
+        cursor.seq,
+        new ExchangeCallback<DatumVersionDelta>() {
+          @Override
+          public void onCallback(Channel channel, DatumVersionDelta delta) {
+            if (delta.isReset()) {
+              // the stream is not continuous, fetch the full versions at next round
+              versionCursors.remove(slotId);
+              result.callback = new FetchVersionCallback(Collections.emptyMap());
+            } else {
+              versionCursors.put(
+                  slotId, new VersionStreamCursor(delta.getStreamId(), delta.getSeq()));
+              result.callback = new FetchVersionCallback(delta.getVersions());
+            }
+            SCAN_VER_LOGGER.info(
+                "[fetchSlotVerDelta]round={},{},{},leader={},{},{},success={}",
+                round,
+                slotId,
+                dataCenter,
+                leader,
+                cursor,
+                delta,
+                "Y");
+          }
+
+          @Override
+          public void onException(Channel channel, Throwable e) {
+            versionCursors.remove(slotId);
+            result.callback = new FetchVersionCallback(null);
+            SCAN_VER_LOGGER.error(
+                "round={},failed to fetch version delta,slotId={},leader={},{}",
+                round,
+                slotId,
+                leader,
+                cursor,
+                e);
+          }
+        });
     return result;
   }
 
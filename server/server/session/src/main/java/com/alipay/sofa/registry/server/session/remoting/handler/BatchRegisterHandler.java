@@ -0,0 +1,90 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alipay.sofa.registry.server.session.remoting.handler;
+
+import com.alipay.sofa.registry.core.model.BaseRegister;
+import com.alipay.sofa.registry.core.model.BatchRegisterRequest;
+import com.alipay.sofa.registry.core.model.BatchRegisterResponse;
+import com.alipay.sofa.registry.core.model.ConfiguratorRegister;
+import com.alipay.sofa.registry.core.model.PublisherRegister;
+import com.alipay.sofa.registry.core.model.RegisterResponse;
+import com.alipay.sofa.registry.core.model.SubscriberRegister;
+import com.alipay.sofa.registry.log.Logger;
+import com.alipay.sofa.registry.log.LoggerFactory;
+import com.alipay.sofa.registry.remoting.Channel;
+import com.google.common.collect.Lists;
+import java.util.List;
+import org.springframework.beans.factory.annotation.Autowired;
+
+/**
+ * handle the registers of a batch in order, each register has its own response, a failed register
+ * does not break the others
+ */
+public class BatchRegisterHandler extends AbstractClientDataRequestHandler<BatchRegisterRequest> {
+  private static final Logger LOGGER = LoggerFactory.getLogger(BatchRegisterHandler.class);
+
+  @Autowired PublisherHandler publisherHandler;
+
+  @Autowired SubscriberHandler subscriberHandler;
+
+  @Autowired WatcherHandler watcherHandler;
+
+  @Override
+  public Object doHandle(Channel channel, BatchRegisterRequest request) {
+    final List<BaseRegister> registers = request.getRequests();
+    if (registers == null) {
+      return new BatchRegisterResponse(Lists.newArrayList());
+    }
+    List<RegisterResponse> responses = Lists.newArrayListWithCapacity(registers.size());
+    for (BaseRegister register : registers) {
+      responses.add(handleRegister(channel, register));
+    }
+    return new BatchRegisterResponse(responses);
+  }
+
+  RegisterResponse handleRegister(Channel channel, BaseRegister register) {
+    try {
+      Object response;
+      if (register instanceof PublisherRegister) {
+        response = publisherHandler.doHandle(channel, (PublisherRegister) register);
+      } else if (register instanceof SubscriberRegister) {
+        response = subscriberHandler.doHandle(channel, (SubscriberRegister) register);
+      } else if (register instanceof ConfiguratorRegister) {
+        response = watcherHandler.doHandle(channel, (ConfiguratorRegister) register);
+      } else {
+        return failed(register, "unsupported register type");
+      }
+      return (RegisterResponse) response;
+    } catch (Throwable e) {
+      LOGGER.error("failed to handle register in batch, {}", register, e);
+      return failed(register, e.getMessage());
+    }
+  }
+
+  private static RegisterResponse failed(BaseRegister register, String msg) {
+    RegisterResponse response = new RegisterResponse();
+    response.setSuccess(false);
+    response.setRegistId(register == null ? null : register.getRegistId());
+    response.setMessage(msg);
+    return response;
+  }
+
+  @Override
+  public Class interest() {
+    return BatchRegisterRequest.class;
+  }
+}
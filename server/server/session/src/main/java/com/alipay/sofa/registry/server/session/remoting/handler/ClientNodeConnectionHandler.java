@@ -22,13 +22,16 @@ import com.alipay.sofa.registry.log.Logger;
 import com.alipay.sofa.registry.log.LoggerFactory;
 import com.alipay.sofa.registry.remoting.Channel;
 import com.alipay.sofa.registry.server.session.bootstrap.ExecutorManager;
+import com.alipay.sofa.registry.server.session.registry.ClientManagerMetric;
 import com.alipay.sofa.registry.server.session.registry.Registry;
 import com.alipay.sofa.registry.server.shared.remoting.ListenServerChannelHandler;
 import com.alipay.sofa.registry.util.AtomicSet;
 import com.alipay.sofa.registry.util.ConcurrentUtils;
+import com.alipay.sofa.registry.util.SystemUtils;
 import com.alipay.sofa.registry.util.WakeUpLoopRunnable;
 import com.google.common.collect.Lists;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.ApplicationListener;
 import org.springframework.context.event.ContextRefreshedEvent;
@@ -49,6 +52,15 @@ public class ClientNodeConnectionHandler extends ListenServerChannelHandler
   private final AtomicSet<ConnectId> pendingClientOff = new AtomicSet<>();
   private final ClientOffWorker worker = new ClientOffWorker();
 
+  // gather the connections closed in a short window, cleanup them in one batch, a single closed
+  // connection is cleaned without waiting
+  int coalesceMillis =
+      SystemUtils.getSystemInteger("registry.session.client.off.coalesce.millis", 10);
+
+  public ClientNodeConnectionHandler() {
+    ClientManagerMetric.CLIENT_OFF_PENDING_GAUGE.func(pendingClientOff::size);
+  }
+
   private volatile boolean stopped = false;
 
   @Override
@@ -86,6 +98,9 @@ public class ClientNodeConnectionHandler extends ListenServerChannelHandler
   private class ClientOffWorker extends WakeUpLoopRunnable {
     @Override
     public void runUnthrowable() {
+      if (coalesceMillis > 0 && pendingClientOff.size() > 1) {
+        ConcurrentUtils.sleepUninterruptibly(coalesceMillis, TimeUnit.MILLISECONDS);
+      }
       Set<ConnectId> connectIds = pendingClientOff.getAndReset();
       if (!CollectionUtils.isEmpty(connectIds)) {
         long start = System.currentTimeMillis();
@@ -18,7 +18,6 @@ package com.alipay.sofa.registry.server.session.remoting.handler;
 
 import com.alipay.sofa.registry.common.model.GenericResponse;
 import com.alipay.sofa.registry.common.model.Node;
-import com.alipay.sofa.registry.common.model.dataserver.DatumDigest;
 import com.alipay.sofa.registry.common.model.slot.DataSlotDiffDigestRequest;
 import com.alipay.sofa.registry.common.model.slot.DataSlotDiffDigestResult;
 import com.alipay.sofa.registry.common.model.slot.DataSlotDiffUtils;
@@ -64,7 +63,7 @@ public class DataSlotDiffDigestRequestHandler
       DataSlotDiffDigestResult result =
           calcDiffResult(
               request.getSlotId(),
-              request.getDatumDigest(),
+              request,
               sessionDataStore.getDataInfoIdPublishers(request.getSlotId()));
       result.setSlotTableEpoch(slotTableCache.getEpoch());
       result.setSessionProcessId(ServerEnv.PROCESS_ID);
@@ -84,11 +83,11 @@ public class DataSlotDiffDigestRequestHandler
 
   private DataSlotDiffDigestResult calcDiffResult(
       int targetSlot,
-      Map<String, DatumDigest> digestMap,
+      DataSlotDiffDigestRequest request,
       Map<String, Map<String, Publisher>> existingPublishers) {
 
     DataSlotDiffDigestResult result =
-        DataSlotDiffUtils.diffDigestResult(digestMap, existingPublishers);
+        DataSlotDiffUtils.diffDigestResult(request, existingPublishers);
     DataSlotDiffUtils.logDiffResult(result, targetSlot);
     return result;
   }
@@ -18,7 +18,6 @@ package com.alipay.sofa.registry.server.session.remoting.handler;
 
 import com.alipay.sofa.registry.common.model.GenericResponse;
 import com.alipay.sofa.registry.common.model.Node;
-import com.alipay.sofa.registry.common.model.dataserver.DatumSummary;
 import com.alipay.sofa.registry.common.model.slot.DataSlotDiffPublisherRequest;
 import com.alipay.sofa.registry.common.model.slot.DataSlotDiffPublisherResult;
 import com.alipay.sofa.registry.common.model.slot.DataSlotDiffUtils;
@@ -34,7 +33,6 @@ import com.alipay.sofa.registry.server.shared.env.ServerEnv;
 import com.alipay.sofa.registry.server.shared.remoting.AbstractServerHandler;
 import com.alipay.sofa.registry.util.ParaCheckUtil;
 import com.alipay.sofa.registry.util.StringFormatter;
-import java.util.List;
 import java.util.Map;
 import java.util.concurrent.Executor;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -68,10 +66,7 @@ public class DataSlotDiffPublisherRequestHandler
     try {
       final int slotId = request.getSlotId();
       DataSlotDiffPublisherResult result =
-          calcDiffResult(
-              slotId,
-              request.getDatumSummaries(),
-              sessionDataStore.getDataInfoIdPublishers(slotId));
+          calcDiffResult(slotId, request, sessionDataStore.getDataInfoIdPublishers(slotId));
       result.setSlotTableEpoch(slotTableCache.getEpoch());
       result.setSessionProcessId(ServerEnv.PROCESS_ID);
       return new GenericResponse().fillSucceed(result);
@@ -86,11 +81,11 @@ public class DataSlotDiffPublisherRequestHandler
 
   private DataSlotDiffPublisherResult calcDiffResult(
       int targetSlot,
-      List<DatumSummary> datumSummaries,
+      DataSlotDiffPublisherRequest request,
       Map<String, Map<String, Publisher>> existingPublishers) {
     DataSlotDiffPublisherResult result =
         DataSlotDiffUtils.diffPublishersResult(
-            datumSummaries, existingPublishers, sessionServerConfig.getSlotSyncPublisherMaxNum());
+            request, existingPublishers, sessionServerConfig.getSlotSyncPublisherMaxNum());
     DataSlotDiffUtils.logDiffResult(result, targetSlot);
     return result;
   }
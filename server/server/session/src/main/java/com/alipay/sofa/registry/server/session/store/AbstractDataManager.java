@@ -80,7 +80,33 @@ public abstract class AbstractDataManager<T extends BaseInfo>
   }
 
   protected Tuple<T, Boolean> addData(T data) {
-    return connectDataIndexer.add(data.connectId(), DataPos.of(data), () -> addDataToStore(data));
+    final ConnectId connectId = data.connectId();
+    final DataPos pos = DataPos.of(data);
+    Tuple<T, Boolean> ret = connectDataIndexer.add(connectId, pos, () -> addDataToStore(data));
+    final T existing = ret.o1;
+    if (ret.o2) {
+      // the concurrent delete of the same pos may remove the index before the store is written
+      connectDataIndexer.insert(connectId, pos);
+      if (existing != null && !existing.connectId().equals(connectId)) {
+        removeIndex(existing.connectId(), pos);
+      }
+    } else if (existing != null && !existing.connectId().equals(connectId)) {
+      removeIndex(connectId, pos);
+    }
+    return ret;
+  }
+
+  private void removeIndex(ConnectId connectId, DataPos pos) {
+    connectDataIndexer.remove(connectId, pos);
+    if (existsInStore(connectId, pos)) {
+      // registered again after the data is removed from the store
+      connectDataIndexer.insert(connectId, pos);
+    }
+  }
+
+  private boolean existsInStore(ConnectId connectId, DataPos pos) {
+    T data = queryById(pos.getRegisterId(), pos.getDataInfoId());
+    return data != null && data.connectId().equals(connectId);
   }
 
   @Override
@@ -94,6 +120,8 @@ public abstract class AbstractDataManager<T extends BaseInfo>
 
     if (dataToDelete == null) {
       logger.warn("Delete but not registered, {}, {}", dataInfoId, registerId);
+    } else {
+      removeIndex(dataToDelete.connectId(), DataPos.of(dataToDelete));
     }
     return dataToDelete;
   }
@@ -104,16 +132,15 @@ public abstract class AbstractDataManager<T extends BaseInfo>
     Map<String, T> ret = Maps.newHashMapWithExpectedSize(128);
     for (DataPos pos : connectDataIndexer.queryByKey(connectId)) {
       Map<String, T> dataMap = store.get(pos.getDataInfoId());
-      if (CollectionUtils.isEmpty(dataMap)) {
-        continue;
-      }
-      T data = dataMap.get(pos.getRegisterId());
-      if (data == null || !data.connectId().equals(connectId)) {
-        continue;
-      }
-      if (dataMap.remove(pos.getRegisterId(), data)) {
-        ret.put(data.getRegisterId(), data);
+      if (!CollectionUtils.isEmpty(dataMap)) {
+        T data = dataMap.get(pos.getRegisterId());
+        if (data != null
+            && data.connectId().equals(connectId)
+            && dataMap.remove(pos.getRegisterId(), data)) {
+          ret.put(data.getRegisterId(), data);
+        }
       }
+      removeIndex(connectId, pos);
     }
     return ret;
   }
@@ -252,5 +279,10 @@ public abstract class AbstractDataManager<T extends BaseInfo>
             }
           });
     }
+
+    @Override
+    protected boolean dataStoreContains(ConnectId connectId, DataPos pos) {
+      return existsInStore(connectId, pos);
+    }
   }
 }
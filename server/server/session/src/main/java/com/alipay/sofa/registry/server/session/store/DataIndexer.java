@@ -20,46 +20,93 @@ import com.alipay.sofa.registry.concurrent.UnThrowableCallable;
 import com.alipay.sofa.registry.log.Logger;
 import com.alipay.sofa.registry.log.LoggerFactory;
 import com.alipay.sofa.registry.util.ConcurrentUtils;
+import com.alipay.sofa.registry.util.SystemUtils;
 import com.alipay.sofa.registry.util.WakeUpLoopRunnable;
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.collect.Sets;
+import io.prometheus.client.Counter;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ThreadLocalRandom;
-import java.util.concurrent.TimeUnit;
-import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.BiConsumer;
 
+/**
+ * the index is maintained on both the add side and the delete side, so it stays exact without a
+ * rebuild. a rate-limited audit compares the index with the data store, reports and repairs the
+ * drift if any
+ */
 public abstract class DataIndexer<K, V> {
   private static final Logger LOG = LoggerFactory.getLogger("SRV-CONNECT");
 
-  private volatile Map<K, Set<V>> index = new ConcurrentHashMap<>(1024);
-  private volatile Map<K, Set<V>> tempIndex = new ConcurrentHashMap<>(1024);
-  private volatile Term lastTerm = new Term();
-  private volatile boolean doubleWrite = false;
+  private static final String KEY_AUDIT_INTERVAL_SECS =
+      "registry.session.index.audit.interval.secs";
+
+  private static final Counter AUDIT_DRIFT_COUNTER =
+      Counter.build()
+          .namespace("session")
+          .subsystem("index")
+          .name("audit_drift_total")
+          .help("the drift of the index found by the audit")
+          .labelNames("type")
+          .register();
+
+  // the data in the store but not in the index, repaired by adding to the index
+  private static final Counter.Child AUDIT_MISSING_COUNTER = AUDIT_DRIFT_COUNTER.labels("missing");
+  // the index entry without the data, removed when confirmed by the later audit
+  private static final Counter.Child AUDIT_STALE_COUNTER = AUDIT_DRIFT_COUNTER.labels("stale");
+
+  private final Map<K, Set<V>> index = new ConcurrentHashMap<>(1024);
 
-  private final IndexerRefresher indexerRefresher = new IndexerRefresher();
+  // the in-flight add/delete may be seen as stale, confirm the stale entry after a while
+  private static final long STALE_CONFIRM_MILLIS = 5000;
+
+  // the stale entries found by the audits, with the timestamp first found
+  private Map<K, Map<V, Long>> staleCandidates = Collections.emptyMap();
+
+  private final int auditIntervalSecs;
+  private volatile boolean auditRequested = false;
+  private volatile long lastAuditTimestamp = System.currentTimeMillis();
+
+  private final IndexerAuditor indexerAuditor = new IndexerAuditor();
 
   public DataIndexer(String name) {
-    ConcurrentUtils.createDaemonThread(name + "-IndexerRefresher", indexerRefresher).start();
+    this(name, SystemUtils.getSystemInteger(KEY_AUDIT_INTERVAL_SECS, 600));
+  }
+
+  /**
+   * @param name
+   * @param auditIntervalSecs the audit is disabled if not positive, but still could be triggered
+   */
+  public DataIndexer(String name, int auditIntervalSecs) {
+    this.auditIntervalSecs = auditIntervalSecs;
+    ConcurrentUtils.createDaemonThread(name + "-IndexerAuditor", indexerAuditor).start();
   }
 
   public <R> R add(K key, V val, UnThrowableCallable<R> dataStoreCaller) {
-    Term term = lastTerm;
-    term.start.incrementAndGet();
-    try {
-      if (doubleWrite) {
-        insert(tempIndex, key, val);
-      }
-      insert(index, key, val);
-      return dataStoreCaller.call();
-    } finally {
-      term.done.incrementAndGet();
-    }
+    insert(key, val);
+    return dataStoreCaller.call();
+  }
+
+  public void insert(K key, V val) {
+    // compute is atomic with the remove of the empty set
+    index.compute(
+        key,
+        (k, s) -> {
+          if (s == null) {
+            s = Sets.newConcurrentHashSet();
+          }
+          s.add(val);
+          return s;
+        });
   }
 
-  private void insert(Map<K, Set<V>> d, K key, V val) {
-    d.computeIfAbsent(key, k -> Sets.newConcurrentHashSet()).add(val);
+  public void remove(K key, V val) {
+    index.computeIfPresent(
+        key,
+        (k, s) -> {
+          s.remove(val);
+          return s.isEmpty() ? null : s;
+        });
   }
 
   public Set<V> queryByKey(K key) {
@@ -74,71 +121,107 @@ public abstract class DataIndexer<K, V> {
     return new HashSet<>(index.keySet());
   }
 
-  private void refresh() {
-    tempIndex = new ConcurrentHashMap<>(this.index.size());
-    Term prevTerm = lastTerm;
-    doubleWrite = true;
-    try {
-      lastTerm = new Term();
-      long startTime = System.currentTimeMillis();
-      boolean timeout = !prevTerm.waitAllDone();
-      long waitTime = System.currentTimeMillis();
-      if (timeout) {
-        LOG.error("[IndexBuildTimeout]index refresh timeout span={}ms", waitTime - startTime);
+  boolean contains(K key, V val) {
+    Set<V> s = index.get(key);
+    return s != null && s.contains(val);
+  }
+
+  void audit() {
+    audit(STALE_CONFIRM_MILLIS);
+  }
+
+  synchronized void audit(long staleConfirmMillis) {
+    final long startTime = System.currentTimeMillis();
+    final long[] missing = new long[1];
+    dataStoreForEach(
+        (key, val) -> {
+          if (!contains(key, val)) {
+            insert(key, val);
+            missing[0]++;
+          }
+        });
+    long stale = 0;
+    Map<K, Map<V, Long>> candidates = new HashMap<>();
+    for (Map.Entry<K, Set<V>> e : index.entrySet()) {
+      final K key = e.getKey();
+      for (V val : e.getValue()) {
+        if (dataStoreContains(key, val)) {
+          continue;
+        }
+        Map<V, Long> prev = staleCandidates.get(key);
+        Long firstFound = prev == null ? null : prev.get(val);
+        if (firstFound == null) {
+          firstFound = startTime;
+        }
+        if (startTime - firstFound < staleConfirmMillis) {
+          candidates.computeIfAbsent(key, k -> new HashMap<>()).put(val, firstFound);
+          continue;
+        }
+        remove(key, val);
+        if (dataStoreContains(key, val)) {
+          // added again after the check
+          insert(key, val);
+        } else {
+          stale++;
+        }
       }
-      dataStoreForEach(
-          (key, val) -> {
-            insert(tempIndex, key, val);
-          });
+    }
+    staleCandidates = candidates;
+    lastAuditTimestamp = System.currentTimeMillis();
+    AUDIT_MISSING_COUNTER.inc(missing[0]);
+    AUDIT_STALE_COUNTER.inc(stale);
+    if (missing[0] != 0 || stale != 0) {
+      LOG.error(
+          "[IndexDrift]index audit missing={}, stale={}, span={}ms",
+          missing[0],
+          stale,
+          System.currentTimeMillis() - startTime);
+    } else {
       LOG.info(
-          "index refresh finished waitSpan={}ms, buildSpan={}ms, indexSize={}",
-          waitTime - startTime,
-          System.currentTimeMillis() - waitTime,
-          tempIndex.size());
-      index = tempIndex;
-    } finally {
-      doubleWrite = false;
+          "index audit finished, candidates={}, indexSize={}, span={}ms",
+          candidates.size(),
+          index.size(),
+          System.currentTimeMillis() - startTime);
     }
   }
 
   @VisibleForTesting
-  public void triggerRefresh() {
-    indexerRefresher.wakeup();
+  public void triggerAudit() {
+    auditRequested = true;
+    indexerAuditor.wakeup();
   }
 
   protected abstract void dataStoreForEach(BiConsumer<K, V> consumer);
 
-  private static final class Term {
-    private final AtomicLong start = new AtomicLong(0);
-    private final AtomicLong done = new AtomicLong(0);
-    private static final long timeoutMillis = 10000;
-
-    private boolean waitAllDone() {
-      long startTs = System.currentTimeMillis();
-      for (; ; ) {
-        long doneCount = this.done.get();
-        long startCount = this.start.get();
-        if (startCount == doneCount) {
-          return true;
-        }
-        if (System.currentTimeMillis() - startTs > timeoutMillis) {
-          return false;
-        }
-        ConcurrentUtils.sleepUninterruptibly(1, TimeUnit.MILLISECONDS);
-      }
-    }
-  }
+  /**
+   * @param key
+   * @param val
+   * @return true if the data store has the val of the key
+   */
+  protected abstract boolean dataStoreContains(K key, V val);
 
-  private final class IndexerRefresher extends WakeUpLoopRunnable {
+  private final class IndexerAuditor extends WakeUpLoopRunnable {
 
     @Override
     public void runUnthrowable() {
-      refresh();
+      if (auditRequested) {
+        auditRequested = false;
+        audit();
+        return;
+      }
+      // rate-limited, at most one audit in the interval
+      if (auditIntervalSecs > 0
+          && System.currentTimeMillis() - lastAuditTimestamp >= auditIntervalSecs * 1000L) {
+        audit();
+      }
     }
 
     @Override
     public int getWaitingMillis() {
-      return (int) ((ThreadLocalRandom.current().nextDouble() * 30 + 30) * 1000);
+      if (auditIntervalSecs <= 0) {
+        return 60 * 1000;
+      }
+      return (int) ((ThreadLocalRandom.current().nextDouble() + 1) * auditIntervalSecs * 1000);
     }
   }
 }
@@ -62,6 +62,17 @@ public class WriteDataProcessorTest {
     Mockito.verify(dataNodeService, Mockito.times(1)).register(p);
     Mockito.verify(impl.dataNodeService, Mockito.times(1)).register(p);
 
+    ClientOffBatchWriteDataRequest offBatch =
+        new ClientOffBatchWriteDataRequest(Lists.newArrayList(offPublishers));
+    Assert.assertNull(offBatch.getConnectId());
+    Assert.assertEquals(
+        offBatch.getRequestType(), WriteDataRequest.WriteDataRequestType.CLIENT_OFF_BATCH);
+    Assert.assertEquals(offBatch.getRequestBody().size(), 1);
+    Assert.assertTrue(processor.process(offBatch));
+    impl.accept(offBatch);
+    Mockito.verify(dataNodeService, Mockito.times(1)).clientOff(offBatch.getRequestBody());
+    Mockito.verify(impl.dataNodeService, Mockito.times(1)).clientOff(offBatch.getRequestBody());
+
     pub = new PublisherWriteDataRequest(p, WriteDataRequest.WriteDataRequestType.UN_PUBLISHER);
     Assert.assertEquals(pub.getConnectId(), connectId);
     Assert.assertEquals(pub.getRequestType(), WriteDataRequest.WriteDataRequestType.UN_PUBLISHER);
@@ -0,0 +1,137 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alipay.sofa.registry.server.session.cache;
+
+import static org.mockito.Mockito.*;
+
+import com.alipay.sofa.registry.common.model.store.SubDatum;
+import com.alipay.sofa.registry.server.session.node.service.DataNodeService;
+import com.google.common.collect.Lists;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class MultiDatumFetcherTest {
+  private final String dataCenter = "testDc";
+
+  @Test
+  public void testSingle() {
+    DataNodeService dataNodeService = mock(DataNodeService.class);
+    SubDatum datum = newSubDatum("a");
+    when(dataNodeService.fetch("a", dataCenter)).thenReturn(datum);
+    MultiDatumFetcher fetcher = new MultiDatumFetcher(dataCenter, dataNodeService, Runnable::run);
+    Assert.assertEquals(datum, fetcher.fetch("a", 10, 1000));
+    Assert.assertNull(fetcher.fetch("b", 10, 1000));
+    verify(dataNodeService, never()).fetch(anyCollection(), anyString());
+
+    when(dataNodeService.fetch("c", dataCenter)).thenThrow(new IllegalStateException("testEx"));
+    try {
+      fetcher.fetch("c", 10, 1000);
+      Assert.fail();
+    } catch (IllegalStateException e) {
+      Assert.assertEquals("testEx", e.getMessage());
+    }
+    Assert.assertEquals(0, fetcher.pendingSize());
+  }
+
+  @Test
+  public void testBatch() throws Exception {
+    DataNodeService dataNodeService = mock(DataNodeService.class);
+    SubDatum datumA = newSubDatum("a");
+    SubDatum datumB = newSubDatum("b");
+    SubDatum datumC = newSubDatum("c");
+    List<Collection<String>> batches = Lists.newCopyOnWriteArrayList();
+    when(dataNodeService.fetch(anyCollection(), eq(dataCenter)))
+        .thenAnswer(
+            invocation -> {
+              Collection<String> dataInfoIds = invocation.getArgumentAt(0, Collection.class);
+              batches.add(new HashSet<>(dataInfoIds));
+              Map<String, SubDatum> ret = new ConcurrentHashMap<>();
+              if (dataInfoIds.contains("a")) {
+                ret.put("a", datumA);
+              }
+              // b is failed in the multi-get, fallback to the single one
+              return ret;
+            });
+    when(dataNodeService.fetch("b", dataCenter)).thenReturn(datumB);
+    when(dataNodeService.fetch("c", dataCenter)).thenReturn(datumC);
+
+    List<Runnable> tasks = Lists.newCopyOnWriteArrayList();
+    MultiDatumFetcher fetcher = new MultiDatumFetcher(dataCenter, dataNodeService, tasks::add);
+    Map<String, SubDatum> results = new ConcurrentHashMap<>();
+    CountDownLatch latch = new CountDownLatch(3);
+    String[] dataInfoIds = new String[] {"a", "b", "c"};
+    for (int n = 0; n < dataInfoIds.length; n++) {
+      final String dataInfoId = dataInfoIds[n];
+      new Thread(
+              () -> {
+                results.put(dataInfoId, fetcher.fetch(dataInfoId, 2, 5000));
+                latch.countDown();
+              })
+          .start();
+      // wait the fetch pending before the next one, the pending order is a, b, c
+      for (int i = 0; i < 100 && fetcher.pendingSize() != n + 1; i++) {
+        Thread.sleep(20);
+      }
+      Assert.assertEquals(n + 1, fetcher.pendingSize());
+    }
+    // only one drain task is started
+    Assert.assertEquals(1, tasks.size());
+    tasks.get(0).run();
+    Assert.assertTrue(latch.await(5, TimeUnit.SECONDS));
+
+    Assert.assertEquals(datumA, results.get("a"));
+    Assert.assertEquals(datumB, results.get("b"));
+    Assert.assertEquals(datumC, results.get("c"));
+    Assert.assertEquals(1, batches.size());
+    Assert.assertEquals(2, batches.get(0).size());
+    verify(dataNodeService, times(1)).fetch(anyCollection(), anyString());
+    verify(dataNodeService, times(1)).fetch("b", dataCenter);
+    verify(dataNodeService, never()).fetch("a", dataCenter);
+    Assert.assertEquals(0, fetcher.pendingSize());
+
+    // the next fetch starts a new drain task
+    Thread thread = new Thread(() -> results.put("next", fetcher.fetch("c", 2, 5000)));
+    thread.start();
+    for (int i = 0; i < 100 && tasks.size() != 2; i++) {
+      Thread.sleep(20);
+    }
+    Assert.assertEquals(2, tasks.size());
+    tasks.get(1).run();
+    thread.join(5000);
+    Assert.assertEquals(datumC, results.get("next"));
+  }
+
+  private SubDatum newSubDatum(String dataInfoId) {
+    return SubDatum.normalOf(
+        dataInfoId,
+        dataCenter,
+        100,
+        Collections.emptyList(),
+        "testDataId",
+        "testInstanceId",
+        "testGroup",
+        Lists.newArrayList(System.currentTimeMillis()));
+  }
+}
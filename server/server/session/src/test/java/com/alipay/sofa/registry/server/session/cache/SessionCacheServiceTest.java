@@ -37,6 +37,7 @@ public class SessionCacheServiceTest {
     DatumCacheGenerator generator = new DatumCacheGenerator();
     cacheService.setCacheGenerators(Collections.singletonMap(DatumKey.class.getName(), generator));
     generator.dataNodeService = Mockito.mock(DataNodeService.class);
+    generator.sessionServerConfig = cacheService.sessionServerConfig;
 
     cacheService.init();
     DatumKey datumKey = new DatumKey(dataInfoId, dataCenter);
@@ -18,15 +18,18 @@ package com.alipay.sofa.registry.server.session.converter;
 
 import com.alipay.sofa.registry.common.model.ServerDataBox;
 import com.alipay.sofa.registry.common.model.store.DataInfo;
+import com.alipay.sofa.registry.common.model.store.PushData;
 import com.alipay.sofa.registry.common.model.store.SubDatum;
 import com.alipay.sofa.registry.common.model.store.SubPublisher;
 import com.alipay.sofa.registry.core.model.DataBox;
 import com.alipay.sofa.registry.core.model.ReceivedConfigData;
 import com.alipay.sofa.registry.core.model.ReceivedData;
+import com.alipay.sofa.registry.core.model.ReceivedDeltaData;
 import com.alipay.sofa.registry.core.model.ScopeEnum;
 import com.alipay.sofa.registry.server.session.TestUtils;
 import com.alipay.sofa.registry.server.session.bootstrap.SessionServerConfigBean;
 import com.alipay.sofa.registry.server.session.predicate.ZonePredicate;
+import com.google.common.collect.Lists;
 import java.util.Collections;
 import java.util.List;
 import org.junit.Assert;
@@ -73,6 +76,49 @@ public class ReceivedDataConverterTest {
     Assert.assertEquals(dataBoxes.get(0).getData(), subPublisher.getDataList().get(0).extract());
   }
 
+  @Test
+  public void testGetReceivedDeltaData() {
+    SessionServerConfigBean configBean = TestUtils.newSessionConfig("testDc");
+    SubPublisher kept = TestUtils.newSubPublisher(1, 100);
+    SubPublisher removed = TestUtils.newSubPublisher(1, 100);
+    SubPublisher updated = TestUtils.newSubPublisher(1, 100);
+    SubPublisher updatedNew =
+        new SubPublisher(
+            updated.getRegisterId(),
+            updated.getCell(),
+            Lists.newArrayList(new ServerDataBox("updatedDataBox")),
+            updated.getClientId(),
+            2,
+            updated.getSrcAddressString(),
+            updated.getRegisterTimestamp(),
+            updated.getPublishSource());
+    SubPublisher added = TestUtils.newSubPublisher(1, 100);
+    SubDatum base = TestUtils.newSubDatum(dataId, 100, Lists.newArrayList(kept, removed, updated));
+    SubDatum current =
+        TestUtils.newSubDatum(dataId, 200, Lists.newArrayList(kept, updatedNew, added));
+    List<String> subIds = Collections.singletonList("testSubId");
+    PushData<ReceivedDeltaData> pushData =
+        ReceivedDataConverter.getReceivedDeltaData(
+            base,
+            current,
+            ScopeEnum.dataCenter,
+            subIds,
+            localZone,
+            ZonePredicate.zonePredicate(dataId, localZone, ScopeEnum.dataCenter, configBean));
+    ReceivedDeltaData delta = pushData.getPayload();
+    Assert.assertEquals(4, pushData.getDataCount());
+    Assert.assertEquals(100, delta.getBaseVersion().longValue());
+    Assert.assertEquals(200, delta.getVersion().longValue());
+    Assert.assertEquals(subIds, delta.getSubscriberRegistIds());
+    Assert.assertEquals(localZone, delta.getLocalZone());
+
+    List<DataBox> addBoxes = delta.getAddData().get(kept.getCell());
+    Assert.assertEquals(2, addBoxes.size());
+    Assert.assertEquals("updatedDataBox", addBoxes.get(0).getData());
+    List<DataBox> removeBoxes = delta.getRemoveData().get(kept.getCell());
+    Assert.assertEquals(2, removeBoxes.size());
+  }
+
   @Test
   public void testGetReceivedConfigData() throws Exception {
     ServerDataBox dataBox = new ServerDataBox("testDataBox");
@@ -23,6 +23,7 @@ import com.alipay.sofa.registry.compress.CompressUtils;
 import com.alipay.sofa.registry.core.model.DataBox;
 import com.alipay.sofa.registry.core.model.ReceivedConfigData;
 import com.alipay.sofa.registry.core.model.ReceivedData;
+import com.alipay.sofa.registry.remoting.bolt.serializer.EncodedProtobufMessage;
 import java.util.Collections;
 import org.assertj.core.util.Lists;
 import org.junit.Assert;
@@ -54,6 +55,33 @@ public class ReceivedDataConvertorTest {
         registerJava.toString(), registerJava.toString().contains(registerJava.getDataId()));
   }
 
+  @Test
+  public void testEncodeWithRegisterIds() throws Exception {
+    ReceivedData registerJava = new ReceivedData();
+    registerJava.setScope("testScope");
+    registerJava.setDataId("testDataId");
+    registerJava.setGroup("testGroup");
+    registerJava.setInstanceId("testInstanceId");
+    registerJava.setLocalZone("testLocalZone");
+    registerJava.setSegment("testSegment");
+    registerJava.setVersion(System.currentTimeMillis());
+    registerJava.setSubscriberRegistIds(Collections.emptyList());
+    registerJava.setData(
+        Collections.singletonMap("testZone", Lists.newArrayList(new DataBox("testDataBox"))));
+    byte[] template = ReceivedDataConvertor.convert2Pb(registerJava).toByteArray();
+
+    EncodedProtobufMessage message =
+        ReceivedDataConvertor.encodeWithRegisterIds(template, Lists.newArrayList("a", "b"));
+    Assert.assertEquals(ReceivedDataPb.class.getName(), message.getMessageClass());
+    ReceivedDataPb pb = ReceivedDataPb.parseFrom(message.getBytes());
+
+    registerJava.setSubscriberRegistIds(Lists.newArrayList("a", "b"));
+    Assert.assertEquals(ReceivedDataConvertor.convert2Pb(registerJava), pb);
+
+    message = ReceivedDataConvertor.encodeWithRegisterIds(template, Collections.emptyList());
+    Assert.assertArrayEquals(template, message.getBytes());
+  }
+
   @Test
   public void testReceivedConfigData() {
     Assert.assertNull(ReceivedDataConvertor.convert2Pb((ReceivedConfigData) null));
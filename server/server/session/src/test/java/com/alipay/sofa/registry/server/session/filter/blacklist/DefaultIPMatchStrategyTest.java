@@ -32,11 +32,13 @@ public class DefaultIPMatchStrategyTest {
     strategy.setFetchBlackListService(mgr);
     mgr.getBlacklistConfigList()
         .add(getIpConfig(BlacklistConstants.FORBIDDEN_PUB + "1", Collections.emptyList()));
+    mgr.setBlacklistConfigList(mgr.getBlacklistConfigList());
 
     Assert.assertFalse(strategy.match("192.168.1.1", () -> BlacklistConstants.FORBIDDEN_PUB));
 
     mgr.getBlacklistConfigList()
         .add(getIpConfig(BlacklistConstants.FORBIDDEN_PUB, Collections.emptyList()));
+    mgr.setBlacklistConfigList(mgr.getBlacklistConfigList());
     Assert.assertFalse(strategy.match("192.168.1.1", () -> BlacklistConstants.FORBIDDEN_PUB));
 
     List<MatchType> types = Lists.newArrayList();
@@ -44,18 +46,51 @@ public class DefaultIPMatchStrategyTest {
     m.setType(BlacklistConstants.IP_FULL);
     types.add(m);
     mgr.getBlacklistConfigList().add(getIpConfig(BlacklistConstants.FORBIDDEN_PUB, types));
+    mgr.setBlacklistConfigList(mgr.getBlacklistConfigList());
     Assert.assertFalse(strategy.match("192.168.1.1", () -> BlacklistConstants.FORBIDDEN_PUB));
 
     m.setPatternSet(Sets.newSet("192.168.1.2"));
+    mgr.setBlacklistConfigList(mgr.getBlacklistConfigList());
     Assert.assertFalse(strategy.match("192.168.1.1", () -> BlacklistConstants.FORBIDDEN_PUB));
 
     m.setPatternSet(Sets.newSet("192.168.1.2", "192.168.1.1"));
+    mgr.setBlacklistConfigList(mgr.getBlacklistConfigList());
     Assert.assertTrue(m.toString(), m.toString().contains("192.168.1.1"));
     Assert.assertTrue(
         mgr.getBlacklistConfigList().toString(),
         mgr.getBlacklistConfigList().toString().contains("192.168.1.1"));
 
     Assert.assertTrue(strategy.match("192.168.1.1", () -> BlacklistConstants.FORBIDDEN_PUB));
+    Assert.assertFalse(
+        strategy.match("192.168.1.1", () -> BlacklistConstants.FORBIDDEN_SUB_BY_PREFIX));
+  }
+
+  @Test
+  public void testCidr() {
+    DefaultIPMatchStrategy strategy = new DefaultIPMatchStrategy();
+    FetchBlackListService mgr = new FetchBlackListService();
+    strategy.setFetchBlackListService(mgr);
+
+    MatchType m = new MatchType();
+    m.setType(BlacklistConstants.IP_CIDR);
+    m.setPatternSet(Sets.newSet("10.0.0.0/8", "192.168.1.128/25", "2001:db8::/32", "illegal/8"));
+    List<MatchType> types = Lists.newArrayList();
+    types.add(m);
+    mgr.setBlacklistConfigList(
+        Lists.newArrayList(getIpConfig(BlacklistConstants.FORBIDDEN_SUB_BY_PREFIX, types)));
+
+    Assert.assertTrue(strategy.match("10.2.3.4", () -> BlacklistConstants.FORBIDDEN_SUB_BY_PREFIX));
+    Assert.assertTrue(
+        strategy.match("192.168.1.200", () -> BlacklistConstants.FORBIDDEN_SUB_BY_PREFIX));
+    Assert.assertFalse(
+        strategy.match("192.168.1.1", () -> BlacklistConstants.FORBIDDEN_SUB_BY_PREFIX));
+    Assert.assertTrue(
+        strategy.match("2001:db8::1", () -> BlacklistConstants.FORBIDDEN_SUB_BY_PREFIX));
+    Assert.assertFalse(
+        strategy.match("2001:db9::1", () -> BlacklistConstants.FORBIDDEN_SUB_BY_PREFIX));
+    Assert.assertFalse(
+        strategy.match("not-an-ip", () -> BlacklistConstants.FORBIDDEN_SUB_BY_PREFIX));
+    Assert.assertFalse(strategy.match("10.2.3.4", () -> BlacklistConstants.FORBIDDEN_PUB));
   }
 
   private BlacklistConfig getIpConfig(String type, List<MatchType> matchTypes) {
@@ -0,0 +1,78 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alipay.sofa.registry.server.session.filter.blacklist;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class IPPrefixTrieTest {
+  @Test
+  public void testV4() {
+    IPPrefixTrie trie = new IPPrefixTrie();
+    Assert.assertTrue(trie.isEmpty());
+    Assert.assertFalse(trie.contains("10.0.0.1"));
+
+    trie.add("10.1.0.0/16");
+    trie.add("172.16.0.1");
+    Assert.assertFalse(trie.isEmpty());
+    Assert.assertTrue(trie.contains("10.1.0.0"));
+    Assert.assertTrue(trie.contains("10.1.255.255"));
+    Assert.assertFalse(trie.contains("10.2.0.0"));
+    Assert.assertTrue(trie.contains("172.16.0.1"));
+    Assert.assertFalse(trie.contains("172.16.0.2"));
+    Assert.assertFalse(trie.contains(null));
+    Assert.assertFalse(trie.contains("host.invalid"));
+
+    // the shorter range covers the longer one
+    trie.add("10.0.0.0/8");
+    Assert.assertTrue(trie.contains("10.2.0.0"));
+    trie.add("10.3.0.0/16");
+    Assert.assertTrue(trie.contains("10.4.0.0"));
+
+    trie.add("0.0.0.0/0");
+    Assert.assertTrue(trie.contains("1.2.3.4"));
+    // v4 range not match v6
+    Assert.assertFalse(trie.contains("::1"));
+  }
+
+  @Test
+  public void testV6() {
+    IPPrefixTrie trie = new IPPrefixTrie();
+    trie.add("2001:db8::/32");
+    trie.add("::1");
+    Assert.assertTrue(trie.contains("2001:db8:1::1"));
+    Assert.assertFalse(trie.contains("2001:db9::1"));
+    Assert.assertTrue(trie.contains("::1"));
+    Assert.assertFalse(trie.contains("::2"));
+    Assert.assertFalse(trie.contains("32.1.13.184"));
+  }
+
+  @Test
+  public void testIllegal() {
+    IPPrefixTrie trie = new IPPrefixTrie();
+    for (String cidr :
+        new String[] {"10.0.0.0/33", "10.0.0.0/-1", "10.0.0/8", "x/8", "1.1.1.1/a"}) {
+      try {
+        trie.add(cidr);
+        Assert.fail(cidr);
+      } catch (IllegalArgumentException e) {
+        // ignore
+      }
+    }
+    Assert.assertTrue(trie.isEmpty());
+  }
+}
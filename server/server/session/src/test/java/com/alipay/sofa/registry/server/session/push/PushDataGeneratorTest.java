@@ -20,20 +20,25 @@ import static org.mockito.Mockito.*;
 
 import com.alipay.sofa.registry.common.model.client.pb.ReceivedConfigDataPb;
 import com.alipay.sofa.registry.common.model.client.pb.ReceivedDataPb;
+import com.alipay.sofa.registry.common.model.client.pb.ReceivedDeltaDataPb;
 import com.alipay.sofa.registry.common.model.metaserver.CompressPushSwitch;
 import com.alipay.sofa.registry.common.model.metaserver.ProvideData;
 import com.alipay.sofa.registry.common.model.store.*;
 import com.alipay.sofa.registry.core.model.DataBox;
 import com.alipay.sofa.registry.core.model.ReceivedConfigData;
 import com.alipay.sofa.registry.core.model.ReceivedData;
+import com.alipay.sofa.registry.core.model.ReceivedDeltaData;
 import com.alipay.sofa.registry.core.model.ScopeEnum;
+import com.alipay.sofa.registry.remoting.bolt.serializer.EncodedProtobufMessage;
 import com.alipay.sofa.registry.server.session.TestUtils;
+import com.alipay.sofa.registry.server.session.bootstrap.SessionServerConfigBean;
 import com.alipay.sofa.registry.server.session.converter.ReceivedDataConverter;
 import com.alipay.sofa.registry.server.session.providedata.CompressPushService;
 import com.alipay.sofa.registry.server.shared.util.DatumUtils;
 import com.alipay.sofa.registry.util.DatumVersionUtil;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import org.assertj.core.util.Sets;
@@ -90,6 +95,66 @@ public class PushDataGeneratorTest {
     Assert.assertEquals(2, receivedData.getData().values().stream().mapToInt(List::size).sum());
   }
 
+  @Test
+  public void testSharedPayload() {
+    PushDataGenerator generator = new PushDataGenerator();
+    generator.sessionServerConfig = TestUtils.newSessionConfig("testDc", zone);
+    generator.compressPushService = new CompressPushService();
+    Subscriber sub1 = TestUtils.newZonePbSubscriber(zone);
+    Subscriber sub2 = TestUtils.newZonePbSubscriber(zone);
+    SubPublisher pub = TestUtils.newSubPublisher(10, 20, "TESTZONE");
+    SubDatum subDatum =
+        TestUtils.newSubDatum(
+            "testSharedDataId", DatumVersionUtil.nextId(), Lists.newArrayList(pub));
+
+    PushData<ReceivedDataPb> pushData1 =
+        generator.createPushData(subDatum, Collections.singletonMap(sub1.getRegisterId(), sub1));
+    long hit = PushDataGenerator.pushPayloadExecutor.getHitCount();
+    PushData<ReceivedDataPb> pushData2 =
+        generator.createPushData(subDatum, Collections.singletonMap(sub2.getRegisterId(), sub2));
+    Assert.assertEquals(hit + 2, PushDataGenerator.pushPayloadExecutor.getHitCount());
+
+    ReceivedDataPb pb1 = pushData1.getPayload();
+    ReceivedDataPb pb2 = pushData2.getPayload();
+    Assert.assertEquals(Lists.newArrayList(sub1.getRegisterId()), pb1.getSubscriberRegistIdsList());
+    Assert.assertEquals(Lists.newArrayList(sub2.getRegisterId()), pb2.getSubscriberRegistIdsList());
+    Assert.assertEquals(subDatum.getVersion(), pb2.getVersion());
+    Assert.assertEquals(pb1.getDataMap(), pb2.getDataMap());
+    Assert.assertEquals(1, pushData2.getDataCount());
+  }
+
+  @Test
+  public void testEncodedPayload() throws Exception {
+    PushDataGenerator generator = new PushDataGenerator();
+    SessionServerConfigBean config = TestUtils.newSessionConfig("testDc", zone);
+    config.setPushProtobufEncodedEnabled(true);
+    generator.sessionServerConfig = config;
+    generator.compressPushService = new CompressPushService();
+    Subscriber sub1 = TestUtils.newZonePbSubscriber(zone);
+    Subscriber sub2 = TestUtils.newZonePbSubscriber(zone);
+    SubPublisher pub = TestUtils.newSubPublisher(10, 20, "TESTZONE");
+    SubDatum subDatum =
+        TestUtils.newSubDatum(
+            "testEncodedDataId", DatumVersionUtil.nextId(), Lists.newArrayList(pub));
+
+    PushData<EncodedProtobufMessage> pushData1 =
+        generator.createPushData(subDatum, Collections.singletonMap(sub1.getRegisterId(), sub1));
+    long hit = PushDataGenerator.pushPayloadExecutor.getHitCount();
+    PushData<EncodedProtobufMessage> pushData2 =
+        generator.createPushData(subDatum, Collections.singletonMap(sub2.getRegisterId(), sub2));
+    Assert.assertEquals(hit + 2, PushDataGenerator.pushPayloadExecutor.getHitCount());
+
+    EncodedProtobufMessage message1 = pushData1.getPayload();
+    Assert.assertEquals(ReceivedDataPb.class.getName(), message1.getMessageClass());
+    ReceivedDataPb pb1 = ReceivedDataPb.parseFrom(message1.getBytes());
+    ReceivedDataPb pb2 = ReceivedDataPb.parseFrom(pushData2.getPayload().getBytes());
+    Assert.assertEquals(Lists.newArrayList(sub1.getRegisterId()), pb1.getSubscriberRegistIdsList());
+    Assert.assertEquals(Lists.newArrayList(sub2.getRegisterId()), pb2.getSubscriberRegistIdsList());
+    Assert.assertEquals(subDatum.getVersion(), pb2.getVersion());
+    Assert.assertEquals(pb1.getDataMap(), pb2.getDataMap());
+    Assert.assertEquals(1, pushData2.getDataCount());
+  }
+
   @Test
   public void testWatch() {
     PushDataGenerator generator = new PushDataGenerator();
@@ -154,4 +219,63 @@ public class PushDataGeneratorTest {
     Assert.assertNotEquals(0, pushData.getPayload().getBody().size());
     Assert.assertNotEquals(0, pushData.getPayload().getOriginBodySize());
   }
+
+  @Test
+  public void testDelta() {
+    PushDataGenerator generator = new PushDataGenerator();
+    SessionServerConfigBean configBean = TestUtils.newSessionConfig("testDc", zone);
+    configBean.setPushDeltaMinPubNum(2);
+    generator.sessionServerConfig = configBean;
+    generator.compressPushService = new CompressPushService();
+    Subscriber sub = TestUtils.newZoneSubscriber(zone);
+    sub.internAcceptEncoding(ReceivedDeltaData.ACCEPT_ENCODING);
+    Map<String, Subscriber> subscriberMap = Collections.singletonMap(sub.getRegisterId(), sub);
+    List<SubPublisher> list = Lists.newArrayList();
+    for (int i = 0; i < 10; i++) {
+      list.add(TestUtils.newSubPublisher(10, 20, "TESTZONE"));
+    }
+    SubDatum base = TestUtils.newSubDatum("testDeltaDataId", 200, list);
+    // not pushed yet, push full
+    PushData pushData = generator.createPushData(base, subscriberMap);
+    Assert.assertTrue(pushData.getPayload() instanceof ReceivedData);
+    sub.checkAndUpdateCtx(base.getDataCenter(), base.getVersion(), base.getPubNum());
+
+    List<SubPublisher> changed = Lists.newArrayList(list.subList(1, list.size()));
+    changed.add(TestUtils.newSubPublisher(10, 20, "TESTZONE"));
+    SubDatum current = TestUtils.newSubDatum("testDeltaDataId", 300, changed);
+    pushData = generator.createPushData(current, subscriberMap);
+    Assert.assertEquals(ReceivedDeltaData.ACCEPT_ENCODING, pushData.getEncode());
+    Assert.assertEquals(2, pushData.getDataCount());
+    ReceivedDeltaData delta = (ReceivedDeltaData) pushData.getPayload();
+    Assert.assertEquals(200, delta.getBaseVersion().longValue());
+    Assert.assertEquals(300, delta.getVersion().longValue());
+    Assert.assertEquals(Lists.newArrayList(sub.getRegisterId()), delta.getSubscriberRegistIds());
+    Assert.assertEquals(1, delta.getAddData().get("TESTZONE").size());
+    Assert.assertEquals(1, delta.getRemoveData().get("TESTZONE").size());
+
+    // the client rejects the delta
+    pushData = generator.createPushData(current, subscriberMap, false);
+    Assert.assertTrue(pushData.getPayload() instanceof ReceivedData);
+
+    // the base is not cached
+    generator.pushedDatumCache.invalidateAll();
+    pushData = generator.createPushData(current, subscriberMap);
+    Assert.assertTrue(pushData.getPayload() instanceof ReceivedData);
+
+    // protobuf
+    generator.pushedDatumCache.put(PushDataGenerator.PushedDatumKey.of(base), base);
+    Subscriber pbSub = TestUtils.newZonePbSubscriber(zone);
+    pbSub.internAcceptEncoding(ReceivedDeltaData.ACCEPT_ENCODING);
+    pbSub.checkAndUpdateCtx(base.getDataCenter(), base.getVersion(), base.getPubNum());
+    pushData =
+        generator.createPushData(current, Collections.singletonMap(pbSub.getRegisterId(), pbSub));
+    ReceivedDeltaDataPb deltaPb = (ReceivedDeltaDataPb) pushData.getPayload();
+    Assert.assertEquals(200, deltaPb.getBaseVersion());
+    Assert.assertEquals(1, deltaPb.getAddDataMap().get("TESTZONE").getDataCount());
+
+    // disabled
+    configBean.setPushDeltaEnabled(false);
+    pushData = generator.createPushData(current, subscriberMap);
+    Assert.assertTrue(pushData.getPayload() instanceof ReceivedData);
+  }
 }
@@ -25,6 +25,8 @@ import com.alipay.remoting.rpc.exception.InvokeTimeoutException;
 import com.alipay.sofa.registry.common.model.store.BaseInfo;
 import com.alipay.sofa.registry.common.model.store.SubDatum;
 import com.alipay.sofa.registry.common.model.store.Subscriber;
+import com.alipay.sofa.registry.core.model.ReceivedDeltaData;
+import com.alipay.sofa.registry.core.model.Result;
 import com.alipay.sofa.registry.net.NetUtil;
 import com.alipay.sofa.registry.remoting.ChannelOverflowException;
 import com.alipay.sofa.registry.remoting.exchange.RequestChannelClosedException;
@@ -382,6 +384,40 @@ public class PushProcessorTest {
     Assert.assertEquals(100, subscriber.getPushedVersion(datum.getDataCenter()));
   }
 
+  @Test
+  public void testOnDeltaRejected() throws Exception {
+    PushProcessor processor = newProcessor();
+    final PushTaskBuffer.BufferWorker worker = processor.taskBuffer.workers[0];
+
+    TriggerPushContext ctx =
+        new TriggerPushContext("testDc", 100, null, System.currentTimeMillis());
+    PushCause pushCause = new PushCause(ctx, PushType.Reg, System.currentTimeMillis());
+    Subscriber subscriber = TestUtils.newZoneSubscriber(dataId, zone);
+    SubDatum datum = TestUtils.newSubDatum(subscriber.getDataId(), 100, Collections.emptyList());
+
+    processor.firePush(
+        pushCause,
+        NetUtil.getLocalSocketAddress(),
+        Collections.singletonMap(subscriber.getRegisterId(), subscriber),
+        datum);
+
+    PushTask task = worker.bufferMap.values().iterator().next();
+    processor.doPush(task);
+    Assert.assertEquals(processor.pushingRecords.size(), 1);
+    // mock the delta is pushed
+    task.setPushEncode(ReceivedDeltaData.ACCEPT_ENCODING);
+    PushProcessor.PushClientCallback callback = processor.new PushClientCallback(task);
+    callback.onCallback(null, new Result(false, "version gap"));
+    Assert.assertEquals(processor.pushingRecords.size(), 0);
+    // not updated, retry with the full push
+    Assert.assertEquals(0, subscriber.getPushedVersion(datum.getDataCenter()));
+    Assert.assertTrue(task.fullPushRequired);
+    Assert.assertEquals(1, task.retryCount);
+
+    callback.onCallback(null, new Result(true, null));
+    Assert.assertEquals(100, subscriber.getPushedVersion(datum.getDataCenter()));
+  }
+
   private PushProcessor newProcessor() {
     PushProcessor processor = new PushProcessor();
     SessionServerConfigBean config = TestUtils.newSessionConfig("testDc");
@@ -0,0 +1,98 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alipay.sofa.registry.server.session.remoting.handler;
+
+import static org.mockito.Mockito.*;
+
+import com.alipay.sofa.registry.common.model.Node;
+import com.alipay.sofa.registry.core.model.BaseRegister;
+import com.alipay.sofa.registry.core.model.BatchRegisterRequest;
+import com.alipay.sofa.registry.core.model.BatchRegisterResponse;
+import com.alipay.sofa.registry.core.model.ConfiguratorRegister;
+import com.alipay.sofa.registry.core.model.PublisherRegister;
+import com.alipay.sofa.registry.core.model.RegisterResponse;
+import com.alipay.sofa.registry.core.model.SubscriberRegister;
+import com.alipay.sofa.registry.remoting.ChannelHandler;
+import com.alipay.sofa.registry.server.session.TestUtils;
+import com.alipay.sofa.registry.server.session.bootstrap.ExecutorManager;
+import com.alipay.sofa.registry.server.session.strategy.PublisherHandlerStrategy;
+import com.alipay.sofa.registry.server.session.strategy.SubscriberHandlerStrategy;
+import com.alipay.sofa.registry.server.session.strategy.WatcherHandlerStrategy;
+import com.google.common.collect.Lists;
+import java.util.List;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class BatchRegisterHandlerTest {
+
+  private BatchRegisterHandler newHandler() {
+    BatchRegisterHandler handler = new BatchRegisterHandler();
+    handler.executorManager = new ExecutorManager(TestUtils.newSessionConfig("testDc"));
+    Assert.assertNotNull(handler.getExecutor());
+    Assert.assertEquals(handler.interest(), BatchRegisterRequest.class);
+    Assert.assertEquals(handler.getConnectNodeType(), Node.NodeType.CLIENT);
+    Assert.assertEquals(handler.getType(), ChannelHandler.HandlerType.PROCESSER);
+    Assert.assertEquals(handler.getInvokeType(), ChannelHandler.InvokeType.SYNC);
+    handler.publisherHandler = new PublisherHandler();
+    handler.publisherHandler.publisherHandlerStrategy = mock(PublisherHandlerStrategy.class);
+    handler.subscriberHandler = new SubscriberHandler();
+    handler.subscriberHandler.subscriberHandlerStrategy = mock(SubscriberHandlerStrategy.class);
+    handler.watcherHandler = new WatcherHandler();
+    handler.watcherHandler.watcherHandlerStrategy = mock(WatcherHandlerStrategy.class);
+    return handler;
+  }
+
+  @Test
+  public void testHandle() {
+    BatchRegisterHandler handler = newHandler();
+    doThrow(new RuntimeException("mock"))
+        .when(handler.subscriberHandler.subscriberHandlerStrategy)
+        .handleSubscriberRegister(anyObject(), anyObject(), any());
+
+    List<BaseRegister> registers =
+        Lists.newArrayList(
+            register(new PublisherRegister(), "pub"),
+            register(new SubscriberRegister(), "sub"),
+            register(new ConfiguratorRegister(), "cfg"),
+            register(new BaseRegister(), "unknown"));
+    BatchRegisterResponse response =
+        (BatchRegisterResponse) handler.doHandle(null, new BatchRegisterRequest(registers));
+    List<RegisterResponse> responses = response.getResponses();
+    Assert.assertEquals(responses.size(), registers.size());
+    // the response of the subscriber is failed
+    Assert.assertFalse(responses.get(1).isSuccess());
+    Assert.assertEquals(responses.get(1).getRegistId(), "sub");
+    Assert.assertEquals(responses.get(1).getMessage(), "mock");
+    Assert.assertFalse(responses.get(3).isSuccess());
+    Assert.assertEquals(responses.get(3).getRegistId(), "unknown");
+
+    verify(handler.publisherHandler.publisherHandlerStrategy, times(1))
+        .handlePublisherRegister(anyObject(), anyObject(), any());
+    verify(handler.subscriberHandler.subscriberHandlerStrategy, times(1))
+        .handleSubscriberRegister(anyObject(), anyObject(), any());
+    verify(handler.watcherHandler.watcherHandlerStrategy, times(1))
+        .handleConfiguratorRegister(anyObject(), anyObject(), any());
+
+    response = (BatchRegisterResponse) handler.doHandle(null, new BatchRegisterRequest());
+    Assert.assertTrue(response.getResponses().isEmpty());
+  }
+
+  private static BaseRegister register(BaseRegister register, String registId) {
+    register.setRegistId(registId);
+    return register;
+  }
+}
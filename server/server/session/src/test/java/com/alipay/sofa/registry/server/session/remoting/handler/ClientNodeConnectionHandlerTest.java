@@ -26,9 +26,11 @@ import com.alipay.sofa.registry.server.session.TestUtils;
 import com.alipay.sofa.registry.server.session.bootstrap.ExecutorManager;
 import com.alipay.sofa.registry.server.session.registry.Registry;
 import com.alipay.sofa.registry.util.ConcurrentUtils;
+import java.util.List;
 import java.util.concurrent.TimeUnit;
 import org.junit.Assert;
 import org.junit.Test;
+import org.mockito.ArgumentCaptor;
 
 public class ClientNodeConnectionHandlerTest {
 
@@ -54,4 +56,36 @@ public class ClientNodeConnectionHandlerTest {
     verify(handler.sessionRegistry, times(1)).clean(anyList());
     handler.disconnected(channel);
   }
+
+  @Test
+  public void testCoalesce() {
+    ClientNodeConnectionHandler handler = newHandler();
+    handler.sessionRegistry = mock(Registry.class);
+    handler.executorManager = new ExecutorManager(TestUtils.newSessionConfig("testDc"));
+    handler.coalesceMillis = 200;
+    for (int i = 0; i < 10; i++) {
+      handler.fireCancelClient(TestUtils.newChannel(9600, "127.0.0.1", 9800 + i));
+    }
+    handler.start();
+    ConcurrentUtils.sleepUninterruptibly(500, TimeUnit.MILLISECONDS);
+    // the closed connections in the window are cleaned in one batch
+    ArgumentCaptor<List> captor = ArgumentCaptor.forClass(List.class);
+    verify(handler.sessionRegistry, times(1)).clean(captor.capture());
+    Assert.assertEquals(10, captor.getValue().size());
+    handler.stop();
+  }
+
+  @Test
+  public void testNotCoalesceSingle() {
+    ClientNodeConnectionHandler handler = newHandler();
+    handler.sessionRegistry = mock(Registry.class);
+    handler.executorManager = new ExecutorManager(TestUtils.newSessionConfig("testDc"));
+    handler.coalesceMillis = 5000;
+    handler.start();
+    handler.fireCancelClient(TestUtils.newChannel(9600, "127.0.0.1", 9888));
+    ConcurrentUtils.sleepUninterruptibly(500, TimeUnit.MILLISECONDS);
+    // a single closed connection does not wait for the window
+    verify(handler.sessionRegistry, times(1)).clean(anyList());
+    handler.stop();
+  }
 }
@@ -217,7 +217,7 @@ public class SessionDataStoreTest {
         new TimerTask() {
           @Override
           public void run() {
-            store.connectDataIndexer.triggerRefresh();
+            store.connectDataIndexer.triggerAudit();
           }
         },
         0,
@@ -228,6 +228,12 @@ public class SessionDataStoreTest {
           store.queryByConnectId(publisher.connectId()).containsKey(publisher.getRegisterId()));
     }
     Assert.assertTrue(store.getConnectIds().size() >= urls.size() - clientOffs.size());
+    // the index is exact without the rebuild
+    Set<ConnectId> connectIds = Sets.newHashSet();
+    for (Publisher publisher : store.getDataList()) {
+      connectIds.add(publisher.connectId());
+    }
+    Assert.assertEquals(connectIds, store.getConnectIds());
     for (ConnectId connectId : clientOffs) {
       store.deleteByConnectId(connectId);
     }
@@ -243,6 +249,53 @@ public class SessionDataStoreTest {
     refreshTimer.cancel();
   }
 
+  @Test
+  public void testIndexAudit() {
+    SessionDataStore store = new SessionDataStore();
+    store.slotTableCache = Mockito.mock(SlotTableCache.class);
+    Publisher publisher0 = TestUtils.createTestPublishers(0, 1).get(0);
+    Publisher publisher1 = TestUtils.createTestPublisher("testIndexAudit");
+    publisher1.setSourceAddress(new URL("192.168.0.1", 50000));
+    store.add(publisher0);
+    store.add(publisher1);
+    Assert.assertEquals(
+        Sets.newHashSet(publisher0.connectId(), publisher1.connectId()), store.getConnectIds());
+
+    // re-register with another connection
+    Publisher publisher2 = PublisherUtils.clonePublisher(publisher1);
+    publisher2.setVersion(publisher1.getVersion() + 1);
+    publisher2.setSourceAddress(new URL("192.168.0.1", 50001));
+    store.add(publisher2);
+    Assert.assertEquals(
+        Sets.newHashSet(publisher0.connectId(), publisher2.connectId()), store.getConnectIds());
+    // the old version is rejected
+    store.add(publisher1);
+    Assert.assertEquals(
+        Sets.newHashSet(publisher0.connectId(), publisher2.connectId()), store.getConnectIds());
+
+    store.deleteById(publisher2.getRegisterId(), publisher2.getDataInfoId());
+    Assert.assertEquals(Sets.newHashSet(publisher0.connectId()), store.getConnectIds());
+
+    // make the drift
+    ConnectId staleConnectId = ConnectId.of("192.168.0.1:50002", "192.168.0.2:9600");
+    store.connectDataIndexer.insert(staleConnectId, DataPos.of(publisher1));
+    store.connectDataIndexer.remove(publisher0.connectId(), DataPos.of(publisher0));
+    Assert.assertEquals(Sets.newHashSet(staleConnectId), store.getConnectIds());
+
+    // the missing is repaired at once, the stale is removed after confirmed
+    store.connectDataIndexer.audit();
+    Assert.assertEquals(
+        Sets.newHashSet(publisher0.connectId(), staleConnectId), store.getConnectIds());
+    store.connectDataIndexer.audit();
+    Assert.assertEquals(
+        Sets.newHashSet(publisher0.connectId(), staleConnectId), store.getConnectIds());
+    store.connectDataIndexer.audit(0);
+    Assert.assertEquals(Sets.newHashSet(publisher0.connectId()), store.getConnectIds());
+
+    store.deleteByConnectId(publisher0.connectId());
+    Assert.assertTrue(store.getConnectIds().isEmpty());
+  }
+
   public static <T> List<T> pickSample(List<T> population, int nSamplesNeeded, Random r) {
     ArrayList<T> ret = new ArrayList<>(nSamplesNeeded);
     int i = 0, nLeft = population.size();
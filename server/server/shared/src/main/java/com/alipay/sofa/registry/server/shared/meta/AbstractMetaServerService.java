@@ -31,6 +31,7 @@ import com.alipay.sofa.registry.common.model.metaserver.inter.heartbeat.BaseHear
 import com.alipay.sofa.registry.common.model.metaserver.inter.heartbeat.HeartbeatRequest;
 import com.alipay.sofa.registry.common.model.metaserver.nodes.SessionNode;
 import com.alipay.sofa.registry.common.model.slot.GetSlotTableStatusRequest;
+import com.alipay.sofa.registry.common.model.slot.SlotTable;
 import com.alipay.sofa.registry.common.model.slot.SlotTableStatusResponse;
 import com.alipay.sofa.registry.common.model.store.URL;
 import com.alipay.sofa.registry.log.Logger;
@@ -59,6 +60,9 @@ public abstract class AbstractMetaServerService<T extends BaseHeartBeatResponse>
 
   protected volatile State state = State.NULL;
 
+  // the full slot table of the last heartbeat, the base of the slot table delta
+  private volatile SlotTable heartbeatSlotTable;
+
   final Renewer renewer = new Renewer();
   private Thread renewerThread;
   final AtomicInteger renewFailCounter = new AtomicInteger(0);
@@ -140,6 +144,10 @@ public abstract class AbstractMetaServerService<T extends BaseHeartBeatResponse>
     boolean success = true;
     try {
       HeartbeatRequest heartbeatRequest = createRequest();
+      final SlotTable baseSlotTable = heartbeatSlotTable;
+      if (baseSlotTable != null) {
+        heartbeatRequest.setSlotTableDeltaBaseEpoch(baseSlotTable.getEpoch());
+      }
       GenericResponse<T> resp =
           (GenericResponse<T>) metaServerManager.sendRequest(heartbeatRequest).getResult();
       handleHeartbeatResponse(resp);
@@ -175,6 +183,7 @@ public abstract class AbstractMetaServerService<T extends BaseHeartBeatResponse>
       throw new RuntimeException("renew node to metaServer error : resp is null");
     }
     if (resp.isSuccess()) {
+      resolveSlotTable(resp.getData());
       updateState(resp.getData());
       metaServerManager.refresh(resp.getData());
       handleRenewResult(resp.getData());
@@ -204,6 +213,21 @@ public abstract class AbstractMetaServerService<T extends BaseHeartBeatResponse>
     }
   }
 
+  void resolveSlotTable(T response) {
+    if (response.getSlotTableDelta() != null) {
+      try {
+        response.applySlotTableDelta(heartbeatSlotTable);
+      } catch (Throwable e) {
+        // request the full slot table next time
+        heartbeatSlotTable = null;
+        throw e;
+      }
+    }
+    if (response.getSlotTable() != null) {
+      heartbeatSlotTable = response.getSlotTable();
+    }
+  }
+
   void handleHeartbeatFailed(String leaderIp, Throwable e) {
     renewFailCounter.incrementAndGet();
     RENEWER_LOGGER.error(
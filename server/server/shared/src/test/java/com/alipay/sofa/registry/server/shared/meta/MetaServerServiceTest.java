@@ -25,8 +25,11 @@ import com.alipay.sofa.registry.common.model.metaserver.inter.heartbeat.BaseHear
 import com.alipay.sofa.registry.common.model.metaserver.inter.heartbeat.HeartbeatRequest;
 import com.alipay.sofa.registry.common.model.metaserver.nodes.MetaNode;
 import com.alipay.sofa.registry.common.model.metaserver.nodes.SessionNode;
+import com.alipay.sofa.registry.common.model.slot.Slot;
 import com.alipay.sofa.registry.common.model.slot.SlotTable;
+import com.alipay.sofa.registry.common.model.slot.SlotTableDelta;
 import com.alipay.sofa.registry.common.model.store.URL;
+import com.alipay.sofa.registry.exception.SofaRegistrySlotTableException;
 import com.alipay.sofa.registry.remoting.exchange.message.Response;
 import com.alipay.sofa.registry.server.shared.TestUtils;
 import com.alipay.sofa.registry.server.shared.env.ServerEnv;
@@ -136,6 +139,50 @@ public class MetaServerServiceTest {
     Assert.assertTrue(zones.contains("192.168.1.2"));
   }
 
+  @Test
+  public void testResolveSlotTable() {
+    MockServerService mockServerService = new MockServerService();
+    mockServerService.setMetaServerManager(Mockito.mock(MetaServerManager.class));
+    SlotTable from =
+        new SlotTable(10, Lists.newArrayList(new Slot(0, "a", 1, Sets.newHashSet("b"))));
+    SlotTable to = new SlotTable(11, Lists.newArrayList(new Slot(0, "b", 2, Sets.newHashSet("a"))));
+
+    // no base slot table
+    BaseHeartBeatResponse response =
+        response(null).setSlotTableDelta(SlotTableDelta.diff(from, to));
+    TestUtils.assertRunException(
+        SofaRegistrySlotTableException.class, () -> mockServerService.resolveSlotTable(response));
+
+    mockServerService.resolveSlotTable(response(from));
+    BaseHeartBeatResponse deltaResponse =
+        response(null).setSlotTableDelta(SlotTableDelta.diff(from, to));
+    mockServerService.resolveSlotTable(deltaResponse);
+    Assert.assertEquals(to, deltaResponse.getSlotTable());
+    Assert.assertNull(deltaResponse.getSlotTableDelta());
+
+    BaseHeartBeatResponse unchanged =
+        response(null).setSlotTableDelta(SlotTableDelta.unchanged(11));
+    mockServerService.resolveSlotTable(unchanged);
+    Assert.assertEquals(to, unchanged.getSlotTable());
+
+    // mismatch base, request the full slot table next time
+    TestUtils.assertRunException(
+        SofaRegistrySlotTableException.class,
+        () ->
+            mockServerService.resolveSlotTable(
+                response(null).setSlotTableDelta(SlotTableDelta.diff(from, to))));
+    TestUtils.assertRunException(
+        SofaRegistrySlotTableException.class,
+        () ->
+            mockServerService.resolveSlotTable(
+                response(null).setSlotTableDelta(SlotTableDelta.unchanged(11))));
+  }
+
+  private static BaseHeartBeatResponse response(SlotTable slotTable) {
+    return new BaseHeartBeatResponse(
+        true, VersionedList.EMPTY, slotTable, VersionedList.EMPTY, "test", 100);
+  }
+
   @Test
   public void testSuspend() {
     MockServerService mockServerService = new MockServerService();
@@ -24,4 +24,16 @@ public interface MetadataConfig {
   int getRevisionRenewIntervalMinutes();
 
   int getInterfaceAppsIndexRenewIntervalMinutes();
+
+  String getInformerSnapshotDir();
+
+  int getInformerSnapshotMaxAgeMinutes();
+
+  boolean isRevisionBinaryParamsEnable();
+
+  int getRefreshBatchSize();
+
+  int getRefreshBatchLingerMillis();
+
+  int getRefreshBatchTimeoutMillis();
 }
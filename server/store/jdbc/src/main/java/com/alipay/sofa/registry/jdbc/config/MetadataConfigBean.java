@@ -30,6 +30,22 @@ public class MetadataConfigBean implements MetadataConfig {
   private int revisionRenewIntervalMinutes = 60 * 3;
   private int interfaceAppsIndexRenewIntervalMinutes = 60 * 3;
 
+  /** blank means the local snapshot of informers is disabled */
+  private String informerSnapshotDir = "";
+
+  /** the watch only sees the new rows, the snapshot is also bounded by the list interval */
+  private int informerSnapshotMaxAgeMinutes = 30;
+
+  /** write the params of revision in binary, enable it after all the servers could read it */
+  private boolean revisionBinaryParamsEnable = false;
+
+  /** the refreshes of revision and interface apps are flushed in batch, 1 means disabled */
+  private int refreshBatchSize = 100;
+
+  private int refreshBatchLingerMillis = 5;
+
+  private int refreshBatchTimeoutMillis = 10000;
+
   public int getRevisionRenewIntervalMinutes() {
     return revisionRenewIntervalMinutes;
   }
@@ -46,4 +62,52 @@ public class MetadataConfigBean implements MetadataConfig {
       int interfaceAppsIndexRenewIntervalMinutes) {
     this.interfaceAppsIndexRenewIntervalMinutes = interfaceAppsIndexRenewIntervalMinutes;
   }
+
+  public String getInformerSnapshotDir() {
+    return informerSnapshotDir;
+  }
+
+  public void setInformerSnapshotDir(String informerSnapshotDir) {
+    this.informerSnapshotDir = informerSnapshotDir;
+  }
+
+  public int getInformerSnapshotMaxAgeMinutes() {
+    return informerSnapshotMaxAgeMinutes;
+  }
+
+  public void setInformerSnapshotMaxAgeMinutes(int informerSnapshotMaxAgeMinutes) {
+    this.informerSnapshotMaxAgeMinutes = informerSnapshotMaxAgeMinutes;
+  }
+
+  public boolean isRevisionBinaryParamsEnable() {
+    return revisionBinaryParamsEnable;
+  }
+
+  public void setRevisionBinaryParamsEnable(boolean revisionBinaryParamsEnable) {
+    this.revisionBinaryParamsEnable = revisionBinaryParamsEnable;
+  }
+
+  public int getRefreshBatchSize() {
+    return refreshBatchSize;
+  }
+
+  public void setRefreshBatchSize(int refreshBatchSize) {
+    this.refreshBatchSize = refreshBatchSize;
+  }
+
+  public int getRefreshBatchLingerMillis() {
+    return refreshBatchLingerMillis;
+  }
+
+  public void setRefreshBatchLingerMillis(int refreshBatchLingerMillis) {
+    this.refreshBatchLingerMillis = refreshBatchLingerMillis;
+  }
+
+  public int getRefreshBatchTimeoutMillis() {
+    return refreshBatchTimeoutMillis;
+  }
+
+  public void setRefreshBatchTimeoutMillis(int refreshBatchTimeoutMillis) {
+    this.refreshBatchTimeoutMillis = refreshBatchTimeoutMillis;
+  }
 }
@@ -25,6 +25,7 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import org.springframework.util.CollectionUtils;
 
 /**
@@ -39,6 +40,15 @@ public class AppRevisionDomainConvertor {
       new TypeReference<HashMap<String, AppRevisionInterface>>() {};
 
   public static AppRevisionDomain convert2Domain(String dataCenter, AppRevision appRevision) {
+    return convert2Domain(dataCenter, appRevision, false);
+  }
+
+  /**
+   * @param binaryParams encode the params by AppRevisionParamsCodec instead of json, all the
+   *     readers must be able to decode the binary format before it is enabled
+   */
+  public static AppRevisionDomain convert2Domain(
+      String dataCenter, AppRevision appRevision, boolean binaryParams) {
     if (appRevision == null) {
       return null;
     }
@@ -47,8 +57,14 @@ public class AppRevisionDomainConvertor {
     domain.setDataCenter(dataCenter);
     domain.setRevision(appRevision.getRevision());
     domain.setClientVersion(appRevision.getClientVersion());
-    domain.setBaseParams(JsonUtils.writeValueAsString(appRevision.getBaseParams()));
-    domain.setServiceParams(JsonUtils.writeValueAsString(appRevision.getInterfaceMap()));
+    if (binaryParams) {
+      domain.setBaseParams(AppRevisionParamsCodec.encodeBaseParams(appRevision.getBaseParams()));
+      domain.setServiceParams(
+          AppRevisionParamsCodec.encodeServiceParams(appRevision.getInterfaceMap()));
+    } else {
+      domain.setBaseParams(JsonUtils.writeValueAsString(appRevision.getBaseParams()));
+      domain.setServiceParams(JsonUtils.writeValueAsString(appRevision.getInterfaceMap()));
+    }
     domain.setDeleted(appRevision.isDeleted());
     return domain;
   }
@@ -65,13 +81,28 @@ public class AppRevisionDomainConvertor {
     appRevision.setAppName(domain.getAppName());
     appRevision.setRevision(domain.getRevision());
     appRevision.setClientVersion(domain.getClientVersion());
-    appRevision.setBaseParams(JsonUtils.read(domain.getBaseParams(), BASE_FORMAT));
-    appRevision.setInterfaceMap(JsonUtils.read(domain.getServiceParams(), SERVICE_FORMAT));
+    appRevision.setBaseParams(readBaseParams(domain.getBaseParams()));
+    appRevision.setInterfaceMap(readServiceParams(domain.getServiceParams()));
     appRevision.setLastHeartbeat(domain.getGmtModify());
     appRevision.setDeleted(domain.isDeleted());
     return appRevision;
   }
 
+  static Map<String, List<String>> readBaseParams(String baseParams) {
+    if (AppRevisionParamsCodec.isBinary(baseParams)) {
+      return AppRevisionParamsCodec.decodeBaseParams(baseParams);
+    }
+    return AppRevisionParamsCodec.internParams(JsonUtils.read(baseParams, BASE_FORMAT));
+  }
+
+  static Map<String, AppRevisionInterface> readServiceParams(String serviceParams) {
+    if (AppRevisionParamsCodec.isBinary(serviceParams)) {
+      return AppRevisionParamsCodec.decodeServiceParams(serviceParams);
+    }
+    return AppRevisionParamsCodec.internServiceParams(
+        JsonUtils.read(serviceParams, SERVICE_FORMAT));
+  }
+
   public static List<AppRevision> convert2Revisions(List<AppRevisionDomain> domains) {
     if (CollectionUtils.isEmpty(domains)) {
       return Collections.emptyList();
@@ -0,0 +1,275 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alipay.sofa.registry.jdbc.convertor;
+
+import com.alipay.sofa.registry.common.model.store.WordCache;
+import com.alipay.sofa.registry.core.model.AppRevisionInterface;
+import com.google.common.collect.Maps;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * compact binary encoding of the params of app revision. the strings are written once into a
+ * dictionary at the head and referenced by varint index, the bytes are stored as base64 with a
+ * prefix in the text columns, so both the json and the binary format could be read. the decoded
+ * strings are interned by WordCache, the revisions share the interface names and the param keys
+ */
+public final class AppRevisionParamsCodec {
+  public static final String BINARY_PREFIX = "#b1#";
+
+  private AppRevisionParamsCodec() {}
+
+  public static boolean isBinary(String value) {
+    return value != null && value.startsWith(BINARY_PREFIX);
+  }
+
+  public static String encodeBaseParams(Map<String, List<String>> baseParams) {
+    Encoder encoder = new Encoder();
+    encoder.writeParams(baseParams);
+    return encoder.finish();
+  }
+
+  public static Map<String, List<String>> decodeBaseParams(String value) {
+    Decoder decoder = new Decoder(value);
+    return decoder.readParams();
+  }
+
+  public static String encodeServiceParams(Map<String, AppRevisionInterface> interfaceMap) {
+    Encoder encoder = new Encoder();
+    if (interfaceMap == null) {
+      encoder.writeSize(-1);
+    } else {
+      encoder.writeSize(interfaceMap.size());
+      for (Map.Entry<String, AppRevisionInterface> e : interfaceMap.entrySet()) {
+        encoder.writeString(e.getKey());
+        AppRevisionInterface inf = e.getValue();
+        if (inf == null) {
+          encoder.writeSize(-1);
+          continue;
+        }
+        encoder.writeSize(0);
+        encoder.writeString(inf.getId());
+        encoder.writeParams(inf.getServiceParams());
+      }
+    }
+    return encoder.finish();
+  }
+
+  public static Map<String, AppRevisionInterface> decodeServiceParams(String value) {
+    Decoder decoder = new Decoder(value);
+    int size = decoder.readSize();
+    if (size < 0) {
+      return null;
+    }
+    Map<String, AppRevisionInterface> interfaceMap = Maps.newHashMapWithExpectedSize(size);
+    for (int i = 0; i < size; i++) {
+      String name = decoder.readString();
+      if (decoder.readSize() < 0) {
+        interfaceMap.put(name, null);
+        continue;
+      }
+      AppRevisionInterface inf = new AppRevisionInterface();
+      inf.setId(decoder.readString());
+      inf.setServiceParams(decoder.readParams());
+      interfaceMap.put(name, inf);
+    }
+    return interfaceMap;
+  }
+
+  /** intern the strings of the params decoded from json */
+  public static Map<String, List<String>> internParams(Map<String, List<String>> params) {
+    if (params == null) {
+      return null;
+    }
+    Map<String, List<String>> ret = Maps.newHashMapWithExpectedSize(params.size());
+    for (Map.Entry<String, List<String>> e : params.entrySet()) {
+      List<String> values = e.getValue();
+      List<String> interned = null;
+      if (values != null) {
+        interned = new ArrayList<>(values.size());
+        for (String v : values) {
+          interned.add(WordCache.getWordCache(v));
+        }
+      }
+      ret.put(WordCache.getWordCache(e.getKey()), interned);
+    }
+    return ret;
+  }
+
+  /** intern the strings of the interfaces decoded from json */
+  public static Map<String, AppRevisionInterface> internServiceParams(
+      Map<String, AppRevisionInterface> interfaceMap) {
+    if (interfaceMap == null) {
+      return null;
+    }
+    Map<String, AppRevisionInterface> ret = Maps.newHashMapWithExpectedSize(interfaceMap.size());
+    for (Map.Entry<String, AppRevisionInterface> e : interfaceMap.entrySet()) {
+      AppRevisionInterface inf = e.getValue();
+      if (inf != null) {
+        inf.setId(WordCache.getWordCache(inf.getId()));
+        inf.setServiceParams(internParams(inf.getServiceParams()));
+      }
+      ret.put(WordCache.getWordCache(e.getKey()), inf);
+    }
+    return ret;
+  }
+
+  private static final class Encoder {
+    final Map<String, Integer> dictionary = new LinkedHashMap<>();
+    final ByteArrayOutputStream body = new ByteArrayOutputStream(256);
+
+    void writeParams(Map<String, List<String>> params) {
+      if (params == null) {
+        writeSize(-1);
+        return;
+      }
+      writeSize(params.size());
+      for (Map.Entry<String, List<String>> e : params.entrySet()) {
+        writeString(e.getKey());
+        List<String> values = e.getValue();
+        if (values == null) {
+          writeSize(-1);
+          continue;
+        }
+        writeSize(values.size());
+        for (String v : values) {
+          writeString(v);
+        }
+      }
+    }
+
+    void writeSize(int size) {
+      // -1 means null
+      writeVarInt(body, size + 1);
+    }
+
+    void writeString(String s) {
+      if (s == null) {
+        writeVarInt(body, 0);
+        return;
+      }
+      Integer index = dictionary.get(s);
+      if (index == null) {
+        index = dictionary.size();
+        dictionary.put(s, index);
+      }
+      writeVarInt(body, index + 1);
+    }
+
+    String finish() {
+      ByteArrayOutputStream out = new ByteArrayOutputStream(body.size() + dictionary.size() * 16);
+      writeVarInt(out, dictionary.size());
+      for (String s : dictionary.keySet()) {
+        byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+        writeVarInt(out, bytes.length);
+        out.write(bytes, 0, bytes.length);
+      }
+      byte[] bodyBytes = body.toByteArray();
+      out.write(bodyBytes, 0, bodyBytes.length);
+      return BINARY_PREFIX + Base64.getEncoder().encodeToString(out.toByteArray());
+    }
+  }
+
+  private static final class Decoder {
+    final byte[] bytes;
+    final String[] dictionary;
+    int pos;
+
+    Decoder(String value) {
+      if (!isBinary(value)) {
+        throw new IllegalArgumentException("not binary app revision params");
+      }
+      this.bytes = Base64.getDecoder().decode(value.substring(BINARY_PREFIX.length()));
+      this.dictionary = new String[readVarInt()];
+      for (int i = 0; i < dictionary.length; i++) {
+        int len = readVarInt();
+        checkRemaining(len);
+        dictionary[i] = WordCache.getWordCache(new String(bytes, pos, len, StandardCharsets.UTF_8));
+        pos += len;
+      }
+    }
+
+    Map<String, List<String>> readParams() {
+      int size = readSize();
+      if (size < 0) {
+        return null;
+      }
+      Map<String, List<String>> params = Maps.newHashMapWithExpectedSize(size);
+      for (int i = 0; i < size; i++) {
+        String key = readString();
+        int valueSize = readSize();
+        if (valueSize < 0) {
+          params.put(key, null);
+          continue;
+        }
+        List<String> values = new ArrayList<>(valueSize);
+        for (int j = 0; j < valueSize; j++) {
+          values.add(readString());
+        }
+        params.put(key, values);
+      }
+      return params;
+    }
+
+    int readSize() {
+      return readVarInt() - 1;
+    }
+
+    String readString() {
+      int index = readVarInt();
+      if (index == 0) {
+        return null;
+      }
+      if (index > dictionary.length) {
+        throw new IllegalArgumentException("illegal dictionary index: " + index);
+      }
+      return dictionary[index - 1];
+    }
+
+    int readVarInt() {
+      int value = 0;
+      for (int shift = 0; shift < 32; shift += 7) {
+        checkRemaining(1);
+        byte b = bytes[pos++];
+        value |= (b & 0x7F) << shift;
+        if (b >= 0) {
+          return value;
+        }
+      }
+      throw new IllegalArgumentException("malformed varint");
+    }
+
+    void checkRemaining(int len) {
+      if (len < 0 || pos + len > bytes.length) {
+        throw new IllegalArgumentException("truncated app revision params");
+      }
+    }
+  }
+
+  static void writeVarInt(ByteArrayOutputStream out, int value) {
+    while ((value & ~0x7F) != 0) {
+      out.write((value & 0x7F) | 0x80);
+      value >>>= 7;
+    }
+    out.write(value);
+  }
+}
@@ -49,6 +49,8 @@ public abstract class BaseInformer<T extends DbEntry, C extends DbEntryContainer
   private final Logger logger;
   private static final int DB_INSERT_DELAY_MS = 1000;
   private volatile boolean allSynced = false;
+  private volatile InformerSnapshot<T> snapshot;
+  private volatile boolean listDeferred;
 
   public BaseInformer(String name, Logger logger) {
     this.name = name;
@@ -68,6 +70,7 @@ public abstract class BaseInformer<T extends DbEntry, C extends DbEntryContainer
     if (started) {
       return;
     }
+    loadSnapshot();
     ConcurrentUtils.createDaemonThread(name + "-WatchLoop", watchLoop).start();
     ConcurrentUtils.createDaemonThread(name + "-ListLoop", listLoop).start();
     started = true;
@@ -101,16 +104,68 @@ public abstract class BaseInformer<T extends DbEntry, C extends DbEntryContainer
     syncStart();
     try {
       C newContainer = containerFactory();
-      long maxId = listToTail(newContainer::onEntry, 0, 1000);
+      final InformerSnapshot<T> snapshot = this.snapshot;
+      final List<T> snapshotEntries = snapshot == null ? null : Lists.newArrayList();
+      long maxId =
+          listToTail(
+              (T entry) -> {
+                newContainer.onEntry(entry);
+                if (snapshotEntries != null) {
+                  snapshotEntries.add(snapshotEntry(entry));
+                }
+              },
+              0,
+              1000);
       logger.info("end list to {}", maxId);
       preList(newContainer);
       this.container = newContainer;
       lastLoadId = maxId;
+      if (snapshot != null) {
+        snapshot.write(maxId, snapshotEntries);
+      }
     } finally {
       syncEnd();
     }
   }
 
+  /**
+   * rebuild the container from the local snapshot, the watch loop only needs to sync the entries
+   * after the snapshot. the watch could not see the entries updated in place, so the snapshot is
+   * not older than the list interval, and the full list runs in the background once the watch
+   * catches up
+   */
+  private void loadSnapshot() {
+    final InformerSnapshot<T> snapshot = this.snapshot;
+    if (snapshot == null) {
+      return;
+    }
+    InformerSnapshot.Snapshot<T> loaded = snapshot.read();
+    if (loaded == null) {
+      return;
+    }
+    if (System.currentTimeMillis() - loaded.timestamp > listLoopIntervalMs) {
+      logger.warn(
+          "{}-Informer skip snapshot older than list interval, timestamp={}",
+          name,
+          loaded.timestamp);
+      return;
+    }
+    C newContainer = containerFactory();
+    for (T entry : loaded.entries) {
+      newContainer.onEntry(entry);
+    }
+    preList(newContainer);
+    this.container = newContainer;
+    lastLoadId = loaded.lastLoadId;
+    listDeferred = true;
+    logger.info(
+        "{}-Informer load snapshot, lastLoadId={}, size={}, timestamp={}",
+        name,
+        loaded.lastLoadId,
+        loaded.entries.size(),
+        loaded.timestamp);
+  }
+
   private long listToTail(EntryCallable<T> callable, final long start, final int page) {
     long curStart = start;
     while (true) {
@@ -145,6 +200,15 @@ public abstract class BaseInformer<T extends DbEntry, C extends DbEntryContainer
     return result;
   }
 
+  /**
+   * Setter method for property <tt>snapshot</tt>, must be called before start.
+   *
+   * @param snapshot value to be assigned to property snapshot, null means disabled
+   */
+  public void setSnapshot(InformerSnapshot<T> snapshot) {
+    this.snapshot = snapshot;
+  }
+
   public C getContainer() {
     return container;
   }
@@ -184,6 +248,14 @@ public abstract class BaseInformer<T extends DbEntry, C extends DbEntryContainer
 
   protected void preList(C newContainer) {}
 
+  /**
+   * the entry to be written into the snapshot, subclass could drop the fields which the container
+   * not cares to make the snapshot smaller
+   */
+  protected T snapshotEntry(T entry) {
+    return entry;
+  }
+
   public void watchWakeup() {
     watchLoop.wakeup();
   }
@@ -203,6 +275,8 @@ public abstract class BaseInformer<T extends DbEntry, C extends DbEntryContainer
       listLock.lock();
       try {
         watch();
+        // the snapshot is caught up, the full list could run
+        listDeferred = false;
       } finally {
         listLock.unlock();
       }
@@ -212,6 +286,9 @@ public abstract class BaseInformer<T extends DbEntry, C extends DbEntryContainer
   private final class ListLoop extends WakeUpLoopRunnable {
     @Override
     public int getWaitingMillis() {
+      if (listDeferred) {
+        return watchLoopIntervalMs;
+      }
       int base = listLoopIntervalMs / 2;
       return (int) (base + Math.random() * base);
     }
@@ -221,6 +298,9 @@ public abstract class BaseInformer<T extends DbEntry, C extends DbEntryContainer
       if (!enabled) {
         return;
       }
+      if (listDeferred) {
+        return;
+      }
       listLock.lock();
       try {
         list();
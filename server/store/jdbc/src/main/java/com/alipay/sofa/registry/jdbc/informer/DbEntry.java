@@ -16,9 +16,10 @@
  */
 package com.alipay.sofa.registry.jdbc.informer;
 
+import java.io.Serializable;
 import java.util.Date;
 
-public interface DbEntry {
+public interface DbEntry extends Serializable {
   long getId();
 
   Date getGmtCreate();
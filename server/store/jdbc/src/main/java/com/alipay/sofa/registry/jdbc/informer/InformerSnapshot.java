@@ -0,0 +1,166 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alipay.sofa.registry.jdbc.informer;
+
+import com.alipay.sofa.registry.log.Logger;
+import com.google.common.collect.Lists;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import org.apache.commons.lang.StringUtils;
+
+/**
+ * local snapshot of the entries listed by an informer, stamped with the max id of the list, so that
+ * a restarted informer could rebuild its container from disk and only watch the tail
+ */
+public class InformerSnapshot<T extends DbEntry> {
+
+  static final int FORMAT_VERSION = 1;
+
+  private final File file;
+  private final long maxAgeMillis;
+  private final Logger logger;
+
+  public InformerSnapshot(File file, long maxAgeMillis, Logger logger) {
+    this.file = file;
+    this.maxAgeMillis = maxAgeMillis;
+    this.logger = logger;
+  }
+
+  /**
+   * create the snapshot of informer
+   *
+   * @param dir snapshot dir, blank means disabled
+   * @param name unique name of the informer
+   * @param maxAgeMinutes snapshot older than this would be ignored when loading
+   * @param logger logger
+   * @return null if disabled
+   */
+  public static <T extends DbEntry> InformerSnapshot<T> create(
+      String dir, String name, int maxAgeMinutes, Logger logger) {
+    if (StringUtils.isBlank(dir)) {
+      return null;
+    }
+    return new InformerSnapshot<>(
+        new File(dir, name + ".snapshot"), TimeUnit.MINUTES.toMillis(maxAgeMinutes), logger);
+  }
+
+  public synchronized void write(long lastLoadId, List<T> entries) {
+    File tmp = new File(file.getPath() + ".tmp");
+    try {
+      File parent = file.getAbsoluteFile().getParentFile();
+      if (!parent.exists() && !parent.mkdirs()) {
+        throw new IOException("failed to create dir: " + parent);
+      }
+      try (ObjectOutputStream out =
+          new ObjectOutputStream(
+              new GZIPOutputStream(new BufferedOutputStream(new FileOutputStream(tmp))))) {
+        out.writeInt(FORMAT_VERSION);
+        out.writeLong(lastLoadId);
+        out.writeLong(System.currentTimeMillis());
+        out.writeInt(entries.size());
+        for (T entry : entries) {
+          out.writeObject(entry);
+          // entries are not referenced by each other, avoid keeping all of them in the handle table
+          out.reset();
+        }
+      }
+      Files.move(
+          tmp.toPath(),
+          file.toPath(),
+          StandardCopyOption.REPLACE_EXISTING,
+          StandardCopyOption.ATOMIC_MOVE);
+      logger.info("write snapshot {}, lastLoadId={}, size={}", file, lastLoadId, entries.size());
+    } catch (Throwable e) {
+      logger.error("failed to write snapshot {}", file, e);
+      tmp.delete();
+    }
+  }
+
+  /**
+   * read the snapshot
+   *
+   * @return null if not exist, expired or broken
+   */
+  public synchronized Snapshot<T> read() {
+    if (!file.isFile()) {
+      return null;
+    }
+    try (ObjectInputStream in =
+        new ObjectInputStream(
+            new GZIPInputStream(new BufferedInputStream(new FileInputStream(file))))) {
+      int version = in.readInt();
+      if (version != FORMAT_VERSION) {
+        logger.warn("skip snapshot {}, unsupported version {}", file, version);
+        return null;
+      }
+      long lastLoadId = in.readLong();
+      long timestamp = in.readLong();
+      if (System.currentTimeMillis() - timestamp > maxAgeMillis) {
+        logger.warn("skip snapshot {}, expired timestamp {}", file, timestamp);
+        return null;
+      }
+      int size = in.readInt();
+      List<T> entries = Lists.newArrayListWithCapacity(size);
+      for (int i = 0; i < size; i++) {
+        entries.add(readEntry(in));
+      }
+      return new Snapshot<>(lastLoadId, timestamp, entries);
+    } catch (Throwable e) {
+      logger.error("failed to read snapshot {}", file, e);
+      return null;
+    }
+  }
+
+  // the entries are written by write() of the same snapshot, always the type T
+  @SuppressWarnings("unchecked")
+  private T readEntry(ObjectInputStream in) throws IOException, ClassNotFoundException {
+    return (T) in.readObject();
+  }
+
+  /**
+   * Getter method for property <tt>file</tt>.
+   *
+   * @return property value of file
+   */
+  public File getFile() {
+    return file;
+  }
+
+  public static final class Snapshot<T> {
+    final long lastLoadId;
+    final long timestamp;
+    final List<T> entries;
+
+    Snapshot(long lastLoadId, long timestamp, List<T> entries) {
+      this.lastLoadId = lastLoadId;
+      this.timestamp = timestamp;
+      this.entries = entries;
+    }
+  }
+}
@@ -23,11 +23,13 @@ import static com.alipay.sofa.registry.jdbc.repository.impl.MetadataMetrics.Regi
 import com.alipay.sofa.registry.cache.CacheCleaner;
 import com.alipay.sofa.registry.common.model.store.AppRevision;
 import com.alipay.sofa.registry.concurrent.CachedExecutor;
+import com.alipay.sofa.registry.jdbc.config.MetadataConfig;
 import com.alipay.sofa.registry.jdbc.constant.TableEnum;
 import com.alipay.sofa.registry.jdbc.convertor.AppRevisionDomainConvertor;
 import com.alipay.sofa.registry.jdbc.domain.AppRevisionDomain;
 import com.alipay.sofa.registry.jdbc.exception.RevisionNotExistException;
 import com.alipay.sofa.registry.jdbc.informer.BaseInformer;
+import com.alipay.sofa.registry.jdbc.informer.InformerSnapshot;
 import com.alipay.sofa.registry.jdbc.mapper.AppRevisionMapper;
 import com.alipay.sofa.registry.log.Logger;
 import com.alipay.sofa.registry.log.LoggerFactory;
@@ -47,6 +49,9 @@ import java.util.*;
 import java.util.concurrent.*;
 import javax.annotation.PostConstruct;
 import javax.annotation.Resource;
+import org.apache.ibatis.session.ExecutorType;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 
 /**
@@ -79,8 +84,15 @@ public class AppRevisionJdbcRepository implements AppRevisionRepository, Recover
 
   @Autowired private DefaultCommonConfig defaultCommonConfig;
 
+  @Autowired private MetadataConfig metadataConfig;
+
+  @Autowired private SqlSessionFactory sqlSessionFactory;
+
   final Informer informer;
 
+  /** null if the batch refresh is disabled */
+  private RefreshQueue refreshQueue;
+
   public AppRevisionJdbcRepository() {
     this.registry =
         CacheBuilder.newBuilder()
@@ -106,8 +118,18 @@ public class AppRevisionJdbcRepository implements AppRevisionRepository, Recover
 
   @PostConstruct
   public void init() {
+    informer.setSnapshot(
+        InformerSnapshot.create(
+            metadataConfig.getInformerSnapshotDir(),
+            defaultCommonConfig.getClusterId(tableName()) + "-" + tableName(),
+            metadataConfig.getInformerSnapshotMaxAgeMinutes(),
+            LOG));
     informer.setEnabled(true);
     informer.start();
+    if (metadataConfig.getRefreshBatchSize() > 1) {
+      refreshQueue = new RefreshQueue();
+      refreshQueue.start();
+    }
 
     revisionDigestService.scheduleAtFixedRate(
         () -> {
@@ -136,7 +158,9 @@ public class AppRevisionJdbcRepository implements AppRevisionRepository, Recover
     }
     AppRevisionDomain domain =
         AppRevisionDomainConvertor.convert2Domain(
-            defaultCommonConfig.getClusterId(tableName()), appRevision);
+            defaultCommonConfig.getClusterId(tableName()),
+            appRevision,
+            metadataConfig.isRevisionBinaryParamsEnable());
     // new revision, save into database
     REVISION_REGISTER_COUNTER.inc();
     refreshEntryToStorage(domain);
@@ -197,7 +221,10 @@ public class AppRevisionJdbcRepository implements AppRevisionRepository, Recover
       cachedExecutor.execute(
           entry.getRevision(),
           () -> {
-            if (appRevisionMapper.heartbeat(entry.getDataCenter(), entry.getRevision()) == 0) {
+            if (refreshQueue != null) {
+              refreshQueue.refresh(entry);
+            } else if (appRevisionMapper.heartbeat(entry.getDataCenter(), entry.getRevision())
+                == 0) {
               appRevisionMapper.replace(entry);
             }
             LOG.info("insert revision {}, succeed", entry.getRevision());
@@ -239,7 +266,9 @@ public class AppRevisionJdbcRepository implements AppRevisionRepository, Recover
   public void replace(AppRevision appRevision) {
     appRevisionMapper.replace(
         AppRevisionDomainConvertor.convert2Domain(
-            defaultCommonConfig.getClusterId(tableName()), appRevision));
+            defaultCommonConfig.getClusterId(tableName()),
+            appRevision,
+            metadataConfig.isRevisionBinaryParamsEnable()));
   }
 
   @Override
@@ -253,6 +282,37 @@ public class AppRevisionJdbcRepository implements AppRevisionRepository, Recover
     return TableEnum.APP_REVISION.getTableName();
   }
 
+  final class RefreshQueue extends BatchRefreshQueue<AppRevisionDomain> {
+    RefreshQueue() {
+      super(
+          tableName(),
+          metadataConfig.getRefreshBatchSize() * 100,
+          metadataConfig.getRefreshBatchSize(),
+          metadataConfig.getRefreshBatchLingerMillis(),
+          metadataConfig.getRefreshBatchTimeoutMillis(),
+          LOG);
+    }
+
+    @Override
+    protected void flush(List<AppRevisionDomain> entries) {
+      try (SqlSession session = sqlSessionFactory.openSession(ExecutorType.BATCH)) {
+        AppRevisionMapper mapper = session.getMapper(AppRevisionMapper.class);
+        for (AppRevisionDomain entry : entries) {
+          mapper.heartbeat(entry.getDataCenter(), entry.getRevision());
+        }
+        int[] counts = updateCounts(session.flushStatements(), entries.size());
+        for (int i = 0; i < counts.length; i++) {
+          // SUCCESS_NO_INFO is negative, replace it to make sure the revision exists
+          if (counts[i] <= 0) {
+            mapper.replace(entries.get(i));
+          }
+        }
+        session.flushStatements();
+        session.commit();
+      }
+    }
+  }
+
   class Informer extends BaseInformer<AppRevisionDomain, AppRevisionContainer> {
 
     public Informer() {
@@ -274,5 +334,18 @@ public class AppRevisionJdbcRepository implements AppRevisionRepository, Recover
     protected Date getNow() {
       return dateNowRepository.getNow();
     }
+
+    @Override
+    protected AppRevisionDomain snapshotEntry(AppRevisionDomain entry) {
+      // the container only cares about revision and appName, drop the large params
+      AppRevisionDomain domain = new AppRevisionDomain();
+      domain.setId(entry.getId());
+      domain.setDataCenter(entry.getDataCenter());
+      domain.setRevision(entry.getRevision());
+      domain.setAppName(entry.getAppName());
+      domain.setGmtCreate(entry.getGmtCreate());
+      domain.setDeleted(entry.isDeleted());
+      return domain;
+    }
   }
 }
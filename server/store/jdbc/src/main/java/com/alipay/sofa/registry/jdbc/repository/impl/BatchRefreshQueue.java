@@ -0,0 +1,181 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alipay.sofa.registry.jdbc.repository.impl;
+
+import static com.alipay.sofa.registry.jdbc.repository.impl.MetadataMetrics.Refresh.REFRESH_BATCH_SIZE_HISTOGRAM;
+import static com.alipay.sofa.registry.jdbc.repository.impl.MetadataMetrics.Refresh.REFRESH_FLUSH_COUNTER;
+import static com.alipay.sofa.registry.jdbc.repository.impl.MetadataMetrics.Refresh.REFRESH_FLUSH_LATENCY_HISTOGRAM;
+
+import com.alipay.sofa.registry.log.Logger;
+import com.alipay.sofa.registry.util.ConcurrentUtils;
+import com.alipay.sofa.registry.util.LoopRunnable;
+import com.alipay.sofa.registry.util.StringFormatter;
+import com.google.common.collect.Lists;
+import io.prometheus.client.Histogram;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import org.apache.ibatis.executor.BatchResult;
+
+/**
+ * coalesce the refreshes of the entries into batch statements. the callers are blocked until the
+ * batch contains the entry is flushed, so the failure is still thrown to the caller. the batch is
+ * flushed when it reaches batchSize or lingerMs is elapsed since the first entry is taken
+ */
+public abstract class BatchRefreshQueue<E> {
+  private final String name;
+  private final Logger logger;
+  private final BlockingQueue<Task<E>> queue;
+  private final int batchSize;
+  private final int lingerMs;
+  private final int timeoutMs;
+
+  public BatchRefreshQueue(
+      String name, int capacity, int batchSize, int lingerMs, int timeoutMs, Logger logger) {
+    this.name = name;
+    this.queue = new LinkedBlockingQueue<>(capacity);
+    this.batchSize = batchSize;
+    this.lingerMs = lingerMs;
+    this.timeoutMs = timeoutMs;
+    this.logger = logger;
+  }
+
+  public void start() {
+    ConcurrentUtils.createDaemonThread(name + "-BatchRefresh", new FlushLoop()).start();
+  }
+
+  public void refresh(E entry) throws Exception {
+    Task<E> task = new Task<>(entry);
+    if (!queue.offer(task)) {
+      throw new RuntimeException(StringFormatter.format("{} refresh queue is full", name));
+    }
+    try {
+      task.future.get(timeoutMs, TimeUnit.MILLISECONDS);
+    } catch (ExecutionException e) {
+      Throwable cause = e.getCause();
+      if (cause instanceof Exception) {
+        throw (Exception) cause;
+      }
+      throw e;
+    }
+  }
+
+  /**
+   * flush the entries in batch statements
+   *
+   * @param entries entries in the batch, not empty
+   * @throws Exception the whole batch is failed
+   */
+  protected abstract void flush(List<E> entries) throws Exception;
+
+  void flushTasks(List<Task<E>> tasks) {
+    List<E> entries = Lists.newArrayListWithCapacity(tasks.size());
+    for (Task<E> task : tasks) {
+      entries.add(task.entry);
+    }
+    REFRESH_BATCH_SIZE_HISTOGRAM.labels(name).observe(entries.size());
+    Histogram.Timer timer = REFRESH_FLUSH_LATENCY_HISTOGRAM.labels(name).startTimer();
+    try {
+      flush(entries);
+      REFRESH_FLUSH_COUNTER.labels(name, "Y").inc();
+      for (Task<E> task : tasks) {
+        task.future.complete(true);
+      }
+      logger.info("[BatchRefresh]{} flush {} entries", name, entries.size());
+    } catch (Throwable e) {
+      REFRESH_FLUSH_COUNTER.labels(name, "N").inc();
+      logger.error("[BatchRefresh]{} failed to flush {} entries", name, entries.size(), e);
+      for (Task<E> task : tasks) {
+        task.future.completeExceptionally(e);
+      }
+    } finally {
+      timer.observeDuration();
+    }
+  }
+
+  /**
+   * the update counts of the statements in the batch, in the order of execution
+   *
+   * @param results results of SqlSession.flushStatements
+   * @param expect expect number of the statements
+   * @return update counts
+   */
+  static int[] updateCounts(List<BatchResult> results, int expect) {
+    int[] counts = new int[expect];
+    int index = 0;
+    for (BatchResult result : results) {
+      for (int count : result.getUpdateCounts()) {
+        if (index >= expect) {
+          throw new IllegalStateException(
+              StringFormatter.format("batch update counts more than {}", expect));
+        }
+        counts[index++] = count;
+      }
+    }
+    if (index != expect) {
+      throw new IllegalStateException(
+          StringFormatter.format("batch update counts {} not match {}", index, expect));
+    }
+    return counts;
+  }
+
+  int pendingSize() {
+    return queue.size();
+  }
+
+  static final class Task<E> {
+    final E entry;
+    final CompletableFuture<Boolean> future = new CompletableFuture<>();
+
+    Task(E entry) {
+      this.entry = entry;
+    }
+  }
+
+  private final class FlushLoop extends LoopRunnable {
+
+    @Override
+    public void runUnthrowable() {
+      Task<E> first = ConcurrentUtils.pollUninterruptibly(queue, 1000, TimeUnit.MILLISECONDS);
+      if (first == null) {
+        return;
+      }
+      List<Task<E>> tasks = Lists.newArrayListWithCapacity(batchSize);
+      tasks.add(first);
+      final long deadline = System.currentTimeMillis() + lingerMs;
+      while (tasks.size() < batchSize) {
+        queue.drainTo(tasks, batchSize - tasks.size());
+        long wait = deadline - System.currentTimeMillis();
+        if (tasks.size() >= batchSize || wait <= 0) {
+          break;
+        }
+        Task<E> task = ConcurrentUtils.pollUninterruptibly(queue, wait, TimeUnit.MILLISECONDS);
+        if (task == null) {
+          break;
+        }
+        tasks.add(task);
+      }
+      flushTasks(tasks);
+    }
+
+    @Override
+    public void waitingUnthrowable() {}
+  }
+}
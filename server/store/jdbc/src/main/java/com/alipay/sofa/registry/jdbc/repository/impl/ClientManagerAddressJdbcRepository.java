@@ -22,9 +22,11 @@ import com.alipay.sofa.registry.common.model.constants.ValueConstants;
 import com.alipay.sofa.registry.common.model.metaserver.ClientManagerAddress;
 import com.alipay.sofa.registry.common.model.metaserver.ClientManagerAddress.AddressVersion;
 import com.alipay.sofa.registry.common.model.metaserver.ClientManagerResult;
+import com.alipay.sofa.registry.jdbc.config.MetadataConfig;
 import com.alipay.sofa.registry.jdbc.constant.TableEnum;
 import com.alipay.sofa.registry.jdbc.domain.ClientManagerAddressDomain;
 import com.alipay.sofa.registry.jdbc.informer.BaseInformer;
+import com.alipay.sofa.registry.jdbc.informer.InformerSnapshot;
 import com.alipay.sofa.registry.jdbc.mapper.ClientManagerAddressMapper;
 import com.alipay.sofa.registry.log.Logger;
 import com.alipay.sofa.registry.log.LoggerFactory;
@@ -51,6 +53,8 @@ public class ClientManagerAddressJdbcRepository
 
   @Autowired private DefaultCommonConfig defaultCommonConfig;
 
+  @Autowired private MetadataConfig metadataConfig;
+
   @Autowired private ClientManagerAddressMapper clientManagerAddressMapper;
 
   @Autowired private DateNowRepository dateNowRepository;
@@ -63,6 +67,12 @@ public class ClientManagerAddressJdbcRepository
 
   @PostConstruct
   public void init() {
+    informer.setSnapshot(
+        InformerSnapshot.create(
+            metadataConfig.getInformerSnapshotDir(),
+            defaultCommonConfig.getClusterId(tableName()) + "-" + tableName(),
+            metadataConfig.getInformerSnapshotMaxAgeMinutes(),
+            LOG));
     informer.setEnabled(true);
     informer.start();
   }
@@ -19,9 +19,11 @@ package com.alipay.sofa.registry.jdbc.repository.impl;
 import com.alipay.sofa.registry.common.model.Tuple;
 import com.alipay.sofa.registry.common.model.appmeta.InterfaceMapping;
 import com.alipay.sofa.registry.concurrent.CachedExecutor;
+import com.alipay.sofa.registry.jdbc.config.MetadataConfig;
 import com.alipay.sofa.registry.jdbc.constant.TableEnum;
 import com.alipay.sofa.registry.jdbc.domain.InterfaceAppsIndexDomain;
 import com.alipay.sofa.registry.jdbc.informer.BaseInformer;
+import com.alipay.sofa.registry.jdbc.informer.InformerSnapshot;
 import com.alipay.sofa.registry.jdbc.mapper.InterfaceAppsIndexMapper;
 import com.alipay.sofa.registry.log.Logger;
 import com.alipay.sofa.registry.log.LoggerFactory;
@@ -33,6 +35,9 @@ import com.alipay.sofa.registry.util.StringFormatter;
 import com.google.common.annotations.VisibleForTesting;
 import java.util.*;
 import javax.annotation.PostConstruct;
+import org.apache.ibatis.session.ExecutorType;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 
 /**
@@ -47,21 +52,38 @@ public class InterfaceAppsJdbcRepository implements InterfaceAppsRepository, Rec
 
   @Autowired private DefaultCommonConfig defaultCommonConfig;
 
+  @Autowired private MetadataConfig metadataConfig;
+
   @Autowired private DateNowRepository dateNowRepository;
 
+  @Autowired private SqlSessionFactory sqlSessionFactory;
+
   private final CachedExecutor<Tuple<String, String>, Boolean> cachedExecutor =
       new CachedExecutor<>(1000 * 10);
 
   final Informer informer;
 
+  /** null if the batch refresh is disabled */
+  private RefreshQueue refreshQueue;
+
   public InterfaceAppsJdbcRepository() {
     informer = new Informer();
   }
 
   @PostConstruct
   public void init() {
+    informer.setSnapshot(
+        InformerSnapshot.create(
+            metadataConfig.getInformerSnapshotDir(),
+            defaultCommonConfig.getClusterId(tableName()) + "-" + tableName(),
+            metadataConfig.getInformerSnapshotMaxAgeMinutes(),
+            LOG));
     informer.setEnabled(true);
     informer.start();
+    if (metadataConfig.getRefreshBatchSize() > 1) {
+      refreshQueue = new RefreshQueue();
+      refreshQueue.start();
+    }
   }
 
   @Override
@@ -102,7 +124,9 @@ public class InterfaceAppsJdbcRepository implements InterfaceAppsRepository, Rec
       cachedExecutor.execute(
           new Tuple<>(entry.getInterfaceName(), entry.getAppName()),
           () -> {
-            if (interfaceAppsIndexMapper.update(entry) == 0) {
+            if (refreshQueue != null) {
+              refreshQueue.refresh(entry);
+            } else if (interfaceAppsIndexMapper.update(entry) == 0) {
               interfaceAppsIndexMapper.replace(entry);
             }
             LOG.info(
@@ -132,6 +156,37 @@ public class InterfaceAppsJdbcRepository implements InterfaceAppsRepository, Rec
     return TableEnum.INTERFACE_APP_INDEX.getTableName();
   }
 
+  final class RefreshQueue extends BatchRefreshQueue<InterfaceAppsIndexDomain> {
+    RefreshQueue() {
+      super(
+          tableName(),
+          metadataConfig.getRefreshBatchSize() * 100,
+          metadataConfig.getRefreshBatchSize(),
+          metadataConfig.getRefreshBatchLingerMillis(),
+          metadataConfig.getRefreshBatchTimeoutMillis(),
+          LOG);
+    }
+
+    @Override
+    protected void flush(List<InterfaceAppsIndexDomain> entries) {
+      try (SqlSession session = sqlSessionFactory.openSession(ExecutorType.BATCH)) {
+        InterfaceAppsIndexMapper mapper = session.getMapper(InterfaceAppsIndexMapper.class);
+        for (InterfaceAppsIndexDomain entry : entries) {
+          mapper.update(entry);
+        }
+        int[] counts = updateCounts(session.flushStatements(), entries.size());
+        for (int i = 0; i < counts.length; i++) {
+          // SUCCESS_NO_INFO is negative, replace it to make sure the mapping exists
+          if (counts[i] <= 0) {
+            mapper.replace(entries.get(i));
+          }
+        }
+        session.flushStatements();
+        session.commit();
+      }
+    }
+  }
+
   class Informer extends BaseInformer<InterfaceAppsIndexDomain, InterfaceAppsIndexContainer> {
     private ConflictCallback conflictCallback;
 
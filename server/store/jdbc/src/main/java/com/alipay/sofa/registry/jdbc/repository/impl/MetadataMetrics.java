@@ -17,6 +17,7 @@
 package com.alipay.sofa.registry.jdbc.repository.impl;
 
 import io.prometheus.client.Counter;
+import io.prometheus.client.Histogram;
 
 /**
  * @author xiaojian.xj
@@ -118,4 +119,34 @@ public class MetadataMetrics {
             .help("clientManager_query")
             .register();
   }
+
+  static final class Refresh {
+    static final Counter REFRESH_FLUSH_COUNTER =
+        Counter.build()
+            .namespace("metadata")
+            .subsystem("refresh")
+            .name("flush_total")
+            .help("batch refresh flush")
+            .labelNames("table", "success")
+            .register();
+
+    static final Histogram REFRESH_BATCH_SIZE_HISTOGRAM =
+        Histogram.build()
+            .exponentialBuckets(1, 2, 10)
+            .namespace("metadata")
+            .subsystem("refresh")
+            .name("batch_size")
+            .help("batch refresh entries of one flush")
+            .labelNames("table")
+            .register();
+
+    static final Histogram REFRESH_FLUSH_LATENCY_HISTOGRAM =
+        Histogram.build()
+            .namespace("metadata")
+            .subsystem("refresh")
+            .name("flush_latency_seconds")
+            .help("batch refresh flush latency")
+            .labelNames("table")
+            .register();
+  }
 }
@@ -0,0 +1,142 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alipay.sofa.registry.jdbc.convertor;
+
+import com.alipay.sofa.registry.common.model.store.AppRevision;
+import com.alipay.sofa.registry.core.model.AppRevisionInterface;
+import com.alipay.sofa.registry.jdbc.domain.AppRevisionDomain;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class AppRevisionParamsCodecTest {
+
+  @Test
+  public void testBaseParams() {
+    Map<String, List<String>> params = Maps.newHashMap();
+    params.put("k1", Lists.newArrayList("v1", "v2", "v1"));
+    params.put("k2", Collections.emptyList());
+    params.put("k3", null);
+    params.put("中文", Lists.newArrayList("值", null));
+    String encoded = AppRevisionParamsCodec.encodeBaseParams(params);
+    Assert.assertTrue(AppRevisionParamsCodec.isBinary(encoded));
+    Assert.assertEquals(params, AppRevisionParamsCodec.decodeBaseParams(encoded));
+
+    Assert.assertNull(
+        AppRevisionParamsCodec.decodeBaseParams(AppRevisionParamsCodec.encodeBaseParams(null)));
+    Assert.assertEquals(
+        Collections.emptyMap(),
+        AppRevisionParamsCodec.decodeBaseParams(
+            AppRevisionParamsCodec.encodeBaseParams(Collections.emptyMap())));
+  }
+
+  @Test
+  public void testServiceParams() {
+    Map<String, AppRevisionInterface> interfaceMap = newInterfaceMap(200);
+    interfaceMap.put("nullService", null);
+    String encoded = AppRevisionParamsCodec.encodeServiceParams(interfaceMap);
+    Map<String, AppRevisionInterface> decoded = AppRevisionParamsCodec.decodeServiceParams(encoded);
+    Assert.assertEquals(interfaceMap.size(), decoded.size());
+    for (Map.Entry<String, AppRevisionInterface> e : interfaceMap.entrySet()) {
+      if (e.getValue() == null) {
+        Assert.assertNull(decoded.get(e.getKey()));
+        continue;
+      }
+      Assert.assertEquals(e.getValue().getId(), decoded.get(e.getKey()).getId());
+      Assert.assertEquals(
+          e.getValue().getServiceParams(), decoded.get(e.getKey()).getServiceParams());
+    }
+    Assert.assertNull(
+        AppRevisionParamsCodec.decodeServiceParams(
+            AppRevisionParamsCodec.encodeServiceParams(null)));
+  }
+
+  @Test
+  public void testIntern() {
+    Map<String, AppRevisionInterface> interfaceMap = newInterfaceMap(2);
+    String encoded = AppRevisionParamsCodec.encodeServiceParams(interfaceMap);
+    Map<String, AppRevisionInterface> decoded1 =
+        AppRevisionParamsCodec.decodeServiceParams(encoded);
+    Map<String, AppRevisionInterface> decoded2 =
+        AppRevisionParamsCodec.decodeServiceParams(encoded);
+    String key1 = decoded1.get("service0").getServiceParams().keySet().iterator().next();
+    String key2 = null;
+    for (String k : decoded2.get("service0").getServiceParams().keySet()) {
+      if (k.equals(key1)) {
+        key2 = k;
+      }
+    }
+    Assert.assertSame(key1, key2);
+    Assert.assertSame(decoded1.get("service0").getId(), decoded2.get("service0").getId());
+  }
+
+  @Test
+  public void testConvertBothFormats() {
+    AppRevision revision = new AppRevision();
+    revision.setAppName("app");
+    revision.setRevision("revision");
+    revision.setClientVersion("5.0");
+    Map<String, List<String>> baseParams = Maps.newHashMap();
+    baseParams.put("zone", Lists.newArrayList("rz00a"));
+    revision.setBaseParams(baseParams);
+    revision.setInterfaceMap(newInterfaceMap(3));
+
+    AppRevisionDomain json = AppRevisionDomainConvertor.convert2Domain("dc", revision);
+    Assert.assertFalse(AppRevisionParamsCodec.isBinary(json.getServiceParams()));
+    AppRevisionDomain binary = AppRevisionDomainConvertor.convert2Domain("dc", revision, true);
+    Assert.assertTrue(AppRevisionParamsCodec.isBinary(binary.getBaseParams()));
+    Assert.assertTrue(AppRevisionParamsCodec.isBinary(binary.getServiceParams()));
+    Assert.assertTrue(binary.getServiceParams().length() < json.getServiceParams().length());
+
+    for (AppRevisionDomain domain : Lists.newArrayList(json, binary)) {
+      AppRevision converted = AppRevisionDomainConvertor.convert2Revision(domain);
+      Assert.assertEquals(baseParams, converted.getBaseParams());
+      Assert.assertEquals(3, converted.getInterfaceMap().size());
+      Assert.assertEquals(
+          revision.getInterfaceMap().get("service1").getServiceParams(),
+          converted.getInterfaceMap().get("service1").getServiceParams());
+    }
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testTruncated() {
+    String encoded = AppRevisionParamsCodec.encodeServiceParams(newInterfaceMap(3));
+    AppRevisionParamsCodec.decodeServiceParams(encoded.substring(0, encoded.length() / 2));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testNotBinary() {
+    AppRevisionParamsCodec.decodeBaseParams("{}");
+  }
+
+  static Map<String, AppRevisionInterface> newInterfaceMap(int size) {
+    Map<String, AppRevisionInterface> interfaceMap = Maps.newHashMap();
+    for (int i = 0; i < size; i++) {
+      AppRevisionInterface inf = new AppRevisionInterface();
+      inf.setId("service" + i);
+      inf.getServiceParams().put("timeout", Lists.newArrayList("3000"));
+      inf.getServiceParams().put("serialize", Lists.newArrayList("hessian2"));
+      inf.getServiceParams().put("methods", Lists.newArrayList("method" + i, "echo"));
+      interfaceMap.put("service" + i, inf);
+    }
+    return interfaceMap;
+  }
+}
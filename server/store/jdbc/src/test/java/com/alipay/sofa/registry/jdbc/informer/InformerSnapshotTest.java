@@ -0,0 +1,193 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alipay.sofa.registry.jdbc.informer;
+
+import com.alipay.sofa.registry.jdbc.domain.InterfaceAppsIndexDomain;
+import com.alipay.sofa.registry.jdbc.repository.impl.InterfaceAppsIndexContainer;
+import com.alipay.sofa.registry.log.Logger;
+import com.alipay.sofa.registry.log.LoggerFactory;
+import com.alipay.sofa.registry.util.ConcurrentUtils;
+import com.google.common.collect.Lists;
+import java.io.File;
+import java.nio.file.Files;
+import java.sql.Timestamp;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class InformerSnapshotTest {
+  private static final Logger LOG = LoggerFactory.getLogger(InformerSnapshotTest.class);
+
+  private File dir;
+
+  @Before
+  public void before() throws Exception {
+    dir = Files.createTempDirectory("informer-snapshot").toFile();
+  }
+
+  @After
+  public void after() {
+    File[] files = dir.listFiles();
+    if (files != null) {
+      for (File f : files) {
+        f.delete();
+      }
+    }
+    dir.delete();
+  }
+
+  @Test
+  public void testCreate() {
+    Assert.assertNull(InformerSnapshot.create("", "test", 10, LOG));
+    Assert.assertNull(InformerSnapshot.create(null, "test", 10, LOG));
+    InformerSnapshot<InterfaceAppsIndexDomain> snapshot =
+        InformerSnapshot.create(dir.getPath(), "test", 10, LOG);
+    Assert.assertEquals(new File(dir, "test.snapshot"), snapshot.getFile());
+  }
+
+  @Test
+  public void testWriteAndRead() throws Exception {
+    InformerSnapshot<InterfaceAppsIndexDomain> snapshot =
+        InformerSnapshot.create(dir.getPath(), "test", 10, LOG);
+    Assert.assertNull(snapshot.read());
+
+    List<InterfaceAppsIndexDomain> entries = Lists.newArrayList(domain(1, "service1", "app1"));
+    entries.get(0).getGmtCreate().setNanos(123456789);
+    entries.add(domain(2, "service1", "app2"));
+    snapshot.write(2, entries);
+    Assert.assertFalse(new File(dir, "test.snapshot.tmp").exists());
+
+    InformerSnapshot.Snapshot<InterfaceAppsIndexDomain> loaded = snapshot.read();
+    Assert.assertEquals(2, loaded.lastLoadId);
+    Assert.assertEquals(2, loaded.entries.size());
+    Assert.assertEquals(123456789, ((Timestamp) loaded.entries.get(0).getGmtCreate()).getNanos());
+    Assert.assertEquals("app2", loaded.entries.get(1).getAppName());
+
+    // overwrite
+    snapshot.write(3, Collections.emptyList());
+    loaded = snapshot.read();
+    Assert.assertEquals(3, loaded.lastLoadId);
+    Assert.assertEquals(0, loaded.entries.size());
+
+    // expired
+    InformerSnapshot<InterfaceAppsIndexDomain> expired =
+        new InformerSnapshot<>(snapshot.getFile(), -1, LOG);
+    Assert.assertNull(expired.read());
+
+    // broken
+    Files.write(snapshot.getFile().toPath(), new byte[] {1, 2, 3});
+    Assert.assertNull(snapshot.read());
+  }
+
+  @Test
+  public void testInformerLoadSnapshot() throws Exception {
+    InformerSnapshot<InterfaceAppsIndexDomain> snapshot =
+        InformerSnapshot.create(dir.getPath(), "test", 10, LOG);
+    List<InterfaceAppsIndexDomain> storage =
+        Lists.newArrayList(domain(1, "service1", "app1"), domain(2, "service1", "app2"));
+    snapshot.write(2, storage);
+
+    // the snapshot is ahead of the full list, only the tail should be fetched
+    storage.add(domain(3, "service2", "app3"));
+    MockInformer informer = new MockInformer(storage);
+    informer.setSnapshot(snapshot);
+    informer.setEnabled(true);
+    informer.start();
+    informer.waitSynced();
+
+    Assert.assertEquals(3, informer.getLastLoadId());
+    Assert.assertTrue(informer.getContainer().containsName("service1", "app1"));
+    Assert.assertTrue(informer.getContainer().containsName("service1", "app2"));
+    Assert.assertTrue(informer.getContainer().containsName("service2", "app3"));
+
+    // the full list follows in the background after the watch catches up
+    for (int i = 0; i < 50 && !informer.listedFromZero; i++) {
+      ConcurrentUtils.sleepUninterruptibly(100, TimeUnit.MILLISECONDS);
+    }
+    Assert.assertTrue(informer.listedFromZero);
+  }
+
+  @Test
+  public void testInformerSkipOldSnapshot() throws Exception {
+    InformerSnapshot<InterfaceAppsIndexDomain> snapshot =
+        InformerSnapshot.create(dir.getPath(), "test", 10, LOG);
+    List<InterfaceAppsIndexDomain> storage =
+        Lists.newArrayList(domain(1, "service1", "app1"), domain(2, "service1", "app2"));
+    snapshot.write(2, storage);
+
+    // older than the list interval
+    MockInformer informer = new MockInformer(storage);
+    informer.listLoopIntervalMs = 1;
+    ConcurrentUtils.sleepUninterruptibly(10, TimeUnit.MILLISECONDS);
+    informer.setSnapshot(snapshot);
+    informer.start();
+    informer.listLoopIntervalMs = 1000 * 60;
+    informer.setEnabled(true);
+    informer.waitSynced();
+
+    Assert.assertEquals(2, informer.getLastLoadId());
+    Assert.assertTrue(informer.getContainer().containsName("service1", "app2"));
+    Assert.assertTrue(informer.listedFromZero);
+  }
+
+  private static InterfaceAppsIndexDomain domain(long id, String interfaceName, String appName) {
+    InterfaceAppsIndexDomain domain = new InterfaceAppsIndexDomain("dc", interfaceName, appName);
+    domain.setId(id);
+    domain.setReference(true);
+    domain.setGmtCreate(new Timestamp(System.currentTimeMillis() - 10000));
+    return domain;
+  }
+
+  private static final class MockInformer
+      extends BaseInformer<InterfaceAppsIndexDomain, InterfaceAppsIndexContainer> {
+    final List<InterfaceAppsIndexDomain> storage;
+    volatile boolean listedFromZero;
+
+    MockInformer(List<InterfaceAppsIndexDomain> storage) {
+      super("MockInformer", LOG);
+      this.storage = storage;
+      this.watchLoopIntervalMs = 100;
+    }
+
+    @Override
+    protected InterfaceAppsIndexContainer containerFactory() {
+      return new InterfaceAppsIndexContainer();
+    }
+
+    @Override
+    protected List<InterfaceAppsIndexDomain> listFromStorage(long start, int limit) {
+      if (start == 0) {
+        listedFromZero = true;
+      }
+      return storage.stream()
+          .filter(d -> d.getId() > start)
+          .limit(limit)
+          .collect(Collectors.toList());
+    }
+
+    @Override
+    protected Date getNow() {
+      return new Date();
+    }
+  }
+}
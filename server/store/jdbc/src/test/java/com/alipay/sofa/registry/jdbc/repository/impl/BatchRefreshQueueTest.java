@@ -0,0 +1,141 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alipay.sofa.registry.jdbc.repository.impl;
+
+import com.alipay.sofa.registry.log.Logger;
+import com.alipay.sofa.registry.log.LoggerFactory;
+import com.google.common.collect.Lists;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.apache.ibatis.executor.BatchResult;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class BatchRefreshQueueTest {
+  private static final Logger LOG = LoggerFactory.getLogger(BatchRefreshQueueTest.class);
+
+  @Test
+  public void testBatch() throws Exception {
+    List<List<Integer>> batches = new CopyOnWriteArrayList<>();
+    CountDownLatch blocked = new CountDownLatch(1);
+    BatchRefreshQueue<Integer> queue =
+        new BatchRefreshQueue<Integer>("test", 1000, 10, 50, 10000, LOG) {
+          @Override
+          protected void flush(List<Integer> entries) throws Exception {
+            batches.add(entries);
+            blocked.await();
+          }
+        };
+    queue.start();
+    ExecutorService executor = Executors.newFixedThreadPool(25);
+    try {
+      List<Future<?>> futures = Lists.newArrayList();
+      for (int i = 0; i < 25; i++) {
+        final int entry = i;
+        futures.add(
+            executor.submit(
+                () -> {
+                  queue.refresh(entry);
+                  return null;
+                }));
+      }
+      // the first batch is blocked in flushing, the others are pending in the queue
+      while (batches.isEmpty() || batches.get(0).size() + queue.pendingSize() != 25) {
+        Thread.sleep(10);
+      }
+      blocked.countDown();
+      for (Future<?> future : futures) {
+        future.get();
+      }
+    } finally {
+      executor.shutdown();
+    }
+    int total = 0;
+    for (List<Integer> batch : batches) {
+      Assert.assertTrue(batch.size() <= 10);
+      total += batch.size();
+    }
+    Assert.assertEquals(25, total);
+    Assert.assertTrue(batches.size() < 25);
+  }
+
+  @Test
+  public void testFailed() throws Exception {
+    BatchRefreshQueue<Integer> queue =
+        new BatchRefreshQueue<Integer>("test", 1000, 10, 0, 10000, LOG) {
+          @Override
+          protected void flush(List<Integer> entries) {
+            throw new IllegalStateException("mock failed");
+          }
+        };
+    queue.start();
+    try {
+      queue.refresh(1);
+      Assert.fail();
+    } catch (IllegalStateException e) {
+      Assert.assertEquals("mock failed", e.getMessage());
+    }
+  }
+
+  @Test(expected = RuntimeException.class)
+  public void testFull() throws Exception {
+    BatchRefreshQueue<Integer> queue =
+        new BatchRefreshQueue<Integer>("test", 1, 10, 0, 10000, LOG) {
+          @Override
+          protected void flush(List<Integer> entries) {}
+        };
+    // not started, the second refresh is rejected
+    ExecutorService executor = Executors.newSingleThreadExecutor();
+    try {
+      executor.submit(
+          () -> {
+            queue.refresh(1);
+            return null;
+          });
+      while (queue.pendingSize() == 0) {
+        Thread.sleep(10);
+      }
+      queue.refresh(2);
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  public void testUpdateCounts() {
+    BatchResult r1 = new BatchResult(null, "sql1");
+    r1.setUpdateCounts(new int[] {1, 0});
+    BatchResult r2 = new BatchResult(null, "sql2");
+    r2.setUpdateCounts(new int[] {-2});
+    Assert.assertArrayEquals(
+        new int[] {1, 0, -2}, BatchRefreshQueue.updateCounts(Lists.newArrayList(r1, r2), 3));
+    try {
+      BatchRefreshQueue.updateCounts(Lists.newArrayList(r1, r2), 2);
+      Assert.fail();
+    } catch (IllegalStateException expected) {
+    }
+    try {
+      BatchRefreshQueue.updateCounts(Lists.newArrayList(r1, r2), 4);
+      Assert.fail();
+    } catch (IllegalStateException expected) {
+    }
+  }
+}
@@ -24,6 +24,9 @@ import com.alipay.sofa.registry.store.api.repository.InterfaceAppsRepository;
 import com.alipay.sofa.registry.util.TimestampUtil;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.atomic.AtomicInteger;
 import org.junit.Assert;
 import org.junit.Test;
@@ -80,4 +83,40 @@ public class InterfaceAppsJdbcRepositoryTest extends AbstractH2DbTestBase {
     Assert.assertEquals(conflictCount.getAndSet(0), 100);
     impl.getDataVersion();
   }
+
+  @Test
+  public void concurrentRegisterTest() throws Exception {
+    InterfaceAppsJdbcRepository impl = (InterfaceAppsJdbcRepository) interfaceAppsJdbcRepository;
+    List<String> services = new ArrayList<>();
+    for (int i = 0; i < 200; i++) {
+      services.add(i + "concurrentRegisterService-" + System.currentTimeMillis());
+    }
+    ExecutorService executor = Executors.newFixedThreadPool(8);
+    try {
+      List<Future<?>> futures = new ArrayList<>();
+      for (String service : services) {
+        futures.add(executor.submit(() -> impl.register(service, "app1")));
+      }
+      for (Future<?> future : futures) {
+        future.get();
+      }
+      impl.cleanCache();
+      // renew the existing mappings, they are updated in batch
+      futures.clear();
+      for (String service : services) {
+        futures.add(executor.submit(() -> impl.renew(service, "app1")));
+      }
+      for (Future<?> future : futures) {
+        future.get();
+      }
+    } finally {
+      executor.shutdown();
+    }
+    impl.waitSynced();
+    for (String service : services) {
+      InterfaceMapping appNames = impl.getAppNames(service);
+      Assert.assertEquals(1, appNames.getApps().size());
+      Assert.assertTrue(appNames.getApps().contains("app1"));
+    }
+  }
 }